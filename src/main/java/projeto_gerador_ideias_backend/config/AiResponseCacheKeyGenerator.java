@@ -0,0 +1,59 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Gera chaves compactas para o cache de respostas da IA.
+ * A chave é composta por modelo + versão do prompt + hash de 128 bits do prompt normalizado,
+ * de forma que trocar o modelo ou a versão invalida automaticamente as entradas antigas.
+ */
+@Component(AiResponseCacheKeyGenerator.BEAN_NAME)
+public class AiResponseCacheKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "aiResponseKeyGenerator";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int HASH_BYTES = 16;
+
+    private final String keyPrefix;
+
+    public AiResponseCacheKeyGenerator(@Value("${ollama.model}") String ollamaModel,
+                                       @Value("${ai.cache.prompt-version:v1}") String promptVersion) {
+        this.keyPrefix = ollamaModel + ":" + promptVersion + ":";
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length == 0 || params[0] == null) {
+            return keyPrefix + "empty";
+        }
+        return generateKey(params[0].toString());
+    }
+
+    public String generateKey(String prompt) {
+        return keyPrefix + hash(normalize(prompt));
+    }
+
+    static String normalize(String prompt) {
+        return WHITESPACE.matcher(prompt.trim()).replaceAll(" ");
+    }
+
+    private static String hash(String normalizedPrompt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalizedPrompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 indisponível", e);
+        }
+    }
+}
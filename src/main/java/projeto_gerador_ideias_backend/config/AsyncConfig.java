@@ -0,0 +1,19 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Propaga o SecurityContext da thread chamadora para as tarefas {@code @Async},
+     * inclusive em virtual threads, para que o usuário atual possa ser resolvido nelas.
+     */
+    @Bean
+    public TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
@@ -0,0 +1,11 @@
+package projeto_gerador_ideias_backend.config;
+
+/**
+ * Propaga invalidações do cache local (L1) para os demais nós da aplicação.
+ */
+public interface CacheInvalidationPublisher {
+
+    void publishEvict(String cacheName, String key);
+
+    void publishClear(String cacheName);
+}
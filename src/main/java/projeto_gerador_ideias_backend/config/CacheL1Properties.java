@@ -0,0 +1,44 @@
+package projeto_gerador_ideias_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dimensionamento do cache local (L1, Caffeine) que fica na frente do Redis.
+ * Cada cache pode sobrescrever o tamanho máximo e o TTL padrão em cache.l1.caches.&lt;nome&gt;.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache.l1")
+@Getter
+@Setter
+public class CacheL1Properties {
+
+    private boolean enabled = true;
+    private String invalidationChannel = "cache:invalidation";
+    private long defaultMaximumSize = 1000;
+    private Duration defaultTimeToLive = Duration.ofMinutes(5);
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public long maximumSizeFor(String cacheName) {
+        CacheSpec spec = caches.get(cacheName);
+        return spec != null && spec.getMaximumSize() != null ? spec.getMaximumSize() : defaultMaximumSize;
+    }
+
+    public Duration timeToLiveFor(String cacheName) {
+        CacheSpec spec = caches.get(cacheName);
+        return spec != null && spec.getTimeToLive() != null ? spec.getTimeToLive() : defaultTimeToLive;
+    }
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+        private Long maximumSize;
+        private Duration timeToLive;
+    }
+}
@@ -0,0 +1,100 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializa strings em UTF-8 com um byte de cabeçalho, comprimindo com Deflate
+ * apenas quando o conteúdo passa do limite configurado.
+ */
+public class CompressingStringRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte RAW = 0;
+    static final byte DEFLATE = 1;
+
+    private final int compressionThresholdBytes;
+
+    public CompressingStringRedisSerializer(int compressionThresholdBytes) {
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] raw = value.toString().getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= compressionThresholdBytes) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return withHeader(DEFLATE, compressed);
+            }
+        }
+        return withHeader(RAW, raw);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        byte[] payload = Arrays.copyOfRange(bytes, 1, bytes.length);
+        return switch (bytes[0]) {
+            case RAW -> new String(payload, StandardCharsets.UTF_8);
+            case DEFLATE -> new String(inflate(payload), StandardCharsets.UTF_8);
+            default -> throw new SerializationException("Formato de valor desconhecido no cache: " + bytes[0]);
+        };
+    }
+
+    private static byte[] withHeader(byte header, byte[] payload) {
+        byte[] result = new byte[payload.length + 1];
+        result[0] = header;
+        System.arraycopy(payload, 0, result, 1, payload.length);
+        return result;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Valor comprimido truncado no cache");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Falha ao descomprimir valor do cache", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package projeto_gerador_ideias_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.service.IdeaSearchIndex;
+import projeto_gerador_ideias_backend.service.InMemoryIdeaSearchIndex;
+import projeto_gerador_ideias_backend.service.PostgresIdeaSearchIndex;
+
+import java.util.Locale;
+
+@Slf4j
+@Configuration
+public class IdeaSearchConfig {
+
+    /**
+     * Escolhe o índice da busca de ideias: {@code ideas.search.engine=auto} usa o PostgreSQL
+     * quando é o banco configurado e o índice em memória nos demais casos.
+     */
+    @Bean
+    public IdeaSearchIndex ideaSearchIndex(IdeaRepository ideaRepository,
+                                           JdbcTemplate jdbcTemplate,
+                                           @Value("${ideas.search.engine:auto}") String engine) {
+        boolean postgres = switch (engine.trim().toLowerCase(Locale.ROOT)) {
+            case "postgres" -> true;
+            case "memory" -> false;
+            default -> "PostgreSQL".equalsIgnoreCase(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        };
+        log.debug("Busca de ideias usando índice {}", postgres ? "PostgreSQL (tsvector)" : "em memória");
+        return postgres
+                ? new PostgresIdeaSearchIndex(ideaRepository, jdbcTemplate)
+                : new InMemoryIdeaSearchIndex(ideaRepository, jdbcTemplate);
+    }
+}
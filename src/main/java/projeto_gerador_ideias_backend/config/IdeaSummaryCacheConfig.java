@@ -0,0 +1,35 @@
+package projeto_gerador_ideias_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import projeto_gerador_ideias_backend.service.IdeaSummaryCacheStore;
+import projeto_gerador_ideias_backend.service.InMemoryIdeaSummaryCacheStore;
+import projeto_gerador_ideias_backend.service.RedisIdeaSummaryCacheStore;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class IdeaSummaryCacheConfig {
+
+    /**
+     * Resumos de ideias ficam no Redis quando ele é o cache da aplicação, fora do {@code CacheManager}:
+     * a inserção de uma ideia precisa ser uma operação atômica do Redis, não um get/put da lista inteira.
+     */
+    @Bean
+    public IdeaSummaryCacheStore ideaSummaryCacheStore(@Value("${spring.cache.type:simple}") String cacheType,
+                                                       @Value("${ideas.summary.cache.ttl-hours:720}") long ttlHours,
+                                                       ObjectProvider<StringRedisTemplate> redisTemplate,
+                                                       ObjectMapper objectMapper) {
+        StringRedisTemplate template = "redis".equalsIgnoreCase(cacheType.trim()) ? redisTemplate.getIfAvailable() : null;
+        log.debug("Resumos de ideias em cache {}", template != null ? "no Redis" : "em memória");
+        return template != null
+                ? new RedisIdeaSummaryCacheStore(template, objectMapper, Duration.ofHours(Math.max(1, ttlHours)))
+                : new InMemoryIdeaSummaryCacheStore();
+    }
+}
@@ -0,0 +1,28 @@
+package projeto_gerador_ideias_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import projeto_gerador_ideias_backend.service.IdempotencyStore;
+import projeto_gerador_ideias_backend.service.InMemoryIdempotencyStore;
+import projeto_gerador_ideias_backend.service.RedisIdempotencyStore;
+
+@Slf4j
+@Configuration
+public class IdempotencyConfig {
+
+    /**
+     * Registros de {@code Idempotency-Key} ficam no Redis quando ele é o cache da aplicação,
+     * para que retentativas atendidas por outra instância também sejam reaproveitadas.
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore(@Value("${spring.cache.type:simple}") String cacheType,
+                                             ObjectProvider<StringRedisTemplate> redisTemplate) {
+        StringRedisTemplate template = "redis".equalsIgnoreCase(cacheType.trim()) ? redisTemplate.getIfAvailable() : null;
+        log.debug("Chaves de idempotência armazenadas {}", template != null ? "no Redis" : "em memória");
+        return template != null ? new RedisIdempotencyStore(template) : new InMemoryIdempotencyStore();
+    }
+}
@@ -0,0 +1,135 @@
+package projeto_gerador_ideias_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import projeto_gerador_ideias_backend.service.TokenBlacklistService;
+
+import java.util.LinkedHashSet;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+@EnableConfigurationProperties(CacheProperties.class)
+public class RedisCacheConfig {
+
+    public static final String AI_RESPONSE_CACHE = "aiResponseCache";
+
+    @Bean
+    public RedisCacheManagerBuilderCustomizer aiResponseCacheCustomizer(
+            CacheProperties cacheProperties,
+            @Value("${ai.cache.compression-threshold-bytes:512}") int compressionThresholdBytes) {
+        RedisCacheConfiguration aiResponseConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompressingStringRedisSerializer(compressionThresholdBytes)));
+
+        if (cacheProperties.getRedis().getTimeToLive() != null) {
+            aiResponseConfig = aiResponseConfig.entryTtl(cacheProperties.getRedis().getTimeToLive());
+        }
+
+        RedisCacheConfiguration finalConfig = aiResponseConfig;
+        return builder -> builder.withCacheConfiguration(AI_RESPONSE_CACHE, finalConfig);
+    }
+
+    /**
+     * Entradas da blacklist guardam a expiração do token (epoch millis) e expiram junto com ele,
+     * em vez de herdar o TTL global de 30 dias.
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer tokenBlacklistCacheCustomizer(CacheProperties cacheProperties,
+                                                                           ResourceLoader resourceLoader) {
+        RedisCacheConfiguration blacklistConfig = defaultRedisConfiguration(cacheProperties, resourceLoader.getClassLoader())
+                .entryTtl(new TokenExpiryTtlFunction(cacheProperties.getRedis().getTimeToLive()));
+        return builder -> builder.withCacheConfiguration(TokenBlacklistService.BLACKLIST_CACHE_NAME, blacklistConfig);
+    }
+
+    /**
+     * Substitui o RedisCacheManager da auto-configuração por um cache em dois níveis
+     * (Caffeine local + Redis). O RedisCacheManager interno é montado com as mesmas
+     * propriedades spring.cache.* e customizers que o Spring Boot aplicaria.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "cache.l1.enabled", havingValue = "true", matchIfMissing = true)
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheProperties cacheProperties,
+                                     ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+                                     ResourceLoader resourceLoader,
+                                     CacheL1Properties l1Properties,
+                                     RedisCacheInvalidationPublisher invalidationPublisher,
+                                     MeterRegistry meterRegistry) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultRedisConfiguration(cacheProperties, resourceLoader.getClassLoader()));
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            builder.initialCacheNames(new LinkedHashSet<>(cacheProperties.getCacheNames()));
+        }
+        if (cacheProperties.getRedis().isEnableStatistics()) {
+            builder.enableStatistics();
+        }
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoLevelCacheManager(redisCacheManager, l1Properties, invalidationPublisher, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.l1.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisCacheInvalidationPublisher cacheInvalidationPublisher(
+            StringRedisTemplate stringRedisTemplate,
+            CacheL1Properties l1Properties) {
+        return new RedisCacheInvalidationPublisher(stringRedisTemplate, l1Properties.getInvalidationChannel());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            ObjectProvider<RedisCacheInvalidationPublisher> invalidationPublisher,
+            ObjectProvider<TwoLevelCacheManager> twoLevelCacheManager,
+            CacheL1Properties l1Properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        invalidationPublisher.ifAvailable(publisher -> twoLevelCacheManager.ifAvailable(cacheManager ->
+                container.addMessageListener(
+                        (message, pattern) -> publisher.dispatch(message, cacheManager),
+                        new ChannelTopic(l1Properties.getInvalidationChannel()))));
+        return container;
+    }
+
+    static RedisCacheConfiguration defaultRedisConfiguration(CacheProperties cacheProperties,
+                                                                     ClassLoader classLoader) {
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new JdkSerializationRedisSerializer(classLoader)));
+        if (redisProperties.getTimeToLive() != null) {
+            config = config.entryTtl(redisProperties.getTimeToLive());
+        }
+        if (redisProperties.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+}
@@ -0,0 +1,60 @@
+package projeto_gerador_ideias_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Publica e consome invalidações de L1 via pub/sub do Redis.
+ * Formato da mensagem: "nodeId|cache|chave", com "*" como chave para limpar o cache inteiro.
+ * Mensagens publicadas pelo próprio nó são ignoradas.
+ */
+@Slf4j
+public class RedisCacheInvalidationPublisher implements CacheInvalidationPublisher {
+
+    static final String CLEAR_ALL = "*";
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisCacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publishEvict(String cacheName, String key) {
+        publish(cacheName, key);
+    }
+
+    @Override
+    public void publishClear(String cacheName) {
+        publish(cacheName, CLEAR_ALL);
+    }
+
+    private void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (Exception e) {
+            log.warn("Falha ao publicar invalidação do cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica no L1 local uma invalidação publicada por outro nó.
+     */
+    public void dispatch(Message message, TwoLevelCacheManager cacheManager) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String key = CLEAR_ALL.equals(parts[2]) ? null : parts[2];
+        cacheManager.applyRemoteInvalidation(parts[1], key);
+    }
+}
@@ -0,0 +1,38 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Funções de busca textual do PostgreSQL para consultas Criteria/HQL. {@code fts_match} vira o
+ * operador {@code @@}, o que permite ao planejador usar o índice GIN de {@code search_vector}.
+ * Registrada via {@code META-INF/services}; em outros bancos nada é registrado.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    static final String TEXT_SEARCH_CONFIG = "portuguese";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        registry.patternDescriptorBuilder("fts_match",
+                        "(?1 @@ plainto_tsquery('" + TEXT_SEARCH_CONFIG + "', ?2))")
+                .setExactArgumentCount(2)
+                .setInvariantType(types.resolve(StandardBasicTypes.BOOLEAN))
+                .register();
+        registry.patternDescriptorBuilder("fts_rank",
+                        "ts_rank(?1, plainto_tsquery('" + TEXT_SEARCH_CONFIG + "', ?2))")
+                .setExactArgumentCount(2)
+                .setInvariantType(types.resolve(StandardBasicTypes.DOUBLE))
+                .register();
+    }
+}
@@ -1,6 +1,5 @@
 package projeto_gerador_ideias_backend.config;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,17 +21,11 @@ public class SecurityConfig {
     private static final String ROLE_ADMIN = "ADMIN";
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private RequestCleanupFilter requestCleanupFilter;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
-    @Autowired(required = false)
-    public void setRequestCleanupFilter(RequestCleanupFilter requestCleanupFilter) {
-        this.requestCleanupFilter = requestCleanupFilter;
-    }
-
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -47,17 +40,13 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.PUT, THEMES_API_PATH).hasRole(ROLE_ADMIN)
                 .requestMatchers(HttpMethod.DELETE, THEMES_API_PATH).hasRole(ROLE_ADMIN)
 
-                .requestMatchers("/api/chat/admin/logs").hasRole(ROLE_ADMIN)
+                .requestMatchers("/api/chat/admin/**").hasRole(ROLE_ADMIN)
 
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().permitAll()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
-        if (requestCleanupFilter != null) {
-            http.addFilterAfter(requestCleanupFilter, UsernamePasswordAuthenticationFilter.class);
-        }
-
         http.headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable));
 
         return http.build();
@@ -0,0 +1,29 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+
+/**
+ * TTL calculado a partir do valor armazenado: quando o valor é um instante de expiração
+ * (epoch millis), a entrada vive apenas até lá. Caso contrário usa o TTL padrão.
+ */
+public class TokenExpiryTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private static final Duration MINIMUM_TTL = Duration.ofSeconds(1);
+
+    private final Duration fallbackTtl;
+
+    public TokenExpiryTtlFunction(Duration fallbackTtl) {
+        this.fallbackTtl = fallbackTtl != null ? fallbackTtl : Duration.ZERO;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        if (value instanceof Long expiresAtMillis) {
+            Duration remaining = Duration.ofMillis(expiresAtMillis - System.currentTimeMillis());
+            return remaining.compareTo(MINIMUM_TTL) < 0 ? MINIMUM_TTL : remaining;
+        }
+        return fallbackTtl;
+    }
+}
@@ -0,0 +1,170 @@
+package projeto_gerador_ideias_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache em dois níveis: Caffeine local (L1) na frente de um cache remoto (L2, Redis).
+ * Escritas vão para o L2 e invalidam o L1 dos demais nós via {@link CacheInvalidationPublisher}.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache remoteCache,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l1Hits = lookupCounter(meterRegistry, name, "l1_hit");
+        this.l2Hits = lookupCounter(meterRegistry, name, "l2_hit");
+        this.misses = lookupCounter(meterRegistry, name, "miss");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("cache.two_level.lookups")
+                .description("Consultas ao cache em dois níveis por resultado")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = key.toString();
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(fromStoreValue(local));
+        }
+
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote == null) {
+            misses.increment();
+            return null;
+        }
+
+        l2Hits.increment();
+        localCache.put(localKey, toStoreValue(remote.get()));
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Usado por {@code @Cacheable(sync = true)}: o carregamento roda dentro do {@code get} do Caffeine,
+     * que bloqueia as demais chamadas para a mesma chave, então em cada nó só uma delas consulta o L2
+     * e, se preciso, executa {@code valueLoader}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = key.toString();
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return (T) fromStoreValue(local);
+        }
+        return (T) fromStoreValue(localCache.get(localKey, k -> load(key, valueLoader)));
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote != null) {
+            l2Hits.increment();
+            return toStoreValue(remote.get());
+        }
+        misses.increment();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        remoteCache.put(key, value);
+        invalidationPublisher.publishEvict(name, key.toString());
+        return toStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        localCache.put(key.toString(), toStoreValue(value));
+        invalidationPublisher.publishEvict(name, key.toString());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        localCache.put(key.toString(), toStoreValue(current));
+        if (existing == null) {
+            invalidationPublisher.publishEvict(name, key.toString());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(key.toString());
+        invalidationPublisher.publishEvict(name, key.toString());
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private static Object toStoreValue(Object value) {
+        return value != null ? value : NullValue.INSTANCE;
+    }
+
+    private static Object fromStoreValue(Object value) {
+        return value == NullValue.INSTANCE ? null : value;
+    }
+}
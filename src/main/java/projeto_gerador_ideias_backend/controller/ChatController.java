@@ -9,21 +9,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import projeto_gerador_ideias_backend.dto.request.ChatMessageRequest;
 import projeto_gerador_ideias_backend.dto.request.StartChatRequest;
 import projeto_gerador_ideias_backend.dto.response.ChatLogsResponse;
 import projeto_gerador_ideias_backend.dto.response.AdminChatLogsResponse;
 import projeto_gerador_ideias_backend.dto.response.ChatMessageResponse;
 import projeto_gerador_ideias_backend.dto.response.ChatSessionResponse;
+import projeto_gerador_ideias_backend.dto.response.ChatStatsResponse;
 import projeto_gerador_ideias_backend.dto.response.ErrorResponse;
 import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
 import projeto_gerador_ideias_backend.dto.response.OlderMessagesResponse;
 import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.service.ChatLogExportService;
+import projeto_gerador_ideias_backend.service.ChatMessageArchiveService;
 import projeto_gerador_ideias_backend.service.ChatService;
+import projeto_gerador_ideias_backend.service.ChatStatsRollupService;
+import projeto_gerador_ideias_backend.service.IdempotencyService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -37,6 +45,10 @@ public class ChatController {
     
     private final ChatService chatService;
     private final projeto_gerador_ideias_backend.service.IdeasSummaryCacheService ideasSummaryCacheService;
+    private final ChatLogExportService chatLogExportService;
+    private final ChatStatsRollupService chatStatsRollupService;
+    private final ChatMessageArchiveService chatMessageArchiveService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(
             summary = "Iniciar sessão de chat",
@@ -64,11 +76,15 @@ public class ChatController {
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "Sessão não encontrada",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "Requisição com a mesma Idempotency-Key ainda em processamento",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     @PostMapping("/sessions/{sessionId}/messages")
     public ResponseEntity<ChatMessageResponse> sendMessage(
             @Parameter(description = "ID da sessão de chat", example = "85")
             @PathVariable Long sessionId,
             @Valid @RequestBody ChatMessageRequest request,
+            @Parameter(description = "Chave única da tentativa. Retentativas com a mesma chave devolvem a resposta original sem nova chamada à IA nem consumo de tokens.")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             jakarta.servlet.http.HttpServletRequest httpRequest) {
         
         String message = request.getMessage();
@@ -86,8 +102,14 @@ public class ChatController {
         
         String clientIp = getClientIpAddress(httpRequest);
         log.debug("IP capturado no controller: {}", clientIp);
-        ChatMessageResponse response = chatService.sendMessage(sessionId, request, clientIp);
-        return ResponseEntity.ok(response);
+        IdempotencyService.Result<ChatMessageResponse> result = idempotencyService.execute(
+                "chat.message", idempotencyKey, List.of(sessionId, message), ChatMessageResponse.class,
+                () -> chatService.sendMessage(sessionId, request, clientIp));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (result.replayed()) {
+            builder.header(IdempotencyService.REPLAYED_HEADER, "true");
+        }
+        return builder.body(result.value());
     }
     
     private String getClientIpAddress(jakarta.servlet.http.HttpServletRequest request) {
@@ -229,6 +251,109 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Exportar logs de chat (Admin)",
+            description = "Exporta as interações do período em NDJSON ou CSV, transmitidas à medida que são lidas do banco. Período máximo de 31 dias. Apenas administradores."
+    )
+    @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso")
+    @ApiResponse(responseCode = "400", description = "Período ou formato inválido",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @ApiResponse(responseCode = "403", description = "Acesso negado. Apenas administradores podem acessar este endpoint.")
+    @GetMapping("/admin/logs/export")
+    public ResponseEntity<StreamingResponseBody> exportAdminChatLogs(
+            @Parameter(description = "Data inicial no formato YYYY-MM-DD (padrão: hoje)", example = "2025-11-01")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Data final no formato YYYY-MM-DD, inclusiva (padrão: data inicial)", example = "2025-11-30")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "ID do usuário para filtrar (opcional, null para todos)", example = "1")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Formato: ndjson ou csv (padrão: ndjson)", example = "csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ChatLogExportService.ChatLogExport export = chatLogExportService.prepareExport(from, to, userId, format);
+        return ResponseEntity.ok()
+                .contentType(export.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + export.filename() + "\"")
+                .body(export.body());
+    }
+
+    @Operation(
+            summary = "Estatísticas de chat por período (Admin)",
+            description = "Retorna totais, tempo médio e percentis aproximados de resposta do período, lidos dos agregados diários (global ou de um usuário). Período máximo de 366 dias. Apenas administradores."
+    )
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChatStatsResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Período inválido",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @ApiResponse(responseCode = "403", description = "Acesso negado. Apenas administradores podem acessar este endpoint.")
+    @GetMapping("/admin/stats")
+    public ResponseEntity<ChatStatsResponse> getAdminChatStats(
+            @Parameter(description = "Data inicial no formato YYYY-MM-DD (padrão: hoje)", example = "2025-11-01")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Data final no formato YYYY-MM-DD, inclusiva (padrão: data inicial)", example = "2025-11-30")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "ID do usuário para filtrar (opcional, null para todos)", example = "1")
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(chatStatsRollupService.getStats(from, to, userId));
+    }
+
+    @Operation(
+            summary = "Recalcular estatísticas de chat (Admin)",
+            description = "Recalcula os agregados diários do período a partir das mensagens. A operação é idempotente e pode ser usada para backfill. Apenas administradores."
+    )
+    @ApiResponse(responseCode = "200", description = "Agregados recalculados com sucesso")
+    @ApiResponse(responseCode = "400", description = "Período inválido",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @ApiResponse(responseCode = "403", description = "Acesso negado. Apenas administradores podem acessar este endpoint.")
+    @PostMapping("/admin/stats/recompute")
+    public ResponseEntity<Map<String, Object>> recomputeAdminChatStats(
+            @Parameter(description = "Data inicial no formato YYYY-MM-DD (padrão: hoje)", example = "2025-11-01")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Data final no formato YYYY-MM-DD, inclusiva (padrão: data inicial)", example = "2025-11-30")
+            @RequestParam(required = false) String to) {
+        int days = chatStatsRollupService.recomputeRangeAsAdmin(from, to);
+        return ResponseEntity.ok(Map.of("recomputedDays", days));
+    }
+
+    @Operation(
+            summary = "Listar meses arquivados (Admin)",
+            description = "Lista os meses de mensagens de chat já movidos para o arquivo pela retenção. Apenas administradores."
+    )
+    @ApiResponse(responseCode = "200", description = "Meses retornados com sucesso")
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @ApiResponse(responseCode = "403", description = "Acesso negado. Apenas administradores podem acessar este endpoint.")
+    @GetMapping("/admin/archive")
+    public ResponseEntity<List<String>> listArchivedMonths() throws java.io.IOException {
+        return ResponseEntity.ok(chatMessageArchiveService.listArchivedMonthsAsAdmin());
+    }
+
+    @Operation(
+            summary = "Ler mensagens arquivadas (Admin)",
+            description = "Transmite em NDJSON as mensagens arquivadas do mês, com filtro opcional por sessão e usuário. Somente leitura. Apenas administradores."
+    )
+    @ApiResponse(responseCode = "200", description = "Mensagens transmitidas com sucesso")
+    @ApiResponse(responseCode = "400", description = "Mês inválido",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @ApiResponse(responseCode = "403", description = "Acesso negado. Apenas administradores podem acessar este endpoint.")
+    @ApiResponse(responseCode = "404", description = "Mês sem arquivo",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/admin/archive/{month}")
+    public ResponseEntity<StreamingResponseBody> readArchivedMessages(
+            @Parameter(description = "Mês no formato YYYY-MM", example = "2024-01")
+            @PathVariable String month,
+            @Parameter(description = "ID da sessão para filtrar (opcional)", example = "85")
+            @RequestParam(required = false) Long sessionId,
+            @Parameter(description = "ID do usuário para filtrar (opcional)", example = "1")
+            @RequestParam(required = false) Long userId) {
+        StreamingResponseBody body = chatMessageArchiveService.prepareRead(month, sessionId, userId);
+        return ResponseEntity.ok()
+                .contentType(org.springframework.http.MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @Operation(
             summary = "Carregar mensagens antigas (paginação)",
             description = "Carrega mensagens anteriores a um timestamp específico. Usado para paginação estilo WhatsApp ao fazer scroll para cima. Retorna mensagens ordenadas do mais antigo para o mais recente e indica se há mais mensagens disponíveis."
@@ -13,12 +13,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import projeto_gerador_ideias_backend.dto.response.ErrorResponse;
+import projeto_gerador_ideias_backend.dto.request.FavoritesUpdateRequest;
 import projeto_gerador_ideias_backend.dto.request.IdeaRequest;
+import projeto_gerador_ideias_backend.dto.response.FavoritesUpdateResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaGenerationStatsResponse;
 import projeto_gerador_ideias_backend.dto.response.IdeaResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaSliceResponse;
+import projeto_gerador_ideias_backend.dto.response.SimilarIdeaResponse;
 import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.service.IdempotencyService;
 import projeto_gerador_ideias_backend.service.IdeaService;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -27,6 +34,7 @@ import java.util.Map;
 public class IdeaController {
 
     private final IdeaService ideaService;
+    private final IdempotencyService idempotencyService;
 
 
     @Operation(
@@ -39,14 +47,28 @@ public class IdeaController {
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno no servidor (ex: falha ao conectar com o Ollama)",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "Requisição com a mesma Idempotency-Key ainda em processamento",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     @PostMapping("/generate")
     public ResponseEntity<IdeaResponse> generateIdea(
             @Valid @RequestBody IdeaRequest request,
             @Parameter(description = "Se 'true', ignora todos os caches (pessoal e técnico) e força uma nova chamada à IA.")
-            @RequestParam(defaultValue = "false") boolean skipCache
+            @RequestParam(defaultValue = "false") boolean skipCache,
+            @Parameter(description = "Chave única da tentativa. Retentativas com a mesma chave devolvem a resposta original sem gerar outra ideia.")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        IdeaResponse response = ideaService.generateIdea(request, skipCache);
-        return ResponseEntity.ok(response);
+        IdempotencyService.Result<IdeaResponse> result = idempotencyService.execute(
+                "ideas.generate", idempotencyKey, List.of(request, skipCache), IdeaResponse.class,
+                () -> ideaService.generateIdea(request, skipCache));
+        return replayAware(result);
+    }
+
+    private static <T> ResponseEntity<T> replayAware(IdempotencyService.Result<T> result) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (result.replayed()) {
+            builder.header(IdempotencyService.REPLAYED_HEADER, "true");
+        }
+        return builder.body(result.value());
     }
 
     @Operation(
@@ -87,6 +109,28 @@ public class IdeaController {
         return ResponseEntity.ok(ideias);
     }
 
+    @Operation(
+            summary = "Listar Histórico de Ideias por cursor",
+            description = "Mesmos filtros do histórico, navegando pelo cursor devolvido em 'nextCursor'. Não calcula o total de páginas, então páginas profundas custam o mesmo que a primeira."
+    )
+    @ApiResponse(responseCode = "200", description = "Página do histórico retornada com sucesso")
+    @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
+    @ApiResponse(responseCode = "404", description = "Nenhuma ideia encontrada no banco de dados")
+    @GetMapping("/history/cursor")
+    public ResponseEntity<IdeaSliceResponse> getAllIdeasByCursor(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long theme,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int size
+    ) {
+        IdeaSliceResponse ideias = ideaService.listarHistoricoIdeiasPorCursor(userId, theme, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(ideias);
+    }
+
 
     @Operation(summary = "Favoritar uma ideia")
     @ApiResponse(responseCode = "200", description = "Ideia favoritada com sucesso")
@@ -130,6 +174,19 @@ public class IdeaController {
         }
     }
 
+    @Operation(
+            summary = "Atualizar favoritos em lote",
+            description = "Favorita e remove várias ideias de uma vez. Ideias inexistentes, já favoritadas ou não favoritadas são ignoradas; a resposta informa quantas mudaram."
+    )
+    @ApiResponse(responseCode = "200", description = "Favoritos atualizados com sucesso",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = FavoritesUpdateResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Lista vazia, acima do limite ou com a mesma ideia nas duas listas",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @PutMapping("/favorites")
+    public ResponseEntity<FavoritesUpdateResponse> atualizarFavoritos(@Valid @RequestBody FavoritesUpdateRequest request) {
+        return ResponseEntity.ok(ideaService.atualizarFavoritos(request));
+    }
+
     @Operation(
             summary = "Listar Ideias de um Usuário (Paginado, com filtro opcional)",
             description = "Retorna as ideias criadas pelo usuário autenticado, podendo filtrar por tema e intervalo de datas. Ordenadas da mais recente para a mais antiga, com suporte a paginação."
@@ -173,18 +230,110 @@ public class IdeaController {
         return ResponseEntity.ok(favoritas);
     }
 
+    @Operation(
+            summary = "Listar Ideias do Usuário por cursor",
+            description = "Ideias do usuário autenticado navegadas pelo cursor devolvido em 'nextCursor', sem contagem total."
+    )
+    @ApiResponse(responseCode = "200", description = "Página de ideias do usuário retornada com sucesso")
+    @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @ApiResponse(responseCode = "404", description = "Nenhuma ideia encontrada para o usuário autenticado com os filtros aplicados")
+    @GetMapping("/my-ideas/cursor")
+    public ResponseEntity<IdeaSliceResponse> getMyIdeasByCursor(
+            @RequestParam(required = false) Long theme,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        IdeaSliceResponse ideias = ideaService.listarMinhasIdeiasPorCursor(theme, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(ideias);
+    }
+
+    @Operation(
+            summary = "Listar ideias favoritadas por cursor",
+            description = "Ideias favoritadas pelo usuário autenticado navegadas pelo cursor devolvido em 'nextCursor', sem contagem total."
+    )
+    @ApiResponse(responseCode = "200", description = "Página de favoritas retornada com sucesso")
+    @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido")
+    @ApiResponse(responseCode = "404", description = "Sem ideias favoritadas com os filtros aplicados")
+    @GetMapping("/favorites/cursor")
+    public ResponseEntity<IdeaSliceResponse> getFavoriteIdeasByCursor(
+            @RequestParam(required = false) Long theme,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        IdeaSliceResponse favoritas = ideaService.listarIdeiasFavoritadasPorCursor(theme, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(favoritas);
+    }
+
+    @Operation(
+            summary = "Buscar nas Ideias do Usuário",
+            description = "Busca textual no contexto e no conteúdo das ideias do usuário autenticado, ordenada por relevância. "
+                    + "Aceita os mesmos filtros de tema e data e é navegada pelo cursor devolvido em 'nextCursor'."
+    )
+    @ApiResponse(responseCode = "200", description = "Resultados da busca retornados com sucesso (lista vazia quando nada corresponde)")
+    @ApiResponse(responseCode = "400", description = "Termo de busca, cursor ou tamanho de página inválido")
+    @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    @GetMapping("/search")
+    public ResponseEntity<IdeaSliceResponse> searchIdeas(
+            @RequestParam String q,
+            @RequestParam(required = false) Long theme,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        IdeaSliceResponse resultados = ideaService.buscarIdeias(q, theme, startDate, endDate, cursor, size);
+        return ResponseEntity.ok(resultados);
+    }
+
+    @Operation(
+            summary = "Detalhar Ideia",
+            description = "Retorna a ideia com o conteúdo completo. As listagens por cursor trazem apenas uma prévia do texto."
+    )
+    @ApiResponse(responseCode = "200", description = "Ideia encontrada",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = IdeaResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Ideia não encontrada",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{ideaId}")
+    public ResponseEntity<IdeaResponse> getIdea(@PathVariable Long ideaId) {
+        return ResponseEntity.ok(ideaService.buscarIdeiaPorId(ideaId));
+    }
+
+    @Operation(
+            summary = "Listar Ideias Similares",
+            description = "Ideias mais parecidas com a informada, pela similaridade dos embeddings. "
+                    + "Retorna lista vazia enquanto o embedding da ideia ainda não foi calculado."
+    )
+    @ApiResponse(responseCode = "200", description = "Ideias similares retornadas com sucesso")
+    @ApiResponse(responseCode = "400", description = "Quantidade solicitada inválida")
+    @ApiResponse(responseCode = "404", description = "Ideia não encontrada",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{ideaId}/similar")
+    public ResponseEntity<List<SimilarIdeaResponse>> getSimilarIdeas(
+            @PathVariable Long ideaId,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(ideaService.buscarIdeiasSimilares(ideaId, limit));
+    }
+
     @Operation(
             summary = "Obter Estatísticas de Geração",
-            description = "Retorna estatísticas agregadas sobre a geração de ideias, como o tempo médio de resposta histórico de todas as ideias já geradas."
+            description = "Retorna estatísticas de geração de ideias do usuário autenticado: quantidade, tempo médio, desvio padrão e percentis 50 e 95 aproximados do tempo de geração."
     )
     @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
     @GetMapping("/generation-stats")
-    public ResponseEntity<Map<String, Object>> getIdeaStats() {
-        Double averageTime = ideaService.getAverageIdeaGenerationTime();
-        Map<String, Object> stats = Map.of(
-                "averageGenerationTimeMs", averageTime != null ? averageTime : 0.0
-        );
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<IdeaGenerationStatsResponse> getIdeaStats() {
+        return ResponseEntity.ok(ideaService.getIdeaGenerationStats());
     }
 
     @Operation(
@@ -0,0 +1,25 @@
+package projeto_gerador_ideias_backend.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ideias a favoritar e a remover dos favoritos em uma única operação")
+public class FavoritesUpdateRequest {
+    @Size(max = 100, message = "Informe no máximo 100 ideias para favoritar")
+    @Schema(description = "IDs das ideias a favoritar; as já favoritadas são ignoradas", example = "[10, 11]")
+    private List<@NotNull Long> add = new ArrayList<>();
+
+    @Size(max = 100, message = "Informe no máximo 100 ideias para remover")
+    @Schema(description = "IDs das ideias a remover dos favoritos; as não favoritadas são ignoradas", example = "[12]")
+    private List<@NotNull Long> remove = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package projeto_gerador_ideias_backend.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Corpo de {@code POST /api/embeddings} do Ollama.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OllamaEmbeddingRequest {
+    private String model;
+    private String prompt;
+}
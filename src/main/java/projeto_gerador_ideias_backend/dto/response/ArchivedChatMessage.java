@@ -0,0 +1,31 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mensagem de chat lida do arquivo de retenção")
+public class ArchivedChatMessage {
+    @Schema(description = "ID da mensagem", example = "1024")
+    private Long id;
+    @Schema(description = "ID da sessão de chat", example = "85")
+    private Long sessionId;
+    @Schema(description = "ID do usuário dono da sessão", example = "1")
+    private Long userId;
+    @Schema(description = "Papel da mensagem (USER ou ASSISTANT)", example = "USER")
+    private String role;
+    @Schema(description = "Conteúdo da mensagem", example = "Como posso melhorar minha ideia?")
+    private String content;
+    @Schema(description = "Tokens da mensagem", example = "15")
+    private Integer tokensUsed;
+    @Schema(description = "Tokens restantes após a mensagem", example = "9500")
+    private Integer tokensRemaining;
+    @Schema(description = "IP do usuário (criptografado no arquivo, descriptografado na leitura)", example = "192.168.1.100")
+    private String ipAddress;
+    @Schema(description = "Data de criação", example = "2025-01-15T10:30:00")
+    private String createdAt;
+}
@@ -0,0 +1,29 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estatísticas de chat de um período, lidas dos agregados diários")
+public class ChatStatsResponse {
+    @Schema(description = "Data inicial", example = "2025-11-01")
+    private String from;
+    @Schema(description = "Data final (inclusiva)", example = "2025-11-30")
+    private String to;
+    @Schema(description = "ID do usuário filtrado (null = todos)", example = "1")
+    private Long filteredUserId;
+    @Schema(description = "Resumo do período")
+    private LogsSummary summary;
+    @Schema(description = "Percentil 50 aproximado do tempo de resposta em milissegundos", example = "500")
+    private Long p50ResponseTimeMs;
+    @Schema(description = "Percentil 95 aproximado do tempo de resposta em milissegundos", example = "5000")
+    private Long p95ResponseTimeMs;
+    @Schema(description = "Agregados por dia (somente dias com registro)")
+    private List<DailyChatStats> days;
+}
@@ -0,0 +1,23 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Agregado de interações de chat em um dia")
+public class DailyChatStats {
+    @Schema(description = "Data", example = "2025-11-08")
+    private String date;
+    @Schema(description = "Total de interações", example = "25")
+    private Long totalInteractions;
+    @Schema(description = "Total de tokens de entrada", example = "375")
+    private Long totalTokensInput;
+    @Schema(description = "Total de tokens de saída", example = "1125")
+    private Long totalTokensOutput;
+    @Schema(description = "Tempo médio de resposta em milissegundos", example = "1250.5")
+    private Double averageResponseTimeMs;
+}
@@ -0,0 +1,18 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da atualização em lote dos favoritos")
+public class FavoritesUpdateResponse {
+    @Schema(description = "Ideias que passaram a ser favoritas", example = "2")
+    private int added;
+
+    @Schema(description = "Ideias removidas dos favoritos", example = "1")
+    private int removed;
+}
@@ -0,0 +1,23 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estatísticas de geração de ideias do usuário autenticado")
+public class IdeaGenerationStatsResponse {
+    @Schema(description = "Quantidade de ideias geradas", example = "42")
+    private long ideaCount;
+    @Schema(description = "Tempo médio de geração em milissegundos", example = "1550.75")
+    private double averageGenerationTimeMs;
+    @Schema(description = "Desvio padrão do tempo de geração em milissegundos", example = "820.4")
+    private double stdDevGenerationTimeMs;
+    @Schema(description = "Percentil 50 aproximado do tempo de geração em milissegundos", example = "1000")
+    private Long p50GenerationTimeMs;
+    @Schema(description = "Percentil 95 aproximado do tempo de geração em milissegundos", example = "5000")
+    private Long p95GenerationTimeMs;
+}
@@ -0,0 +1,32 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ideia resumida para listagens; o conteúdo completo fica em GET /api/ideas/{ideaId}")
+public class IdeaListItemResponse {
+    @Schema(description = "ID único da ideia", example = "10")
+    private Long id;
+
+    @Schema(description = "O tema principal da ideia", example = "tecnologia")
+    private String theme;
+
+    @Schema(description = "Resumo curto da ideia", example = "App de meditação guiada")
+    private String summary;
+
+    @Schema(description = "Início do texto gerado, cortado no tamanho da prévia", example = "Um aplicativo que sugere pausas de meditação…")
+    private String preview;
+
+    @Schema(description = "Indica se a prévia foi cortada", example = "true")
+    private boolean truncated;
+
+    @Schema(description = "Data e hora da criação da ideia", example = "2025-10-30T15:00:00")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de ideias navegada por cursor, sem contagem total")
+public class IdeaSliceResponse {
+    @Schema(description = "Ideias da página, da mais recente para a mais antiga")
+    private List<IdeaListItemResponse> content;
+
+    @Schema(description = "Cursor da próxima página; nulo quando não há mais ideias", example = "MjAyNS0xMC0zMFQxNTowMDoxMHwxMjM")
+    private String nextCursor;
+
+    @Schema(description = "Indica se há próxima página", example = "true")
+    private boolean hasNext;
+}
@@ -0,0 +1,11 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OllamaEmbeddingResponse {
+
+    private float[] embedding;
+}
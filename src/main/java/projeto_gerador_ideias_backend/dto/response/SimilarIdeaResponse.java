@@ -0,0 +1,18 @@
+package projeto_gerador_ideias_backend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ideia parecida com a consultada, com a similaridade entre as duas")
+public class SimilarIdeaResponse {
+    @Schema(description = "A ideia similar, no formato das listagens")
+    private IdeaListItemResponse idea;
+
+    @Schema(description = "Similaridade de cosseno entre os embeddings (1 = idênticas)", example = "0.87")
+    private double similarity;
+}
@@ -0,0 +1,7 @@
+package projeto_gerador_ideias_backend.exceptions;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
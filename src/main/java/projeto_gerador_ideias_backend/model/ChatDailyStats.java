@@ -0,0 +1,210 @@
+package projeto_gerador_ideias_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Agregado diário das interações de chat por usuário. Mantido a cada troca de mensagens e
+ * recalculável a partir das mensagens do dia. A linha com {@link #GLOBAL_USER_ID} guarda o total
+ * consolidado de um dia já encerrado, gravado pelo recálculo; o dia corrente é somado a partir
+ * das linhas de usuário.
+ */
+@Entity
+@Table(name = "chat_daily_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_chat_daily_stats_day_user", columnNames = {"stat_date", "user_id"})
+}, indexes = {
+    @Index(name = "idx_chat_daily_stats_user_day", columnList = "user_id,stat_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ChatDailyStats {
+
+    public static final long GLOBAL_USER_ID = 0L;
+
+    /**
+     * Limites superiores (ms) das faixas do histograma de tempo de resposta; a última faixa é aberta.
+     */
+    public static final long[] RESPONSE_BUCKET_BOUNDS_MS = {100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000};
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long userMessages;
+
+    @Column(nullable = false)
+    private long assistantMessages;
+
+    @Column(nullable = false)
+    private long userTokens;
+
+    @Column(nullable = false)
+    private long assistantTokens;
+
+    @Column(nullable = false)
+    private long responseCount;
+
+    @Column(nullable = false)
+    private long responseTimeTotalMs;
+
+    @Convert(converter = LongArrayConverter.class)
+    @Column(name = "response_histogram", nullable = false)
+    private long[] responseHistogram = new long[RESPONSE_BUCKET_BOUNDS_MS.length + 1];
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public ChatDailyStats(LocalDate statDate, Long userId) {
+        this.statDate = statDate;
+        this.userId = userId;
+    }
+
+    public boolean isGlobal() {
+        return userId != null && userId == GLOBAL_USER_ID;
+    }
+
+    /**
+     * Linha global gravada depois do fim do dia, ou seja, pelo recálculo. Linhas globais atualizadas
+     * durante o próprio dia vêm de versões anteriores, que as incrementavam, e não são confiáveis.
+     */
+    public boolean isConsolidatedTotal() {
+        return isGlobal() && updatedAt != null && !updatedAt.toLocalDate().isBefore(statDate.plusDays(1));
+    }
+
+    /**
+     * Soma uma interação: pergunta do usuário e, se houver, a resposta do assistente.
+     */
+    public void recordInteraction(int userTokensUsed, Integer assistantTokensUsed, Long responseTimeMs) {
+        userMessages++;
+        userTokens += userTokensUsed;
+        if (assistantTokensUsed == null) {
+            return;
+        }
+        assistantMessages++;
+        assistantTokens += assistantTokensUsed;
+        if (responseTimeMs != null) {
+            long[] histogram = Arrays.copyOf(responseHistogram, RESPONSE_BUCKET_BOUNDS_MS.length + 1);
+            histogram[bucketFor(responseTimeMs)]++;
+            responseHistogram = histogram;
+            responseCount++;
+            responseTimeTotalMs += Math.max(0, responseTimeMs);
+        }
+    }
+
+    /**
+     * Substitui os totais pelos de outro agregado, usado no recálculo do dia.
+     */
+    public void replaceTotals(ChatDailyStats source) {
+        userMessages = source.userMessages;
+        assistantMessages = source.assistantMessages;
+        userTokens = source.userTokens;
+        assistantTokens = source.assistantTokens;
+        responseCount = source.responseCount;
+        responseTimeTotalMs = source.responseTimeTotalMs;
+        responseHistogram = Arrays.copyOf(source.responseHistogram, RESPONSE_BUCKET_BOUNDS_MS.length + 1);
+    }
+
+    /**
+     * Soma os totais de outro agregado; usado para compor o total global a partir das linhas de usuário.
+     */
+    public void add(ChatDailyStats other) {
+        addScaled(other, 1);
+    }
+
+    /**
+     * Aplica a correção de um recálculo: soma a diferença entre os totais recalculados e os que estavam
+     * gravados quando as mensagens foram lidas, preservando os incrementos feitos depois dessa leitura.
+     */
+    public void rebase(ChatDailyStats stored, ChatDailyStats recomputed) {
+        addScaled(recomputed, 1);
+        addScaled(stored, -1);
+    }
+
+    public boolean hasSameTotals(ChatDailyStats other) {
+        return userMessages == other.userMessages
+                && assistantMessages == other.assistantMessages
+                && userTokens == other.userTokens
+                && assistantTokens == other.assistantTokens
+                && responseCount == other.responseCount
+                && responseTimeTotalMs == other.responseTimeTotalMs
+                && Arrays.equals(fullHistogram(responseHistogram), fullHistogram(other.responseHistogram));
+    }
+
+    private void addScaled(ChatDailyStats other, int sign) {
+        userMessages = Math.max(0, userMessages + sign * other.userMessages);
+        assistantMessages = Math.max(0, assistantMessages + sign * other.assistantMessages);
+        userTokens = Math.max(0, userTokens + sign * other.userTokens);
+        assistantTokens = Math.max(0, assistantTokens + sign * other.assistantTokens);
+        responseCount = Math.max(0, responseCount + sign * other.responseCount);
+        responseTimeTotalMs = Math.max(0, responseTimeTotalMs + sign * other.responseTimeTotalMs);
+        long[] histogram = fullHistogram(responseHistogram);
+        long[] otherHistogram = fullHistogram(other.responseHistogram);
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = Math.max(0, histogram[i] + sign * otherHistogram[i]);
+        }
+        responseHistogram = histogram;
+    }
+
+    private static long[] fullHistogram(long[] histogram) {
+        return Arrays.copyOf(histogram, RESPONSE_BUCKET_BOUNDS_MS.length + 1);
+    }
+
+    public Double getAverageResponseTimeMs() {
+        return responseCount > 0 ? (double) responseTimeTotalMs / responseCount : null;
+    }
+
+    static int bucketFor(long responseTimeMs) {
+        for (int i = 0; i < RESPONSE_BUCKET_BOUNDS_MS.length; i++) {
+            if (responseTimeMs <= RESPONSE_BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return RESPONSE_BUCKET_BOUNDS_MS.length;
+    }
+
+    /**
+     * Percentil aproximado pelo limite superior da faixa que o contém.
+     * A faixa aberta é reportada pelo último limite conhecido.
+     */
+    public static Long percentileMs(long[] histogram, double percentile) {
+        long total = Arrays.stream(histogram).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return RESPONSE_BUCKET_BOUNDS_MS[Math.min(i, RESPONSE_BUCKET_BOUNDS_MS.length - 1)];
+            }
+        }
+        return RESPONSE_BUCKET_BOUNDS_MS[RESPONSE_BUCKET_BOUNDS_MS.length - 1];
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -26,7 +27,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "chat_messages", indexes = {
     @Index(name = "idx_chat_message_session_id", columnList = "session_id"),
-    @Index(name = "idx_chat_message_created_at", columnList = "session_id,created_at")
+    @Index(name = "idx_chat_message_created_at", columnList = "session_id,created_at"),
+    @Index(name = "idx_chat_message_period", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -37,7 +39,8 @@ import java.time.LocalDateTime;
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_messages_seq")
+    @SequenceGenerator(name = "chat_messages_seq", sequenceName = "chat_messages_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
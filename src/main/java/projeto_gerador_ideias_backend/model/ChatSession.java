@@ -12,6 +12,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PostLoad;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -40,7 +41,8 @@ import java.time.LocalDateTime;
 public class ChatSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_sessions_seq")
+    @SequenceGenerator(name = "chat_sessions_seq", sequenceName = "chat_sessions_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -63,6 +65,16 @@ public class ChatSession {
     @Deprecated(since = "1.0", forRemoval = true)
     private Integer tokensUsed = 0;
 
+    /**
+     * Totais de tokens das mensagens da sessão por papel, atualizados junto com cada troca.
+     * Nulos apenas em sessões anteriores ao ledger, ainda não migradas.
+     */
+    @Column(name = "user_tokens")
+    private Integer userTokens;
+
+    @Column(name = "assistant_tokens")
+    private Integer assistantTokens;
+
     @Column(nullable = false)
     private LocalDateTime lastResetAt;
 
@@ -98,6 +110,19 @@ public class ChatSession {
         }
     }
 
+    public boolean hasTokenLedger() {
+        return userTokens != null && assistantTokens != null;
+    }
+
+    public int getTotalTokens() {
+        return (userTokens != null ? userTokens : 0) + (assistantTokens != null ? assistantTokens : 0);
+    }
+
+    public void addTokens(int userDelta, int assistantDelta) {
+        this.userTokens = (userTokens != null ? userTokens : 0) + userDelta;
+        this.assistantTokens = (assistantTokens != null ? assistantTokens : 0) + assistantDelta;
+    }
+
     public enum ChatType {
         IDEA_BASED,  
         FREE
@@ -118,6 +143,8 @@ public class ChatSession {
         this.idea = idea;
         this.lastResetAt = LocalDateTime.now();
         this.version = 0L;
+        this.userTokens = 0;
+        this.assistantTokens = 0;
         
         if (type == ChatType.IDEA_BASED) {
             this.cachedIdeaContent = idea.getGeneratedContent();
@@ -11,13 +11,22 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DialectOverride;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.dialect.H2Dialect;
+import projeto_gerador_ideias_backend.util.ContextFingerprint;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -27,26 +36,36 @@ import jakarta.persistence.Index;
 
 @Entity
 @Table(name = "ideas", indexes = {
-        @Index(name = "idx_idea_user_lookup", columnList = "user_id, theme_id, context")
+        @Index(name = "idx_idea_context_hash", columnList = "user_id, theme_id, context_hash, created_at DESC"),
+        @Index(name = "idx_idea_theme_context_hash", columnList = "theme_id, context_hash, created_at DESC"),
+        @Index(name = "idx_idea_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_idea_created_id", columnList = "created_at DESC, id DESC")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@ToString(exclude = {"user"})
+@ToString(exclude = {"user", "searchVector"})
 public class Idea {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ideas_seq")
+    @SequenceGenerator(name = "ideas_seq", sequenceName = "ideas_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
     @Column(nullable = false)
     private String context;
 
+    /**
+     * {@link ContextFingerprint} do contexto, usada para reaproveitar ideias já geradas.
+     */
+    @Column(name = "context_hash")
+    private Long contextHash;
+
     @Lob
     @Column(nullable = false, columnDefinition = "TEXT")
-    @Basic(fetch = FetchType.EAGER)
+    @Basic(fetch = FetchType.LAZY)
     private String generatedContent;
 
     @Column(nullable = false)
@@ -70,6 +89,18 @@ public class Idea {
     @Column(length = 200)
     private String summary;
 
+    /**
+     * Vetor da busca textual, coluna gerada no PostgreSQL a partir do contexto e do conteúdo.
+     * Só é lido nas consultas de busca; nos demais bancos não existe.
+     */
+    @Formula("search_vector")
+    @DialectOverride.Formula(dialect = H2Dialect.class, override = @Formula("null"))
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("search")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String searchVector;
+
     @ManyToMany(mappedBy = "favoriteIdeas")
     private Set<User> favoritedByUsers = new HashSet<>();
 
@@ -80,4 +111,10 @@ public class Idea {
         this.modelUsed = modelUsed;
         this.executionTimeMs = executionTimeMs;
     }
+
+    @PrePersist
+    @PreUpdate
+    private void computeContextHash() {
+        this.contextHash = ContextFingerprint.of(context);
+    }
 }
\ No newline at end of file
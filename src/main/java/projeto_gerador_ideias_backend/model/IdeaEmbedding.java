@@ -0,0 +1,64 @@
+package projeto_gerador_ideias_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+
+/**
+ * Embedding de uma ideia (contexto + conteúdo), gravado como float32 little-endian: 4 bytes
+ * por dimensão. É a fonte do índice de similaridade em memória, que o recarrega daqui.
+ */
+@Entity
+@Table(name = "idea_embeddings", indexes = {
+        @Index(name = "idx_idea_embedding_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class IdeaEmbedding {
+
+    @Id
+    @Column(name = "idea_id")
+    @EqualsAndHashCode.Include
+    private Long ideaId;
+
+    @Column(nullable = false, length = 100)
+    private String model;
+
+    @Column(nullable = false)
+    private int dimensions;
+
+    @Column(nullable = false, length = 65536)
+    private byte[] vector;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static byte[] encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : vector) {
+            buffer.putFloat(value);
+        }
+        return buffer.array();
+    }
+
+    public static float[] decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        float[] vector = new float[bytes.length / Float.BYTES];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = buffer.getFloat();
+        }
+        return vector;
+    }
+}
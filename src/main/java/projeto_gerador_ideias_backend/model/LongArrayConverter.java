@@ -0,0 +1,30 @@
+package projeto_gerador_ideias_backend.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Persiste um {@code long[]} como texto separado por vírgulas.
+ */
+@Converter
+public class LongArrayConverter implements AttributeConverter<long[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(long[] values) {
+        if (values == null) {
+            return null;
+        }
+        return Arrays.stream(values).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public long[] convertToEntityAttribute(String value) {
+        if (value == null || value.isBlank()) {
+            return new long[0];
+        }
+        return Arrays.stream(value.split(",")).mapToLong(part -> Long.parseLong(part.trim())).toArray();
+    }
+}
@@ -0,0 +1,124 @@
+package projeto_gerador_ideias_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Estatísticas de geração de ideias de um usuário, mantidas na mesma transação que grava cada ideia.
+ * Guarda contagem, soma e soma dos quadrados do tempo de execução e um histograma por faixas,
+ * de modo que média, desvio padrão e percentis saem de uma leitura por chave primária.
+ * Também guarda a contagem de favoritos, mantida na transação que altera os favoritos.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class UserStats {
+
+    /**
+     * Limites superiores (ms) das faixas do histograma de tempo de geração; a última faixa é aberta.
+     */
+    public static final long[] GENERATION_BUCKET_BOUNDS_MS =
+            {250, 500, 1_000, 2_000, 3_000, 5_000, 7_500, 10_000, 15_000, 20_000, 30_000, 60_000};
+
+    @Id
+    @Column(name = "user_id")
+    @EqualsAndHashCode.Include
+    private Long userId;
+
+    @Column(nullable = false)
+    private long ideaCount;
+
+    @Column(nullable = false)
+    private long executionTimeTotalMs;
+
+    @Column(nullable = false)
+    private double executionTimeSumSquares;
+
+    @Convert(converter = LongArrayConverter.class)
+    @Column(name = "generation_histogram", nullable = false)
+    private long[] generationHistogram = new long[GENERATION_BUCKET_BOUNDS_MS.length + 1];
+
+    /**
+     * Nula em linhas criadas antes da coluna existir; preenchida na primeira leitura ou escrita.
+     */
+    @Column(name = "favorite_count")
+    private Long favoriteCount;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public UserStats(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Soma uma ideia gravada.
+     */
+    public void recordIdea(long executionTimeMs) {
+        long timeMs = Math.max(0, executionTimeMs);
+        long[] histogram = Arrays.copyOf(generationHistogram, GENERATION_BUCKET_BOUNDS_MS.length + 1);
+        histogram[bucketFor(timeMs)]++;
+        generationHistogram = histogram;
+        ideaCount++;
+        executionTimeTotalMs += timeMs;
+        executionTimeSumSquares += (double) timeMs * timeMs;
+    }
+
+    public Double getAverageExecutionTimeMs() {
+        return ideaCount > 0 ? (double) executionTimeTotalMs / ideaCount : null;
+    }
+
+    /**
+     * Desvio padrão populacional, a partir da soma e da soma dos quadrados.
+     */
+    public Double getExecutionTimeStdDevMs() {
+        if (ideaCount == 0) {
+            return null;
+        }
+        double mean = (double) executionTimeTotalMs / ideaCount;
+        return Math.sqrt(Math.max(0, executionTimeSumSquares / ideaCount - mean * mean));
+    }
+
+    static int bucketFor(long executionTimeMs) {
+        for (int i = 0; i < GENERATION_BUCKET_BOUNDS_MS.length; i++) {
+            if (executionTimeMs <= GENERATION_BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return GENERATION_BUCKET_BOUNDS_MS.length;
+    }
+
+    /**
+     * Percentil aproximado pelo limite superior da faixa que o contém.
+     * A faixa aberta é reportada pelo último limite conhecido.
+     */
+    public Long percentileMs(double percentile) {
+        long total = Arrays.stream(generationHistogram).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < generationHistogram.length; i++) {
+            seen += generationHistogram[i];
+            if (seen >= rank) {
+                return GENERATION_BUCKET_BOUNDS_MS[Math.min(i, GENERATION_BUCKET_BOUNDS_MS.length - 1)];
+            }
+        }
+        return GENERATION_BUCKET_BOUNDS_MS[GENERATION_BUCKET_BOUNDS_MS.length - 1];
+    }
+}
@@ -0,0 +1,76 @@
+package projeto_gerador_ideias_backend.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import projeto_gerador_ideias_backend.model.ChatDailyStats;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ChatDailyStatsRepository extends JpaRepository<ChatDailyStats, Long> {
+
+    Optional<ChatDailyStats> findByStatDateAndUserId(LocalDate statDate, Long userId);
+
+    boolean existsByStatDateAndUserId(LocalDate statDate, Long userId);
+
+    boolean existsByStatDate(LocalDate statDate);
+
+    List<ChatDailyStats> findByStatDate(LocalDate statDate);
+
+    List<ChatDailyStats> findByUserIdAndStatDateBetweenOrderByStatDateAsc(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Totais do dia somados sobre as linhas de usuário: quantidade de linhas, mensagens do usuário,
+     * tokens de entrada, tokens de saída, respostas cronometradas e soma dos tempos de resposta.
+     */
+    @Query("SELECT COUNT(s), SUM(s.userMessages), SUM(s.userTokens), SUM(s.assistantTokens), " +
+           "SUM(s.responseCount), SUM(s.responseTimeTotalMs) " +
+           "FROM ChatDailyStats s WHERE s.statDate = :statDate AND s.userId <> :globalUserId")
+    List<Object[]> sumDay(@Param("statDate") LocalDate statDate, @Param("globalUserId") Long globalUserId);
+
+    /**
+     * Totais por dia somados sobre as linhas de usuário dos dias informados, em ordem de data: data,
+     * mensagens do usuário, mensagens do assistente, tokens de entrada, tokens de saída, respostas
+     * cronometradas e soma dos tempos de resposta.
+     */
+    @Query("SELECT s.statDate, SUM(s.userMessages), SUM(s.assistantMessages), SUM(s.userTokens), " +
+           "SUM(s.assistantTokens), SUM(s.responseCount), SUM(s.responseTimeTotalMs) " +
+           "FROM ChatDailyStats s WHERE s.statDate IN :statDates AND s.userId <> :globalUserId " +
+           "GROUP BY s.statDate ORDER BY s.statDate")
+    List<Object[]> sumByDay(@Param("statDates") Collection<LocalDate> statDates,
+                            @Param("globalUserId") Long globalUserId);
+
+    /**
+     * Data e histograma de tempo de resposta das linhas de usuário dos dias informados, sem carregar entidades.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.statDate, s.responseHistogram FROM ChatDailyStats s " +
+           "WHERE s.statDate IN :statDates AND s.userId <> :globalUserId")
+    Stream<Object[]> streamHistograms(@Param("statDates") Collection<LocalDate> statDates,
+                                      @Param("globalUserId") Long globalUserId);
+
+    @Modifying
+    @Query("DELETE FROM ChatDailyStats s WHERE s.statDate = :statDate AND s.userId = :userId")
+    int deleteByStatDateAndUserId(@Param("statDate") LocalDate statDate, @Param("userId") Long userId);
+
+    /**
+     * Trava a linha do dia sem flush automático: no caminho de escrita do chat as mensagens pendentes
+     * continuam no lote JDBC inserido no commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT s FROM ChatDailyStats s WHERE s.statDate = :statDate AND s.userId = :userId")
+    Optional<ChatDailyStats> findForUpdate(@Param("statDate") LocalDate statDate, @Param("userId") Long userId);
+}
@@ -1,13 +1,17 @@
 package projeto_gerador_ideias_backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import projeto_gerador_ideias_backend.model.ChatMessage;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
@@ -39,30 +43,6 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     org.springframework.data.domain.Page<ChatMessage> findLastMessagesBySessionId(@Param("sessionId") Long sessionId, 
                                                                                   org.springframework.data.domain.Pageable pageable);
     
-    @Query("SELECT m FROM ChatMessage m " +
-           "JOIN FETCH m.session s " +
-           "LEFT JOIN FETCH s.idea i " +
-           "WHERE s.user.id = :userId " +
-           "AND m.createdAt >= :startDate " +
-           "AND m.createdAt < :endDate " +
-           "ORDER BY m.createdAt ASC")
-    List<ChatMessage> findByUserIdAndDateRange(@Param("userId") Long userId, 
-                                                 @Param("startDate") LocalDateTime startDate,
-                                                 @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT m FROM ChatMessage m " +
-           "JOIN FETCH m.session s " +
-           "LEFT JOIN FETCH s.idea i " +
-           "WHERE s.user.id = :userId " +
-           "AND m.createdAt >= :startDate " +
-           "AND m.createdAt < :endDate " +
-           "ORDER BY m.createdAt ASC")
-    org.springframework.data.domain.Page<ChatMessage> findByUserIdAndDateRangePaginated(
-            @Param("userId") Long userId, 
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            org.springframework.data.domain.Pageable pageable);
-    
     @Query(value = "SELECT * FROM (" +
            "  SELECT m.*, ROW_NUMBER() OVER (ORDER BY m.created_at DESC) as rn " +
            "  FROM chat_messages m " +
@@ -88,6 +68,19 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     List<ChatMessage> findLastAssistantMessageWithTokensRemaining(@Param("sessionId") Long sessionId,
                                                                     @Param("role") projeto_gerador_ideias_backend.model.ChatMessage.MessageRole role);
     
+    /**
+     * Tokens por papel das mensagens da sessão até {@code upTo}, exceto as informadas.
+     * Serve de base para acumular os totais de uma página em uma única passada.
+     */
+    @Query("SELECT m.role, COALESCE(SUM(m.tokensUsed), 0) FROM ChatMessage m " +
+           "WHERE m.session.id = :sessionId " +
+           "AND m.createdAt <= :upTo " +
+           "AND m.id NOT IN :excludedIds " +
+           "GROUP BY m.role")
+    List<Object[]> sumTokensByRoleUpTo(@Param("sessionId") Long sessionId,
+                                       @Param("upTo") LocalDateTime upTo,
+                                       @Param("excludedIds") java.util.Collection<Long> excludedIds);
+    
     @Query("SELECT m FROM ChatMessage m " +
            "WHERE m.session.id = :sessionId " +
            "AND m.createdAt < :beforeTimestamp " +
@@ -102,16 +95,95 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     long countMessagesBeforeTimestamp(@Param("sessionId") Long sessionId,
                                       @Param("beforeTimestamp") LocalDateTime beforeTimestamp);
     
-    @Query("SELECT m FROM ChatMessage m " +
-           "JOIN FETCH m.session s " +
-           "JOIN FETCH s.user u " +
-           "LEFT JOIN FETCH s.idea i " +
-           "WHERE (:userId IS NULL OR s.user.id = :userId) " +
+    /**
+     * Mensagens do período com a mensagem seguinte da mesma sessão (LEAD),
+     * base para parear pergunta e resposta no próprio banco.
+     */
+    String INTERACTIONS_SOURCE = "(SELECT m.id AS id, m.role AS role, m.tokensUsed AS tokensUsed, m.createdAt AS createdAt, " +
+           "LEAD(m.id) OVER (PARTITION BY m.session.id ORDER BY m.createdAt, m.id) AS nextId, " +
+           "LEAD(m.role) OVER (PARTITION BY m.session.id ORDER BY m.createdAt, m.id) AS nextRole, " +
+           "LEAD(m.tokensUsed) OVER (PARTITION BY m.session.id ORDER BY m.createdAt, m.id) AS nextTokens, " +
+           "LEAD(m.createdAt) OVER (PARTITION BY m.session.id ORDER BY m.createdAt, m.id) AS nextCreatedAt " +
+           "FROM ChatMessage m " +
+           "WHERE (:userId IS NULL OR m.session.user.id = :userId) " +
            "AND m.createdAt >= :startDate " +
-           "AND m.createdAt < :endDate " +
-           "ORDER BY m.createdAt ASC")
-    List<ChatMessage> findByUserIdAndDateRangeAdmin(@Param("userId") Long userId,
-                                                     @Param("startDate") LocalDateTime startDate,
-                                                     @Param("endDate") LocalDateTime endDate);
+           "AND m.createdAt < :endDate) p ";
+    
+    /**
+     * Interações (pergunta do usuário e resposta do assistente, quando houver) do período.
+     * Colunas: id, sessionId, tipo, ideaId, userId, nome, email, pergunta, tokens de entrada, ip,
+     * criação, resposta, tokens de saída e criação da resposta.
+     */
+    String INTERACTIONS_QUERY = "SELECT um.id, s.id, s.type, i.id, u.id, u.name, u.email, " +
+           "um.content, um.tokensUsed, um.ipAddress, um.createdAt, " +
+           "am.content, am.tokensUsed, am.createdAt " +
+           "FROM " + INTERACTIONS_SOURCE +
+           "JOIN ChatMessage um ON um.id = p.id " +
+           "JOIN um.session s " +
+           "JOIN s.user u " +
+           "LEFT JOIN s.idea i " +
+           "LEFT JOIN ChatMessage am ON am.id = p.nextId AND p.nextRole = :assistantRole " +
+           "WHERE p.role = :userRole " +
+           "ORDER BY p.createdAt ASC, p.id ASC";
+    
+    @Query(INTERACTIONS_QUERY)
+    List<Object[]> findInteractionsPage(@Param("userId") Long userId,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("userRole") ChatMessage.MessageRole userRole,
+                                        @Param("assistantRole") ChatMessage.MessageRole assistantRole,
+                                        org.springframework.data.domain.Pageable pageable);
+    
+    /**
+     * Mesmas linhas de {@link #findInteractionsPage}, lidas por cursor sem paginação.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(INTERACTIONS_QUERY)
+    Stream<Object[]> streamInteractions(@Param("userId") Long userId,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("userRole") ChatMessage.MessageRole userRole,
+                                        @Param("assistantRole") ChatMessage.MessageRole assistantRole);
+    
+    /**
+     * Métricas de cada interação do período, para recalcular os agregados diários:
+     * userId, tokens de entrada, tokens de saída e tempo de resposta em nanossegundos
+     * (os dois últimos nulos quando não houve resposta).
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.user.id, p.tokensUsed, " +
+           "CASE WHEN p.nextRole = :assistantRole THEN p.nextTokens END, " +
+           "CASE WHEN p.nextRole = :assistantRole THEN (p.nextCreatedAt - p.createdAt) BY NANOSECOND END " +
+           "FROM " + INTERACTIONS_SOURCE +
+           "JOIN ChatMessage um ON um.id = p.id " +
+           "JOIN um.session s " +
+           "WHERE p.role = :userRole")
+    Stream<Object[]> streamInteractionMetrics(@Param("userId") Long userId,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate,
+                                              @Param("userRole") ChatMessage.MessageRole userRole,
+                                              @Param("assistantRole") ChatMessage.MessageRole assistantRole);
+    
+    /**
+     * Resumo das interações do período em uma única linha:
+     * total, tokens de entrada, tokens de saída e tempo médio de resposta em nanossegundos.
+     */
+    @Query("SELECT COUNT(p.id), COALESCE(SUM(p.tokensUsed), 0), " +
+           "COALESCE(SUM(CASE WHEN p.nextRole = :assistantRole THEN p.nextTokens ELSE 0 END), 0), " +
+           "AVG(CASE WHEN p.nextRole = :assistantRole THEN (p.nextCreatedAt - p.createdAt) BY NANOSECOND END) " +
+           "FROM " + INTERACTIONS_SOURCE +
+           "WHERE p.role = :userRole")
+    List<Object[]> summarizeInteractions(@Param("userId") Long userId,
+                                         @Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate,
+                                         @Param("userRole") ChatMessage.MessageRole userRole,
+                                         @Param("assistantRole") ChatMessage.MessageRole assistantRole);
 }
 
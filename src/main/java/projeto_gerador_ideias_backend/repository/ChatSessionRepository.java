@@ -3,9 +3,12 @@ package projeto_gerador_ideias_backend.repository;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import projeto_gerador_ideias_backend.model.ChatMessage;
 import projeto_gerador_ideias_backend.model.ChatSession;
 
 import java.util.List;
@@ -37,5 +40,13 @@ public interface ChatSessionRepository extends JpaRepository<ChatSession, Long>
            "LEFT JOIN FETCH s.idea i " +
            "WHERE s.id = :id")
     Optional<ChatSession> findByIdWithIdea(@Param("id") Long id);
-}
 
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChatSession s SET " +
+           "s.userTokens = (SELECT COALESCE(SUM(m.tokensUsed), 0) FROM ChatMessage m WHERE m.session = s AND m.role = :userRole), " +
+           "s.assistantTokens = (SELECT COALESCE(SUM(m.tokensUsed), 0) FROM ChatMessage m WHERE m.session = s AND m.role = :assistantRole) " +
+           "WHERE s.userTokens IS NULL OR s.assistantTokens IS NULL")
+    int backfillTokenLedger(@Param("userRole") ChatMessage.MessageRole userRole,
+                            @Param("assistantRole") ChatMessage.MessageRole assistantRole);
+}
@@ -1,5 +1,8 @@
 package projeto_gerador_ideias_backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -7,17 +10,19 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import projeto_gerador_ideias_backend.model.Idea;
-import projeto_gerador_ideias_backend.model.Theme;
-import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.projection.IdeaContentRow;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSummaryRow;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface IdeaRepository extends JpaRepository<Idea, Long>, JpaSpecificationExecutor<Idea> {
+public interface IdeaRepository extends JpaRepository<Idea, Long>, JpaSpecificationExecutor<Idea>, IdeaRepositoryCustom {
 
     Page<Idea> findByUserId(Long userId, Pageable pageable);
 
@@ -32,15 +37,43 @@ public interface IdeaRepository extends JpaRepository<Idea, Long>, JpaSpecificat
            "ORDER BY i.createdAt DESC")
     List<Idea> findByUserIdWithThemeOrderByCreatedAtDesc(@Param("userId") Long userId);
     
-    @Query("SELECT i.id, i.summary, i.theme.name, i.createdAt FROM Idea i " +
+    @Query("SELECT new projeto_gerador_ideias_backend.repository.projection.IdeaSummaryRow(" +
+           "i.id, i.summary, i.theme.name, i.createdAt) FROM Idea i " +
            "WHERE i.user.id = :userId " +
            "ORDER BY i.createdAt DESC")
-    List<Object[]> findIdeasSummaryOnlyByUserId(@Param("userId") Long userId);
+    List<IdeaSummaryRow> findIdeasSummaryOnlyByUserId(@Param("userId") Long userId);
 
-    Optional<Idea> findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(User user, Theme theme, String context);
+    @EntityGraph(attributePaths = {"user", "theme"})
+    Optional<Idea> findWithUserAndThemeById(Long id);
+
+    /**
+     * Próximo lote, em ordem de id, de ideias ainda sem resumo. O backfill percorre a tabela
+     * por keyset a partir de {@code afterId}.
+     */
+    @Query("SELECT new projeto_gerador_ideias_backend.repository.projection.IdeaContentRow(" +
+           "i.id, i.user.id, i.generatedContent) FROM Idea i " +
+           "WHERE (i.summary IS NULL OR i.summary = '') AND i.id > :afterId " +
+           "ORDER BY i.id")
+    List<IdeaContentRow> findMissingSummaryBatch(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT COUNT(i) FROM Idea i WHERE i.summary IS NULL OR i.summary = ''")
+    long countMissingSummary();
+
+    Optional<Idea> findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(Long userId, Long themeId, Long contextHash);
+
+    @EntityGraph(attributePaths = {"theme"})
+    Optional<Idea> findFirstByThemeIdAndContextHashOrderByCreatedAtDesc(Long themeId, Long contextHash);
 
-    @Query("SELECT AVG(i.executionTimeMs) FROM Idea i WHERE i.user.id = :userId")
-    Double getAverageExecutionTimeForUser(@Param("userId") Long userId);
+    /**
+     * Tempos de execução das ideias do usuário, para montar suas estatísticas de geração.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.executionTimeMs FROM Idea i WHERE i.user.id = :userId")
+    Stream<Long> streamExecutionTimesByUserId(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(i) FROM User u JOIN u.favoriteIdeas i WHERE u.id = :userId")
     long countFavoriteIdeasByUserId(@Param("userId") Long userId);
@@ -0,0 +1,29 @@
+package projeto_gerador_ideias_backend.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.repository.projection.IdeaListItemRow;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSearchHit;
+
+import java.util.List;
+
+public interface IdeaRepositoryCustom {
+
+    /**
+     * Lista as ideias que atendem à especificação lendo só as colunas da listagem
+     * e os primeiros {@code prefixLength} caracteres do conteúdo.
+     */
+    List<IdeaListItemRow> findListItems(Specification<Idea> spec, Sort sort, int limit, int prefixLength);
+
+    /**
+     * Ids das ideias que atendem à especificação.
+     */
+    List<Long> findIds(Specification<Idea> spec);
+
+    /**
+     * Busca textual no PostgreSQL: ideias cujo {@code search_vector} casa com a consulta,
+     * ordenadas por {@code ts_rank} e id, a partir da posição {@code (afterRank, afterId)}.
+     */
+    List<IdeaSearchHit> searchRanked(Specification<Idea> spec, String query, Double afterRank, Long afterId, int limit);
+}
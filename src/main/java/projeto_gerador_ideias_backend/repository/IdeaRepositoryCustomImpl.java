@@ -0,0 +1,102 @@
+package projeto_gerador_ideias_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.repository.projection.IdeaListItemRow;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSearchHit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class IdeaRepositoryCustomImpl implements IdeaRepositoryCustom {
+
+    private static final String ID = "id";
+    private static final String SEARCH_VECTOR = "searchVector";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<IdeaListItemRow> findListItems(Specification<Idea> spec, Sort sort, int limit, int prefixLength) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IdeaListItemRow> query = cb.createQuery(IdeaListItemRow.class);
+        Root<Idea> root = query.from(Idea.class);
+        Join<Idea, Theme> theme = root.join("theme");
+
+        // O cast para texto permite o substring sobre a coluna mapeada como LOB.
+        query.select(cb.construct(IdeaListItemRow.class,
+                root.get(ID),
+                theme.get("name"),
+                root.get("summary"),
+                root.get("createdAt"),
+                cb.substring(root.<String>get("generatedContent").as(String.class), 1, prefixLength)));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Idea> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Idea> root = query.from(Idea.class);
+
+        query.select(root.get(ID));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<IdeaSearchHit> searchRanked(Specification<Idea> spec, String text, Double afterRank, Long afterId,
+                                            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IdeaSearchHit> query = cb.createQuery(IdeaSearchHit.class);
+        Root<Idea> root = query.from(Idea.class);
+        ParameterExpression<String> terms = cb.parameter(String.class, "terms");
+
+        // fts_match e fts_rank são registradas em SearchFunctionContributor (operador @@ e ts_rank).
+        Expression<Double> rank = cb.function("fts_rank", Double.class, root.get(SEARCH_VECTOR), terms);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(cb.function("fts_match", Boolean.class, root.get(SEARCH_VECTOR), terms)));
+        Predicate filters = spec.toPredicate(root, query, cb);
+        if (filters != null) {
+            predicates.add(filters);
+        }
+        if (afterRank != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(rank, afterRank),
+                    cb.and(cb.equal(rank, afterRank), cb.lessThan(root.get(ID), afterId))));
+        }
+
+        query.select(cb.construct(IdeaSearchHit.class, root.get(ID), rank))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(rank), cb.desc(root.get(ID)));
+
+        return entityManager.createQuery(query)
+                .setParameter(terms, text)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -6,12 +6,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import projeto_gerador_ideias_backend.model.UserFavorite;
 
-public interface UserFavoriteRepository extends JpaRepository<UserFavorite, UserFavorite.UserFavoriteId> {
+import java.util.Collection;
 
-    @Modifying
-    @Query(value = "INSERT INTO user_favorites (user_id, idea_id) VALUES (:userId, :ideaId)", nativeQuery = true)
-    void addFavorite(@Param("userId") Long userId, @Param("ideaId") Long ideaId);
+public interface UserFavoriteRepository extends JpaRepository<UserFavorite, UserFavorite.UserFavoriteId>,
+        UserFavoriteRepositoryCustom {
 
-    @Query("SELECT COUNT(uf) > 0 FROM UserFavorite uf WHERE uf.userId = :userId AND uf.ideaId = :ideaId")
-    boolean existsByUserIdAndIdeaId(@Param("userId") Long userId, @Param("ideaId") Long ideaId);
-}
\ No newline at end of file
+    /**
+     * Remove os favoritos informados em um único DELETE.
+     *
+     * @return quantidade de favoritos que existiam e foram removidos
+     */
+    @Modifying
+    @Query("DELETE FROM UserFavorite uf WHERE uf.userId = :userId AND uf.ideaId IN :ideaIds")
+    int removeFavorites(@Param("userId") Long userId, @Param("ideaIds") Collection<Long> ideaIds);
+}
@@ -0,0 +1,14 @@
+package projeto_gerador_ideias_backend.repository;
+
+import java.util.Collection;
+
+public interface UserFavoriteRepositoryCustom {
+
+    /**
+     * Favorita as ideias informadas em um único INSERT. Ideias inexistentes e favoritos já
+     * gravados são ignorados, sem erro de chave duplicada.
+     *
+     * @return quantidade de favoritos efetivamente inseridos
+     */
+    int addFavorites(Long userId, Collection<Long> ideaIds);
+}
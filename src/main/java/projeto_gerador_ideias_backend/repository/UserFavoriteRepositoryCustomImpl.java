@@ -0,0 +1,60 @@
+package projeto_gerador_ideias_backend.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+class UserFavoriteRepositoryCustomImpl implements UserFavoriteRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    UserFavoriteRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int addFavorites(Long userId, Collection<Long> ideaIds) {
+        Long[] ids = new LinkedHashSet<>(ideaIds).toArray(Long[]::new);
+        if (ids.length == 0) {
+            return 0;
+        }
+        if (isPostgres()) {
+            // ON CONFLICT torna o INSERT idempotente mesmo com requisições simultâneas.
+            return jdbcTemplate.update(
+                    "INSERT INTO user_favorites (user_id, idea_id) " +
+                    "SELECT ?, i.id FROM ideas i WHERE i.id = ANY(?) ON CONFLICT DO NOTHING",
+                    ps -> {
+                        ps.setLong(1, userId);
+                        ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+                    });
+        }
+        // Outros bancos (H2 nos testes) não têm ON CONFLICT; o NOT EXISTS cobre o uso sequencial.
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        List<Object> args = new ArrayList<>(ids.length + 2);
+        args.add(userId);
+        Collections.addAll(args, ids);
+        args.add(userId);
+        return jdbcTemplate.update(
+                "INSERT INTO user_favorites (user_id, idea_id) " +
+                "SELECT ?, i.id FROM ideas i WHERE i.id IN (" + placeholders + ") " +
+                "AND NOT EXISTS (SELECT 1 FROM user_favorites uf WHERE uf.user_id = ? AND uf.idea_id = i.id)",
+                args.toArray());
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            current = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = current;
+        }
+        return current;
+    }
+}
@@ -1,12 +1,11 @@
 package projeto_gerador_ideias_backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import projeto_gerador_ideias_backend.model.User;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,7 +18,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    @Modifying
-    @Query("UPDATE User u SET u.generatedIdeasCount = u.generatedIdeasCount + 1 WHERE u.email = :email")
-    int incrementGeneratedIdeasCount(String email);
+    @Query("SELECT u.id FROM User u WHERE u.enabled = false")
+    List<Long> findDisabledUserIds();
 }
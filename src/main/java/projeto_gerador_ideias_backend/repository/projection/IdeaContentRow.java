@@ -0,0 +1,7 @@
+package projeto_gerador_ideias_backend.repository.projection;
+
+/**
+ * Conteúdo de uma ideia com o dono, lido pelo backfill de resumos sem carregar a entidade.
+ */
+public record IdeaContentRow(Long id, Long userId, String content) {
+}
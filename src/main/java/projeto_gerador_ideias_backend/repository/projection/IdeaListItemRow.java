@@ -0,0 +1,11 @@
+package projeto_gerador_ideias_backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha das listagens de ideias: apenas o início do conteúdo vem do banco.
+ * {@code contentPrefix} tem um caractere além da prévia para indicar se houve corte.
+ */
+public record IdeaListItemRow(Long id, String themeName, String summary, LocalDateTime createdAt,
+                              String contentPrefix) {
+}
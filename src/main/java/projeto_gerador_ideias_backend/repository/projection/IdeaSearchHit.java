@@ -0,0 +1,7 @@
+package projeto_gerador_ideias_backend.repository.projection;
+
+/**
+ * Ideia encontrada pela busca textual, com a relevância calculada para a consulta.
+ */
+public record IdeaSearchHit(Long id, Double rank) {
+}
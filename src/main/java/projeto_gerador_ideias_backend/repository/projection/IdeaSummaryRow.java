@@ -0,0 +1,9 @@
+package projeto_gerador_ideias_backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de uma ideia lido sem carregar o conteúdo gerado.
+ */
+public record IdeaSummaryRow(Long id, String summary, String themeName, LocalDateTime createdAt) {
+}
@@ -0,0 +1,27 @@
+package projeto_gerador_ideias_backend.security;
+
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.User;
+
+import java.util.UUID;
+
+/**
+ * Retrato imutável do usuário autenticado, resolvido uma vez por requisição.
+ */
+public record CurrentUser(Long id, UUID uuid, String email, String name, Role role, boolean enabled) {
+
+    public static CurrentUser from(User user) {
+        return new CurrentUser(
+                user.getId(),
+                user.getUuid(),
+                user.getEmail(),
+                user.getName(),
+                user.getRole() != null ? user.getRole() : Role.USER,
+                Boolean.TRUE.equals(user.getEnabled())
+        );
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
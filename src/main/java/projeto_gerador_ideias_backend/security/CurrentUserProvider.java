@@ -0,0 +1,94 @@
+package projeto_gerador_ideias_backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+/**
+ * Ponto único de resolução do usuário autenticado.
+ * O usuário é carregado com uma única consulta e guardado como atributo da requisição,
+ * que é descartado junto com ela; fora de uma requisição (tarefas assíncronas) é resolvido
+ * a partir do SecurityContext a cada chamada. Quem chama pode informar as mensagens de erro
+ * próprias do seu contexto, mantendo o texto que a API já devolvia.
+ */
+@Component
+@Slf4j
+public class CurrentUserProvider {
+
+    static final String REQUEST_ATTRIBUTE = CurrentUserProvider.class.getName() + ".resolved";
+    private static final String UNAUTHENTICATED = "Usuário não autenticado.";
+    private static final String NOT_FOUND = "Usuário autenticado não encontrado no banco de dados: ";
+
+    private final UserRepository userRepository;
+
+    public CurrentUserProvider(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public CurrentUser get() {
+        return resolve(UNAUTHENTICATED, NOT_FOUND).snapshot();
+    }
+
+    /**
+     * Entidade do usuário autenticado, para uso em associações JPA.
+     */
+    public User getUser() {
+        return getUser(UNAUTHENTICATED, NOT_FOUND);
+    }
+
+    /**
+     * Como {@link #getUser()}, com as mensagens do {@link ResourceNotFoundException} definidas por quem chama;
+     * {@code notFoundMessage} é seguida do email do usuário.
+     */
+    public User getUser(String unauthenticatedMessage, String notFoundMessage) {
+        return resolve(unauthenticatedMessage, notFoundMessage).user();
+    }
+
+    private Resolved resolve(String unauthenticatedMessage, String notFoundMessage) {
+        UserDetails principal = currentPrincipal(unauthenticatedMessage);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Resolved cached
+                && cached.snapshot().email().equals(principal.getUsername())) {
+            return cached;
+        }
+
+        User user = load(principal, notFoundMessage);
+        Resolved resolved = new Resolved(CurrentUser.from(user), user);
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        log.debug("Usuário autenticado resolvido: id={}, email={}", user.getId(), user.getEmail());
+        return resolved;
+    }
+
+    private User load(UserDetails principal, String notFoundMessage) {
+        String email = principal.getUsername();
+        if (principal instanceof JwtUserPrincipal jwtPrincipal && jwtPrincipal.id() != null) {
+            return userRepository.findById(jwtPrincipal.id())
+                    .filter(user -> email.equals(user.getEmail()))
+                    .orElseThrow(() -> new ResourceNotFoundException(notFoundMessage + email));
+        }
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException(notFoundMessage + email));
+    }
+
+    private static UserDetails currentPrincipal(String unauthenticatedMessage) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails principal)) {
+            throw new ResourceNotFoundException(unauthenticatedMessage);
+        }
+        return principal;
+    }
+
+    private record Resolved(CurrentUser snapshot, User user) {
+    }
+}
@@ -0,0 +1,68 @@
+package projeto_gerador_ideias_backend.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto em memória dos usuários desativados, consultado na autenticação stateless
+ * para recusar tokens ainda válidos de contas desativadas sem ir ao banco por requisição.
+ * É recarregado periodicamente do banco e atualizado pelo {@link UserEnabledChangedEvent} após o commit
+ * da alteração; com Redis, o {@link DisabledUserReplicator} repassa o evento aos demais nós.
+ */
+@Component
+@Slf4j
+public class DisabledUserRegistry {
+
+    private final UserRepository userRepository;
+    private volatile Set<Long> disabledUserIds = ConcurrentHashMap.newKeySet();
+
+    public DisabledUserRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.auth.disabled-users-refresh-ms:60000}",
+            initialDelayString = "${security.auth.disabled-users-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            Set<Long> refreshed = ConcurrentHashMap.newKeySet();
+            refreshed.addAll(userRepository.findDisabledUserIds());
+            disabledUserIds = refreshed;
+        } catch (Exception e) {
+            log.warn("Falha ao recarregar usuários desativados; mantendo conjunto anterior: {}", e.getMessage());
+        }
+    }
+
+    public boolean isDisabled(Long userId) {
+        return userId != null && disabledUserIds.contains(userId);
+    }
+
+    /**
+     * Aplicado só após o commit: se a transação for desfeita, o conjunto continua refletindo o banco.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEnabledChanged(UserEnabledChangedEvent event) {
+        update(event.userId(), event.enabled());
+    }
+
+    public void update(Long userId, boolean enabled) {
+        if (userId == null) {
+            return;
+        }
+        if (enabled) {
+            disabledUserIds.remove(userId);
+        } else {
+            disabledUserIds.add(userId);
+        }
+    }
+
+    public record UserEnabledChangedEvent(Long userId, boolean enabled) {
+    }
+}
@@ -0,0 +1,66 @@
+package projeto_gerador_ideias_backend.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Propaga ativações e desativações de conta via pub/sub, para que o {@link DisabledUserRegistry}
+ * de todos os nós recuse os tokens do usuário sem esperar a próxima recarga periódica.
+ * A mensagem é {@code <userId>:<1|0>} e só é publicada após o commit da alteração.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+@Slf4j
+public class DisabledUserReplicator {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final DisabledUserRegistry disabledUserRegistry;
+    private final String channel;
+
+    public DisabledUserReplicator(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  DisabledUserRegistry disabledUserRegistry,
+                                  @Value("${security.auth.disabled-users-channel:user:enabled-changed}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.disabledUserRegistry = disabledUserRegistry;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> apply(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEnabledChanged(DisabledUserRegistry.UserEnabledChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, event.userId() + ":" + (event.enabled() ? 1 : 0));
+        } catch (Exception e) {
+            log.warn("Falha ao propagar alteração de conta do usuário {}; demais nós aplicam na próxima recarga: {}",
+                    event.userId(), e.getMessage());
+        }
+    }
+
+    void apply(String message) {
+        int separator = message.lastIndexOf(':');
+        try {
+            Long userId = Long.parseLong(message.substring(0, separator));
+            disabledUserRegistry.update(userId, "1".equals(message.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Mensagem de alteração de conta inválida ignorada: {}", message);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,14 +18,21 @@ import projeto_gerador_ideias_backend.service.JwtService;
 import projeto_gerador_ideias_backend.service.TokenBlacklistService;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String VERIFIED_JWT_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".VERIFIED_JWT";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final DisabledUserRegistry disabledUserRegistry;
+
+    @Value("${security.auth.stateless-principal:true}")
+    private boolean statelessPrincipal = true;
 
     @Override
     protected void doFilterInternal(
@@ -42,20 +50,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String jwt = authHeader.substring(7);
         
-        if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
+        Optional<VerifiedJwt> verifiedJwt = jwtService.verifyAccessToken(jwt);
+        if (verifiedJwt.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        if (!jwtService.validateToken(jwt)) {
+        if (tokenBlacklistService.isDigestBlacklisted(verifiedJwt.get().digest())) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        String userEmail;
-        try {
-            userEmail = jwtService.extractUsername(jwt);
-        } catch (Exception e) {
+        request.setAttribute(VERIFIED_JWT_ATTRIBUTE, verifiedJwt.get());
+        String userEmail = verifiedJwt.get().subject();
+        
+        if (statelessPrincipal && verifiedJwt.get().userId() != null) {
+            authenticateFromClaims(request, verifiedJwt.get());
             filterChain.doFilter(request, response);
             return;
         }
@@ -85,6 +95,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    private void authenticateFromClaims(HttpServletRequest request, VerifiedJwt verifiedJwt) {
+        if (verifiedJwt.subject() == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        if (disabledUserRegistry.isDisabled(verifiedJwt.userId())) {
+            return;
+        }
+        JwtUserPrincipal principal = JwtUserPrincipal.from(verifiedJwt);
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
 
 
@@ -0,0 +1,45 @@
+package projeto_gerador_ideias_backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import projeto_gerador_ideias_backend.model.Role;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal montado diretamente das claims de um access token verificado, sem consulta ao banco.
+ * O papel reflete o momento da emissão do token.
+ */
+public record JwtUserPrincipal(Long id, String email, Role role, UUID uuid) implements UserDetails {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    public static JwtUserPrincipal from(VerifiedJwt jwt) {
+        Role role = jwt.authorities().stream()
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .flatMap(name -> Arrays.stream(Role.values()).filter(candidate -> candidate.name().equals(name)))
+                .findFirst()
+                .orElse(Role.USER);
+        return new JwtUserPrincipal(jwt.userId(), jwt.subject(), role, jwt.uuid());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
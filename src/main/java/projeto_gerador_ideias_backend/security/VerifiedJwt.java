@@ -0,0 +1,26 @@
+package projeto_gerador_ideias_backend.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims de um access token já verificado (assinatura, tipo e expiração).
+ * Disponível durante a requisição no atributo {@link JwtAuthenticationFilter#VERIFIED_JWT_ATTRIBUTE}.
+ */
+public record VerifiedJwt(
+        String digest,
+        String subject,
+        Long userId,
+        UUID uuid,
+        List<String> authorities,
+        Instant expiresAt
+) {
+    public VerifiedJwt {
+        authorities = authorities != null ? List.copyOf(authorities) : List.of();
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,83 @@
+package projeto_gerador_ideias_backend.service;
+
+import projeto_gerador_ideias_backend.dto.response.AdminInteraction;
+import projeto_gerador_ideias_backend.dto.response.Interaction;
+import projeto_gerador_ideias_backend.dto.response.InteractionMetrics;
+import projeto_gerador_ideias_backend.model.ChatSession;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Linha das consultas de interações do {@code ChatMessageRepository}: pergunta do usuário
+ * e, quando houver, a resposta seguinte do assistente na mesma sessão.
+ */
+record ChatInteractionRow(Long sessionId, String chatType, Long ideaId,
+                          Long userId, String userName, String userEmail,
+                          String userMessage, int tokensInput, String ipAddress, LocalDateTime createdAt,
+                          String assistantMessage, Integer tokensOutput, LocalDateTime respondedAt) {
+
+    static ChatInteractionRow from(Object[] row) {
+        return new ChatInteractionRow(
+            (Long) row[1],
+            ((ChatSession.ChatType) row[2]).name(),
+            (Long) row[3],
+            (Long) row[4],
+            (String) row[5],
+            (String) row[6],
+            (String) row[7],
+            row[8] != null ? ((Number) row[8]).intValue() : 0,
+            (String) row[9],
+            (LocalDateTime) row[10],
+            (String) row[11],
+            row[12] != null ? ((Number) row[12]).intValue() : null,
+            (LocalDateTime) row[13]
+        );
+    }
+
+    String timestamp() {
+        LocalDateTime value = createdAt != null ? createdAt : LocalDateTime.now();
+        return value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    InteractionMetrics metrics() {
+        if (tokensOutput == null) {
+            return new InteractionMetrics(tokensInput, 0, tokensInput, null);
+        }
+        Long responseTimeMs = createdAt != null && respondedAt != null
+            ? Duration.between(createdAt, respondedAt).toMillis()
+            : null;
+        return new InteractionMetrics(tokensInput, tokensOutput, tokensInput + tokensOutput, responseTimeMs);
+    }
+
+    Interaction toInteraction(long interactionId) {
+        return new Interaction(
+            interactionId,
+            timestamp(),
+            sessionId,
+            chatType,
+            ideaId,
+            userMessage,
+            assistantMessage,
+            metrics()
+        );
+    }
+
+    AdminInteraction toAdminInteraction(long interactionId, String userIp) {
+        return new AdminInteraction(
+            interactionId,
+            timestamp(),
+            sessionId,
+            chatType,
+            ideaId,
+            userId,
+            userName,
+            userEmail,
+            userIp,
+            userMessage,
+            assistantMessage,
+            metrics()
+        );
+    }
+}
@@ -59,7 +59,7 @@ public class ChatLimitValidator {
     }
 
     public void validateChatNotBlocked(ChatSession session, int additionalTokens) {
-        int currentChatTokens = tokenCalculationService.getTotalUserTokensInChat(session.getId());
+        int currentChatTokens = tokenCalculationService.getSessionTokens(session);
         if (currentChatTokens + additionalTokens >= chatProperties.getMaxTokensPerChat()) {
             throw new TokenLimitExceededException(
                 String.format(TOKEN_LIMIT_EXCEEDED_MESSAGE, chatProperties.getMaxTokensPerChat())
@@ -68,7 +68,7 @@ public class ChatLimitValidator {
     }
     
     public void validateChatNotBlockedWithResponse(ChatSession session, int inputTokens, int outputTokens) {
-        int currentChatTokens = tokenCalculationService.getTotalUserTokensInChat(session.getId());
+        int currentChatTokens = tokenCalculationService.getSessionTokens(session);
         int totalNewTokens = inputTokens + outputTokens;
         if (currentChatTokens + totalNewTokens > chatProperties.getMaxTokensPerChat()) {
             throw new TokenLimitExceededException(
@@ -78,7 +78,7 @@ public class ChatLimitValidator {
     }
 
     public boolean isChatBlocked(ChatSession session) {
-        int totalUserTokens = tokenCalculationService.getTotalUserTokensInChat(session.getId());
+        int totalUserTokens = tokenCalculationService.getSessionTokens(session);
         return totalUserTokens >= chatProperties.getMaxTokensPerChat();
     }
 
@@ -0,0 +1,27 @@
+package projeto_gerador_ideias_backend.service;
+
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Leitura das datas (YYYY-MM-DD) aceitas pelos endpoints de logs e estatísticas de chat.
+ */
+final class ChatLogDates {
+
+    private ChatLogDates() {
+    }
+
+    static LocalDate parseOrToday(String dateStr) {
+        if (dateStr == null || dateStr.isBlank()) {
+            return LocalDate.now();
+        }
+        try {
+            return LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Formato de data inválido. Use YYYY-MM-DD (exemplo: 2024-01-15).");
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projeto_gerador_ideias_backend.dto.response.AdminInteraction;
+import projeto_gerador_ideias_backend.dto.response.InteractionMetrics;
+import projeto_gerador_ideias_backend.exceptions.ChatPermissionException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.ChatMessage;
+import projeto_gerador_ideias_backend.repository.ChatMessageRepository;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Exporta os logs de chat do admin em NDJSON ou CSV, escrevendo direto na resposta.
+ * As interações são lidas por cursor e processadas em lotes, então a memória usada
+ * depende do tamanho do lote e não do período exportado.
+ */
+@Service
+@Slf4j
+public class ChatLogExportService {
+
+    static final String CSV_HEADER = "interactionId,timestamp,sessionId,chatType,ideaId,userId,userName,userEmail,"
+            + "userIp,userMessage,assistantMessage,tokensInput,tokensOutput,totalTokens,responseTimeMs";
+    private static final String UNKNOWN_IP = "unknown";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final IpEncryptionService ipEncryptionService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService decryptionExecutor;
+    private final int decryptionThreads;
+
+    @Value("${chat.logs.export.max-days:31}")
+    private int maxDays = 31;
+
+    @Value("${chat.logs.export.batch-size:500}")
+    private int batchSize = 500;
+
+    public ChatLogExportService(ChatMessageRepository chatMessageRepository,
+                                IpEncryptionService ipEncryptionService,
+                                CurrentUserProvider currentUserProvider,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${chat.logs.export.decrypt-threads:4}") int decryptionThreads) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.ipEncryptionService = ipEncryptionService;
+        this.currentUserProvider = currentUserProvider;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.decryptionThreads = Math.max(1, decryptionThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.decryptionExecutor = Executors.newFixedThreadPool(this.decryptionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "chat-log-export-ip-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        decryptionExecutor.shutdownNow();
+    }
+
+    public enum ExportFormat {
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+        CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        ExportFormat(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static ExportFormat fromParameter(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Formato de exportação inválido. Use ndjson ou csv.");
+            }
+        }
+    }
+
+    /**
+     * Exportação pronta para ser escrita na resposta.
+     */
+    public record ChatLogExport(String filename, MediaType mediaType, StreamingResponseBody body) {
+    }
+
+    /**
+     * Valida permissão e período na thread da requisição; a leitura acontece só quando o corpo é escrito.
+     */
+    public ChatLogExport prepareExport(String fromStr, String toStr, Long userId, String formatStr) {
+        if (!currentUserProvider.get().isAdmin()) {
+            throw new ChatPermissionException("Acesso negado. Apenas administradores podem acessar este endpoint.");
+        }
+
+        ExportFormat format = ExportFormat.fromParameter(formatStr);
+        LocalDate from = ChatLogDates.parseOrToday(fromStr);
+        LocalDate to = toStr != null && !toStr.isBlank() ? ChatLogDates.parseOrToday(toStr) : from;
+        if (to.isBefore(from)) {
+            throw new ValidationException("A data final deve ser igual ou posterior à data inicial.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new ValidationException("O período de exportação deve ter no máximo " + maxDays + " dias.");
+        }
+
+        LocalDateTime startDate = from.atStartOfDay();
+        LocalDateTime endDate = to.plusDays(1).atStartOfDay();
+        String filename = "chat-logs-" + from + "_" + to + "." + format.getExtension();
+
+        return new ChatLogExport(filename, format.getMediaType(),
+                out -> export(userId, startDate, endDate, format, out));
+    }
+
+    void export(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported;
+        try {
+            exported = readOnlyTransaction.execute(status -> {
+                try (Stream<Object[]> rows = chatMessageRepository.streamInteractions(
+                        userId, startDate, endDate,
+                        ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT)) {
+                    return writeInBatches(rows.iterator(), format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("Exportação de logs interrompida: {}", e.getMessage());
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exportação de logs concluída: {} interações entre {} e {}", exported, startDate, endDate);
+    }
+
+    private long writeInBatches(Iterator<Object[]> rows, ExportFormat format, Writer writer) throws IOException {
+        long interactionId = 0;
+        List<ChatInteractionRow> batch = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            batch.add(ChatInteractionRow.from(rows.next()));
+            if (batch.size() == batchSize || !rows.hasNext()) {
+                String[] ips = decryptIps(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    AdminInteraction interaction = batch.get(i).toAdminInteraction(++interactionId, ips[i]);
+                    if (format == ExportFormat.CSV) {
+                        writeCsvLine(interaction, writer);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(interaction));
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+                batch.clear();
+            }
+        }
+        return interactionId;
+    }
+
+    /**
+     * Descriptografa os IPs do lote em paralelo, com no máximo {@code decryptionThreads} tarefas.
+     */
+    String[] decryptIps(List<ChatInteractionRow> batch) {
+        String[] ips = new String[batch.size()];
+        if (batch.isEmpty()) {
+            return ips;
+        }
+        int chunkSize = (batch.size() + decryptionThreads - 1) / decryptionThreads;
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(decryptionThreads);
+        for (int start = 0; start < batch.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, batch.size());
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    String encrypted = batch.get(i).ipAddress();
+                    ips[i] = encrypted != null ? ipEncryptionService.decryptIp(encrypted) : UNKNOWN_IP;
+                }
+            }, decryptionExecutor));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        return ips;
+    }
+
+    private void writeCsvLine(AdminInteraction interaction, Writer writer) throws IOException {
+        InteractionMetrics metrics = interaction.getMetrics();
+        Object[] values = {
+            interaction.getInteractionId(),
+            interaction.getTimestamp(),
+            interaction.getSessionId(),
+            interaction.getChatType(),
+            interaction.getIdeaId(),
+            interaction.getUserId(),
+            interaction.getUserName(),
+            interaction.getUserEmail(),
+            interaction.getUserIp(),
+            interaction.getUserMessage(),
+            interaction.getAssistantMessage(),
+            metrics.getTokensInput(),
+            metrics.getTokensOutput(),
+            metrics.getTotalTokens(),
+            metrics.getResponseTimeMs()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
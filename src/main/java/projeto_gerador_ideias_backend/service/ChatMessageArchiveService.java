@@ -0,0 +1,295 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projeto_gerador_ideias_backend.dto.response.ArchivedChatMessage;
+import projeto_gerador_ideias_backend.exceptions.ChatPermissionException;
+import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivo das mensagens de chat removidas pela retenção: NDJSON compactado (gzip) em disco local,
+ * em um ou mais segmentos numerados por mês. Um segmento gravado nunca é sobrescrito; arquivar o
+ * mesmo mês de novo grava o próximo segmento. A leitura percorre os segmentos em streaming.
+ */
+@Service
+@Slf4j
+public class ChatMessageArchiveService {
+
+    static final String FILE_PREFIX = "chat-messages-";
+    static final String FILE_SUFFIX = ".ndjson.gz";
+    private static final int FETCH_SIZE = 500;
+    private static final String MONTH_QUERY =
+            "SELECT m.id, m.session_id, s.user_id, m.role, m.content, m.tokens_used, m.tokens_remaining, " +
+            "m.ip_address, m.created_at FROM chat_messages m JOIN chat_sessions s ON s.id = m.session_id " +
+            "WHERE m.created_at >= ? AND m.created_at < ? ORDER BY m.created_at, m.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IpEncryptionService ipEncryptionService;
+    private final CurrentUserProvider currentUserProvider;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path archiveDir;
+
+    public ChatMessageArchiveService(JdbcTemplate jdbcTemplate,
+                                     ObjectMapper objectMapper,
+                                     IpEncryptionService ipEncryptionService,
+                                     CurrentUserProvider currentUserProvider,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${chat.messages.archive-dir:./data/chat-archive}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ipEncryptionService = ipEncryptionService;
+        this.currentUserProvider = currentUserProvider;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * Grava as mensagens do mês que ainda estão no banco em um novo segmento do arquivo.
+     * O segmento só aparece com o nome final depois de completo.
+     */
+    public long archiveMonth(YearMonth month) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path temporary = Files.createTempFile(archiveDir, FILE_PREFIX + month, ".tmp");
+
+        long archived;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+            archived = readOnlyTransaction.execute(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        MONTH_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setTimestamp(1, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+                statement.setTimestamp(2, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+                return statement;
+            }, resultSet -> {
+                long count = 0;
+                while (resultSet.next()) {
+                    writeLine(writer, toArchivedMessage(resultSet));
+                    count++;
+                }
+                return count;
+            }));
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(temporary);
+            throw e.getCause();
+        }
+
+        if (archived == 0) {
+            Files.deleteIfExists(temporary);
+            return 0;
+        }
+        Path target = publish(month, temporary);
+        log.info("{} mensagens de chat de {} arquivadas em {}", archived, month, target);
+        return archived;
+    }
+
+    /**
+     * Move o arquivo temporário para o primeiro número de segmento livre do mês.
+     * Sem {@code REPLACE_EXISTING}, um segmento já gravado faz a tentativa passar ao próximo número.
+     */
+    private Path publish(YearMonth month, Path temporary) throws IOException {
+        for (int segment = 1; ; segment++) {
+            Path target = segmentFile(month, segment);
+            if (Files.exists(target)) {
+                continue;
+            }
+            try {
+                return Files.move(temporary, target);
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Segmento {} gravado por outra execução; tentando o próximo", target);
+            }
+        }
+    }
+
+    /**
+     * Meses com arquivo gravado, em ordem crescente.
+     */
+    public List<YearMonth> listArchivedMonths() throws IOException {
+        if (!Files.isDirectory(archiveDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            return files.map(path -> monthOf(path.getFileName().toString()))
+                    .flatMap(Optional::stream)
+                    .distinct()
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Lê as mensagens arquivadas do mês, segmento a segmento, opcionalmente filtradas por sessão e usuário.
+     * O stream mantém o segmento atual aberto e deve ser fechado por quem o consome.
+     */
+    public Stream<ArchivedChatMessage> readMonth(YearMonth month, Long sessionId, Long userId) throws IOException {
+        List<Path> segments = segmentsFor(month);
+        if (segments.isEmpty()) {
+            throw new ResourceNotFoundException("Arquivo de mensagens não encontrado para " + month);
+        }
+        return segments.stream()
+                .flatMap(ChatMessageArchiveService::lines)
+                .map(this::readLine)
+                .filter(message -> sessionId == null || sessionId.equals(message.getSessionId()))
+                .filter(message -> userId == null || userId.equals(message.getUserId()));
+    }
+
+    private static Stream<String> lines(Path segment) {
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Valida permissão e mês na thread da requisição; o arquivo é lido quando o corpo é escrito.
+     */
+    public StreamingResponseBody prepareRead(String monthStr, Long sessionId, Long userId) {
+        requireAdmin();
+        YearMonth month = parseMonth(monthStr);
+        if (segmentsFor(month).isEmpty()) {
+            throw new ResourceNotFoundException("Arquivo de mensagens não encontrado para " + month);
+        }
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<ArchivedChatMessage> messages = readMonth(month, sessionId, userId)) {
+                messages.forEach(message -> {
+                    if (message.getIpAddress() != null) {
+                        message.setIpAddress(ipEncryptionService.decryptIp(message.getIpAddress()));
+                    }
+                    writeLine(writer, message);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    public List<String> listArchivedMonthsAsAdmin() throws IOException {
+        requireAdmin();
+        return listArchivedMonths().stream().map(YearMonth::toString).toList();
+    }
+
+    /**
+     * Segmentos gravados do mês, em ordem de gravação. Os números são alocados em sequência a partir de 1.
+     */
+    List<Path> segmentsFor(YearMonth month) {
+        List<Path> segments = new ArrayList<>();
+        for (int segment = 1; Files.isRegularFile(segmentFile(month, segment)); segment++) {
+            segments.add(segmentFile(month, segment));
+        }
+        return segments;
+    }
+
+    /**
+     * O primeiro segmento mantém o nome {@code chat-messages-AAAA-MM.ndjson.gz}; os seguintes recebem {@code .N}.
+     */
+    Path segmentFile(YearMonth month, int segment) {
+        return archiveDir.resolve(FILE_PREFIX + month + (segment > 1 ? "." + segment : "") + FILE_SUFFIX);
+    }
+
+    static Optional<YearMonth> monthOf(String fileName) {
+        if (!fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX)) {
+            return Optional.empty();
+        }
+        String name = fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length());
+        int separator = name.indexOf('.');
+        try {
+            if (separator >= 0 && Integer.parseInt(name.substring(separator + 1)) < 2) {
+                return Optional.empty();
+            }
+            return Optional.of(YearMonth.parse(separator >= 0 ? name.substring(0, separator) : name));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static YearMonth parseMonth(String monthStr) {
+        try {
+            return YearMonth.parse(monthStr, DateTimeFormatter.ofPattern("yyyy-MM"));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new ValidationException("Formato de mês inválido. Use YYYY-MM (exemplo: 2024-01).");
+        }
+    }
+
+    private void requireAdmin() {
+        if (!currentUserProvider.get().isAdmin()) {
+            throw new ChatPermissionException("Acesso negado. Apenas administradores podem acessar este endpoint.");
+        }
+    }
+
+    private static ArchivedChatMessage toArchivedMessage(ResultSet resultSet) throws java.sql.SQLException {
+        return new ArchivedChatMessage(
+                resultSet.getLong(1),
+                resultSet.getLong(2),
+                resultSet.getLong(3),
+                resultSet.getString(4),
+                resultSet.getString(5),
+                resultSet.getObject(6, Integer.class),
+                resultSet.getObject(7, Integer.class),
+                resultSet.getString(8),
+                resultSet.getTimestamp(9).toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+
+    private void writeLine(Writer writer, ArchivedChatMessage message) {
+        try {
+            writer.write(objectMapper.writeValueAsString(message));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ArchivedChatMessage readLine(String line) {
+        try {
+            return objectMapper.readValue(line, ArchivedChatMessage.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
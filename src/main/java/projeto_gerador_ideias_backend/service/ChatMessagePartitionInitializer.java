@@ -0,0 +1,42 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migração na inicialização: no PostgreSQL converte {@code chat_messages} para particionamento
+ * mensal, se ainda não estiver, e cria as partições dos próximos meses.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessagePartitionInitializer implements ApplicationRunner {
+
+    private final ChatMessagePartitionService partitionService;
+
+    @Value("${chat.messages.partitioning.enabled:true}")
+    private boolean enabled = true;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!partitionService.isSupported()) {
+                log.debug("Banco sem suporte a particionamento; chat_messages segue como tabela única");
+                return;
+            }
+            if (!partitionService.isPartitioned()) {
+                partitionService.convertToPartitioned();
+            }
+            partitionService.ensureUpcomingPartitions();
+        } catch (Exception e) {
+            log.warn("Falha ao preparar partições de chat_messages; a tabela segue como está: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Particionamento mensal de {@code chat_messages} por {@code created_at} no PostgreSQL.
+ * Cada mês é uma partição {@code chat_messages_pAAAAMM} com índices próprios; a partição
+ * padrão recebe linhas fora dos meses criados. Em outros bancos (H2 nos testes) a tabela
+ * continua única e a retenção trabalha por intervalo de datas.
+ */
+@Service
+@Slf4j
+public class ChatMessagePartitionService {
+
+    static final String TABLE = "chat_messages";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String LEGACY_TABLE = TABLE + "_unpartitioned";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean postgres;
+
+    @Value("${chat.messages.partitions-ahead:2}")
+    private int partitionsAhead = 2;
+
+    public ChatMessagePartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isSupported() {
+        Boolean current = postgres;
+        if (current == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            current = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = current;
+        }
+        return current;
+    }
+
+    public boolean isPartitioned() {
+        if (!isSupported()) {
+            return false;
+        }
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class, TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Converte a tabela existente em particionada, copiando as linhas, chaves estrangeiras e índices.
+     * Executa em uma única transação; a tabela fica bloqueada durante a cópia.
+     * A nova tabela mantém os defaults, a coluna identity e as restrições CHECK (como as dos enums) da original;
+     * uma identity ganha sequência nova, que é avançada até o maior id copiado.
+     * A chave primária passa a ser {@code (id, created_at)}, exigência do PostgreSQL para tabelas particionadas.
+     */
+    public void convertToPartitioned() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            List<String> foreignKeys = jdbcTemplate.query(
+                    "SELECT 'ALTER TABLE " + TABLE + " ADD CONSTRAINT ' || quote_ident(conname) || ' ' || pg_get_constraintdef(oid) " +
+                    "FROM pg_constraint WHERE conrelid = '" + TABLE + "'::regclass AND contype = 'f'",
+                    (rs, rowNum) -> rs.getString(1));
+            List<String> indexes = jdbcTemplate.query(
+                    "SELECT i.indexdef FROM pg_indexes i WHERE i.tablename = ? AND i.schemaname = current_schema() " +
+                    "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname)",
+                    (rs, rowNum) -> rs.getString(1), TABLE);
+            Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                    "SELECT MIN(created_at) AS first_at FROM " + TABLE);
+
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE
+                    + " INCLUDING DEFAULTS INCLUDING IDENTITY INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at)");
+
+            YearMonth first = bounds.get("first_at") != null
+                    ? YearMonth.from(((java.sql.Timestamp) bounds.get("first_at")).toLocalDateTime())
+                    : YearMonth.now();
+            createPartitions(first, YearMonth.now().plusMonths(partitionsAhead));
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+            jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + LEGACY_TABLE);
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+            jdbcTemplate.queryForList(
+                    "SELECT setval(seq::regclass, COALESCE((SELECT MAX(id) FROM " + TABLE + "), 0) + 1, false) " +
+                    "FROM pg_get_serial_sequence('" + TABLE + "', 'id') AS seq WHERE seq IS NOT NULL");
+
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, created_at)");
+
+            foreignKeys.forEach(jdbcTemplate::execute);
+            indexes.forEach(jdbcTemplate::execute);
+        });
+        log.info("Tabela {} convertida para particionamento mensal por created_at", TABLE);
+    }
+
+    /**
+     * Garante as partições do mês atual até {@code chat.messages.partitions-ahead} meses à frente.
+     */
+    public void ensureUpcomingPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        createPartitions(current, current.plusMonths(partitionsAhead));
+    }
+
+    private void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    /**
+     * Meses que têm partição própria, em ordem crescente.
+     */
+    public List<YearMonth> listPartitionMonths() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = '" + TABLE + "'::regclass ORDER BY c.relname", String.class);
+        List<YearMonth> months = new ArrayList<>(names.size());
+        for (String name : names) {
+            monthOf(name).ifPresent(months::add);
+        }
+        return months;
+    }
+
+    /**
+     * Meses anteriores a {@code before} com linhas na partição padrão, em ordem crescente. Ela recebe
+     * as linhas de meses sem partição própria, como datas anteriores às partições criadas.
+     */
+    public List<YearMonth> listDefaultPartitionMonths(YearMonth before) {
+        if (!isPartitioned() || jdbcTemplate.queryForObject("SELECT to_regclass(?)", String.class, DEFAULT_PARTITION) == null) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', created_at) AS date) FROM " + DEFAULT_PARTITION +
+                " WHERE created_at < ? ORDER BY 1",
+                java.sql.Date.class, java.sql.Timestamp.valueOf(before.atDay(1).atStartOfDay()))
+                .stream()
+                .map(date -> YearMonth.from(date.toLocalDate()))
+                .toList();
+    }
+
+    /**
+     * Desanexa e remove a partição do mês. Os índices da partição saem junto com ela.
+     */
+    public void dropPartition(YearMonth month) {
+        String partition = partitionName(month);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+        log.info("Partição {} removida", partition);
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    static Optional<YearMonth> monthOf(String partitionName) {
+        String prefix = TABLE + "_p";
+        if (!partitionName.startsWith(prefix) || partitionName.length() != prefix.length() + 6) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(prefix.length()), PARTITION_SUFFIX));
+        } catch (java.time.format.DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
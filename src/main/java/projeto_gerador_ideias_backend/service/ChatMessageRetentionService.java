@@ -0,0 +1,172 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.repository.ChatDailyStatsRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Retenção de {@code chat_messages}: meses anteriores à janela configurada são gravados no
+ * arquivo compactado e removidos do banco. No PostgreSQL particionado o mês sai inteiro com
+ * a partição (e seus índices); meses que caíram na partição padrão e os demais bancos têm as
+ * linhas do mês apagadas por intervalo.
+ * Os agregados diários do mês são garantidos antes da remoção, então as estatísticas sobrevivem.
+ * No PostgreSQL cada execução segura um advisory lock, de modo que só uma instância arquiva e remove os meses.
+ */
+@Service
+@Slf4j
+public class ChatMessageRetentionService {
+
+    static final String RETENTION_LOCK = "chat-messages-retention";
+
+    private final ChatMessagePartitionService partitionService;
+    private final ChatMessageArchiveService archiveService;
+    private final ChatStatsRollupService chatStatsRollupService;
+    private final ChatDailyStatsRepository chatDailyStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${chat.messages.retention-months:12}")
+    private int retentionMonths = 12;
+
+    @Value("${chat.messages.retention.enabled:true}")
+    private boolean enabled = true;
+
+    public ChatMessageRetentionService(ChatMessagePartitionService partitionService,
+                                       ChatMessageArchiveService archiveService,
+                                       ChatStatsRollupService chatStatsRollupService,
+                                       ChatDailyStatsRepository chatDailyStatsRepository,
+                                       JdbcTemplate jdbcTemplate) {
+        this.partitionService = partitionService;
+        this.archiveService = archiveService;
+        this.chatStatsRollupService = chatStatsRollupService;
+        this.chatDailyStatsRepository = chatDailyStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(cron = "${chat.messages.retention-cron:0 30 3 * * *}")
+    public void applyRetentionScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            applyRetention();
+        } catch (Exception e) {
+            log.warn("Falha na retenção de mensagens de chat; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Arquiva e remove os meses anteriores à janela de retenção. Um mês só é removido depois
+     * que o arquivo dele foi gravado por completo. Se outra instância já estiver aplicando a
+     * retenção, nada é feito.
+     *
+     * @return quantidade de meses arquivados
+     */
+    public int applyRetention() {
+        if (!partitionService.isSupported()) {
+            return archiveExpiredMonths();
+        }
+        // Lock de sessão: a conexão fica reservada até o fim, enquanto o trabalho usa outras conexões do pool
+        Integer archivedMonths = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.info("Retenção de chat já em execução em outra instância; ciclo ignorado");
+                return 0;
+            }
+            try {
+                return archiveExpiredMonths();
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+        return archivedMonths != null ? archivedMonths : 0;
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, RETENTION_LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private int archiveExpiredMonths() {
+        partitionService.ensureUpcomingPartitions();
+        YearMonth firstRetained = firstRetainedMonth();
+        boolean partitioned = partitionService.isPartitioned();
+        Set<YearMonth> ownPartitions = partitioned ? new HashSet<>(partitionService.listPartitionMonths()) : Set.of();
+
+        int archivedMonths = 0;
+        for (YearMonth month : monthsBefore(firstRetained, partitioned, ownPartitions)) {
+            ensureDailyStats(month);
+            long archived;
+            try {
+                archived = archiveService.archiveMonth(month);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao arquivar mensagens de " + month, e);
+            }
+            if (ownPartitions.contains(month)) {
+                partitionService.dropPartition(month);
+            } else {
+                jdbcTemplate.update("DELETE FROM chat_messages WHERE created_at >= ? AND created_at < ?",
+                        Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                        Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+            }
+            log.info("Retenção de chat: {} mensagens de {} movidas para o arquivo", archived, month);
+            archivedMonths++;
+        }
+        return archivedMonths;
+    }
+
+    /**
+     * Primeiro mês mantido no banco: o mês atual e os {@code chat.messages.retention-months} anteriores.
+     */
+    public YearMonth firstRetainedMonth() {
+        return YearMonth.now().minusMonths(retentionMonths);
+    }
+
+    private List<YearMonth> monthsBefore(YearMonth firstRetained, boolean partitioned, Set<YearMonth> ownPartitions) {
+        if (partitioned) {
+            Set<YearMonth> months = new TreeSet<>(partitionService.listDefaultPartitionMonths(firstRetained));
+            ownPartitions.stream().filter(month -> month.isBefore(firstRetained)).forEach(months::add);
+            return new ArrayList<>(months);
+        }
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM chat_messages WHERE created_at < ?", Timestamp.class,
+                Timestamp.valueOf(firstRetained.atDay(1).atStartOfDay()));
+        List<YearMonth> months = new ArrayList<>();
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(firstRetained);
+                 month = month.plusMonths(1)) {
+                months.add(month);
+            }
+        }
+        return months;
+    }
+
+    private void ensureDailyStats(YearMonth month) {
+        for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+            if (!chatDailyStatsRepository.existsByStatDate(day)) {
+                chatStatsRollupService.recomputeDay(day);
+            }
+        }
+    }
+}
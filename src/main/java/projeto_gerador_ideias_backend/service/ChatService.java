@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 import projeto_gerador_ideias_backend.config.ChatProperties;
 import projeto_gerador_ideias_backend.dto.MessagePreparationResult;
@@ -28,6 +29,8 @@ import projeto_gerador_ideias_backend.exceptions.ValidationException;
 import jakarta.persistence.OptimisticLockException;
 import projeto_gerador_ideias_backend.model.*;
 import projeto_gerador_ideias_backend.repository.*;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSummaryRow;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -41,6 +44,8 @@ import java.util.Map;
 public class ChatService {
 
     private static final String ERROR_SESSION_NOT_FOUND = "Sessão não encontrada: ";
+    private static final String ERROR_NOT_AUTHENTICATED = "Usuário não autenticado. Não é possível usar o chat.";
+    private static final String ERROR_USER_NOT_FOUND = "Usuário autenticado não encontrado no banco de dados: ";
     private static final String LOG_KEY_SESSION_ID = "sessionId";
     private static final String LOG_KEY_IDEA_ID = "ideaId";
     private static final String LOG_KEY_PREVIOUS_TOKENS_REMAINING = "previousTokensRemaining";
@@ -54,10 +59,11 @@ public class ChatService {
     private final OllamaIntegrationService ollamaIntegrationService;
     private final ChatLimitValidator chatLimitValidator;
     private final ContentModerationService contentModerationService;
-    private final UserCacheService userCacheService;
+    private final CurrentUserProvider currentUserProvider;
     private final ChatMetricsService chatMetricsService;
     private final IdeaSummaryService ideaSummaryService;
     private final IpEncryptionService ipEncryptionService;
+    private final ChatStatsRollupService chatStatsRollupService;
     @Lazy
     private ChatService self;
 
@@ -71,10 +77,11 @@ public class ChatService {
             OllamaIntegrationService ollamaIntegrationService,
             ChatLimitValidator chatLimitValidator,
             ContentModerationService contentModerationService,
-            UserCacheService userCacheService,
+            CurrentUserProvider currentUserProvider,
             ChatMetricsService chatMetricsService,
             IdeaSummaryService ideaSummaryService,
-            IpEncryptionService ipEncryptionService) {
+            IpEncryptionService ipEncryptionService,
+            ChatStatsRollupService chatStatsRollupService) {
         this.chatSessionRepository = chatSessionRepository;
         this.chatMessageRepository = chatMessageRepository;
         this.ideaRepository = ideaRepository;
@@ -84,10 +91,11 @@ public class ChatService {
         this.ollamaIntegrationService = ollamaIntegrationService;
         this.chatLimitValidator = chatLimitValidator;
         this.contentModerationService = contentModerationService;
-        this.userCacheService = userCacheService;
+        this.currentUserProvider = currentUserProvider;
         this.chatMetricsService = chatMetricsService;
         this.ideaSummaryService = ideaSummaryService;
         this.ipEncryptionService = ipEncryptionService;
+        this.chatStatsRollupService = chatStatsRollupService;
     }
 
     @org.springframework.beans.factory.annotation.Autowired
@@ -424,6 +432,7 @@ public class ChatService {
             int tokensOutputThisMessage = responseTokens;
             int totalTokensThisMessage = tokensInputThisMessage + tokensOutputThisMessage;
 
+            int previousTokens = tokenCalculationService.getSessionTokens(session);
             chatLimitValidator.validateChatNotBlocked(session, tokensInputThisMessage);
             chatLimitValidator.validateChatNotBlockedWithResponse(session, tokensInputThisMessage, tokensOutputThisMessage);
 
@@ -437,7 +446,6 @@ public class ChatService {
             userMessageEntity.setIpAddress(encryptedIp);
             log.debug("IP capturado: {}, IP criptografado: {}", clientIp, encryptedIp != null ? "***" : "null");
             chatMessageRepository.save(userMessageEntity);
-            chatMessageRepository.flush();
 
             String cleanedResponse = removeModerationTags(aiResponse);
             
@@ -446,43 +454,9 @@ public class ChatService {
                 throw new OllamaServiceException("Resposta da IA está vazia após processamento.");
             }
             
-            int previousTokensRemaining = chatProperties.getMaxTokensPerChat();
-            
-            List<ChatMessage> allAssistantMessages = chatMessageRepository.findUserMessagesBySessionId(
-                sessionId, 
-                ChatMessage.MessageRole.ASSISTANT
-            );
-            
-            ChatMessage lastAssistantMessageWithTokens = null;
-            for (int i = allAssistantMessages.size() - 1; i >= 0; i--) {
-                ChatMessage msg = allAssistantMessages.get(i);
-                if (msg.getTokensRemaining() != null) {
-                    lastAssistantMessageWithTokens = msg;
-                    break;
-                }
-            }
-            
-            log.debug("Search for previous assistant message", Map.of(
-                LOG_KEY_SESSION_ID, sessionId,
-                "totalAssistantMessages", allAssistantMessages.size(),
-                "foundMessageWithTokens", lastAssistantMessageWithTokens != null
-            ));
-            
-            if (lastAssistantMessageWithTokens != null) {
-                previousTokensRemaining = lastAssistantMessageWithTokens.getTokensRemaining();
-                log.info("Using previous tokensRemaining", Map.of(
-                    LOG_KEY_PREVIOUS_TOKENS_REMAINING, previousTokensRemaining,
-                    "lastAssistantMessageId", lastAssistantMessageWithTokens.getId(),
-                    "lastAssistantMessageCreatedAt", lastAssistantMessageWithTokens.getCreatedAt()
-                ));
-                    } else {
-                log.info("No previous assistant messages with tokensRemaining found, using initial value", Map.of(
-                    "initialTokensRemaining", previousTokensRemaining,
-                    LOG_KEY_SESSION_ID, sessionId
-                ));
-            }
-            
-            int tokensRemaining = Math.max(0, previousTokensRemaining - totalTokensThisMessage);
+            int previousTokensRemaining = Math.max(0, chatProperties.getMaxTokensPerChat() - previousTokens);
+            session.addTokens(tokensInputThisMessage, tokensOutputThisMessage);
+            int tokensRemaining = Math.max(0, chatProperties.getMaxTokensPerChat() - session.getTotalTokens());
             
             log.debug("Token calculation", Map.of(
                 LOG_KEY_SESSION_ID, sessionId,
@@ -501,42 +475,18 @@ public class ChatService {
                 tokensRemaining
             );
             chatMessageRepository.save(assistantMessage);
-            
-            chatMessageRepository.flush();
-            
-            log.debug("Assistant message saved with tokensRemaining", Map.of(
-                "assistantMessageId", assistantMessage.getId(),
-                "tokensRemainingSaved", assistantMessage.getTokensRemaining(),
-                "expectedTokensRemaining", tokensRemaining
-            ));
-            
-            int totalUserTokensAccumulated = chatMessageRepository.getTotalUserTokensBySessionId(
-                sessionId, 
-                ChatMessage.MessageRole.USER
-            );
-            int totalAssistantTokensAccumulated = chatMessageRepository.getTotalUserTokensBySessionId(
-                sessionId, 
-                ChatMessage.MessageRole.ASSISTANT
-            );
-            int totalTokensAccumulated = totalUserTokensAccumulated + totalAssistantTokensAccumulated;
-            
-            log.debug("Token calculation after save", Map.of(
-                LOG_KEY_SESSION_ID, sessionId,
-                "tokensInputThisMessage", tokensInputThisMessage,
-                "tokensOutputThisMessage", tokensOutputThisMessage,
-                "totalTokensThisMessage", totalTokensThisMessage,
-                "totalTokensAccumulated", totalTokensAccumulated,
-                LOG_KEY_PREVIOUS_TOKENS_REMAINING, previousTokensRemaining,
-                "tokensRemaining", tokensRemaining
-            ));
+
+            // IDs vêm da sequência em blocos: o par de mensagens é inserido em um único lote no commit.
+            // O lock do agregado diário usa flush no commit, então não antecipa esse lote.
+            recordDailyStats(session, userMessageEntity, assistantMessage);
 
             log.info("Message processed successfully", Map.of(
-            LOG_KEY_SESSION_ID, sessionId,
+                LOG_KEY_SESSION_ID, sessionId,
                 "userMessageTokens", preparation.getMessageTokens(),
                 "assistantMessageTokens", responseTokens,
-                "totalUserTokensAccumulated", totalUserTokensAccumulated,
-                "totalAssistantTokensAccumulated", totalAssistantTokensAccumulated,
-                "totalTokensAccumulated", totalTokensAccumulated,
+                "totalUserTokensAccumulated", session.getUserTokens(),
+                "totalAssistantTokensAccumulated", session.getAssistantTokens(),
+                "totalTokensAccumulated", session.getTotalTokens(),
                 "tokensRemaining", tokensRemaining
             ));
 
@@ -550,7 +500,7 @@ public class ChatService {
                 tokensRemaining,
                 assistantMessage.getCreatedAt().toString()
         );
-        } catch (OptimisticLockException e) {
+        } catch (OptimisticLockException | ObjectOptimisticLockingFailureException e) {
             log.warn("Optimistic lock conflict", Map.of(LOG_KEY_SESSION_ID, sessionId), e);
             throw new TokenLimitExceededException("Sessão foi atualizada por outra requisição. Tente novamente.");
         } catch (ResourceNotFoundException e) {
@@ -559,6 +509,19 @@ public class ChatService {
         }
     }
 
+    private void recordDailyStats(ChatSession session, ChatMessage userMessage, ChatMessage assistantMessage) {
+        LocalDateTime askedAt = userMessage.getCreatedAt() != null ? userMessage.getCreatedAt() : LocalDateTime.now();
+        Long responseTimeMs = userMessage.getCreatedAt() != null && assistantMessage.getCreatedAt() != null
+            ? java.time.Duration.between(userMessage.getCreatedAt(), assistantMessage.getCreatedAt()).toMillis()
+            : null;
+        chatStatsRollupService.recordInteraction(
+            session.getUser().getId(),
+            askedAt.toLocalDate(),
+            userMessage.getTokensUsed() != null ? userMessage.getTokensUsed() : 0,
+            assistantMessage.getTokensUsed(),
+            responseTimeMs);
+    }
+
     private List<ChatMessage> getInitialMessages(Long sessionId) {
         int limit = chatProperties.getMaxInitialMessages();
         
@@ -609,9 +572,7 @@ public class ChatService {
         
         messages.sort((m1, m2) -> m1.getCreatedAt().compareTo(m2.getCreatedAt()));
         
-        List<ChatMessageResponse> messageResponses = messages.stream()
-            .map(msg -> mapMessageToResponse(sessionId, msg))
-            .toList();
+        List<ChatMessageResponse> messageResponses = buildOlderMessageResponses(sessionId, messages);
         
         return new projeto_gerador_ideias_backend.dto.response.OlderMessagesResponse(messageResponses, hasMore);
     }
@@ -638,67 +599,73 @@ public class ChatService {
         return (limit != null && limit > 0) ? Math.min(limit, 50) : 20;
     }
 
-    private ChatMessageResponse mapMessageToResponse(Long sessionId, ChatMessage msg) {
-        TokenAccumulationResult tokenResult = calculateAccumulatedTokens(sessionId, msg);
-        int tokensRemainingForMessage = calculateTokensRemainingForMessage(msg, tokenResult.getAllMessagesUpToThis());
-        
-        return new ChatMessageResponse(
-            msg.getId(),
-            msg.getRole().name().toLowerCase(),
-            msg.getContent(),
-            tokenResult.getAccumulatedUserTokens(),
-            tokenResult.getAccumulatedAssistantTokens(),
-            tokenResult.getTotalTokens(),
-            tokensRemainingForMessage,
-            msg.getCreatedAt().toString()
-        );
-    }
+    /**
+     * Monta a página com os tokens acumulados de cada mensagem em uma única passada:
+     * uma consulta soma o histórico anterior à página e o restante é acumulado em memória.
+     * Mensagens com o mesmo timestamp enxergam os tokens umas das outras.
+     */
+    private List<ChatMessageResponse> buildOlderMessageResponses(Long sessionId, List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
 
-    private TokenAccumulationResult calculateAccumulatedTokens(Long sessionId, ChatMessage msg) {
-        List<ChatMessage> allMessagesUpToThis = getMessagesUpToTimestamp(sessionId, msg.getCreatedAt());
-        
         int accumulatedUserTokens = 0;
         int accumulatedAssistantTokens = 0;
-        
-        for (ChatMessage m : allMessagesUpToThis) {
-            if (m.getRole() == ChatMessage.MessageRole.USER) {
-                accumulatedUserTokens += m.getTokensUsed();
+        List<Long> pageIds = messages.stream().map(ChatMessage::getId).toList();
+        List<Object[]> previousTotals = chatMessageRepository.sumTokensByRoleUpTo(
+            sessionId, messages.get(0).getCreatedAt(), pageIds);
+        for (Object[] row : previousTotals) {
+            int tokens = ((Number) row[1]).intValue();
+            if (row[0] == ChatMessage.MessageRole.USER) {
+                accumulatedUserTokens += tokens;
             } else {
-                accumulatedAssistantTokens += m.getTokensUsed();
+                accumulatedAssistantTokens += tokens;
             }
         }
-        
-        int totalTokens = accumulatedUserTokens + accumulatedAssistantTokens;
-        return new TokenAccumulationResult(accumulatedUserTokens, accumulatedAssistantTokens, totalTokens, allMessagesUpToThis);
-    }
 
-    private List<ChatMessage> getMessagesUpToTimestamp(Long sessionId, LocalDateTime timestamp) {
-        return chatMessageRepository.findBySessionIdOrderByCreatedAtAsc(sessionId)
-            .stream()
-            .filter(m -> m.getCreatedAt().isBefore(timestamp) || m.getCreatedAt().equals(timestamp))
-            .toList();
-    }
+        List<ChatMessageResponse> responses = new ArrayList<>(messages.size());
+        int groupStart = 0;
+        while (groupStart < messages.size()) {
+            LocalDateTime groupTimestamp = messages.get(groupStart).getCreatedAt();
+            int groupEnd = groupStart;
+            while (groupEnd < messages.size() && messages.get(groupEnd).getCreatedAt().equals(groupTimestamp)) {
+                ChatMessage m = messages.get(groupEnd);
+                if (m.getRole() == ChatMessage.MessageRole.USER) {
+                    accumulatedUserTokens += m.getTokensUsed();
+                } else {
+                    accumulatedAssistantTokens += m.getTokensUsed();
+                }
+                groupEnd++;
+            }
 
-    private int calculateTokensRemainingForMessage(ChatMessage msg, List<ChatMessage> allMessagesUpToThis) {
-        if (msg.getRole() == ChatMessage.MessageRole.ASSISTANT && msg.getTokensRemaining() != null) {
-            return msg.getTokensRemaining();
-        }
-        
-        if (msg.getRole() == ChatMessage.MessageRole.USER) {
-            return calculateTokensRemainingForUserMessage(msg, allMessagesUpToThis);
+            for (int i = groupStart; i < groupEnd; i++) {
+                ChatMessage msg = messages.get(i);
+                ChatMessage nextInGroup = i + 1 < groupEnd ? messages.get(i + 1) : null;
+                responses.add(new ChatMessageResponse(
+                    msg.getId(),
+                    msg.getRole().name().toLowerCase(),
+                    msg.getContent(),
+                    accumulatedUserTokens,
+                    accumulatedAssistantTokens,
+                    accumulatedUserTokens + accumulatedAssistantTokens,
+                    calculateTokensRemainingForMessage(msg, nextInGroup),
+                    msg.getCreatedAt().toString()
+                ));
+            }
+            groupStart = groupEnd;
         }
-        
-        return chatProperties.getMaxTokensPerChat();
+        return responses;
     }
 
-    private int calculateTokensRemainingForUserMessage(ChatMessage msg, List<ChatMessage> allMessagesUpToThis) {
-        int msgIndex = allMessagesUpToThis.indexOf(msg);
-        if (msgIndex < 0 || msgIndex + 1 >= allMessagesUpToThis.size()) {
-            return chatProperties.getMaxTokensPerChat();
+    private int calculateTokensRemainingForMessage(ChatMessage msg, ChatMessage nextMsg) {
+        if (msg.getRole() == ChatMessage.MessageRole.ASSISTANT && msg.getTokensRemaining() != null) {
+            return msg.getTokensRemaining();
         }
         
-        ChatMessage nextMsg = allMessagesUpToThis.get(msgIndex + 1);
-        if (nextMsg.getRole() == ChatMessage.MessageRole.ASSISTANT && nextMsg.getTokensRemaining() != null) {
+        if (msg.getRole() == ChatMessage.MessageRole.USER
+                && nextMsg != null
+                && nextMsg.getRole() == ChatMessage.MessageRole.ASSISTANT
+                && nextMsg.getTokensRemaining() != null) {
             int tokensUsedBetween = msg.getTokensUsed() + nextMsg.getTokensUsed();
             return nextMsg.getTokensRemaining() + tokensUsedBetween;
         }
@@ -706,74 +673,26 @@ public class ChatService {
         return chatProperties.getMaxTokensPerChat();
     }
 
-    private static class TokenAccumulationResult {
-        private final int accumulatedUserTokens;
-        private final int accumulatedAssistantTokens;
-        private final int totalTokens;
-        private final List<ChatMessage> allMessagesUpToThis;
-
-        TokenAccumulationResult(int accumulatedUserTokens, int accumulatedAssistantTokens, 
-                               int totalTokens, List<ChatMessage> allMessagesUpToThis) {
-            this.accumulatedUserTokens = accumulatedUserTokens;
-            this.accumulatedAssistantTokens = accumulatedAssistantTokens;
-            this.totalTokens = totalTokens;
-            this.allMessagesUpToThis = allMessagesUpToThis;
-        }
-
-        int getAccumulatedUserTokens() {
-            return accumulatedUserTokens;
-        }
-
-        int getAccumulatedAssistantTokens() {
-            return accumulatedAssistantTokens;
-        }
-
-        int getTotalTokens() {
-            return totalTokens;
-        }
-
-        List<ChatMessage> getAllMessagesUpToThis() {
-            return allMessagesUpToThis;
-        }
-    }
-
-    @Transactional
+    @Transactional(readOnly = true)
     public List<IdeaSummaryResponse> getUserIdeasSummary() {
         User currentUser = getCurrentAuthenticatedUser();
-        List<Object[]> results = ideaRepository.findIdeasSummaryOnlyByUserId(currentUser.getId());
-        
-        List<IdeaSummaryResponse> responses = new ArrayList<>();
-        List<Idea> ideasToUpdate = new ArrayList<>();
-        
-        for (Object[] row : results) {
-            Long id = ((Number) row[0]).longValue();
-            String summary = row[1] != null ? (String) row[1] : "";
-            String themeName = row[2] != null ? (String) row[2] : "";
-            LocalDateTime createdAt = (LocalDateTime) row[3];
-            
-            if (summary == null || summary.isBlank()) {
-                Idea idea = ideaRepository.findById(id).orElse(null);
-                if (idea != null) {
-                    summary = ideaSummaryService.summarizeIdeaSimple(idea.getGeneratedContent());
-                    idea.setSummary(summary);
-                    ideasToUpdate.add(idea);
-                } else {
-                    summary = "Sem resumo disponível";
-                }
-            }
+        List<IdeaSummaryRow> results = ideaRepository.findIdeasSummaryOnlyByUserId(currentUser.getId());
+        
+        List<IdeaSummaryResponse> responses = new ArrayList<>(results.size());
+        for (IdeaSummaryRow row : results) {
+            String summary = row.summary() != null && !row.summary().isBlank()
+                    ? row.summary()
+                    : IdeaSummaryService.NO_SUMMARY;
+            String themeName = row.themeName() != null ? row.themeName() : "";
             
             responses.add(new IdeaSummaryResponse(
-                    id,
+                    row.id(),
                     summary,
                     themeName,
-                    createdAt.toString()
+                    row.createdAt().toString()
             ));
         }
         
-        if (!ideasToUpdate.isEmpty()) {
-            ideaRepository.saveAll(ideasToUpdate);
-        }
-        
         return responses;
     }
 
@@ -797,246 +716,95 @@ public class ChatService {
     public ChatLogsResponse getChatLogs(String dateStr, Integer page, Integer size) {
         User currentUser = getCurrentAuthenticatedUser();
         
-        LocalDate targetDate;
-        if (dateStr != null && !dateStr.isBlank()) {
-            try {
-                targetDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
-            } catch (java.time.format.DateTimeParseException e) {
-                throw new ValidationException("Formato de data inválido. Use YYYY-MM-DD (exemplo: 2024-01-15).");
-            }
-        } else {
-            targetDate = LocalDate.now();
-        }
-        
+        LocalDate targetDate = ChatLogDates.parseOrToday(dateStr);
         int pageNumber = (page != null && page > 0) ? page - 1 : 0;
         int pageSize = (size != null && size > 0) ? Math.min(size, 100) : 10;
         
         LocalDateTime startDate = targetDate.atStartOfDay();
         LocalDateTime endDate = targetDate.plusDays(1).atStartOfDay();
         
-        List<ChatMessage> allMessages = chatMessageRepository.findByUserIdAndDateRange(
-            currentUser.getId(), startDate, endDate);
+        LogsSummary summary = findLogsSummary(currentUser.getId(), targetDate);
+        List<ChatInteractionRow> rows = findInteractionRows(
+            currentUser.getId(), startDate, endDate, summary.getTotalInteractions(), pageNumber, pageSize);
         
-        List<Interaction> allInteractions = transformMessagesToInteractions(allMessages);
-        
-        int totalInteractions = allInteractions.size();
-        int totalPages = (int) Math.ceil((double) totalInteractions / pageSize);
-        
-        int startIndex = pageNumber * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, totalInteractions);
-        
-        List<Interaction> paginatedInteractions = new ArrayList<>();
-        if (startIndex < totalInteractions) {
-            paginatedInteractions = allInteractions.subList(startIndex, endIndex);
+        List<Interaction> interactions = new ArrayList<>(rows.size());
+        long firstInteractionId = (long) pageNumber * pageSize + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            interactions.add(rows.get(i).toInteraction(firstInteractionId + i));
         }
         
-        LogsSummary summary = calculateSummary(allInteractions);
-        
-        PaginationInfo pagination = new PaginationInfo(
-                (long) totalInteractions,
-                totalPages,
-                pageNumber + 1,
-                pageNumber + 1 < totalPages,
-                pageNumber > 0
-        );
-        
         return new ChatLogsResponse(
                 targetDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
                 summary,
-                paginatedInteractions,
-                pagination
+                interactions,
+                buildLogsPagination(summary.getTotalInteractions(), pageNumber, pageSize)
         );
     }
     
-    private List<Interaction> transformMessagesToInteractions(List<ChatMessage> messages) {
-        List<Interaction> interactions = new ArrayList<>();
-        long interactionId = 1;
-        
-        int i = 0;
-        while (i < messages.size()) {
-            ChatMessage message = messages.get(i);
-            
-            if (!isValidUserMessage(message)) {
-                i++;
-                continue;
-            }
-            
-            ChatSession session = message.getSession();
-            ChatMessage assistantMessage = findMatchingAssistantMessage(messages, i, session);
-            
-            Interaction interaction = createInteraction(
-                interactionId++,
-                message,
-                session,
-                assistantMessage
-            );
-            
-            interactions.add(interaction);
-            
-            i++;
-            if (assistantMessage != null) {
-                i++;
-            }
-        }
-        
-        return interactions;
-    }
-
-    private boolean isValidUserMessage(ChatMessage message) {
-        if (message == null) {
-            return false;
-        }
-        
-        if (message.getSession() == null) {
-                log.warn("Message without session", Map.of("messageId", message.getId()));
-            return false;
-        }
-        
-        return message.getRole() == ChatMessage.MessageRole.USER;
-    }
-
-    private ChatMessage findMatchingAssistantMessage(List<ChatMessage> messages, int currentIndex, ChatSession session) {
-        if (currentIndex + 1 >= messages.size()) {
-            return null;
-        }
-        
-        ChatMessage nextMessage = messages.get(currentIndex + 1);
-        if (nextMessage == null) {
-            return null;
-        }
-        
-        if (nextMessage.getRole() != ChatMessage.MessageRole.ASSISTANT) {
-            return null;
-        }
-        
-        if (nextMessage.getSession() == null) {
-            return null;
-        }
-        
-        if (!nextMessage.getSession().getId().equals(session.getId())) {
-            return null;
-        }
-        
-        return nextMessage;
-    }
-
-    private Interaction createInteraction(long interactionId, ChatMessage userMessage, ChatSession session, ChatMessage assistantMessage) {
-        String userContent = userMessage.getContent();
-        int tokensInput = userMessage.getTokensUsed();
-        String timestamp = userMessage.getCreatedAt() != null 
-            ? userMessage.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-            : LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        
-        if (assistantMessage != null) {
-            return createInteractionWithAssistant(interactionId, userContent, tokensInput, timestamp, session, userMessage, assistantMessage);
-        } else {
-            return createInteractionWithoutAssistant(interactionId, userContent, tokensInput, timestamp, session);
-        }
-    }
-
-    private Interaction createInteractionWithAssistant(long interactionId, String userMessageContent, int tokensInput, 
-                                                       String timestamp, ChatSession session, ChatMessage userMessage, ChatMessage assistantMessage) {
-        String assistantContent = assistantMessage.getContent();
-        int tokensOutput = assistantMessage.getTokensUsed();
-        int totalTokens = tokensInput + tokensOutput;
-        Long responseTimeMs = calculateResponseTime(userMessage, assistantMessage);
-        
-        InteractionMetrics metrics = new InteractionMetrics(
-            tokensInput,
-            tokensOutput,
-                            totalTokens,
-            responseTimeMs
-        );
-        
-        return new Interaction(
-            interactionId,
-            timestamp,
-                    session.getId(),
-                    session.getType().name(),
-            session.getIdea() != null ? session.getIdea().getId() : null,
-            userMessageContent,
-            assistantContent,
-            metrics
-        );
-    }
-
-    private Interaction createInteractionWithoutAssistant(long interactionId, String userMessage, int tokensInput, 
-                                                          String timestamp, ChatSession session) {
-        InteractionMetrics metrics = new InteractionMetrics(
-            tokensInput,
-            0,
-            tokensInput,
-            null
-        );
-        
-        return new Interaction(
-            interactionId,
-            timestamp,
-            session.getId(),
-            session.getType().name(),
-            session.getIdea() != null ? session.getIdea().getId() : null,
-            userMessage,
-            null,
-            metrics
-        );
+    /**
+     * Busca apenas a página pedida; o pareamento pergunta/resposta é feito no banco.
+     */
+    private List<ChatInteractionRow> findInteractionRows(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                         int totalInteractions, int pageNumber, int pageSize) {
+        if ((long) pageNumber * pageSize >= totalInteractions) {
+            return List.of();
+        }
+        return chatMessageRepository.findInteractionsPage(
+                userId, startDate, endDate,
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT,
+                org.springframework.data.domain.PageRequest.of(pageNumber, pageSize))
+            .stream()
+            .map(ChatInteractionRow::from)
+            .toList();
     }
-
-    private Long calculateResponseTime(ChatMessage userMessage, ChatMessage assistantMessage) {
-        if (assistantMessage.getCreatedAt() == null || userMessage.getCreatedAt() == null) {
-            return null;
-        }
-        
-        return java.time.Duration.between(
-            userMessage.getCreatedAt(),
-            assistantMessage.getCreatedAt()
-        ).toMillis();
+    
+    /**
+     * Lê o resumo do agregado diário; dias ainda não agregados são resumidos direto das mensagens.
+     */
+    private LogsSummary findLogsSummary(Long userId, LocalDate date) {
+        return chatStatsRollupService.findDailySummary(userId, date)
+            .orElseGet(() -> summarizeInteractions(userId, date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
     }
     
-    private LogsSummary calculateSummary(List<Interaction> interactions) {
-        if (interactions.isEmpty()) {
+    private LogsSummary summarizeInteractions(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<Object[]> result = chatMessageRepository.summarizeInteractions(
+                userId, startDate, endDate, ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT);
+        Object[] row = result.isEmpty() ? null : result.get(0);
+        if (row == null || row[0] == null || ((Number) row[0]).intValue() == 0) {
             return new LogsSummary(0, 0, 0, 0, null);
         }
         
-        int totalInteractions = interactions.size();
-        int totalTokensInput = 0;
-        int totalTokensOutput = 0;
-        long totalResponseTime = 0;
-        int interactionsWithResponseTime = 0;
-        
-        for (Interaction interaction : interactions) {
-            if (interaction.getMetrics() != null) {
-                totalTokensInput += interaction.getMetrics().getTokensInput() != null 
-                        ? interaction.getMetrics().getTokensInput() : 0;
-                totalTokensOutput += interaction.getMetrics().getTokensOutput() != null 
-                        ? interaction.getMetrics().getTokensOutput() : 0;
-                
-                if (interaction.getMetrics().getResponseTimeMs() != null) {
-                    totalResponseTime += interaction.getMetrics().getResponseTimeMs();
-                    interactionsWithResponseTime++;
-                }
-            }
-        }
-        
-        int totalTokens = totalTokensInput + totalTokensOutput;
-        Double averageResponseTimeMs = interactionsWithResponseTime > 0 
-                ? (double) totalResponseTime / interactionsWithResponseTime 
-                : null;
+        int totalInteractions = ((Number) row[0]).intValue();
+        int totalTokensInput = row[1] != null ? ((Number) row[1]).intValue() : 0;
+        int totalTokensOutput = row[2] != null ? ((Number) row[2]).intValue() : 0;
+        Double averageResponseTimeMs = row[3] != null ? ((Number) row[3]).doubleValue() / 1_000_000 : null;
         
         return new LogsSummary(
                 totalInteractions,
                 totalTokensInput,
                 totalTokensOutput,
-                totalTokens,
+                totalTokensInput + totalTokensOutput,
                 averageResponseTimeMs
         );
     }
     
+    private PaginationInfo buildLogsPagination(int totalInteractions, int pageNumber, int pageSize) {
+        int totalPages = (int) Math.ceil((double) totalInteractions / pageSize);
+        return new PaginationInfo(
+                (long) totalInteractions,
+                totalPages,
+                pageNumber + 1,
+                pageNumber + 1 < totalPages,
+                pageNumber > 0
+        );
+    }
+    
 
     private ChatSessionResponse buildSessionResponse(ChatSession session, List<ChatMessage> messages) {
         String ideaSummary = getIdeaSummary(session);
         List<ChatMessageResponse> messageResponses = buildMessageResponses(messages);
         TokenSummary tokenSummary = calculateTokenSummary(session);
-        int tokensRemaining = calculateTokensRemaining(session, tokenSummary.getTotalTokens());
+        int tokensRemaining = calculateTokensRemaining(tokenSummary.getTotalTokens());
         
         boolean hasMore = false;
         if (!messages.isEmpty()) {
@@ -1139,34 +907,15 @@ public class ChatService {
     }
 
     private TokenSummary calculateTokenSummary(ChatSession session) {
-        int totalUserTokens = chatMessageRepository.getTotalUserTokensBySessionId(
-            session.getId(), 
-            ChatMessage.MessageRole.USER
-        );
-        int totalAssistantTokens = chatMessageRepository.getTotalUserTokensBySessionId(
-            session.getId(), 
-            ChatMessage.MessageRole.ASSISTANT
+        int totalTokens = tokenCalculationService.getSessionTokens(session);
+        return new TokenSummary(
+            session.getUserTokens() != null ? session.getUserTokens() : 0,
+            session.getAssistantTokens() != null ? session.getAssistantTokens() : 0,
+            totalTokens
         );
-        int totalTokens = totalUserTokens + totalAssistantTokens;
-        
-        return new TokenSummary(totalUserTokens, totalAssistantTokens, totalTokens);
     }
 
-    private int calculateTokensRemaining(ChatSession session, int totalTokens) {
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0, 1);
-        org.springframework.data.domain.Page<ChatMessage> lastAssistantMessagesPage = chatMessageRepository.findLastMessagesBySessionIdAndRole(
-                session.getId(),
-            ChatMessage.MessageRole.ASSISTANT,
-            pageable
-        );
-        
-        if (!lastAssistantMessagesPage.isEmpty()) {
-            ChatMessage lastAssistantMsg = lastAssistantMessagesPage.getContent().get(0);
-            if (lastAssistantMsg.getTokensRemaining() != null) {
-                return lastAssistantMsg.getTokensRemaining();
-            }
-        }
-        
+    private int calculateTokensRemaining(int totalTokens) {
         return Math.max(0, chatProperties.getMaxTokensPerChat() - totalTokens);
     }
 
@@ -1198,16 +947,6 @@ public class ChatService {
         }
     }
 
-    private static class ChatMessages {
-        final ChatMessage userMessage;
-        final ChatMessage assistantMessage;
-
-        ChatMessages(ChatMessage userMessage, ChatMessage assistantMessage) {
-            this.userMessage = userMessage;
-            this.assistantMessage = assistantMessage;
-        }
-    }
-
     private static class TokenSummary {
         private final int totalUserTokens;
         private final int totalAssistantTokens;
@@ -1233,7 +972,7 @@ public class ChatService {
     }
 
     public User getCurrentAuthenticatedUser() {
-        return userCacheService.getCurrentAuthenticatedUser();
+        return currentUserProvider.getUser(ERROR_NOT_AUTHENTICATED, ERROR_USER_NOT_FOUND);
     }
     
     /**
@@ -1254,187 +993,33 @@ public class ChatService {
             throw new ChatPermissionException("Acesso negado. Apenas administradores podem acessar este endpoint.");
         }
         
-        LocalDate targetDate;
-        if (dateStr != null && !dateStr.isBlank()) {
-            try {
-                targetDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
-            } catch (java.time.format.DateTimeParseException e) {
-                throw new ValidationException("Formato de data inválido. Use YYYY-MM-DD (exemplo: 2024-01-15).");
-            }
-        } else {
-            targetDate = LocalDate.now();
-        }
-        
+        LocalDate targetDate = ChatLogDates.parseOrToday(dateStr);
         int pageNumber = (page != null && page > 0) ? page - 1 : 0;
         int pageSize = (size != null && size > 0) ? Math.min(size, 100) : 10;
         
         LocalDateTime startDate = targetDate.atStartOfDay();
         LocalDateTime endDate = targetDate.plusDays(1).atStartOfDay();
         
-        List<ChatMessage> allMessages = chatMessageRepository.findByUserIdAndDateRangeAdmin(
-            userId, startDate, endDate);
-        
-        List<AdminInteraction> allInteractions = transformMessagesToAdminInteractions(allMessages);
-        
-        int totalInteractions = allInteractions.size();
-        int totalPages = (int) Math.ceil((double) totalInteractions / pageSize);
-        
-        int startIndex = pageNumber * pageSize;
-        int endIndex = Math.min(startIndex + pageSize, totalInteractions);
+        LogsSummary summary = findLogsSummary(userId, targetDate);
+        List<ChatInteractionRow> rows = findInteractionRows(
+            userId, startDate, endDate, summary.getTotalInteractions(), pageNumber, pageSize);
         
-        List<AdminInteraction> paginatedInteractions = new ArrayList<>();
-        if (startIndex < totalInteractions) {
-            paginatedInteractions = allInteractions.subList(startIndex, endIndex);
+        List<AdminInteraction> interactions = new ArrayList<>(rows.size());
+        long firstInteractionId = (long) pageNumber * pageSize + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            ChatInteractionRow row = rows.get(i);
+            String userIp = row.ipAddress() != null
+                ? ipEncryptionService.decryptIp(row.ipAddress())
+                : "unknown";
+            interactions.add(row.toAdminInteraction(firstInteractionId + i, userIp));
         }
         
-        List<Interaction> interactionsForSummary = allInteractions.stream()
-            .map(ai -> new Interaction(
-                ai.getInteractionId(),
-                ai.getTimestamp(),
-                ai.getSessionId(),
-                ai.getChatType(),
-                ai.getIdeaId(),
-                ai.getUserMessage(),
-                ai.getAssistantMessage(),
-                ai.getMetrics()
-            ))
-            .toList();
-        
-        LogsSummary summary = calculateSummary(interactionsForSummary);
-        
-        PaginationInfo pagination = new PaginationInfo(
-                (long) totalInteractions,
-                totalPages,
-                pageNumber + 1,
-                pageNumber + 1 < totalPages,
-                pageNumber > 0
-        );
-        
         return new AdminChatLogsResponse(
                 targetDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
                 userId,
                 summary,
-                paginatedInteractions,
-                pagination
-        );
-    }
-    
-    private List<AdminInteraction> transformMessagesToAdminInteractions(List<ChatMessage> messages) {
-        List<AdminInteraction> interactions = new ArrayList<>();
-        long interactionId = 1;
-        
-        int i = 0;
-        while (i < messages.size()) {
-            ChatMessage message = messages.get(i);
-            
-            if (!isValidUserMessage(message)) {
-                i++;
-                continue;
-            }
-            
-            ChatSession session = message.getSession();
-            User user = session.getUser();
-            ChatMessage assistantMessage = findMatchingAssistantMessage(messages, i, session);
-            
-            AdminInteraction interaction = createAdminInteraction(
-                interactionId++,
-                message,
-                session,
-                user,
-                assistantMessage
-            );
-            
-            interactions.add(interaction);
-            
-            i++;
-            if (assistantMessage != null) {
-                i++;
-            }
-        }
-        
-        return interactions;
-    }
-    
-    private AdminInteraction createAdminInteraction(long interactionId, ChatMessage userMessage, 
-                                                   ChatSession session, User user, ChatMessage assistantMessage) {
-        String userContent = userMessage.getContent();
-        int tokensInput = userMessage.getTokensUsed();
-        String timestamp = userMessage.getCreatedAt() != null 
-            ? userMessage.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-            : LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        
-        if (assistantMessage != null) {
-            ChatMessages messages = new ChatMessages(userMessage, assistantMessage);
-            return createAdminInteractionWithAssistant(interactionId, userContent, tokensInput, timestamp, 
-                                                     session, user, messages);
-        } else {
-            return createAdminInteractionWithoutAssistant(interactionId, userMessage, tokensInput, timestamp, 
-                                                        session, user);
-        }
-    }
-    
-    private AdminInteraction createAdminInteractionWithAssistant(long interactionId, String userMessageContent, 
-                                                                 int tokensInput, String timestamp, ChatSession session,
-                                                                 User user, ChatMessages messages) {
-        String assistantContent = messages.assistantMessage.getContent();
-        int tokensOutput = messages.assistantMessage.getTokensUsed();
-        int totalTokens = tokensInput + tokensOutput;
-        Long responseTimeMs = calculateResponseTime(messages.userMessage, messages.assistantMessage);
-        
-        InteractionMetrics metrics = new InteractionMetrics(
-            tokensInput,
-            tokensOutput,
-            totalTokens,
-            responseTimeMs
-        );
-        
-        String userIp = messages.userMessage.getIpAddress() != null 
-            ? ipEncryptionService.decryptIp(messages.userMessage.getIpAddress())
-            : "unknown";
-        
-        return new AdminInteraction(
-            interactionId,
-            timestamp,
-            session.getId(),
-            session.getType().name(),
-            session.getIdea() != null ? session.getIdea().getId() : null,
-            user.getId(),
-            user.getName(),
-            user.getEmail(),
-            userIp,
-            userMessageContent,
-            assistantContent,
-            metrics
-        );
-    }
-    
-    private AdminInteraction createAdminInteractionWithoutAssistant(long interactionId, ChatMessage userMessageEntity, 
-                                                                   int tokensInput, String timestamp, 
-                                                                   ChatSession session, User user) {
-        InteractionMetrics metrics = new InteractionMetrics(
-            tokensInput,
-            0,
-            tokensInput,
-            null
-        );
-        
-        String userIp = userMessageEntity.getIpAddress() != null 
-            ? ipEncryptionService.decryptIp(userMessageEntity.getIpAddress())
-            : "unknown";
-        
-        return new AdminInteraction(
-            interactionId,
-            timestamp,
-            session.getId(),
-            session.getType().name(),
-            session.getIdea() != null ? session.getIdea().getId() : null,
-            user.getId(),
-            user.getName(),
-            user.getEmail(),
-            userIp,
-            userMessageEntity.getContent(),
-            null,
-            metrics
+                interactions,
+                buildLogsPagination(summary.getTotalInteractions(), pageNumber, pageSize)
         );
     }
     
@@ -0,0 +1,43 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import projeto_gerador_ideias_backend.repository.ChatDailyStatsRepository;
+
+import java.time.LocalDate;
+
+/**
+ * Migração na inicialização: calcula os agregados diários de chat dos últimos dias
+ * que ainda não têm nenhuma linha agregada. Dias já agregados não são tocados.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatStatsRollupBackfill implements ApplicationRunner {
+
+    private final ChatStatsRollupService chatStatsRollupService;
+    private final ChatDailyStatsRepository chatDailyStatsRepository;
+
+    @Value("${chat.stats.backfill-days:7}")
+    private int backfillDays = 7;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        LocalDate today = LocalDate.now();
+        for (int i = backfillDays - 1; i >= 0; i--) {
+            LocalDate date = today.minusDays(i);
+            try {
+                if (!chatDailyStatsRepository.existsByStatDate(date)) {
+                    chatStatsRollupService.recomputeDay(date);
+                }
+            } catch (Exception e) {
+                log.warn("Falha ao calcular agregados de chat de {}; o job agendado tentará novamente: {}",
+                        date, e.getMessage());
+            }
+        }
+    }
+}
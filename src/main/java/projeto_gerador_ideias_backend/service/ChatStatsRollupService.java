@@ -0,0 +1,359 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import projeto_gerador_ideias_backend.dto.response.ChatStatsResponse;
+import projeto_gerador_ideias_backend.dto.response.DailyChatStats;
+import projeto_gerador_ideias_backend.dto.response.LogsSummary;
+import projeto_gerador_ideias_backend.exceptions.ChatPermissionException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.ChatDailyStats;
+import projeto_gerador_ideias_backend.model.ChatMessage;
+import projeto_gerador_ideias_backend.repository.ChatDailyStatsRepository;
+import projeto_gerador_ideias_backend.repository.ChatMessageRepository;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Mantém os agregados diários de chat ({@link ChatDailyStats}) por usuário. Cada troca de mensagens
+ * incrementa só a linha do usuário no dia, então escritas de usuários diferentes não disputam lock.
+ * O recálculo lê mensagens e agregados no mesmo snapshot, sem lock, e depois aplica apenas a diferença
+ * em uma transação curta, preservando as interações gravadas no meio-tempo; para dias encerrados ele
+ * também grava a linha global do dia. Assim a visão global de um período lê uma linha por dia e só
+ * os dias sem total consolidado (normalmente apenas o de hoje) são somados, no banco, sobre as linhas de usuário.
+ */
+@Service
+@Slf4j
+public class ChatStatsRollupService {
+
+    private final ChatDailyStatsRepository statsRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ChatStatsRollupService self;
+
+    @Value("${chat.stats.max-range-days:366}")
+    private int maxRangeDays = 366;
+
+    @Value("${chat.messages.retention-months:12}")
+    private int retentionMonths = 12;
+
+    @Value("${chat.messages.retention.enabled:true}")
+    private boolean retentionEnabled = true;
+
+    public ChatStatsRollupService(ChatDailyStatsRepository statsRepository,
+                                  ChatMessageRepository chatMessageRepository,
+                                  CurrentUserProvider currentUserProvider,
+                                  @Lazy ChatStatsRollupService self) {
+        this.statsRepository = statsRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.self = self;
+    }
+
+    /**
+     * Soma uma interação aos agregados do dia, na transação de quem grava as mensagens.
+     */
+    @Transactional
+    public void recordInteraction(Long userId, LocalDate date, int userTokens,
+                                  Integer assistantTokens, Long responseTimeMs) {
+        lockOrCreate(date, userId).recordInteraction(userTokens, assistantTokens, responseTimeMs);
+    }
+
+    private ChatDailyStats lockOrCreate(LocalDate date, Long userId) {
+        Optional<ChatDailyStats> existing = statsRepository.findForUpdate(date, userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            self.createIfAbsent(date, userId);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Agregado de {} para usuário {} criado por outra transação", date, userId);
+        }
+        return statsRepository.findForUpdate(date, userId)
+                .orElseThrow(() -> new IllegalStateException("Agregado diário não encontrado após criação: " + date));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createIfAbsent(LocalDate date, Long userId) {
+        if (!statsRepository.existsByStatDateAndUserId(date, userId)) {
+            statsRepository.saveAndFlush(new ChatDailyStats(date, userId));
+        }
+    }
+
+    /**
+     * Recalcula os agregados do dia a partir das mensagens. Pode ser repetido sem efeito colateral:
+     * linhas divergentes são corrigidas e usuários sem interações no dia ficam zerados.
+     */
+    public long recomputeDay(LocalDate date) {
+        DaySnapshot snapshot = self.snapshotDay(date);
+        self.applyRecompute(snapshot);
+        long interactions = snapshot.recomputed().values().stream().mapToLong(ChatDailyStats::getUserMessages).sum();
+        log.info("Agregados de chat recalculados para {}: {} interações", date, interactions);
+        return interactions;
+    }
+
+    /**
+     * Lê os agregados gravados e recalcula os totais a partir das mensagens no mesmo snapshot,
+     * de modo que a diferença entre os dois seja exatamente o desvio acumulado até ali.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public DaySnapshot snapshotDay(LocalDate date) {
+        Map<Long, ChatDailyStats> stored = new HashMap<>();
+        for (ChatDailyStats row : statsRepository.findByStatDate(date)) {
+            if (!row.isGlobal()) {
+                ChatDailyStats copy = new ChatDailyStats(date, row.getUserId());
+                copy.add(row);
+                stored.put(row.getUserId(), copy);
+            }
+        }
+
+        Map<Long, ChatDailyStats> recomputed = new HashMap<>();
+        try (Stream<Object[]> rows = chatMessageRepository.streamInteractionMetrics(
+                null, date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT)) {
+            rows.forEach(row -> {
+                Long userId = ((Number) row[0]).longValue();
+                int userTokens = row[1] != null ? ((Number) row[1]).intValue() : 0;
+                Integer assistantTokens = row[2] != null ? ((Number) row[2]).intValue() : null;
+                Long responseTimeMs = row[3] != null ? ((Number) row[3]).longValue() / 1_000_000 : null;
+                recomputed.computeIfAbsent(userId, id -> new ChatDailyStats(date, id))
+                        .recordInteraction(userTokens, assistantTokens, responseTimeMs);
+            });
+        }
+        return new DaySnapshot(date, stored, recomputed);
+    }
+
+    /**
+     * Corrige só as linhas que divergem do recálculo, travando uma linha de usuário por vez
+     * (em ordem de id) e somando a diferença aos totais atuais. Em um dia encerrado as mensagens
+     * não mudam mais, então o total recalculado vira a linha global do dia.
+     */
+    @Transactional
+    public void applyRecompute(DaySnapshot snapshot) {
+        LocalDate date = snapshot.date();
+        Set<Long> userIds = new TreeSet<>(snapshot.stored().keySet());
+        userIds.addAll(snapshot.recomputed().keySet());
+        for (Long userId : userIds) {
+            ChatDailyStats empty = new ChatDailyStats(date, userId);
+            ChatDailyStats stored = snapshot.stored().getOrDefault(userId, empty);
+            ChatDailyStats recomputed = snapshot.recomputed().getOrDefault(userId, empty);
+            if (!stored.hasSameTotals(recomputed)) {
+                lockOrCreate(date, userId).rebase(stored, recomputed);
+            }
+        }
+        if (userIds.isEmpty() || !date.isBefore(LocalDate.now())) {
+            statsRepository.deleteByStatDateAndUserId(date, ChatDailyStats.GLOBAL_USER_ID);
+            return;
+        }
+        ChatDailyStats total = new ChatDailyStats(date, ChatDailyStats.GLOBAL_USER_ID);
+        snapshot.recomputed().values().forEach(total::add);
+        // Criada nesta transação, e não em REQUIRES_NEW, para nunca ficar visível com totais zerados
+        ChatDailyStats global = statsRepository.findForUpdate(date, ChatDailyStats.GLOBAL_USER_ID)
+                .orElseGet(() -> new ChatDailyStats(date, ChatDailyStats.GLOBAL_USER_ID));
+        global.replaceTotals(total);
+        // Marca a linha como alterada mesmo com totais iguais, para que o timestamp a identifique como consolidada
+        global.setUpdatedAt(LocalDateTime.now());
+        statsRepository.save(global);
+    }
+
+    /**
+     * Recalcula cada dia do intervalo em sua própria transação.
+     */
+    public int recomputeRange(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            self.recomputeDay(date);
+            days++;
+        }
+        return days;
+    }
+
+    @Scheduled(cron = "${chat.stats.rollup-cron:0 15 0 * * *}")
+    public void recomputeRecentDays() {
+        LocalDate today = LocalDate.now();
+        try {
+            recomputeRange(today.minusDays(1), today);
+        } catch (Exception e) {
+            log.warn("Falha ao recalcular agregados de chat recentes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recálculo sob demanda para backfills (apenas administradores).
+     */
+    public int recomputeRangeAsAdmin(String fromStr, String toStr) {
+        requireAdmin();
+        LocalDate[] period = parsePeriod(fromStr, toStr);
+        LocalDate firstRetainedDay = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        if (retentionEnabled && period[0].isBefore(firstRetainedDay)) {
+            throw new ValidationException("Mensagens anteriores a " + firstRetainedDay
+                    + " já foram arquivadas; seus agregados não podem ser recalculados.");
+        }
+        return recomputeRange(period[0], period[1]);
+    }
+
+    /**
+     * Resumo do dia a partir dos agregados, se existirem. {@code userId} nulo usa o total consolidado do dia
+     * ou, sem ele, soma as linhas de todos os usuários.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LogsSummary> findDailySummary(Long userId, LocalDate date) {
+        if (userId != null) {
+            return statsRepository.findByStatDateAndUserId(date, userId).map(ChatStatsRollupService::toSummary);
+        }
+        Optional<ChatDailyStats> consolidated = statsRepository.findByStatDateAndUserId(date, ChatDailyStats.GLOBAL_USER_ID)
+                .filter(ChatDailyStats::isConsolidatedTotal);
+        if (consolidated.isPresent()) {
+            return consolidated.map(ChatStatsRollupService::toSummary);
+        }
+        List<Object[]> result = statsRepository.sumDay(date, ChatDailyStats.GLOBAL_USER_ID);
+        Object[] row = result.isEmpty() ? null : result.get(0);
+        if (row == null || row[0] == null || ((Number) row[0]).longValue() == 0) {
+            return Optional.empty();
+        }
+        ChatDailyStats total = new ChatDailyStats(date, ChatDailyStats.GLOBAL_USER_ID);
+        total.setUserMessages(longValue(row[1]));
+        total.setUserTokens(longValue(row[2]));
+        total.setAssistantTokens(longValue(row[3]));
+        total.setResponseCount(longValue(row[4]));
+        total.setResponseTimeTotalMs(longValue(row[5]));
+        return Optional.of(toSummary(total));
+    }
+
+    @Transactional(readOnly = true)
+    public ChatStatsResponse getStats(String fromStr, String toStr, Long userId) {
+        requireAdmin();
+        LocalDate[] period = parsePeriod(fromStr, toStr);
+        Collection<ChatDailyStats> rows = userId != null
+                ? statsRepository.findByUserIdAndStatDateBetweenOrderByStatDateAsc(userId, period[0], period[1])
+                : globalRowsByDay(period[0], period[1]);
+
+        ChatDailyStats total = new ChatDailyStats(period[0], userId != null ? userId : ChatDailyStats.GLOBAL_USER_ID);
+        List<DailyChatStats> days = new ArrayList<>(rows.size());
+        for (ChatDailyStats row : rows) {
+            total.add(row);
+            days.add(new DailyChatStats(
+                    row.getStatDate().toString(),
+                    row.getUserMessages(),
+                    row.getUserTokens(),
+                    row.getAssistantTokens(),
+                    row.getAverageResponseTimeMs()));
+        }
+
+        return new ChatStatsResponse(
+                period[0].toString(),
+                period[1].toString(),
+                userId,
+                toSummary(total),
+                ChatDailyStats.percentileMs(total.getResponseHistogram(), 0.50),
+                ChatDailyStats.percentileMs(total.getResponseHistogram(), 0.95),
+                days);
+    }
+
+    /**
+     * Um agregado por dia do período: a linha global consolidada quando existe e, para os demais dias,
+     * a soma das linhas de usuário feita no banco, sem carregar as entidades.
+     */
+    private Collection<ChatDailyStats> globalRowsByDay(LocalDate from, LocalDate to) {
+        Map<LocalDate, ChatDailyStats> byDay = new TreeMap<>();
+        for (ChatDailyStats row : statsRepository.findByUserIdAndStatDateBetweenOrderByStatDateAsc(
+                ChatDailyStats.GLOBAL_USER_ID, from, to)) {
+            if (row.isConsolidatedTotal()) {
+                byDay.put(row.getStatDate(), row);
+            }
+        }
+        List<LocalDate> openDays = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!byDay.containsKey(date)) {
+                openDays.add(date);
+            }
+        }
+        if (openDays.isEmpty()) {
+            return byDay.values();
+        }
+
+        for (Object[] row : statsRepository.sumByDay(openDays, ChatDailyStats.GLOBAL_USER_ID)) {
+            ChatDailyStats total = new ChatDailyStats((LocalDate) row[0], ChatDailyStats.GLOBAL_USER_ID);
+            total.setUserMessages(longValue(row[1]));
+            total.setAssistantMessages(longValue(row[2]));
+            total.setUserTokens(longValue(row[3]));
+            total.setAssistantTokens(longValue(row[4]));
+            total.setResponseCount(longValue(row[5]));
+            total.setResponseTimeTotalMs(longValue(row[6]));
+            byDay.put(total.getStatDate(), total);
+        }
+        try (Stream<Object[]> rows = statsRepository.streamHistograms(openDays, ChatDailyStats.GLOBAL_USER_ID)) {
+            rows.forEach(row -> {
+                ChatDailyStats total = byDay.get((LocalDate) row[0]);
+                long[] histogram = (long[]) row[1];
+                long[] sum = Arrays.copyOf(total.getResponseHistogram(), ChatDailyStats.RESPONSE_BUCKET_BOUNDS_MS.length + 1);
+                for (int i = 0; i < sum.length && i < histogram.length; i++) {
+                    sum[i] += histogram[i];
+                }
+                total.setResponseHistogram(sum);
+            });
+        }
+        return byDay.values();
+    }
+
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static LogsSummary toSummary(ChatDailyStats stats) {
+        int tokensInput = (int) stats.getUserTokens();
+        int tokensOutput = (int) stats.getAssistantTokens();
+        return new LogsSummary(
+                (int) stats.getUserMessages(),
+                tokensInput,
+                tokensOutput,
+                tokensInput + tokensOutput,
+                stats.getAverageResponseTimeMs());
+    }
+
+    private void requireAdmin() {
+        if (!currentUserProvider.get().isAdmin()) {
+            throw new ChatPermissionException("Acesso negado. Apenas administradores podem acessar este endpoint.");
+        }
+    }
+
+    private LocalDate[] parsePeriod(String fromStr, String toStr) {
+        LocalDate from = ChatLogDates.parseOrToday(fromStr);
+        LocalDate to = toStr != null && !toStr.isBlank() ? ChatLogDates.parseOrToday(toStr) : from;
+        if (to.isBefore(from)) {
+            throw new ValidationException("A data final deve ser igual ou posterior à data inicial.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxRangeDays) {
+            throw new ValidationException("O período deve ter no máximo " + maxRangeDays + " dias.");
+        }
+        return new LocalDate[]{from, to};
+    }
+
+    /**
+     * Agregados gravados e recalculados de um dia, lidos no mesmo snapshot.
+     */
+    public record DaySnapshot(LocalDate date, Map<Long, ChatDailyStats> stored, Map<Long, ChatDailyStats> recomputed) {
+    }
+}
@@ -0,0 +1,36 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import projeto_gerador_ideias_backend.model.ChatMessage;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+
+/**
+ * Migração na inicialização: preenche o ledger de tokens das sessões criadas antes dele,
+ * somando as mensagens existentes em um único UPDATE. Sessões já migradas não são tocadas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatTokenLedgerBackfill implements ApplicationRunner {
+
+    private final ChatSessionRepository chatSessionRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = chatSessionRepository.backfillTokenLedger(
+                ChatMessage.MessageRole.USER,
+                ChatMessage.MessageRole.ASSISTANT
+            );
+            if (updated > 0) {
+                log.info("Ledger de tokens preenchido para {} sessões de chat", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao preencher ledger de tokens; sessões serão migradas na primeira leitura: {}", e.getMessage());
+        }
+    }
+}
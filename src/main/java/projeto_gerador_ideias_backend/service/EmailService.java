@@ -1,14 +1,17 @@
 package projeto_gerador_ideias_backend.service;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
@@ -22,28 +25,43 @@ public class EmailService {
     @Value("${admin.notification.email}")
     private String adminEmail;
 
-    @Async
-    public void sendSystemErrorNotification(String userEmail, String userName, int failureCount) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(adminEmail);
-            message.setSubject(String.format("[ALERTA] %d falhas consecutivas na comunicação com a IA", failureCount));
-
-            String text = String.format("""
-                Usuário: %s (%s)
-                
-                Verificar possível instabilidade no Sistema.
-                
-                - Sistema de Monitoramento CriAItor""",
-                userName, userEmail
-            );
-            message.setText(text);
-
-            mailSender.send(message);
-            log.info("Email de alerta de sistema enviado para {}", adminEmail);
-        } catch (Exception e) {
-            log.error("Falha ao enviar email de alerta de sistema para {}: {}", adminEmail, e.getMessage());
-        }
+    /**
+     * Alerta de falhas consecutivas na IA, enviado pelo outbox. O envio é síncrono e as falhas são
+     * propagadas para que o evento seja tentado de novo.
+     * O {@code Message-ID} é derivado de {@code deduplicationKey}, então um reenvio do mesmo evento
+     * chega ao servidor de email como a mesma mensagem e pode ser descartado.
+     */
+    public void sendSystemErrorNotification(String userEmail, String userName, int failureCount,
+                                            String deduplicationKey) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail);
+        helper.setTo(adminEmail);
+        helper.setSubject(systemErrorSubject(failureCount));
+        helper.setText(systemErrorText(userEmail, userName));
+        message.setHeader("Message-ID", "<" + deduplicationKey + "@" + domainOf(fromEmail) + ">");
+
+        mailSender.send(message);
+        log.info("Email de alerta de sistema {} enviado para {}", deduplicationKey, adminEmail);
+    }
+
+    private static String systemErrorSubject(int failureCount) {
+        return String.format("[ALERTA] %d falhas consecutivas na comunicação com a IA", failureCount);
+    }
+
+    private static String systemErrorText(String userEmail, String userName) {
+        return String.format("""
+            Usuário: %s (%s)
+            
+            Verificar possível instabilidade no Sistema.
+            
+            - Sistema de Monitoramento CriAItor""",
+            userName, userEmail
+        );
+    }
+
+    private static String domainOf(String email) {
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        return at >= 0 && at < email.length() - 1 ? email.substring(at + 1) : "localhost";
     }
-}
\ No newline at end of file
+}
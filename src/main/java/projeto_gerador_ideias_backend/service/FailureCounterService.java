@@ -1,5 +1,7 @@
 package projeto_gerador_ideias_backend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
@@ -7,31 +9,45 @@ import org.springframework.stereotype.Service;
 @Service
 public class FailureCounterService {
 
+    private static final Logger log = LoggerFactory.getLogger(FailureCounterService.class);
     private static final String FAILURE_CACHE_NAME = "consecutiveFailureCache";
     private static final int FAILURE_THRESHOLD = 4;
 
     private final Cache failureCache;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
 
-    public FailureCounterService(CacheManager cacheManager, EmailService emailService) {
+    public FailureCounterService(CacheManager cacheManager, OutboxService outboxService) {
         Cache cache = cacheManager.getCache(FAILURE_CACHE_NAME);
         if (cache == null) {
             throw new IllegalStateException("Cache '" + FAILURE_CACHE_NAME + "' não encontrado. Verifique a propriedade 'spring.cache.cache-names' em application.properties.");
         }
         this.failureCache = cache;
-        this.emailService = emailService;
+        this.outboxService = outboxService;
     }
 
-    public synchronized void handleFailure(String userEmail, String userName) {
-        Cache.ValueWrapper valueWrapper = failureCache.get(userEmail);
-        int currentFailures = (valueWrapper != null) ? (Integer) valueWrapper.get() : 0;
-        currentFailures++;
-
-        failureCache.put(userEmail, currentFailures);
+    /**
+     * Conta uma falha do usuário; ao atingir o limite, registra o alerta no outbox e zera a contagem.
+     * O email é enviado pelo {@link OutboxDispatcher}, fora da requisição.
+     */
+    public void handleFailure(String userEmail, String userName) {
+        int currentFailures;
+        synchronized (this) {
+            Cache.ValueWrapper valueWrapper = failureCache.get(userEmail);
+            currentFailures = (valueWrapper != null) ? (Integer) valueWrapper.get() : 0;
+            currentFailures++;
+
+            failureCache.put(userEmail, currentFailures);
+            if (currentFailures == FAILURE_THRESHOLD) {
+                resetCounter(userEmail);
+            }
+        }
 
         if (currentFailures == FAILURE_THRESHOLD) {
-            emailService.sendSystemErrorNotification(userEmail, userName, currentFailures);
-            resetCounter(userEmail);
+            try {
+                outboxService.publishFailureAlert(userEmail, userName, currentFailures);
+            } catch (Exception e) {
+                log.error("Falha ao registrar alerta de falhas consecutivas de {}: {}", userEmail, e.getMessage());
+            }
         }
     }
 
@@ -0,0 +1,87 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import projeto_gerador_ideias_backend.model.UserStats;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.UserStatsRepository;
+
+/**
+ * Contagem de favoritos por usuário, guardada em {@code user_stats.favorite_count}. Cada
+ * favoritar/desfavoritar ajusta a linha do usuário sob lock, na mesma transação que altera
+ * {@code user_favorites}, então a contagem é a mesma em todas as instâncias e nunca soma duas
+ * vezes a mesma alteração. Linhas anteriores à coluna são preenchidas com a contagem do banco
+ * na primeira leitura ou escrita.
+ */
+@Service
+@Slf4j
+public class FavoriteCountService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final IdeaRepository ideaRepository;
+    private final IdeaGenerationStatsService ideaGenerationStatsService;
+    private final FavoriteCountService self;
+
+    public FavoriteCountService(UserStatsRepository userStatsRepository,
+                                IdeaRepository ideaRepository,
+                                IdeaGenerationStatsService ideaGenerationStatsService,
+                                @Lazy FavoriteCountService self) {
+        this.userStatsRepository = userStatsRepository;
+        this.ideaRepository = ideaRepository;
+        this.ideaGenerationStatsService = ideaGenerationStatsService;
+        this.self = self;
+    }
+
+    @Transactional(readOnly = true)
+    public long getCount(Long userId) {
+        Long count = ideaGenerationStatsService.getStats(userId).getFavoriteCount();
+        return count != null ? count : self.fillIfMissing(userId);
+    }
+
+    /**
+     * Soma {@code delta} à contagem, na transação de quem alterou os favoritos.
+     */
+    @Transactional
+    public void adjust(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        UserStats stats = lockOrCreate(userId);
+        if (stats.getFavoriteCount() == null) {
+            // A contagem lida aqui já inclui a alteração desta transação.
+            stats.setFavoriteCount(ideaRepository.countFavoriteIdeasByUserId(userId));
+        } else {
+            stats.setFavoriteCount(Math.max(0, stats.getFavoriteCount() + delta));
+        }
+    }
+
+    /**
+     * Preenche a contagem de uma linha anterior à coluna com os favoritos já confirmados.
+     * Roda em transação própria e sob lock, como {@link IdeaGenerationStatsService#createIfAbsent}.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long fillIfMissing(Long userId) {
+        UserStats stats = userStatsRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Estatísticas não encontradas: " + userId));
+        if (stats.getFavoriteCount() == null) {
+            stats.setFavoriteCount(ideaRepository.countFavoriteIdeasByUserId(userId));
+        }
+        return stats.getFavoriteCount();
+    }
+
+    private UserStats lockOrCreate(Long userId) {
+        return userStatsRepository.findForUpdate(userId).orElseGet(() -> {
+            try {
+                ideaGenerationStatsService.createIfAbsent(userId);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Estatísticas do usuário {} criadas por outra transação", userId);
+            }
+            return userStatsRepository.findForUpdate(userId)
+                    .orElseThrow(() -> new IllegalStateException("Estatísticas não encontradas após criação: " + userId));
+        });
+    }
+}
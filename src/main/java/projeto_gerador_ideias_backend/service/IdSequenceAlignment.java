@@ -0,0 +1,60 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Migração na inicialização: as tabelas criadas com IDs por IDENTITY passaram a usar sequências
+ * com alocação em blocos. Antes de qualquer inserção, cada sequência é avançada até o maior ID
+ * já existente, para que os blocos entregues pelo Hibernate não colidam com linhas antigas.
+ * Roda na criação do bean, depois do schema update (por isso depende da {@code entityManagerFactory})
+ * e antes de o servidor aceitar requisições.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAlignment implements InitializingBean {
+
+    static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "ideas_seq", "ideas",
+            "chat_sessions_seq", "chat_sessions",
+            "chat_messages_seq", "chat_messages"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAlignment(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                return;
+            }
+            SEQUENCES.forEach(this::align);
+        } catch (Exception e) {
+            log.warn("Falha ao alinhar sequências de IDs; verifique antes de gravar novos registros: {}", e.getMessage());
+        }
+    }
+
+    private void align(String sequence, String table) {
+        Long aligned = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN m.max_id > s.last_value THEN setval('" + sequence + "', m.max_id) END " +
+                "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table + ") m, " + sequence + " s",
+                Long.class);
+        if (aligned != null) {
+            log.info("Sequência {} avançada até {}", sequence, aligned);
+        }
+    }
+}
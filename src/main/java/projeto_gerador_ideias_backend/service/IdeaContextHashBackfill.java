@@ -0,0 +1,61 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import projeto_gerador_ideias_backend.util.ContextFingerprint;
+
+import java.util.List;
+
+/**
+ * Migração na inicialização: calcula o {@code context_hash} das ideias criadas antes dele,
+ * em lotes por id, e remove o índice antigo sobre o contexto em texto. Ideias já migradas
+ * não são tocadas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdeaContextHashBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Hash de contexto preenchido para {} ideias", updated);
+            }
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_idea_user_lookup");
+        } catch (Exception e) {
+            log.warn("Falha ao preencher hash de contexto das ideias; ideias antigas não serão reaproveitadas: {}",
+                    e.getMessage());
+        }
+    }
+
+    int backfill() {
+        int updated = 0;
+        long afterId = 0L;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "SELECT id, context FROM ideas WHERE context_hash IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{
+                            ContextFingerprint.of(rs.getString("context")), rs.getLong("id")
+                    },
+                    afterId, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE ideas SET context_hash = ? WHERE id = ?", batch);
+            updated += batch.size();
+            afterId = (Long) batch.get(batch.size() - 1)[1];
+        } while (batch.size() == BATCH_SIZE);
+        return updated;
+    }
+}
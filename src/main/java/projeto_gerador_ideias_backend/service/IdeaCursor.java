@@ -0,0 +1,42 @@
+package projeto_gerador_ideias_backend.service;
+
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da última ideia de uma página ordenada por {@code (createdAt DESC, id DESC)}.
+ * Vai para o cliente como token opaco (Base64 URL) e volta no parâmetro {@code cursor}.
+ */
+record IdeaCursor(LocalDateTime createdAt, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o token recebido; {@code null} ou vazio indica a primeira página.
+     */
+    static IdeaCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new ValidationException("Cursor de paginação inválido.");
+            }
+            return new IdeaCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package projeto_gerador_ideias_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.IdeaEmbedding;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Calcula os embeddings das ideias fora da requisição. Cada ideia salva recebe o seu pelo evento
+ * do outbox, que tenta de novo com espera crescente se o Ollama falhar; ideias que ainda assim
+ * ficarem sem embedding são reprocessadas pela varredura periódica de ideias pendentes.
+ */
+@Slf4j
+@Service
+public class IdeaEmbeddingService {
+
+    private static final String UPDATE_SQL =
+            "UPDATE idea_embeddings SET model = ?, dimensions = ?, vector = ?, created_at = ? WHERE idea_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO idea_embeddings (model, dimensions, vector, created_at, idea_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final OllamaIntegrationService ollamaIntegrationService;
+    private final IdeaVectorIndex ideaVectorIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter createdCounter;
+    private final Counter failureCounter;
+    private volatile long backfillAfterId;
+
+    @Value("${ideas.embedding.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ideas.embedding.backfill-batch-size:50}")
+    private int backfillBatchSize = 50;
+
+    public IdeaEmbeddingService(OllamaIntegrationService ollamaIntegrationService,
+                                IdeaVectorIndex ideaVectorIndex,
+                                JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry) {
+        this.ollamaIntegrationService = ollamaIntegrationService;
+        this.ideaVectorIndex = ideaVectorIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.createdCounter = Counter.builder("ideas.embedding.created")
+                .description("Embeddings de ideias calculados e gravados")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("ideas.embedding.failures")
+                .description("Falhas ao calcular ou gravar embeddings de ideias")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calcula, grava e indexa o embedding da ideia na thread de quem chama, propagando falhas.
+     * A gravação substitui o embedding existente da ideia, então repetir a mesma ideia não tem efeito extra.
+     */
+    public void embed(Idea idea) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            float[] vector = ollamaIntegrationService.createEmbedding(textOf(idea.getContext(), idea.getGeneratedContent()));
+            store(idea.getId(), vector);
+            ideaVectorIndex.add(idea.getId(), vector);
+            createdCounter.increment();
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Calcula e grava o embedding das ideias que ainda não têm um, um lote por ciclo para não
+     * disputar o Ollama com as requisições. Ao chegar ao fim da tabela, recomeça do início.
+     */
+    @Scheduled(initialDelayString = "${ideas.embedding.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${ideas.embedding.backfill-interval-ms:60000}")
+    public void backfillScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfillBatch();
+        } catch (Exception e) {
+            log.warn("Falha no backfill de embeddings de ideias: {}", e.getMessage());
+        }
+    }
+
+    int backfillBatch() {
+        List<PendingIdea> batch = jdbcTemplate.query(
+                "SELECT i.id, i.context, i.generated_content FROM ideas i "
+                        + "LEFT JOIN idea_embeddings e ON e.idea_id = i.id "
+                        + "WHERE e.idea_id IS NULL AND i.id > ? ORDER BY i.id LIMIT ?",
+                (rs, rowNum) -> new PendingIdea(rs.getLong("id"),
+                        textOf(rs.getString("context"), rs.getString("generated_content"))),
+                backfillAfterId, backfillBatchSize);
+        backfillAfterId = batch.size() < backfillBatchSize ? 0L : batch.get(batch.size() - 1).id();
+        int embedded = 0;
+        for (PendingIdea pending : batch) {
+            if (embedQuietly(pending.id(), pending.text())) {
+                embedded++;
+            }
+        }
+        return embedded;
+    }
+
+    /**
+     * Calcula, grava e indexa o embedding. Falhas são registradas e não propagadas.
+     */
+    boolean embedQuietly(Long ideaId, String text) {
+        try {
+            float[] vector = ollamaIntegrationService.createEmbedding(text);
+            store(ideaId, vector);
+            ideaVectorIndex.add(ideaId, vector);
+            createdCounter.increment();
+            return true;
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Falha ao calcular o embedding da ideia {}: {}", ideaId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void store(Long ideaId, float[] vector) {
+        Object[] args = {
+                ollamaIntegrationService.getEmbeddingModel(),
+                vector.length,
+                IdeaEmbedding.encode(vector),
+                Timestamp.valueOf(LocalDateTime.now()),
+                ideaId
+        };
+        if (jdbcTemplate.update(UPDATE_SQL, args) == 0) {
+            jdbcTemplate.update(INSERT_SQL, args);
+        }
+    }
+
+    private static String textOf(String context, String content) {
+        String safeContext = context != null ? context : "";
+        return content != null && !content.isBlank() ? safeContext + "\n\n" + content : safeContext;
+    }
+
+    private record PendingIdea(long id, String text) {
+    }
+}
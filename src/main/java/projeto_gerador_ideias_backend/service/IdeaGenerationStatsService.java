@@ -0,0 +1,93 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import projeto_gerador_ideias_backend.model.UserStats;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.UserStatsRepository;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Mantém as estatísticas de geração de ideias por usuário ({@link UserStats}).
+ * Cada ideia gravada incrementa a linha do usuário sob lock, na mesma transação do insert;
+ * a linha que ainda não existe é criada a partir das ideias já confirmadas do usuário.
+ */
+@Service
+@Slf4j
+public class IdeaGenerationStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final IdeaRepository ideaRepository;
+    private final IdeaGenerationStatsService self;
+
+    public IdeaGenerationStatsService(UserStatsRepository userStatsRepository,
+                                      IdeaRepository ideaRepository,
+                                      @Lazy IdeaGenerationStatsService self) {
+        this.userStatsRepository = userStatsRepository;
+        this.ideaRepository = ideaRepository;
+        this.self = self;
+    }
+
+    /**
+     * Soma uma ideia às estatísticas do usuário, na transação de quem grava a ideia.
+     */
+    @Transactional
+    public void recordIdea(Long userId, long executionTimeMs) {
+        lockOrCreate(userId).recordIdea(executionTimeMs);
+    }
+
+    /**
+     * Estatísticas atuais do usuário, por chave primária. Usuários ainda sem linha têm a sua
+     * calculada uma única vez a partir do histórico.
+     */
+    @Transactional(readOnly = true)
+    public UserStats getStats(Long userId) {
+        Optional<UserStats> existing = userStatsRepository.findById(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        createQuietly(userId);
+        return userStatsRepository.findById(userId).orElseGet(() -> new UserStats(userId));
+    }
+
+    private UserStats lockOrCreate(Long userId) {
+        Optional<UserStats> existing = userStatsRepository.findForUpdate(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        createQuietly(userId);
+        return userStatsRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Estatísticas não encontradas após criação: " + userId));
+    }
+
+    private void createQuietly(Long userId) {
+        try {
+            self.createIfAbsent(userId);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Estatísticas do usuário {} criadas por outra transação", userId);
+        }
+    }
+
+    /**
+     * Cria a linha do usuário com as ideias e os favoritos já confirmados. Roda em transação própria
+     * para que a alteração ainda não confirmada de quem chamou seja somada apenas pelo incremento.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createIfAbsent(Long userId) {
+        if (userStatsRepository.existsById(userId)) {
+            return;
+        }
+        UserStats stats = new UserStats(userId);
+        try (Stream<Long> executionTimes = ideaRepository.streamExecutionTimesByUserId(userId)) {
+            executionTimes.forEach(stats::recordIdea);
+        }
+        stats.setFavoriteCount(ideaRepository.countFavoriteIdeasByUserId(userId));
+        userStatsRepository.saveAndFlush(stats);
+    }
+}
@@ -0,0 +1,31 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migração na inicialização: remove os índices de paginação por cursor criados com {@code id}
+ * crescente. Eles foram substituídos por {@code idx_idea_user_created_id} e {@code idx_idea_created_id},
+ * que seguem a ordenação {@code created_at DESC, id DESC} das listagens.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdeaKeysetIndexMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_idea_user_created");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_idea_created");
+        } catch (Exception e) {
+            log.warn("Falha ao remover índices antigos de paginação de ideias: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package projeto_gerador_ideias_backend.service;
+
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição do último resultado de uma página de busca ordenada por {@code (rank DESC, id DESC)}.
+ * Vai para o cliente como token opaco (Base64 URL) e volta no parâmetro {@code cursor}.
+ */
+record IdeaSearchCursor(double rank, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = Double.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o token recebido; {@code null} ou vazio indica a primeira página.
+     */
+    static IdeaSearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new ValidationException("Cursor de paginação inválido.");
+            }
+            return new IdeaSearchCursor(Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Cursor de paginação inválido.");
+        }
+    }
+}
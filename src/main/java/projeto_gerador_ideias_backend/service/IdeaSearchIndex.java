@@ -0,0 +1,25 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.springframework.data.jpa.domain.Specification;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSearchHit;
+
+import java.util.List;
+
+/**
+ * Índice da busca textual de ideias. No PostgreSQL é a coluna {@code search_vector} com
+ * índice GIN; nos demais bancos, um índice invertido em memória.
+ */
+public interface IdeaSearchIndex {
+
+    /**
+     * Ideias que contêm todos os termos da consulta e atendem aos filtros, da mais relevante
+     * para a menos relevante (empate pelo maior id), a partir da posição {@code (afterRank, afterId)}.
+     */
+    List<IdeaSearchHit> search(String query, Specification<Idea> filters, Double afterRank, Long afterId, int limit);
+
+    /**
+     * Prepara o índice na inicialização (estrutura no banco ou carga inicial).
+     */
+    void prepare();
+}
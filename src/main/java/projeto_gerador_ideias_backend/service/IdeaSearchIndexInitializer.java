@@ -0,0 +1,28 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migração na inicialização: cria a coluna e o índice da busca textual no PostgreSQL,
+ * ou faz a carga inicial do índice em memória nos demais bancos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdeaSearchIndexInitializer implements ApplicationRunner {
+
+    private final IdeaSearchIndex ideaSearchIndex;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            ideaSearchIndex.prepare();
+        } catch (Exception e) {
+            log.warn("Falha ao preparar o índice de busca de ideias; a busca ficará indisponível: {}", e.getMessage());
+        }
+    }
+}
@@ -7,21 +7,29 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import projeto_gerador_ideias_backend.dto.request.FavoritesUpdateRequest;
 import projeto_gerador_ideias_backend.dto.request.IdeaRequest;
+import projeto_gerador_ideias_backend.dto.response.FavoritesUpdateResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaGenerationStatsResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaListItemResponse;
 import projeto_gerador_ideias_backend.dto.response.IdeaResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaSliceResponse;
+import projeto_gerador_ideias_backend.dto.response.SimilarIdeaResponse;
 import projeto_gerador_ideias_backend.exceptions.ValidationException;
 import projeto_gerador_ideias_backend.model.Idea;
 import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.UserStats;
 import projeto_gerador_ideias_backend.repository.IdeaRepository;
 import projeto_gerador_ideias_backend.repository.UserFavoriteRepository;
 import projeto_gerador_ideias_backend.repository.ThemeRepository;
-import projeto_gerador_ideias_backend.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import projeto_gerador_ideias_backend.repository.projection.IdeaListItemRow;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSearchHit;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
 import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
 import projeto_gerador_ideias_backend.exceptions.OllamaServiceException;
 import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.util.ContextFingerprint;
+import projeto_gerador_ideias_backend.util.HnswIndex;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -33,18 +41,34 @@ import lombok.extern.slf4j.Slf4j;
 public class IdeaService {
 
     private final IdeaRepository ideaRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
     private final OllamaCacheableService ollamaService;
     private final FailureCounterService failureCounterService;
     private final ThemeRepository themeRepository;
     private final IdeaSummaryService ideaSummaryService;
     private final UserFavoriteRepository userFavoriteRepository;
-    private final IdeasSummaryCacheService ideasSummaryCacheService;
+    private final IdeaSearchIndex ideaSearchIndex;
+    private final IdeaVectorIndex ideaVectorIndex;
+    private final FavoriteCountService favoriteCountService;
+    private final IdeaGenerationStatsService ideaGenerationStatsService;
+    private final OutboxService outboxService;
     @Value("${ollama.model}")
     private String ollamaModel;
 
+    @Value("${ideas.list.preview-length:160}")
+    private int previewLength = 160;
+
+    @Value("${ideas.dedup.global-reuse:false}")
+    private boolean globalReuse = false;
+
     private static final String REJEICAO_SEGURANCA = "Desculpe, não posso gerar ideias sobre esse tema.";
+    private static final String ERROR_NOT_AUTHENTICATED = "Usuário não autenticado. Não é possível gerar ideias.";
+    private static final String ERROR_USER_NOT_FOUND = "Usuário autenticado não encontrado no banco de dados: ";
     private static final String FIELD_CREATED_AT = "createdAt";
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, FIELD_CREATED_AT, "id");
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SIMILAR_IDEAS = 20;
 
     private static final Pattern HEADER_CLEANUP_PATTERN = Pattern.compile("(?s)#{2,}.*?(\\R|$)");
 
@@ -85,21 +109,29 @@ public class IdeaService {
             RESPOSTA (APENAS A IDEIA):""";
 
     public IdeaService(IdeaRepository ideaRepository,
-                       UserRepository userRepository,
+                       CurrentUserProvider currentUserProvider,
                        OllamaCacheableService ollamaService, 
                        FailureCounterService failureCounterService, 
                        ThemeRepository themeRepository,
                        IdeaSummaryService ideaSummaryService, 
                        UserFavoriteRepository userFavoriteRepository,
-                       IdeasSummaryCacheService ideasSummaryCacheService) {
+                       IdeaSearchIndex ideaSearchIndex,
+                       IdeaVectorIndex ideaVectorIndex,
+                       FavoriteCountService favoriteCountService,
+                       IdeaGenerationStatsService ideaGenerationStatsService,
+                       OutboxService outboxService) {
         this.ideaRepository = ideaRepository;
-        this.userRepository = userRepository;
+        this.currentUserProvider = currentUserProvider;
         this.ollamaService = ollamaService;
         this.failureCounterService = failureCounterService;
         this.themeRepository = themeRepository;
         this.ideaSummaryService = ideaSummaryService;
         this.userFavoriteRepository = userFavoriteRepository;
-        this.ideasSummaryCacheService = ideasSummaryCacheService;
+        this.ideaSearchIndex = ideaSearchIndex;
+        this.ideaVectorIndex = ideaVectorIndex;
+        this.favoriteCountService = favoriteCountService;
+        this.ideaGenerationStatsService = ideaGenerationStatsService;
+        this.outboxService = outboxService;
     }
 
     @Transactional
@@ -110,13 +142,24 @@ public class IdeaService {
                 .orElseThrow(() -> new IllegalArgumentException("Tema inválido: " + request.getTheme()));
 
         if (!skipCache) {
-            Optional<Idea> userSpecificIdea = ideaRepository.findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(
-                    currentUser, theme, request.getContext()
-            );
+            long lookupStartedAt = System.currentTimeMillis();
+            long contextHash = ContextFingerprint.of(request.getContext());
+            Optional<Idea> userSpecificIdea = ideaRepository
+                    .findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(currentUser.getId(), theme.getId(), contextHash)
+                    .filter(idea -> ContextFingerprint.sameContext(idea.getContext(), request.getContext()));
 
             if (userSpecificIdea.isPresent()) {
                 return new IdeaResponse(userSpecificIdea.get());
             }
+
+            if (globalReuse) {
+                Optional<Idea> sharedIdea = ideaRepository
+                        .findFirstByThemeIdAndContextHashOrderByCreatedAtDesc(theme.getId(), contextHash)
+                        .filter(idea -> ContextFingerprint.sameContext(idea.getContext(), request.getContext()));
+                if (sharedIdea.isPresent()) {
+                    return reuseIdea(currentUser, request.getContext(), sharedIdea.get(), lookupStartedAt);
+                }
+            }
         }
 
         long startTime = System.currentTimeMillis();
@@ -149,12 +192,37 @@ public class IdeaService {
         String summary = ideaSummaryService.summarizeIdeaSimple(aiGeneratedContent);
         newIdea.setSummary(summary);
         Idea savedIdea = ideaRepository.save(newIdea);
+        ideaGenerationStatsService.recordIdea(currentUser.getId(), savedIdea.getExecutionTimeMs());
         
-        ideasSummaryCacheService.invalidateUserCache(currentUser.getId());
+        outboxService.publishIdeaCreated(currentUser.getId(), savedIdea.getId());
 
         return new IdeaResponse(savedIdea);
     }
 
+    /**
+     * Modo global: copia para o usuário atual a ideia que outro usuário já gerou com o mesmo
+     * contexto normalizado, sem chamar a IA. A cópia entra no histórico do usuário normalmente.
+     */
+    private IdeaResponse reuseIdea(User currentUser, String context, Idea source, long lookupStartedAt) {
+        Idea copy = new Idea(
+                source.getTheme(),
+                context,
+                source.getGeneratedContent(),
+                source.getModelUsed(),
+                System.currentTimeMillis() - lookupStartedAt
+        );
+        copy.setUser(currentUser);
+        copy.setSummary(source.getSummary() != null && !source.getSummary().isBlank()
+                ? source.getSummary()
+                : ideaSummaryService.summarizeIdeaSimple(source.getGeneratedContent()));
+        Idea savedIdea = ideaRepository.save(copy);
+        ideaGenerationStatsService.recordIdea(currentUser.getId(), savedIdea.getExecutionTimeMs());
+
+        outboxService.publishIdeaCreated(currentUser.getId(), savedIdea.getId());
+        log.debug("Ideia {} reaproveitada para o usuário {}", source.getId(), currentUser.getId());
+        return new IdeaResponse(savedIdea);
+    }
+
     public String getCachedAiResponse(Theme theme, String context, boolean skipCache) {
 
         String moderationPrompt = String.format(PROMPT_MODERACAO, context);
@@ -227,8 +295,9 @@ public class IdeaService {
         newIdea.setSummary(summary);
 
         Idea savedIdea = ideaRepository.save(newIdea);
+        ideaGenerationStatsService.recordIdea(currentUser.getId(), savedIdea.getExecutionTimeMs());
         
-        ideasSummaryCacheService.invalidateUserCache(currentUser.getId());
+        outboxService.publishIdeaCreated(currentUser.getId(), savedIdea.getId());
         
         return new IdeaResponse(savedIdea);
     }
@@ -265,36 +334,7 @@ public class IdeaService {
             int page,
             int size) {
 
-        Theme themeEntity = null;
-        if (themeId != null) {
-            themeEntity = themeRepository.findById(themeId)
-                    .orElseThrow(() -> new IllegalArgumentException("O tema com ID '" + themeId + "' é inválido."));
-        }
-
-        final Theme finalThemeEntity = themeEntity;
-
-        Specification<Idea> spec = (root, query, cb) -> {
-            Predicate predicate = cb.conjunction();
-
-            if (userId != null) {
-                predicate = cb.and(predicate, cb.equal(root.get("user").get("id"), userId));
-            }
-
-            if (finalThemeEntity != null) {
-                predicate = cb.and(predicate, cb.equal(root.get("theme"), finalThemeEntity));
-            }
-
-            if (startDate != null) {
-                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get(FIELD_CREATED_AT), startDate));
-            }
-
-            if (endDate != null) {
-                predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get(FIELD_CREATED_AT), endDate));
-            }
-
-            query.orderBy(cb.desc(root.get(FIELD_CREATED_AT)));
-            return predicate;
-        };
+        Specification<Idea> spec = buildHistorySpecification(userId, themeId, startDate, endDate);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, FIELD_CREATED_AT));
 
         Page<Idea> ideias = ideaRepository.findAll(spec, pageable);
@@ -317,10 +357,7 @@ public class IdeaService {
     ) {
         User user = getCurrentAuthenticatedUser();
 
-        Specification<Idea> spec = (root, query, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("user").get("id"), user.getId());
-
-        spec = spec.and(buildIdeaFiltersSpecification(theme, startDate, endDate));
+        Specification<Idea> spec = buildMyIdeasSpecification(user, theme, startDate, endDate);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
 
@@ -335,44 +372,54 @@ public class IdeaService {
 
 
     private User getCurrentAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails)) {
-            throw new ResourceNotFoundException("Usuário não autenticado. Não é possível gerar ideias.");
-        }
-
-        String userEmail = ((UserDetails) authentication.getPrincipal()).getUsername();
-        
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário autenticado não encontrado no banco de dados: " + userEmail));
-        
-        log.debug("User authenticated - Email: {}, User found: id={}, name={}, email={}", 
-            userEmail, user.getId(), user.getName(), user.getEmail());
-        
-        return user;
+        return currentUserProvider.getUser(ERROR_NOT_AUTHENTICATED, ERROR_USER_NOT_FOUND);
     }
 
     @Transactional
     public void favoritarIdeia(Long ideaId) {
         User user = getCurrentAuthenticatedUser();
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new IllegalArgumentException("Ideia não encontrada."));
-        if (userFavoriteRepository.existsByUserIdAndIdeaId(user.getId(), ideaId)) {
+        if (userFavoriteRepository.addFavorites(user.getId(), List.of(ideaId)) == 0) {
+            // Nada inserido: a ideia não existe ou já estava favoritada.
+            if (!ideaRepository.existsById(ideaId)) {
+                throw new IllegalArgumentException("Ideia não encontrada.");
+            }
             throw new IllegalArgumentException("Ideia já está favoritada.");
         }
-        userFavoriteRepository.addFavorite(user.getId(), idea.getId());
+        favoriteCountService.adjust(user.getId(), 1);
     }
 
     @Transactional
     public void desfavoritarIdeia(Long ideaId) {
         User user = getCurrentAuthenticatedUser();
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new IllegalArgumentException("Ideia não encontrada."));
-        if (!userFavoriteRepository.existsByUserIdAndIdeaId(user.getId(), ideaId)) {
+        if (userFavoriteRepository.removeFavorites(user.getId(), List.of(ideaId)) == 0) {
+            if (!ideaRepository.existsById(ideaId)) {
+                throw new IllegalArgumentException("Ideia não encontrada.");
+            }
             throw new IllegalArgumentException("Ideia não está favoritada.");
         }
+        favoriteCountService.adjust(user.getId(), -1);
+    }
 
-        userFavoriteRepository.deleteById(new projeto_gerador_ideias_backend.model.UserFavorite.UserFavoriteId(user.getId(), idea.getId()));
+    /**
+     * Favorita e remove vários favoritos de uma vez: um INSERT e um DELETE. Ideias inexistentes,
+     * já favoritadas ou não favoritadas são ignoradas; a resposta traz o que de fato mudou.
+     */
+    @Transactional
+    public FavoritesUpdateResponse atualizarFavoritos(FavoritesUpdateRequest request) {
+        Set<Long> toAdd = request.getAdd() != null ? new LinkedHashSet<>(request.getAdd()) : Set.of();
+        Set<Long> toRemove = request.getRemove() != null ? new LinkedHashSet<>(request.getRemove()) : Set.of();
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            throw new ValidationException("Informe ao menos uma ideia para favoritar ou remover.");
+        }
+        if (toAdd.stream().anyMatch(toRemove::contains)) {
+            throw new ValidationException("Uma ideia não pode ser favoritada e removida na mesma requisição.");
+        }
+        User user = getCurrentAuthenticatedUser();
+
+        int added = toAdd.isEmpty() ? 0 : userFavoriteRepository.addFavorites(user.getId(), toAdd);
+        int removed = toRemove.isEmpty() ? 0 : userFavoriteRepository.removeFavorites(user.getId(), toRemove);
+        favoriteCountService.adjust(user.getId(), (long) added - removed);
+        return new FavoritesUpdateResponse(added, removed);
     }
 
     @Transactional(readOnly = true)
@@ -385,13 +432,7 @@ public class IdeaService {
     ) {
         User user = getCurrentAuthenticatedUser();
 
-        Specification<Idea> spec = (root, query, criteriaBuilder) -> {
-            Join<Idea, User> users = root.join("favoritedByUsers");
-
-            return criteriaBuilder.equal(users.get("id"), user.getId());
-        };
-
-        spec = spec.and(buildIdeaFiltersSpecification(theme, startDate, endDate));
+        Specification<Idea> spec = buildFavoritesSpecification(user, theme, startDate, endDate);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Idea> favoritasPage = ideaRepository.findAll(spec, pageable);
@@ -404,16 +445,274 @@ public class IdeaService {
     }
 
 
+    /**
+     * Histórico por cursor: cada página busca {@code size + 1} linhas a partir da posição
+     * {@code (createdAt, id)} do cursor, sem OFFSET nem contagem total. Cada item traz só
+     * uma prévia do conteúdo; o texto completo vem de {@link #buscarIdeiaPorId(Long)}.
+     */
+    @Transactional(readOnly = true)
+    public IdeaSliceResponse listarHistoricoIdeiasPorCursor(
+            Long userId,
+            Long themeId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size) {
+
+        IdeaCursor position = IdeaCursor.decode(cursor);
+        Specification<Idea> spec = buildHistorySpecification(userId, themeId, startDate, endDate);
+
+        IdeaSliceResponse slice = fetchSlice(spec, position, size);
+        if (position == null && slice.getContent().isEmpty()) {
+            throw new ResourceNotFoundException("Nenhuma ideia encontrada no banco de dados para os filtros informados.");
+        }
+        return slice;
+    }
+
     @Transactional(readOnly = true)
-    public Double getAverageIdeaGenerationTime() {
+    public IdeaSliceResponse listarMinhasIdeiasPorCursor(
+            Long theme,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size
+    ) {
+        IdeaCursor position = IdeaCursor.decode(cursor);
         User user = getCurrentAuthenticatedUser();
-        return ideaRepository.getAverageExecutionTimeForUser(user.getId());
+
+        IdeaSliceResponse slice = fetchSlice(buildMyIdeasSpecification(user, theme, startDate, endDate), position, size);
+        if (position == null && slice.getContent().isEmpty()) {
+            throw new ResourceNotFoundException("Nenhuma ideia encontrada para o usuário: " + user.getEmail() + " com os filtros aplicados.");
+        }
+        return slice;
+    }
+
+    @Transactional(readOnly = true)
+    public IdeaSliceResponse listarIdeiasFavoritadasPorCursor(
+            Long theme,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size
+    ) {
+        IdeaCursor position = IdeaCursor.decode(cursor);
+        User user = getCurrentAuthenticatedUser();
+
+        IdeaSliceResponse slice = fetchSlice(buildFavoritesSpecification(user, theme, startDate, endDate), position, size);
+        if (position == null && slice.getContent().isEmpty()) {
+            throw new ResourceNotFoundException("Nenhuma ideia favoritada encontrada para este usuário com os filtros aplicados.");
+        }
+        return slice;
+    }
+
+    private IdeaSliceResponse fetchSlice(Specification<Idea> spec, IdeaCursor position, int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new ValidationException("O tamanho da página deve estar entre 1 e " + MAX_SLICE_SIZE + ".");
+        }
+        Specification<Idea> keysetSpec = position == null ? spec : spec.and(afterCursor(position));
+
+        List<IdeaListItemRow> rows = ideaRepository.findListItems(keysetSpec, KEYSET_SORT, size + 1, previewLength + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<IdeaListItemRow> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            IdeaListItemRow last = page.get(page.size() - 1);
+            nextCursor = new IdeaCursor(last.createdAt(), last.id()).encode();
+        }
+        return new IdeaSliceResponse(page.stream().map(this::toListItem).toList(), nextCursor, hasNext);
+    }
+
+    /**
+     * Busca textual nas ideias do usuário (contexto e conteúdo), da mais relevante para a menos
+     * relevante, com os mesmos filtros de tema e data das listagens. O cursor guarda
+     * {@code (relevância, id)} do último resultado; sem resultados a página vem vazia.
+     */
+    @Transactional(readOnly = true)
+    public IdeaSliceResponse buscarIdeias(
+            String query,
+            Long theme,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size
+    ) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Informe o termo de busca.");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ValidationException("O termo de busca deve ter no máximo " + MAX_SEARCH_QUERY_LENGTH + " caracteres.");
+        }
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new ValidationException("O tamanho da página deve estar entre 1 e " + MAX_SLICE_SIZE + ".");
+        }
+        IdeaSearchCursor position = IdeaSearchCursor.decode(cursor);
+        User user = getCurrentAuthenticatedUser();
+
+        List<IdeaSearchHit> hits = ideaSearchIndex.search(
+                query.trim(),
+                buildMyIdeasSpecification(user, theme, startDate, endDate),
+                position != null ? position.rank() : null,
+                position != null ? position.id() : null,
+                size + 1);
+
+        boolean hasNext = hits.size() > size;
+        List<IdeaSearchHit> page = hasNext ? hits.subList(0, size) : hits;
+        if (page.isEmpty()) {
+            return new IdeaSliceResponse(List.of(), null, false);
+        }
+
+        List<Long> ids = page.stream().map(IdeaSearchHit::id).toList();
+        Map<Long, IdeaListItemRow> rows = new HashMap<>();
+        for (IdeaListItemRow row : ideaRepository.findListItems(
+                (root, q, cb) -> root.get("id").in(ids), KEYSET_SORT, ids.size(), previewLength + 1)) {
+            rows.put(row.id(), row);
+        }
+        List<IdeaListItemResponse> content = ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::toListItem)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            IdeaSearchHit last = page.get(page.size() - 1);
+            nextCursor = new IdeaSearchCursor(last.rank(), last.id()).encode();
+        }
+        return new IdeaSliceResponse(content, nextCursor, hasNext);
+    }
+
+    private IdeaListItemResponse toListItem(IdeaListItemRow row) {
+        String prefix = row.contentPrefix() != null ? row.contentPrefix() : "";
+        boolean truncated = prefix.length() > previewLength;
+        String preview = truncated ? prefix.substring(0, previewLength).stripTrailing() + "…" : prefix;
+        return new IdeaListItemResponse(row.id(), row.themeName(), row.summary(), preview, truncated, row.createdAt());
+    }
+
+    /**
+     * Detalhe de uma ideia com o conteúdo completo, complemento das listagens por cursor.
+     */
+    @Transactional(readOnly = true)
+    public IdeaResponse buscarIdeiaPorId(Long ideaId) {
+        Idea idea = ideaRepository.findWithUserAndThemeById(ideaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ideia não encontrada."));
+        return new IdeaResponse(idea);
+    }
+
+    /**
+     * Ideias mais parecidas com a informada, pelo índice de embeddings em memória. Ideias cujo
+     * embedding ainda não foi calculado retornam lista vazia.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarIdeaResponse> buscarIdeiasSimilares(Long ideaId, int limit) {
+        if (limit < 1 || limit > MAX_SIMILAR_IDEAS) {
+            throw new ValidationException("A quantidade de ideias similares deve estar entre 1 e " + MAX_SIMILAR_IDEAS + ".");
+        }
+        if (!ideaRepository.existsById(ideaId)) {
+            throw new ResourceNotFoundException("Ideia não encontrada.");
+        }
+        List<HnswIndex.Hit> hits = ideaVectorIndex.similar(ideaId, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = hits.stream().map(HnswIndex.Hit::key).toList();
+        Map<Long, IdeaListItemRow> rows = new HashMap<>();
+        for (IdeaListItemRow row : ideaRepository.findListItems(
+                (root, q, cb) -> root.get("id").in(ids), KEYSET_SORT, ids.size(), previewLength + 1)) {
+            rows.put(row.id(), row);
+        }
+        return hits.stream()
+                .filter(hit -> rows.containsKey(hit.key()))
+                .map(hit -> new SimilarIdeaResponse(toListItem(rows.get(hit.key())), hit.similarity()))
+                .toList();
+    }
+
+    /**
+     * {@code (created_at, id) < (?, ?)} escrito com Criteria. O {@code created_at <= ?} redundante
+     * dá ao planner um limite de intervalo no índice {@code (…, created_at DESC, id DESC)}; o OR
+     * sozinho não é usado como condição de acesso.
+     */
+    private static Specification<Idea> afterCursor(IdeaCursor position) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get(FIELD_CREATED_AT), position.createdAt()),
+                cb.or(
+                        cb.lessThan(root.get(FIELD_CREATED_AT), position.createdAt()),
+                        cb.and(
+                                cb.equal(root.get(FIELD_CREATED_AT), position.createdAt()),
+                                cb.lessThan(root.get("id"), position.id()))));
+    }
+
+    @Transactional(readOnly = true)
+    public IdeaGenerationStatsResponse getIdeaGenerationStats() {
+        User user = getCurrentAuthenticatedUser();
+        UserStats stats = ideaGenerationStatsService.getStats(user.getId());
+        Double average = stats.getAverageExecutionTimeMs();
+        Double stdDev = stats.getExecutionTimeStdDevMs();
+        return new IdeaGenerationStatsResponse(
+                stats.getIdeaCount(),
+                average != null ? average : 0.0,
+                stdDev != null ? stdDev : 0.0,
+                stats.percentileMs(0.5),
+                stats.percentileMs(0.95));
     }
 
     @Transactional(readOnly = true)
     public long getFavoriteIdeasCount() {
         User user = getCurrentAuthenticatedUser();
-        return ideaRepository.countFavoriteIdeasByUserId(user.getId());
+        return favoriteCountService.getCount(user.getId());
+    }
+
+    private Specification<Idea> buildHistorySpecification(Long userId, Long themeId,
+                                                          LocalDateTime startDate, LocalDateTime endDate) {
+        Theme themeEntity = null;
+        if (themeId != null) {
+            themeEntity = themeRepository.findById(themeId)
+                    .orElseThrow(() -> new IllegalArgumentException("O tema com ID '" + themeId + "' é inválido."));
+        }
+
+        final Theme finalThemeEntity = themeEntity;
+
+        return (root, query, cb) -> {
+            Predicate predicate = cb.conjunction();
+
+            if (userId != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("user").get("id"), userId));
+            }
+
+            if (finalThemeEntity != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("theme"), finalThemeEntity));
+            }
+
+            if (startDate != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get(FIELD_CREATED_AT), startDate));
+            }
+
+            if (endDate != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get(FIELD_CREATED_AT), endDate));
+            }
+
+            return predicate;
+        };
+    }
+
+    private Specification<Idea> buildMyIdeasSpecification(User user, Long theme,
+                                                          LocalDateTime startDate, LocalDateTime endDate) {
+        Specification<Idea> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("user").get("id"), user.getId());
+
+        return spec.and(buildIdeaFiltersSpecification(theme, startDate, endDate));
+    }
+
+    private Specification<Idea> buildFavoritesSpecification(User user, Long theme,
+                                                            LocalDateTime startDate, LocalDateTime endDate) {
+        Specification<Idea> spec = (root, query, criteriaBuilder) -> {
+            Join<Idea, User> users = root.join("favoritedByUsers");
+
+            return criteriaBuilder.equal(users.get("id"), user.getId());
+        };
+
+        return spec.and(buildIdeaFiltersSpecification(theme, startDate, endDate));
     }
 
     private Specification<Idea> buildIdeaFiltersSpecification(Long theme, LocalDateTime startDate, LocalDateTime endDate) {
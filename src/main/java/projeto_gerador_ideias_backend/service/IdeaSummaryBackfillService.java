@@ -0,0 +1,196 @@
+package projeto_gerador_ideias_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.projection.IdeaContentRow;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preenche em segundo plano o resumo das ideias que ainda não têm um. A tabela é percorrida
+ * por id em lotes; os resumos de cada lote são calculados em paralelo e gravados em um único
+ * UPDATE em lote. Cada lote é confirmado sozinho, então uma execução interrompida recomeça
+ * apenas com as ideias que continuam sem resumo.
+ */
+@Service
+@Slf4j
+public class IdeaSummaryBackfillService {
+
+    private static final int SUMMARY_MAX_LENGTH = 200;
+    private static final String UPDATE_SQL =
+            "UPDATE ideas SET summary = ? WHERE id = ? AND (summary IS NULL OR summary = '')";
+
+    private final IdeaRepository ideaRepository;
+    private final IdeaSummaryService ideaSummaryService;
+    private final IdeasSummaryCacheService ideasSummaryCacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService workers;
+    private final int workerThreads;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lastProcessedId = new AtomicLong();
+    private final Counter updatedCounter;
+    private final Timer batchTimer;
+
+    @Value("${ideas.summary.backfill.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ideas.summary.backfill.batch-size:500}")
+    private int batchSize = 500;
+
+    public IdeaSummaryBackfillService(IdeaRepository ideaRepository,
+                                      IdeaSummaryService ideaSummaryService,
+                                      IdeasSummaryCacheService ideasSummaryCacheService,
+                                      JdbcTemplate jdbcTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${ideas.summary.backfill.threads:4}") int workerThreads) {
+        this.ideaRepository = ideaRepository;
+        this.ideaSummaryService = ideaSummaryService;
+        this.ideasSummaryCacheService = ideasSummaryCacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.workerThreads = Math.max(1, workerThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "idea-summary-backfill-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.updatedCounter = Counter.builder("ideas.summary.backfill.updated")
+                .description("Resumos de ideias preenchidos pelo backfill")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("ideas.summary.backfill.batch")
+                .description("Tempo de cálculo e gravação de um lote do backfill")
+                .register(meterRegistry);
+        Gauge.builder("ideas.summary.backfill.pending", pending, AtomicLong::get)
+                .description("Ideias sem resumo no início da execução, descontadas as já preenchidas")
+                .register(meterRegistry);
+        Gauge.builder("ideas.summary.backfill.last-id", lastProcessedId, AtomicLong::get)
+                .description("Último id de ideia processado pelo backfill")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${ideas.summary.backfill.initial-delay-ms:30000}",
+            fixedDelayString = "${ideas.summary.backfill.interval-ms:300000}")
+    public void backfillScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.warn("Falha no backfill de resumos de ideias; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Percorre todas as ideias sem resumo e grava os resumos calculados. Execuções simultâneas
+     * não se sobrepõem: a segunda retorna sem fazer nada.
+     *
+     * @return quantidade de ideias atualizadas
+     */
+    public int backfill() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            pending.set(ideaRepository.countMissingSummary());
+            int updated = 0;
+            long afterId = 0L;
+            List<IdeaContentRow> batch;
+            do {
+                batch = ideaRepository.findMissingSummaryBatch(afterId, Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                long startedAt = System.nanoTime();
+                updated += processBatch(batch);
+                batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                afterId = batch.get(batch.size() - 1).id();
+                lastProcessedId.set(afterId);
+            } while (batch.size() == batchSize);
+
+            if (updated > 0) {
+                log.info("Backfill de resumos: {} ideias atualizadas", updated);
+            }
+            return updated;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int processBatch(List<IdeaContentRow> batch) {
+        String[] summaries = summarize(batch);
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            args.add(new Object[]{summaries[i], batch.get(i).id()});
+        }
+        int[] results = jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+
+        int updated = 0;
+        Set<Long> affectedUsers = new HashSet<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO) {
+                updated++;
+                affectedUsers.add(batch.get(i).userId());
+            }
+        }
+        affectedUsers.forEach(ideasSummaryCacheService::evictUserCache);
+        updatedCounter.increment(updated);
+        pending.updateAndGet(value -> Math.max(0, value - batch.size()));
+        return updated;
+    }
+
+    /**
+     * Calcula os resumos do lote em paralelo, com no máximo {@code workerThreads} tarefas.
+     */
+    String[] summarize(List<IdeaContentRow> batch) {
+        String[] summaries = new String[batch.size()];
+        int chunkSize = (batch.size() + workerThreads - 1) / workerThreads;
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(workerThreads);
+        for (int start = 0; start < batch.size(); start += chunkSize) {
+            int from = start;
+            int to = Math.min(start + chunkSize, batch.size());
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    summaries[i] = toStoredSummary(ideaSummaryService.summarizeIdeaSimple(batch.get(i).content()));
+                }
+            }, workers));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        return summaries;
+    }
+
+    // Conteúdo sem resumo possível recebe o texto padrão, para não voltar ao próximo lote.
+    private static String toStoredSummary(String summary) {
+        if (summary == null || summary.isBlank()) {
+            return IdeaSummaryService.NO_SUMMARY;
+        }
+        return summary.length() > SUMMARY_MAX_LENGTH ? summary.substring(0, SUMMARY_MAX_LENGTH) : summary;
+    }
+}
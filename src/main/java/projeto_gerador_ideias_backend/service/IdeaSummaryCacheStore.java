@@ -0,0 +1,34 @@
+package projeto_gerador_ideias_backend.service;
+
+import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resumos de ideias em cache por usuário, indexados pelo id da ideia. A entrada de um usuário só
+ * existe como retrato completo gravado por {@link #replace}; ideias novas entram com {@link #addIfPresent}
+ * em O(1), e repetir a mesma ideia apenas sobrescreve o resumo dela.
+ */
+public interface IdeaSummaryCacheStore {
+
+    /** Mais recente primeiro, como em {@code findIdeasSummaryOnlyByUserId}. */
+    Comparator<IdeaSummaryResponse> NEWEST_FIRST = Comparator
+            .comparing((IdeaSummaryResponse summary) -> LocalDateTime.parse(summary.getCreatedAt()))
+            .thenComparing(IdeaSummaryResponse::getId)
+            .reversed();
+
+    /** Lista completa do usuário, mais recente primeiro, ou vazio se não houver retrato em cache. */
+    Optional<List<IdeaSummaryResponse>> read(Long userId);
+
+    void replace(Long userId, List<IdeaSummaryResponse> summaries);
+
+    /**
+     * Grava o resumo somente se o usuário já tiver um retrato em cache. Devolve {@code false} quando não há.
+     */
+    boolean addIfPresent(Long userId, IdeaSummaryResponse summary);
+
+    void evict(Long userId);
+}
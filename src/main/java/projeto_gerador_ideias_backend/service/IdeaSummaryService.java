@@ -6,6 +6,11 @@ import java.util.Arrays;
 @Service
 public class IdeaSummaryService {
 
+    /**
+     * Exibido enquanto a ideia não tem resumo; também é gravado quando o conteúdo não rende um.
+     */
+    public static final String NO_SUMMARY = "Sem resumo disponível";
+
     public String summarizeIdeaSimple(String content) {
         if (content == null || content.trim().isEmpty()) {
             return "";
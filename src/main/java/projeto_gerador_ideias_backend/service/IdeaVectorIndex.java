@@ -0,0 +1,235 @@
+package projeto_gerador_ideias_backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.model.IdeaEmbedding;
+import projeto_gerador_ideias_backend.util.HnswIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice HNSW dos embeddings de ideias, mantido em memória para responder "ideias similares"
+ * sem consultar o banco. Na inicialização carrega o último snapshot em disco e completa com
+ * os embeddings gravados depois dele; novos embeddings entram assim que são gravados. O
+ * snapshot é regravado periodicamente e no desligamento quando houve mudança.
+ */
+@Slf4j
+@Service
+public class IdeaVectorIndex implements ApplicationRunner {
+
+    private static final int LOAD_BATCH = 1000;
+    private static final long RANDOM_SEED = 42L;
+    // Embeddings gravados pouco antes do snapshot podem ter sido confirmados depois dele.
+    private static final long CATCH_UP_MARGIN_MINUTES = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile HnswIndex index;
+    private volatile LocalDateTime syncedUntil;
+
+    @Value("${ideas.embedding.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ideas.embedding.snapshot-path:data/idea-vectors.hnsw}")
+    private String snapshotPath = "data/idea-vectors.hnsw";
+
+    @Value("${ideas.embedding.hnsw.m:16}")
+    private int maxLinks = 16;
+
+    @Value("${ideas.embedding.hnsw.ef-construction:100}")
+    private int efConstruction = 100;
+
+    @Value("${ideas.embedding.hnsw.ef-search:64}")
+    private int efSearch = 64;
+
+    public IdeaVectorIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("ideas.embedding.index.size", this, IdeaVectorIndex::size)
+                .description("Ideias presentes no índice de similaridade em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            loadSnapshot();
+            catchUp();
+            log.info("Índice de similaridade de ideias pronto com {} vetores", size());
+        } catch (Exception e) {
+            log.warn("Falha ao carregar o índice de similaridade de ideias: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ideias mais similares à informada, sem ela própria. Vazio se a ideia ainda não tem embedding.
+     */
+    public List<HnswIndex.Hit> similar(long ideaId, int limit) {
+        HnswIndex current = index;
+        return current == null ? List.of() : current.searchByKey(ideaId, limit, efSearch);
+    }
+
+    /**
+     * Inclui ou substitui o vetor da ideia. Vetores com dimensão diferente da do índice
+     * (troca de modelo sem reindexar) são ignorados.
+     */
+    public void add(long ideaId, float[] vector) {
+        HnswIndex current = indexFor(vector.length);
+        if (current.dimensions() != vector.length) {
+            log.warn("Embedding da ideia {} com {} dimensões ignorado; índice usa {}",
+                    ideaId, vector.length, current.dimensions());
+            return;
+        }
+        current.add(ideaId, vector);
+        dirty.set(true);
+    }
+
+    public void remove(long ideaId) {
+        HnswIndex current = index;
+        if (current != null) {
+            current.remove(ideaId);
+            dirty.set(true);
+        }
+    }
+
+    public int size() {
+        HnswIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Traz para o índice os embeddings gravados por outras instâncias desde a última sincronização.
+     */
+    @Scheduled(fixedDelayString = "${ideas.embedding.sync-interval-ms:60000}",
+            initialDelayString = "${ideas.embedding.sync-interval-ms:60000}")
+    public void catchUpScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar o índice de similaridade: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ideas.embedding.snapshot-interval-ms:600000}",
+            initialDelayString = "${ideas.embedding.snapshot-interval-ms:600000}")
+    public void snapshotScheduled() {
+        if (enabled && dirty.get()) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled && dirty.get()) {
+            writeSnapshot();
+        }
+    }
+
+    synchronized int catchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime after = syncedUntil != null
+                ? syncedUntil.minusMinutes(CATCH_UP_MARGIN_MINUTES)
+                : LocalDateTime.of(1970, 1, 1, 0, 0);
+        long afterId = 0L;
+        int added = 0;
+        List<StoredVector> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "SELECT idea_id, vector, created_at FROM idea_embeddings "
+                            + "WHERE created_at > ? OR (created_at = ? AND idea_id > ?) "
+                            + "ORDER BY created_at, idea_id LIMIT ?",
+                    (rs, rowNum) -> new StoredVector(rs.getLong("idea_id"), rs.getBytes("vector"),
+                            rs.getTimestamp("created_at").toLocalDateTime()),
+                    Timestamp.valueOf(after), Timestamp.valueOf(after), afterId, LOAD_BATCH);
+            for (StoredVector stored : batch) {
+                HnswIndex current = index;
+                if (current == null || !current.contains(stored.ideaId())) {
+                    add(stored.ideaId(), IdeaEmbedding.decode(stored.vector()));
+                    added++;
+                }
+            }
+            if (!batch.isEmpty()) {
+                StoredVector last = batch.get(batch.size() - 1);
+                after = last.createdAt();
+                afterId = last.ideaId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+        syncedUntil = startedAt;
+        return added;
+    }
+
+    private synchronized HnswIndex indexFor(int dimensions) {
+        if (index == null) {
+            index = new HnswIndex(dimensions, maxLinks, efConstruction, RANDOM_SEED);
+        }
+        return index;
+    }
+
+    private void loadSnapshot() {
+        Path path = Path.of(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            LocalDateTime takenAt = LocalDateTime.parse(in.readUTF());
+            index = HnswIndex.readFrom(in, RANDOM_SEED);
+            syncedUntil = takenAt;
+            log.info("Snapshot do índice de similaridade carregado ({} vetores, gravado em {})", size(), takenAt);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot do índice de similaridade ignorado; reconstruindo do banco: {}", e.getMessage());
+            index = null;
+            syncedUntil = null;
+        }
+    }
+
+    synchronized void writeSnapshot() {
+        HnswIndex current = index;
+        if (current == null) {
+            return;
+        }
+        Path path = Path.of(snapshotPath);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "idea-vectors", ".tmp");
+            dirty.set(false);
+            LocalDateTime takenAt = syncedUntil != null ? syncedUntil : LocalDateTime.now();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeUTF(takenAt.toString());
+                current.writeTo(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Snapshot do índice de similaridade gravado com {} vetores", current.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Falha ao gravar o snapshot do índice de similaridade: {}", e.getMessage());
+        }
+    }
+
+    private record StoredVector(long ideaId, byte[] vector, LocalDateTime createdAt) {
+    }
+}
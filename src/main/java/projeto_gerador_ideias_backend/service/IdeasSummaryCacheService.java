@@ -1,129 +1,176 @@
 package projeto_gerador_ideias_backend.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSummaryRow;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Slf4j
 public class IdeasSummaryCacheService {
 
-    private static final String IDEAS_SUMMARY_CACHE_NAME = "ideasSummaryCache";
-
-    private final CacheManager cacheManager;
+    private final IdeaSummaryCacheStore store;
     private final projeto_gerador_ideias_backend.repository.IdeaRepository ideaRepository;
-    private final projeto_gerador_ideias_backend.service.IdeaSummaryService ideaSummaryService;
     private final IdeasSummaryCacheService self;
 
     public IdeasSummaryCacheService(
-            CacheManager cacheManager,
+            IdeaSummaryCacheStore store,
             projeto_gerador_ideias_backend.repository.IdeaRepository ideaRepository,
-            projeto_gerador_ideias_backend.service.IdeaSummaryService ideaSummaryService,
             @Lazy IdeasSummaryCacheService self) {
-        this.cacheManager = cacheManager;
+        this.store = store;
         this.ideaRepository = ideaRepository;
-        this.ideaSummaryService = ideaSummaryService;
         this.self = self;
     }
 
-    private Cache getCache() {
-        Cache cache = cacheManager.getCache(IDEAS_SUMMARY_CACHE_NAME);
-        if (cache == null) {
-            throw new IllegalStateException("Cache '" + IDEAS_SUMMARY_CACHE_NAME + "' não encontrado. Verifique a propriedade 'spring.cache.cache-names' em application.properties.");
-        }
-        return cache;
-    }
-
     @Async
     public void preloadUserIdeasSummary(Long userId) {
         try {
-            String cacheKey = getCacheKey(userId);
-            List<IdeaSummaryResponse> summaries = loadIdeasSummaryFromDatabase(userId);
-            getCache().put(cacheKey, summaries);
+            store.replace(userId, loadIdeasSummaryFromDatabase(userId));
             log.debug("Resumos de ideias pré-carregados para usuário {}", userId);
         } catch (Exception e) {
             log.warn("Erro ao pré-carregar resumos de ideias para usuário {}", userId, e);
         }
     }
 
+    /**
+     * Lista completa do usuário, mais recente primeiro. Sem retrato em cache, carrega do banco e grava.
+     */
     public List<IdeaSummaryResponse> getUserIdeasSummary(Long userId) {
-        String cacheKey = getCacheKey(userId);
-        Cache cache = getCache();
-        Cache.ValueWrapper wrapper = cache.get(cacheKey);
-        
-        if (wrapper != null && wrapper.get() != null) {
-            @SuppressWarnings("unchecked")
-            List<IdeaSummaryResponse> cached = (List<IdeaSummaryResponse>) wrapper.get();
+        Optional<List<IdeaSummaryResponse>> cached;
+        try {
+            cached = store.read(userId);
+        } catch (Exception e) {
+            log.warn("Cache de resumos indisponível para usuário {}; lendo do banco", userId, e);
+            return loadIdeasSummaryFromDatabase(userId);
+        }
+        if (cached.isPresent()) {
             log.debug("Resumos de ideias retornados do cache para usuário {}", userId);
-            return cached;
+            return cached.get();
         }
-        
+
         List<IdeaSummaryResponse> summaries = loadIdeasSummaryFromDatabase(userId);
-        cache.put(cacheKey, summaries);
+        try {
+            store.replace(userId, summaries);
+        } catch (Exception e) {
+            log.warn("Erro ao gravar resumos em cache para usuário {}", userId, e);
+        }
         log.debug("Resumos de ideias carregados do banco e armazenados em cache para usuário {}", userId);
         return summaries;
     }
     
+    /**
+     * Somente leitura: ideias ainda sem resumo aparecem com {@link IdeaSummaryService#NO_SUMMARY}
+     * até o {@link IdeaSummaryBackfillService} preenchê-las.
+     */
     private List<IdeaSummaryResponse> loadIdeasSummaryFromDatabase(Long userId) {
-        List<Object[]> results = ideaRepository.findIdeasSummaryOnlyByUserId(userId);
+        List<IdeaSummaryRow> results = ideaRepository.findIdeasSummaryOnlyByUserId(userId);
         
-        List<IdeaSummaryResponse> responses = new java.util.ArrayList<>();
-        List<projeto_gerador_ideias_backend.model.Idea> ideasToUpdate = new java.util.ArrayList<>();
-        
-        for (Object[] row : results) {
-            Long id = ((Number) row[0]).longValue();
-            String summary = row[1] != null ? (String) row[1] : "";
-            String themeName = row[2] != null ? (String) row[2] : "";
-            java.time.LocalDateTime createdAt = (java.time.LocalDateTime) row[3];
-            
-            if (summary == null || summary.isBlank()) {
-                projeto_gerador_ideias_backend.model.Idea idea = ideaRepository.findById(id).orElse(null);
-                if (idea != null) {
-                    summary = ideaSummaryService.summarizeIdeaSimple(idea.getGeneratedContent());
-                    idea.setSummary(summary);
-                    ideasToUpdate.add(idea);
-                } else {
-                    summary = "Sem resumo disponível";
-                }
-            }
-            
+        List<IdeaSummaryResponse> responses = new ArrayList<>(results.size());
+        for (IdeaSummaryRow row : results) {
+            String summary = row.summary() != null && !row.summary().isBlank()
+                    ? row.summary()
+                    : IdeaSummaryService.NO_SUMMARY;
+            String themeName = row.themeName() != null ? row.themeName() : "";
             responses.add(new IdeaSummaryResponse(
-                    id,
+                    row.id(),
                     summary,
                     themeName,
-                    createdAt.toString()
+                    row.createdAt().toString()
             ));
         }
-        
-        if (!ideasToUpdate.isEmpty()) {
-            self.saveIdeasInTransaction(ideasToUpdate);
-        }
-        
         return responses;
     }
 
-    @Transactional
-    public void saveIdeasInTransaction(List<projeto_gerador_ideias_backend.model.Idea> ideas) {
-        ideaRepository.saveAll(ideas);
+    /**
+     * Remove e recarrega a lista em cache. Dentro de uma transação, só acontece após o commit:
+     * o pré-carregamento assíncrono não pode ler o banco antes de a alteração ficar visível.
+     */
+    public void invalidateUserCache(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndPreload(userId);
+                }
+            });
+        } else {
+            evictAndPreload(userId);
+        }
     }
 
-    public void invalidateUserCache(Long userId) {
-        String cacheKey = getCacheKey(userId);
-        getCache().evict(cacheKey);
+    private void evictAndPreload(Long userId) {
+        store.evict(userId);
         log.debug("Cache de resumos invalidado para usuário {}", userId);
-        
+
         self.preloadUserIdeasSummary(userId);
     }
 
-    private String getCacheKey(Long userId) {
-        return "ideas:summary:user:" + userId;
+    /**
+     * Remove a lista em cache sem recarregar; a próxima leitura busca do banco.
+     */
+    public void evictUserCache(Long userId) {
+        store.evict(userId);
+    }
+
+    /**
+     * Insere a ideia recém-criada no cache do usuário, sem recarregar do banco: uma gravação O(1)
+     * indexada pelo id da ideia, então repetir a mesma ideia não a duplica.
+     * Dentro de uma transação, a atualização só acontece após o commit.
+     * Se a lista ainda não estiver em cache, ela será carregada na próxima leitura.
+     */
+    public void addIdeaToUserCache(Long userId, Idea idea) {
+        IdeaSummaryResponse summary = toSummaryResponse(idea);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToCachedList(userId, summary);
+                }
+            });
+        } else {
+            addToCachedList(userId, summary);
+        }
     }
-}
 
+    /**
+     * Grava a ideia no cache do usuário imediatamente, propagando falhas do store. Usado pelo outbox,
+     * que só marca o evento como processado depois da gravação; repetir a ideia só a sobrescreve.
+     *
+     * @return {@code false} se a lista do usuário não estiver em cache (nada a atualizar)
+     */
+    public boolean putIdeaInCache(Long userId, Idea idea) {
+        return store.addIfPresent(userId, toSummaryResponse(idea));
+    }
+
+    private void addToCachedList(Long userId, IdeaSummaryResponse summary) {
+        try {
+            if (store.addIfPresent(userId, summary)) {
+                log.debug("Resumo da ideia {} adicionado ao cache do usuário {}", summary.getId(), userId);
+            } else {
+                log.debug("Resumos do usuário {} ausentes no cache; serão carregados na próxima leitura", userId);
+            }
+        } catch (Exception e) {
+            log.warn("Erro ao atualizar cache de resumos do usuário {}; removendo entrada", userId, e);
+            store.evict(userId);
+        }
+    }
+
+    private IdeaSummaryResponse toSummaryResponse(Idea idea) {
+        String summary = idea.getSummary() != null && !idea.getSummary().isBlank()
+                ? idea.getSummary()
+                : IdeaSummaryService.NO_SUMMARY;
+        String themeName = idea.getTheme() != null ? idea.getTheme().getName() : "";
+        LocalDateTime createdAt = idea.getCreatedAt() != null ? idea.getCreatedAt() : LocalDateTime.now();
+        return new IdeaSummaryResponse(idea.getId(), summary, themeName, createdAt.toString());
+    }
+}
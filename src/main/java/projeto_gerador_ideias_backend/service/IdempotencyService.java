@@ -0,0 +1,290 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.exceptions.IdempotencyConflictException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+import projeto_gerador_ideias_backend.util.TokenDigest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Suporte a {@code Idempotency-Key} nos POSTs que chamam a IA. A chave vale por usuário e operação:
+ * a primeira requisição reserva a chave e executa a ação; duplicatas simultâneas na mesma instância
+ * aguardam o mesmo resultado em memória, as de outras instâncias aguardam o registro no store, e as
+ * posteriores recebem a resposta gravada até o TTL expirar. Reusar a chave com outro corpo é rejeitado.
+ * Se a ação falhar a reserva é desfeita, permitindo que uma nova tentativa execute de novo.
+ * Enquanto a ação roda, a reserva é renovada a cada terço de {@code idempotency.in-flight-timeout-ms}:
+ * ela só expira se a instância parar, nunca porque as chamadas ao Ollama e suas retentativas demoraram.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+
+    private final IdempotencyStore store;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final long pollIntervalMs;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+
+    public IdempotencyService(IdempotencyStore store,
+                              CurrentUserProvider currentUserProvider,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.in-flight-timeout-ms:200000}") long inFlightTimeoutMs,
+                              @Value("${idempotency.poll-interval-ms:250}") long pollIntervalMs) {
+        this.store = store;
+        this.currentUserProvider = currentUserProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofHours(Math.max(1, ttlHours));
+        this.inFlightTimeout = Duration.ofMillis(Math.max(1000, inFlightTimeoutMs));
+        this.pollIntervalMs = Math.max(10, pollIntervalMs);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * Executa {@code action} no máximo uma vez por chave. Sem chave, apenas executa.
+     *
+     * @param operation    nome estável da operação (também usado como tag das métricas)
+     * @param key          valor do header {@code Idempotency-Key}, ou {@code null}
+     * @param request      dados que identificam a requisição; comparados pelo digest do JSON
+     * @param responseType tipo da resposta, usado para reconstruí-la a partir do registro
+     */
+    public <T> Result<T> execute(String operation, String key, Object request,
+                                 Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return new Result<>(action.get(), false);
+        }
+        String storeKey = storeKey(operation, validateKey(key));
+        String fingerprint = TokenDigest.sha256Hex(operation + ":" + write(request));
+
+        InFlight own = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(storeKey, own);
+        if (existing != null) {
+            checkFingerprint(existing.fingerprint(), fingerprint);
+            T value = read(await(operation, existing.response()), responseType);
+            count(operation, "attached");
+            return new Result<>(value, true);
+        }
+        try {
+            Result<T> result = executeOrReplay(operation, storeKey, fingerprint, responseType, action);
+            own.response().complete(write(result.value()));
+            return result;
+        } catch (RuntimeException e) {
+            own.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, own);
+        }
+    }
+
+    private <T> Result<T> executeOrReplay(String operation, String storeKey, String fingerprint,
+                                          Class<T> responseType, Supplier<T> action) {
+        long deadline = System.currentTimeMillis() + inFlightTimeout.toMillis();
+        String reservation = write(new StoredRecord(fingerprint, IN_PROGRESS, null));
+        while (true) {
+            boolean reserved;
+            try {
+                reserved = store.reserve(storeKey, reservation, inFlightTimeout);
+            } catch (RuntimeException e) {
+                log.warn("Store de idempotência indisponível; executando sem deduplicação entre instâncias: {}", e.getMessage());
+                count(operation, "unavailable");
+                return new Result<>(action.get(), false);
+            }
+            if (reserved) {
+                return executeReserved(operation, storeKey, fingerprint, reservation, action);
+            }
+
+            Optional<StoredRecord> stored = store.get(storeKey).map(this::readRecord);
+            if (stored.isPresent()) {
+                checkFingerprint(stored.get().fingerprint(), fingerprint);
+                if (COMPLETED.equals(stored.get().status())) {
+                    count(operation, "replayed");
+                    return new Result<>(read(stored.get().response(), responseType), true);
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    count(operation, "conflict");
+                    throw new IdempotencyConflictException(
+                            "Uma requisição com esta Idempotency-Key ainda está em processamento. Tente novamente em instantes.");
+                }
+                sleep();
+            }
+            // Registro expirou entre a reserva e a leitura: tenta reservar novamente
+        }
+    }
+
+    private <T> Result<T> executeReserved(String operation, String storeKey, String fingerprint,
+                                          String reservation, Supplier<T> action) {
+        ScheduledFuture<?> renewal = keepReserved(storeKey, reservation);
+        T value;
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            removeQuietly(storeKey);
+            throw e;
+        } finally {
+            renewal.cancel(false);
+        }
+        try {
+            store.put(storeKey, write(new StoredRecord(fingerprint, COMPLETED, write(value))), ttl);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar resposta idempotente {}; retentativas executarão novamente: {}", storeKey, e.getMessage());
+            removeQuietly(storeKey);
+        }
+        count(operation, "executed");
+        return new Result<>(value, false);
+    }
+
+    /**
+     * Renova periodicamente a reserva enquanto a ação roda. A renovação só vale para o próprio registro
+     * {@code IN_PROGRESS}, então uma execução atrasada depois da resposta gravada ou da reserva liberada não tem efeito.
+     */
+    private ScheduledFuture<?> keepReserved(String storeKey, String reservation) {
+        long periodMs = Math.max(1, inFlightTimeout.toMillis() / 3);
+        return heartbeat.scheduleAtFixedRate(() -> {
+            try {
+                store.refresh(storeKey, reservation, inFlightTimeout);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao renovar a reserva de idempotência {}: {}", storeKey, e.getMessage());
+            }
+        }, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private String await(String operation, CompletableFuture<String> response) {
+        try {
+            return response.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha na requisição original", e.getCause());
+        } catch (TimeoutException | CancellationException e) {
+            count(operation, "conflict");
+            throw new IdempotencyConflictException(
+                    "Uma requisição com esta Idempotency-Key ainda está em processamento. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a requisição original", e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a requisição original", e);
+        }
+    }
+
+    private String storeKey(String operation, String key) {
+        return KEY_PREFIX + currentUserProvider.get().id() + ":" + operation + ":" + key;
+    }
+
+    private static String validateKey(String key) {
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(
+                    String.format("O header %s excede o limite de %d caracteres.", HEADER, MAX_KEY_LENGTH));
+        }
+        return trimmed;
+    }
+
+    private static void checkFingerprint(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new ValidationException(
+                    "Esta Idempotency-Key já foi usada com outro conteúdo. Gere uma nova chave para uma nova requisição.");
+        }
+    }
+
+    private void removeQuietly(String storeKey) {
+        try {
+            store.remove(storeKey);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao liberar chave de idempotência {}; ela expira em {}: {}", storeKey, inFlightTimeout, e.getMessage());
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        Counter.builder("idempotency.requests")
+                .description("Requisições com Idempotency-Key por resultado (executed, replayed, attached, conflict, unavailable)")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Valor não serializável para idempotência: " + value.getClass().getName(), e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta idempotente armazenada inválida", e);
+        }
+    }
+
+    private StoredRecord readRecord(String json) {
+        return read(json, StoredRecord.class);
+    }
+
+    /**
+     * Resposta da ação; {@code replayed} indica que ela veio de uma execução anterior com a mesma chave.
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    record StoredRecord(String fingerprint, String status, String response) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<String> response) {
+    }
+}
@@ -0,0 +1,29 @@
+package projeto_gerador_ideias_backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Armazenamento compartilhado dos registros de {@code Idempotency-Key}. Os valores são opacos
+ * para o store e expiram sozinhos após o TTL informado.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Grava o valor somente se a chave ainda não existir. Devolve {@code false} quando outra
+     * requisição já reservou ou concluiu a mesma chave.
+     */
+    boolean reserve(String key, String value, Duration ttl);
+
+    Optional<String> get(String key);
+
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * Renova o TTL da chave somente se ela ainda guardar exatamente {@code value}. Devolve {@code false}
+     * quando a chave expirou ou já foi substituída (resposta gravada, reserva liberada).
+     */
+    boolean refresh(String key, String value, Duration ttl);
+
+    void remove(String key);
+}
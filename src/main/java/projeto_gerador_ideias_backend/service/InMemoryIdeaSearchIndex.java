@@ -0,0 +1,169 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSearchHit;
+import projeto_gerador_ideias_backend.util.ContextFingerprint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória usado quando o banco não é PostgreSQL (H2 nos testes).
+ * Aproxima a configuração {@code portuguese}: texto sem acentos e em minúsculas, stopwords
+ * removidas e plurais reduzidos; termos do contexto pesam o dobro dos do conteúdo.
+ * Ideias novas entram no índice na busca seguinte, lidas por id crescente; os filtros
+ * são aplicados no banco sobre os candidatos.
+ */
+public class InMemoryIdeaSearchIndex implements IdeaSearchIndex {
+
+    private static final int LOAD_BATCH = 500;
+    private static final int CONTEXT_WEIGHT = 2;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "do", "da", "dos", "das",
+            "em", "no", "na", "nos", "nas", "ao", "aos", "e", "ou", "para", "por", "com", "sem",
+            "que", "se", "seu", "sua", "mais", "menos", "como");
+
+    private final IdeaRepository ideaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private volatile long lastIndexedId;
+
+    public InMemoryIdeaSearchIndex(IdeaRepository ideaRepository, JdbcTemplate jdbcTemplate) {
+        this.ideaRepository = ideaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<IdeaSearchHit> search(String query, Specification<Idea> filters, Double afterRank, Long afterId,
+                                      int limit) {
+        refresh();
+        Set<String> terms = new LinkedHashSet<>(terms(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> candidates = null;
+        for (String term : terms) {
+            Set<Long> matching = postings.getOrDefault(term, Set.of());
+            if (candidates == null) {
+                candidates = new HashSet<>(matching);
+            } else {
+                candidates.retainAll(matching);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        Set<Long> matched = candidates;
+        List<Long> allowed = ideaRepository.findIds(filters.and((root, cq, cb) -> root.get("id").in(matched)));
+        int totalDocuments = documents.size();
+        return allowed.stream()
+                .map(id -> new IdeaSearchHit(id, score(id, terms, totalDocuments)))
+                .filter(hit -> afterRank == null || afterId == null
+                        || hit.rank() < afterRank || (hit.rank().equals(afterRank) && hit.id() < afterId))
+                .sorted(Comparator.comparing(IdeaSearchHit::rank).thenComparing(IdeaSearchHit::id).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void prepare() {
+        refresh();
+    }
+
+    /**
+     * Indexa as ideias com id maior que o último já indexado.
+     */
+    synchronized void refresh() {
+        List<IndexedText> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "SELECT id, context, generated_content FROM ideas WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new IndexedText(rs.getLong("id"), rs.getString("context"),
+                            rs.getString("generated_content")),
+                    lastIndexedId, LOAD_BATCH);
+            for (IndexedText text : batch) {
+                add(text);
+            }
+            if (!batch.isEmpty()) {
+                lastIndexedId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH);
+    }
+
+    private void add(IndexedText text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms(text.context())) {
+            frequencies.merge(term, CONTEXT_WEIGHT, Integer::sum);
+        }
+        for (String term : terms(text.content())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        documents.put(text.id(), frequencies);
+        for (String term : frequencies.keySet()) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(text.id());
+        }
+    }
+
+    private double score(Long id, Set<String> terms, int totalDocuments) {
+        Map<String, Integer> frequencies = documents.getOrDefault(id, Map.of());
+        double score = 0;
+        for (String term : terms) {
+            int frequency = frequencies.getOrDefault(term, 0);
+            int documentFrequency = postings.getOrDefault(term, Set.of()).size();
+            if (frequency > 0 && documentFrequency > 0) {
+                score += Math.log1p(frequency) * Math.log1p((double) totalDocuments / documentFrequency);
+            }
+        }
+        return score;
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(ContextFingerprint.normalize(text))) {
+            if (token.length() > 1 && !STOPWORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        if (token.length() <= 3) {
+            return token;
+        }
+        if (token.endsWith("oes") || token.endsWith("aes")) {
+            return token.substring(0, token.length() - 3) + "ao";
+        }
+        if (token.endsWith("ns")) {
+            return token.substring(0, token.length() - 2) + "m";
+        }
+        if (token.length() > 4 && token.endsWith("is")) {
+            return token.substring(0, token.length() - 2) + "l";
+        }
+        if (token.length() > 4 && token.endsWith("es") && "rsz".indexOf(token.charAt(token.length() - 3)) >= 0) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.endsWith("s")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private record IndexedText(long id, String context, String content) {
+    }
+}
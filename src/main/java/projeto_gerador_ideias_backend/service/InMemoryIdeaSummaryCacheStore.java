@@ -0,0 +1,49 @@
+package projeto_gerador_ideias_backend.service;
+
+import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumos em memória, usados quando o cache não é o Redis (testes e instância única). Sem expiração:
+ * as entradas vivem até serem removidas ou substituídas.
+ */
+public class InMemoryIdeaSummaryCacheStore implements IdeaSummaryCacheStore {
+
+    private final Map<Long, Map<Long, IdeaSummaryResponse>> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<List<IdeaSummaryResponse>> read(Long userId) {
+        Map<Long, IdeaSummaryResponse> summaries = entries.get(userId);
+        if (summaries == null) {
+            return Optional.empty();
+        }
+        List<IdeaSummaryResponse> sorted = new ArrayList<>(summaries.values());
+        sorted.sort(NEWEST_FIRST);
+        return Optional.of(sorted);
+    }
+
+    @Override
+    public void replace(Long userId, List<IdeaSummaryResponse> summaries) {
+        Map<Long, IdeaSummaryResponse> snapshot = new ConcurrentHashMap<>();
+        summaries.forEach(summary -> snapshot.put(summary.getId(), summary));
+        entries.put(userId, snapshot);
+    }
+
+    @Override
+    public boolean addIfPresent(Long userId, IdeaSummaryResponse summary) {
+        return entries.computeIfPresent(userId, (id, summaries) -> {
+            summaries.put(summary.getId(), summary);
+            return summaries;
+        }) != null;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+}
@@ -0,0 +1,73 @@
+package projeto_gerador_ideias_backend.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registros de idempotência em memória, usados quando o cache não é o Redis (testes e instância única).
+ * Entradas vencidas são ignoradas na leitura e removidas periodicamente durante as gravações.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final int PURGE_EVERY_WRITES = 1000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+
+    @Override
+    public boolean reserve(String key, String value, Duration ttl) {
+        purgeExpiredPeriodically();
+        Entry candidate = new Entry(value, expiresAt(ttl));
+        long now = System.currentTimeMillis();
+        return entries.compute(key, (k, current) ->
+                current == null || current.isExpired(now) ? candidate : current) == candidate;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        purgeExpiredPeriodically();
+        entries.put(key, new Entry(value, expiresAt(ttl)));
+    }
+
+    @Override
+    public boolean refresh(String key, String value, Duration ttl) {
+        Entry refreshed = new Entry(value, expiresAt(ttl));
+        long now = System.currentTimeMillis();
+        return entries.computeIfPresent(key, (k, current) ->
+                !current.isExpired(now) && current.value().equals(value) ? refreshed : current) == refreshed;
+    }
+
+    @Override
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    private void purgeExpiredPeriodically() {
+        if (writes.incrementAndGet() % PURGE_EVERY_WRITES == 0) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        }
+    }
+
+    private static long expiresAt(Duration ttl) {
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    private record Entry(String value, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
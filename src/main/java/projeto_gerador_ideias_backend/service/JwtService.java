@@ -1,37 +1,72 @@
 package projeto_gerador_ideias_backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.security.VerifiedJwt;
+import projeto_gerador_ideias_backend.util.TokenDigest;
 
-import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class JwtService {
     
     private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_UUID = "uuid";
+    private static final long VERIFIED_TOKENS_MAX_SIZE = 10_000;
     
-    @Value("${jwt.secret:}")
-    private String secret;
+    private final Long accessTokenExpiration;
     
-    @Value("${jwt.access-token-expiration:600}")
-    private Long accessTokenExpiration;
+    private final Long refreshTokenExpiration;
     
-    @Value("${jwt.refresh-token-expiration:604800}")
-    private Long refreshTokenExpiration;
+    /**
+     * Tokens já verificados, indexados pelo digest e válidos até a expiração do próprio token.
+     */
+    private final Cache<String, VerifiedJwt> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKENS_MAX_SIZE)
+            .expireAfter(new Expiry<String, VerifiedJwt>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedJwt value, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
     
-    @PostConstruct
-    public void validateSecret() {
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    
+    /**
+     * Chave e parser são imutáveis e thread-safe: montados uma vez aqui e reutilizados em toda verificação.
+     */
+    public JwtService(@Value("${jwt.secret:}") String secret,
+                      @Value("${jwt.access-token-expiration:600}") Long accessTokenExpiration,
+                      @Value("${jwt.refresh-token-expiration:604800}") Long refreshTokenExpiration) {
         if (secret == null || secret.isBlank()) {
             throw new IllegalStateException(
                 "JWT secret não configurado! " +
@@ -39,22 +74,25 @@ public class JwtService {
                 "com JWT_SECRET= sua-chave-segura (veja .env.example)"
             );
         }
-    }
-    
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
     
     public String generateAccessToken(String email, Long userId, Role role) {
+        return generateAccessToken(email, userId, role, null);
+    }
+    
+    public String generateAccessToken(String email, Long userId, Role role, UUID uuid) {
         Date now = new Date();
         Date expiryDate = Date.from(Instant.now().plus(accessTokenExpiration, ChronoUnit.SECONDS));
         
@@ -65,11 +103,12 @@ public class JwtService {
         return Jwts.builder()
                 .subject(email)
                 .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_UUID, uuid != null ? uuid.toString() : null)
                 .claim("type", "access")
                 .claim("authorities", authorities)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
@@ -88,7 +127,7 @@ public class JwtService {
                 .claim("authorities", authorities)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
@@ -110,19 +149,53 @@ public class JwtService {
         return claims.get(CLAIM_USER_ID, Long.class);
     }
     
+    public Date extractExpiration(String token) {
+        Claims claims = extractAllClaims(token);
+        return claims.getExpiration();
+    }
+    
     public boolean validateToken(String token) {
+        return verifyAccessToken(token).isPresent();
+    }
+    
+    /**
+     * Verifica assinatura, tipo e expiração de um access token uma única vez e devolve suas claims.
+     * Tokens já verificados são servidos do cache local até expirarem.
+     */
+    public Optional<VerifiedJwt> verifyAccessToken(String token) {
         if (token == null || token.isBlank()) {
-            return false;
+            return Optional.empty();
         }
+        String digest = TokenDigest.sha256Hex(token);
+        VerifiedJwt cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+        Optional<VerifiedJwt> verified = parseAccessToken(token, digest);
+        verified.ifPresent(jwt -> verifiedTokens.put(digest, jwt));
+        return verified;
+    }
+    
+    Optional<VerifiedJwt> parseAccessToken(String token, String digest) {
         try {
             Claims claims = extractAllClaims(token);
             String type = claims.get("type", String.class);
-            if (type == null || !"access".equals(type)) {
-                return false;
+            if (type == null || !"access".equals(type) || !claims.getExpiration().after(new Date())) {
+                return Optional.empty();
             }
-            return claims.getExpiration().after(new Date());
+            @SuppressWarnings("unchecked")
+            List<String> authorities = claims.get("authorities", List.class);
+            String uuid = claims.get(CLAIM_UUID, String.class);
+            return Optional.of(new VerifiedJwt(
+                    digest,
+                    claims.getSubject(),
+                    claims.get(CLAIM_USER_ID, Long.class),
+                    uuid != null ? UUID.fromString(uuid) : null,
+                    authorities,
+                    claims.getExpiration().toInstant()
+            ));
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
         }
     }
     
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import projeto_gerador_ideias_backend.config.AiResponseCacheKeyGenerator;
 import projeto_gerador_ideias_backend.config.ChatProperties;
 import projeto_gerador_ideias_backend.dto.request.OllamaRequest;
 import projeto_gerador_ideias_backend.dto.response.OllamaResponse;
@@ -25,7 +26,7 @@ public class OllamaCacheableService {
         this.chatProperties = chatProperties;
     }
 
-    @Cacheable(value = "aiResponseCache", key = "#prompt")
+    @Cacheable(value = "aiResponseCache", keyGenerator = AiResponseCacheKeyGenerator.BEAN_NAME)
     public String getAiResponse(String prompt) {
         return internalCallOllama(prompt);
     }
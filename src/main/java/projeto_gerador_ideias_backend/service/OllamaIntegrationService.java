@@ -9,7 +9,9 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import projeto_gerador_ideias_backend.config.ChatProperties;
+import projeto_gerador_ideias_backend.dto.request.OllamaEmbeddingRequest;
 import projeto_gerador_ideias_backend.dto.request.OllamaRequest;
+import projeto_gerador_ideias_backend.dto.response.OllamaEmbeddingResponse;
 import projeto_gerador_ideias_backend.dto.response.OllamaResponse;
 import projeto_gerador_ideias_backend.exceptions.OllamaServiceException;
 
@@ -32,6 +34,9 @@ public class OllamaIntegrationService {
     
     @Value("${ollama.base-url}")
     private String ollamaBaseUrl;
+
+    @Value("${ollama.embedding-model:nomic-embed-text}")
+    private String embeddingModel;
     
     private static final Pattern MODERATION_DANGEROUS_PATTERN = 
         Pattern.compile("^\\s*\\[MODERACAO:\\s*PERIGOSO\\]\\s*$", Pattern.CASE_INSENSITIVE);
@@ -80,6 +85,44 @@ public class OllamaIntegrationService {
         return executeOllamaCall(ollamaRequest);
     }
 
+    /**
+     * Embedding do texto via {@code /api/embeddings}. Sem retentativas: quem chama roda em
+     * segundo plano e tenta de novo no próximo ciclo.
+     */
+    public float[] createEmbedding(String text) {
+        long startTime = System.currentTimeMillis();
+        try {
+            OllamaEmbeddingResponse response = webClient.post()
+                    .uri("/api/embeddings")
+                    .bodyValue(new OllamaEmbeddingRequest(embeddingModel, text))
+                    .retrieve()
+                    .bodyToMono(OllamaEmbeddingResponse.class)
+                    .timeout(Duration.ofSeconds(chatProperties.getOllamaTimeoutSeconds()))
+                    .block();
+            if (response == null || response.getEmbedding() == null || response.getEmbedding().length == 0) {
+                throw new OllamaServiceException("Resposta nula ou inválida do Ollama (/api/embeddings).");
+            }
+            log.debug("Ollama embedding completed", Map.of(
+                LOG_KEY_MODEL, embeddingModel,
+                LOG_KEY_DURATION_MS, System.currentTimeMillis() - startTime,
+                "dimensions", response.getEmbedding().length
+            ));
+            return response.getEmbedding();
+        } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
+            chatMetricsService.recordOllamaError("embedding_http_" + e.getStatusCode().value());
+            throw handleWebClientException(e);
+        } catch (OllamaServiceException e) {
+            throw e;
+        } catch (Exception e) {
+            chatMetricsService.recordOllamaError("embedding");
+            throw handleGenericException(e);
+        }
+    }
+
+    public String getEmbeddingModel() {
+        return embeddingModel;
+    }
+
     private String executeOllamaCall(OllamaRequest ollamaRequest) {
         log.info("Sending request to Ollama", Map.of(
             LOG_KEY_MODEL, ollamaModel,
@@ -0,0 +1,306 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.OutboxEvent;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.OutboxEventRepository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executa os eventos do outbox fora da requisição. Cada lote é reservado em uma transação curta
+ * com {@code FOR UPDATE SKIP LOCKED} (várias instâncias dividem a fila sem disputa), que adia
+ * {@code available_at} pelo prazo de {@code outbox.lease-seconds}. Os efeitos rodam em seguida,
+ * fora da transação, e o evento só é marcado como processado depois que o seu efeito deu certo;
+ * falhas são tentadas de novo com espera crescente até {@code outbox.max-attempts}, quando o evento
+ * recebe {@code dead_at} e sai da fila sem contar como processado (a limpeza não o remove), e um
+ * evento de uma instância que caiu volta para a fila quando o prazo vence. Um evento pode, portanto,
+ * ser executado mais de uma vez, e todos os efeitos são idempotentes pelo id da ideia ou do evento.
+ */
+@Service
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_BATCHES_PER_DRAIN = 50;
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final String SELECT_SQL =
+            "SELECT id, event_type, payload, created_at, attempts FROM outbox_events "
+                    + "WHERE processed_at IS NULL AND dead_at IS NULL AND available_at <= ? ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String LEASE_SQL = "UPDATE outbox_events SET available_at = ? WHERE id = ?";
+    private static final String MARK_PROCESSED_SQL =
+            "UPDATE outbox_events SET processed_at = ?, attempts = attempts + 1 WHERE id = ?";
+    private static final String MARK_FAILED_SQL =
+            "UPDATE outbox_events SET attempts = ?, available_at = ?, last_error = ?, dead_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final IdeaRepository ideaRepository;
+    private final IdeasSummaryCacheService ideasSummaryCacheService;
+    private final IdeaEmbeddingService ideaEmbeddingService;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor worker;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private final Timer dispatchDelayTimer;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private volatile Boolean postgres;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.lease-seconds:300}")
+    private int leaseSeconds = 300;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${outbox.retention-hours:24}")
+    private int retentionHours = 24;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            OutboxEventRepository outboxEventRepository,
+                            IdeaRepository ideaRepository,
+                            IdeasSummaryCacheService ideasSummaryCacheService,
+                            IdeaEmbeddingService ideaEmbeddingService,
+                            EmailService emailService,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxEventRepository = outboxEventRepository;
+        this.ideaRepository = ideaRepository;
+        this.ideasSummaryCacheService = ideasSummaryCacheService;
+        this.ideaEmbeddingService = ideaEmbeddingService;
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        // Uma única thread e no máximo um ciclo na fila: avisos repetidos se fundem no ciclo já agendado.
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        this.dispatchDelayTimer = Timer.builder("outbox.dispatch.delay")
+                .description("Tempo entre a gravação de um evento do outbox e seu processamento")
+                .register(meterRegistry);
+        this.processedCounter = Counter.builder("outbox.events.processed")
+                .description("Eventos do outbox processados com sucesso")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Tentativas de processar eventos do outbox que falharam")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("outbox.events.dead")
+                .description("Eventos do outbox descartados após esgotar as tentativas")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Eventos do outbox pendentes ao fim do último ciclo")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", this, OutboxDispatcher::lagMs)
+                .description("Idade, em milissegundos, do evento pendente mais antigo ao fim do último ciclo")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Pede um ciclo de processamento logo após o commit de um evento, sem esperar o próximo agendamento.
+     */
+    public void wakeUp() {
+        if (enabled) {
+            worker.execute(this::drainQuietly);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void pollScheduled() {
+        if (enabled) {
+            worker.execute(this::drainQuietly);
+        }
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 45 3 * * *}")
+    public void cleanupScheduled() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+            Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(before));
+            log.info("Eventos processados do outbox removidos: {}", deleted);
+        } catch (Exception e) {
+            log.warn("Falha ao remover eventos processados do outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Processa lotes até esvaziar a fila de eventos disponíveis e atualiza as métricas de atraso.
+     * Devolve quantos eventos foram tratados.
+     */
+    public int drain() {
+        int handled = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_DRAIN; i++) {
+            int batch = dispatchBatch();
+            handled += batch;
+            if (batch < batchSize) {
+                break;
+            }
+        }
+        refreshLag();
+        return handled;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.warn("Falha ao processar eventos do outbox; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    int dispatchBatch() {
+        List<PendingEvent> events = claimBatch();
+        for (PendingEvent event : events) {
+            LocalDateTime startedAt = LocalDateTime.now();
+            try {
+                handle(event);
+            } catch (Exception e) {
+                jdbcTemplate.update(MARK_FAILED_SQL, failure(event, startedAt, e));
+                continue;
+            }
+            jdbcTemplate.update(MARK_PROCESSED_SQL, Timestamp.valueOf(LocalDateTime.now()), event.id());
+            dispatchDelayTimer.record(Duration.between(event.createdAt(), startedAt));
+            processedCounter.increment();
+        }
+        return events.size();
+    }
+
+    /**
+     * Trava um lote de eventos disponíveis e adia a próxima disponibilidade deles pelo prazo de reserva,
+     * para que outras instâncias não os peguem enquanto os efeitos rodam fora da transação.
+     */
+    private List<PendingEvent> claimBatch() {
+        List<PendingEvent> events = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingEvent> claimed = jdbcTemplate.query(selectSql(),
+                    (rs, rowNum) -> new PendingEvent(
+                            rs.getLong("id"),
+                            OutboxEvent.Type.valueOf(rs.getString("event_type")),
+                            rs.getString("payload"),
+                            rs.getTimestamp("created_at").toLocalDateTime(),
+                            rs.getInt("attempts")),
+                    Timestamp.valueOf(now), batchSize);
+            Timestamp leaseUntil = Timestamp.valueOf(now.plusSeconds(leaseSeconds));
+            jdbcTemplate.batchUpdate(LEASE_SQL, claimed.stream()
+                    .map(event -> new Object[]{leaseUntil, event.id()})
+                    .toList());
+            return claimed;
+        });
+        return events != null ? events : List.of();
+    }
+
+    private Object[] failure(PendingEvent event, LocalDateTime now, Exception e) {
+        int attempts = event.attempts() + 1;
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        error = error.length() > 500 ? error.substring(0, 500) : error;
+        failedCounter.increment();
+        if (attempts >= maxAttempts) {
+            deadCounter.increment();
+            log.error("Evento {} do outbox ({}) descartado após {} tentativas: {}", event.id(), event.type(), attempts, error);
+            return new Object[]{attempts, Timestamp.valueOf(now), error, Timestamp.valueOf(now), event.id()};
+        }
+        Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        backoff = backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+        log.warn("Falha ao processar o evento {} do outbox ({}), tentativa {}: {}", event.id(), event.type(), attempts, error);
+        return new Object[]{attempts, Timestamp.valueOf(now.plus(backoff)), error, null, event.id()};
+    }
+
+    /**
+     * Executa os efeitos do evento e propaga qualquer falha. Todos podem ser repetidos: o cache de
+     * resumos e o embedding são gravados pelo id da ideia, e o alerta usa o id do evento como
+     * {@code Message-ID}, de modo que um reenvio é reconhecido pelo servidor de email.
+     */
+    private void handle(PendingEvent event) throws Exception {
+        switch (event.type()) {
+            case IDEA_CREATED -> {
+                OutboxService.IdeaCreated payload = objectMapper.readValue(event.payload(), OutboxService.IdeaCreated.class);
+                Optional<Idea> idea = ideaRepository.findWithUserAndThemeById(payload.ideaId());
+                if (idea.isEmpty()) {
+                    log.debug("Ideia {} do evento {} não existe mais; nada a fazer", payload.ideaId(), event.id());
+                    return;
+                }
+                ideasSummaryCacheService.putIdeaInCache(payload.userId(), idea.get());
+                ideaEmbeddingService.embed(idea.get());
+            }
+            case FAILURE_ALERT -> {
+                OutboxService.FailureAlert payload = objectMapper.readValue(event.payload(), OutboxService.FailureAlert.class);
+                emailService.sendSystemErrorNotification(
+                        payload.userEmail(), payload.userName(), payload.failureCount(), "outbox-" + event.id());
+            }
+        }
+    }
+
+    private void refreshLag() {
+        pendingEvents.set(outboxEventRepository.countByProcessedAtIsNullAndDeadAtIsNull());
+        oldestPendingAt.set(outboxEventRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Timestamp.valueOf(createdAt).getTime())
+                .orElse(0L));
+    }
+
+    long lagMs() {
+        long since = oldestPendingAt.get();
+        return since == 0 ? 0 : Math.max(0, System.currentTimeMillis() - since);
+    }
+
+    private String selectSql() {
+        // SKIP LOCKED deixa cada instância com um lote diferente; outros bancos (H2 nos testes) só travam.
+        return isPostgres() ? SELECT_SQL + " SKIP LOCKED" : SELECT_SQL;
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            current = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = current;
+        }
+        return current;
+    }
+
+    private record PendingEvent(long id, OutboxEvent.Type type, String payload, LocalDateTime createdAt, int attempts) {
+    }
+}
@@ -0,0 +1,72 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import projeto_gerador_ideias_backend.model.OutboxEvent;
+import projeto_gerador_ideias_backend.repository.OutboxEventRepository;
+
+/**
+ * Registra efeitos colaterais no outbox. O evento é gravado na transação de quem chama e só fica
+ * visível ao {@link OutboxDispatcher} após o commit; se a transação for desfeita, o efeito não acontece.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         OutboxDispatcher outboxDispatcher,
+                         ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDispatcher = outboxDispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Ideia gravada: cache de resumos e embedding são atualizados pelo dispatcher, já com a ideia confirmada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishIdeaCreated(Long userId, Long ideaId) {
+        publish(OutboxEvent.Type.IDEA_CREATED, new IdeaCreated(userId, ideaId));
+    }
+
+    /**
+     * Alerta de falhas consecutivas. Grava em transação própria porque a requisição que falhou
+     * é desfeita em seguida, e o alerta precisa sobreviver a ela.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void publishFailureAlert(String userEmail, String userName, int failureCount) {
+        publish(OutboxEvent.Type.FAILURE_ALERT, new FailureAlert(userEmail, userName, failureCount));
+    }
+
+    private void publish(OutboxEvent.Type type, Object payload) {
+        outboxEventRepository.save(new OutboxEvent(type, write(payload)));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+        });
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload de outbox inválido: " + payload, e);
+        }
+    }
+
+    record IdeaCreated(Long userId, Long ideaId) {
+    }
+
+    record FailureAlert(String userEmail, String userName, int failureCount) {
+    }
+}
@@ -0,0 +1,43 @@
+package projeto_gerador_ideias_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSearchHit;
+
+import java.util.List;
+
+/**
+ * Busca textual no PostgreSQL. {@code search_vector} é uma coluna gerada (contexto com peso A,
+ * conteúdo com peso B, dicionário {@code portuguese}), então o banco a mantém a cada inserção;
+ * a consulta casa pelo índice GIN e ordena por {@code ts_rank}.
+ */
+@Slf4j
+public class PostgresIdeaSearchIndex implements IdeaSearchIndex {
+
+    private final IdeaRepository ideaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresIdeaSearchIndex(IdeaRepository ideaRepository, JdbcTemplate jdbcTemplate) {
+        this.ideaRepository = ideaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<IdeaSearchHit> search(String query, Specification<Idea> filters, Double afterRank, Long afterId,
+                                      int limit) {
+        return ideaRepository.searchRanked(filters, query, afterRank, afterId, limit);
+    }
+
+    @Override
+    public void prepare() {
+        jdbcTemplate.execute("ALTER TABLE ideas ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                "GENERATED ALWAYS AS (" +
+                "setweight(to_tsvector('portuguese', coalesce(context, '')), 'A') || " +
+                "setweight(to_tsvector('portuguese', coalesce(generated_content, '')), 'B')) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_idea_search_vector ON ideas USING GIN (search_vector)");
+        log.debug("Coluna e índice da busca textual de ideias prontos");
+    }
+}
@@ -0,0 +1,105 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Um hash por usuário ({@code ideas:summary:user:<id>}): campo = id da ideia, valor = resumo em JSON,
+ * mais o campo {@value #LOADED_FIELD} que marca o retrato completo. Substituição e inserção são scripts
+ * Lua, então uma inserção nunca cria um hash parcial nem se intercala com uma recarga.
+ */
+public class RedisIdeaSummaryCacheStore implements IdeaSummaryCacheStore {
+
+    static final String LOADED_FIELD = "_loaded";
+
+    private static final RedisScript<Long> ADD_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], '" + LOADED_FIELD + "') == 1 then "
+                    + "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) return 1 end return 0",
+            Long.class);
+
+    private static final RedisScript<Long> REPLACE = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) "
+                    + "for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+                    + "redis.call('HSET', KEYS[1], '" + LOADED_FIELD + "', '1') "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[1]) return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisIdeaSummaryCacheStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<List<IdeaSummaryResponse>> read(Long userId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(userId));
+        if (!entries.containsKey(LOADED_FIELD)) {
+            return Optional.empty();
+        }
+        List<IdeaSummaryResponse> summaries = new ArrayList<>(entries.size() - 1);
+        entries.forEach((field, value) -> {
+            if (!LOADED_FIELD.equals(field)) {
+                summaries.add(readSummary((String) value));
+            }
+        });
+        summaries.sort(NEWEST_FIRST);
+        return Optional.of(summaries);
+    }
+
+    @Override
+    public void replace(Long userId, List<IdeaSummaryResponse> summaries) {
+        List<String> args = new ArrayList<>(1 + summaries.size() * 2);
+        args.add(String.valueOf(ttl.toMillis()));
+        for (IdeaSummaryResponse summary : summaries) {
+            args.add(String.valueOf(summary.getId()));
+            args.add(write(summary));
+        }
+        redisTemplate.execute(REPLACE, List.of(key(userId)), args.toArray());
+    }
+
+    @Override
+    public boolean addIfPresent(Long userId, IdeaSummaryResponse summary) {
+        Long added = redisTemplate.execute(ADD_IF_PRESENT, List.of(key(userId)),
+                String.valueOf(summary.getId()), write(summary));
+        return added != null && added == 1L;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        redisTemplate.delete(key(userId));
+    }
+
+    private static String key(Long userId) {
+        return "ideas:summary:user:" + userId;
+    }
+
+    private String write(IdeaSummaryResponse summary) {
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Resumo de ideia não serializável: " + summary.getId(), e);
+        }
+    }
+
+    private IdeaSummaryResponse readSummary(String json) {
+        try {
+            return objectMapper.readValue(json, IdeaSummaryResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resumo de ideia inválido no cache", e);
+        }
+    }
+}
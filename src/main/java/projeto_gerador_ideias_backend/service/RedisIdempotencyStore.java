@@ -0,0 +1,53 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registros de idempotência no Redis, visíveis a todas as instâncias; a reserva usa SET NX com TTL
+ * e a renovação compara o valor e aplica o novo TTL em um único script.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final RedisScript<Long> REFRESH = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean reserve(String key, String value, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public boolean refresh(String key, String value, Duration ttl) {
+        Long refreshed = redisTemplate.execute(REFRESH, List.of(key), value, String.valueOf(ttl.toMillis()));
+        return refreshed != null && refreshed == 1L;
+    }
+
+    @Override
+    public void remove(String key) {
+        redisTemplate.delete(key);
+    }
+}
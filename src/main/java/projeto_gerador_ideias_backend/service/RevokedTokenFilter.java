@@ -0,0 +1,170 @@
+package projeto_gerador_ideias_backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Filtro de Bloom local com os digests dos tokens revogados.
+ * Uma resposta negativa garante que o token não está na blacklist, sem ida ao Redis.
+ * Enquanto o filtro não estiver sincronizado (ex.: falha ao carregar do Redis),
+ * {@link #isAuthoritative()} retorna false e a blacklist deve ser consultada diretamente.
+ */
+@Component
+@Slf4j
+public class RevokedTokenFilter {
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Object filterLock = new Object();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Bits bits;
+    private volatile boolean authoritative = true;
+    private Set<String> addedDuringRebuild;
+
+    public RevokedTokenFilter(
+            @Value("${security.token-blacklist.bloom.expected-insertions:100000}") int expectedInsertions,
+            @Value("${security.token-blacklist.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            MeterRegistry meterRegistry) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = new Bits(expectedInsertions, falsePositiveRate);
+
+        Gauge.builder("token.blacklist.bloom.expected_fpp", this, RevokedTokenFilter::expectedFalsePositiveRate)
+                .description("Taxa de falso positivo estimada pela ocupação atual do filtro")
+                .register(meterRegistry);
+        Gauge.builder("token.blacklist.bloom.insertions", this, filter -> filter.bits.insertions.get())
+                .description("Digests inseridos desde a última reconstrução do filtro")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String digest) {
+        return bits.mightContain(digest);
+    }
+
+    public void add(String digest) {
+        synchronized (filterLock) {
+            bits.put(digest);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(digest);
+            }
+        }
+    }
+
+    public boolean isAuthoritative() {
+        return authoritative;
+    }
+
+    public void markUnavailable() {
+        authoritative = false;
+    }
+
+    /**
+     * Recria o filtro a partir dos digests atualmente revogados, descartando tokens já expirados.
+     * Digests adicionados durante a reconstrução são preservados.
+     */
+    public void rebuild(Collection<String> revokedDigests) {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            synchronized (filterLock) {
+                addedDuringRebuild = new HashSet<>();
+            }
+            Bits fresh = new Bits(Math.max(expectedInsertions, revokedDigests.size() * 2), falsePositiveRate);
+            revokedDigests.forEach(fresh::put);
+            synchronized (filterLock) {
+                addedDuringRebuild.forEach(fresh::put);
+                bits = fresh;
+            }
+            authoritative = true;
+            log.debug("Filtro de tokens revogados reconstruído com {} digests", revokedDigests.size());
+        } finally {
+            synchronized (filterLock) {
+                addedDuringRebuild = null;
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    double expectedFalsePositiveRate() {
+        Bits current = bits;
+        double fillRatio = (double) current.bitCount() / current.size;
+        return Math.pow(fillRatio, current.hashFunctions);
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashFunctions;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Bits(int expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+            this.size = (long) words.length() * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String digest) {
+            long[] hashes = hashes(digest);
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = Math.floorMod(hashes[0] + i * hashes[1], size);
+                int word = (int) (index >>> 6);
+                long mask = 1L << (index & 63);
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String digest) {
+            long[] hashes = hashes(digest);
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = Math.floorMod(hashes[0] + i * hashes[1], size);
+                if ((words.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            long count = 0;
+            for (int i = 0; i < words.length(); i++) {
+                count += Long.bitCount(words.get(i));
+            }
+            return count;
+        }
+
+        /**
+         * Os digests já são SHA-256 em hexadecimal, então os primeiros 128 bits
+         * servem diretamente como as duas funções de hash base (double hashing).
+         */
+        private static long[] hashes(String digest) {
+            if (digest.length() >= 32) {
+                return new long[]{
+                        Long.parseUnsignedLong(digest.substring(0, 16), 16),
+                        Long.parseUnsignedLong(digest.substring(16, 32), 16) | 1L
+                };
+            }
+            long h = digest.hashCode() * 0x9E3779B97F4A7C15L;
+            return new long[]{h, (h >>> 31) | 1L};
+        }
+    }
+}
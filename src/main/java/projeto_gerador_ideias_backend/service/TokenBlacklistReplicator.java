@@ -0,0 +1,87 @@
+package projeto_gerador_ideias_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mantém o {@link RevokedTokenFilter} de cada nó sincronizado com a blacklist no Redis:
+ * revogações são propagadas via pub/sub e o filtro é reconstruído periodicamente por SCAN,
+ * o que também descarta digests de tokens já expirados.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+@Slf4j
+public class TokenBlacklistReplicator {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RevokedTokenFilter revokedTokenFilter;
+    private final String channel;
+    private final String keyPrefix;
+
+    public TokenBlacklistReplicator(StringRedisTemplate redisTemplate,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    RevokedTokenFilter revokedTokenFilter,
+                                    CacheProperties cacheProperties,
+                                    @Value("${security.token-blacklist.channel:token:revoked}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.channel = channel;
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        this.keyPrefix = redis.isUseKeyPrefix()
+                ? (redis.getKeyPrefix() != null ? redis.getKeyPrefix() : "") + TokenBlacklistService.BLACKLIST_CACHE_NAME + "::"
+                : null;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> revokedTokenFilter.add(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        rebuildFilter();
+    }
+
+    @EventListener
+    public void onTokenRevoked(TokenBlacklistService.TokenRevokedEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, event.digest());
+        } catch (Exception e) {
+            log.warn("Falha ao propagar revogação de token: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.token-blacklist.bloom.rebuild-interval-ms:60000}",
+            initialDelayString = "${security.token-blacklist.bloom.rebuild-interval-ms:60000}")
+    public void rebuildFilter() {
+        if (keyPrefix == null) {
+            log.warn("Cache sem prefixo de chave; filtro de tokens revogados desativado");
+            revokedTokenFilter.markUnavailable();
+            return;
+        }
+        List<String> digests = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> digests.add(key.substring(keyPrefix.length())));
+            revokedTokenFilter.rebuild(digests);
+        } catch (Exception e) {
+            log.warn("Falha ao carregar blacklist do Redis; consultas irão direto ao cache: {}", e.getMessage());
+            revokedTokenFilter.markUnavailable();
+        }
+    }
+}
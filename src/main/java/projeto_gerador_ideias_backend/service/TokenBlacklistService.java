@@ -1,19 +1,56 @@
 package projeto_gerador_ideias_backend.service;
 
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.util.TokenDigest;
 
+import java.util.Date;
+
+/**
+ * Blacklist de access tokens revogados. As chaves são o digest SHA-256 do token e o valor
+ * é o instante de expiração (epoch millis), usado para alinhar o TTL no Redis ao tempo
+ * de vida restante do token. Consultas passam antes pelo {@link RevokedTokenFilter}.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TokenBlacklistService {
 
-    private static final String BLACKLIST_CACHE_NAME = "tokenBlacklist";
+    public static final String BLACKLIST_CACHE_NAME = "tokenBlacklist";
 
     private final CacheManager cacheManager;
+    private final JwtService jwtService;
+    private final RevokedTokenFilter revokedTokenFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter bloomNegatives;
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    public TokenBlacklistService(CacheManager cacheManager,
+                                 JwtService jwtService,
+                                 RevokedTokenFilter revokedTokenFilter,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.jwtService = jwtService;
+        this.revokedTokenFilter = revokedTokenFilter;
+        this.eventPublisher = eventPublisher;
+        this.bloomNegatives = lookupCounter(meterRegistry, "bloom_negative");
+        this.revokedHits = lookupCounter(meterRegistry, "revoked");
+        this.falsePositives = lookupCounter(meterRegistry, "bloom_false_positive");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("token.blacklist.lookups")
+                .description("Consultas à blacklist de tokens por resultado")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     private Cache getCache() {
         Cache cache = cacheManager.getCache(BLACKLIST_CACHE_NAME);
@@ -27,7 +64,17 @@ public class TokenBlacklistService {
         if (token == null || token.isBlank()) {
             return;
         }
-        getCache().put(token, true);
+        Date expiration;
+        try {
+            expiration = jwtService.extractExpiration(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token inválido ou expirado não precisa ser adicionado à blacklist");
+            return;
+        }
+        String digest = TokenDigest.sha256Hex(token);
+        getCache().put(digest, expiration.getTime());
+        revokedTokenFilter.add(digest);
+        eventPublisher.publishEvent(new TokenRevokedEvent(digest));
         log.debug("Token adicionado à blacklist");
     }
 
@@ -35,17 +82,40 @@ public class TokenBlacklistService {
         if (token == null || token.isBlank()) {
             return false;
         }
-        Cache cache = getCache();
-        Cache.ValueWrapper wrapper = cache.get(token);
-        return wrapper != null && wrapper.get() != null;
+        return isDigestBlacklisted(TokenDigest.sha256Hex(token));
+    }
+
+    /**
+     * Variante para quem já calculou o digest do token (ex.: {@link JwtService#verifyAccessToken}).
+     */
+    public boolean isDigestBlacklisted(String digest) {
+        boolean authoritative = revokedTokenFilter.isAuthoritative();
+        if (authoritative && !revokedTokenFilter.mightContain(digest)) {
+            bloomNegatives.increment();
+            return false;
+        }
+
+        Cache.ValueWrapper wrapper = getCache().get(digest);
+        boolean revoked = wrapper != null && wrapper.get() != null;
+        if (revoked) {
+            revokedHits.increment();
+        } else if (authoritative) {
+            falsePositives.increment();
+        }
+        return revoked;
     }
 
     public void removeFromBlacklist(String token) {
         if (token == null || token.isBlank()) {
             return;
         }
-        getCache().evict(token);
+        getCache().evict(TokenDigest.sha256Hex(token));
         log.debug("Token removido da blacklist");
     }
-}
 
+    /**
+     * Publicado quando um token é revogado, para que os demais nós atualizem seu filtro local.
+     */
+    public record TokenRevokedEvent(String digest) {
+    }
+}
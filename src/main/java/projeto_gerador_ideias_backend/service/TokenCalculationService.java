@@ -2,6 +2,7 @@ package projeto_gerador_ideias_backend.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import projeto_gerador_ideias_backend.model.ChatSession;
 import projeto_gerador_ideias_backend.repository.ChatMessageRepository;
 
 @Service
@@ -22,6 +23,24 @@ public class TokenCalculationService {
         return userTokens + assistantTokens;
     }
 
+    /**
+     * Total de tokens da sessão lido do ledger em {@link ChatSession}.
+     * Sessões ainda não migradas são preenchidas a partir das mensagens na primeira leitura.
+     */
+    public int getSessionTokens(ChatSession session) {
+        if (!session.hasTokenLedger()) {
+            session.setUserTokens(chatMessageRepository.getTotalUserTokensBySessionId(
+                session.getId(),
+                projeto_gerador_ideias_backend.model.ChatMessage.MessageRole.USER
+            ));
+            session.setAssistantTokens(chatMessageRepository.getTotalUserTokensBySessionId(
+                session.getId(),
+                projeto_gerador_ideias_backend.model.ChatMessage.MessageRole.ASSISTANT
+            ));
+        }
+        return session.getTotalTokens();
+    }
+
     public int getTotalTokensUsedByUser(Long userId) {
         return chatMessageRepository.getTotalUserTokensByUserId(
             userId, 
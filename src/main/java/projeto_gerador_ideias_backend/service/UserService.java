@@ -1,9 +1,7 @@
 package projeto_gerador_ideias_backend.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +21,8 @@ import projeto_gerador_ideias_backend.exceptions.ValidationException;
 import projeto_gerador_ideias_backend.exceptions.WrongPasswordException;
 import projeto_gerador_ideias_backend.model.User;
 import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+import projeto_gerador_ideias_backend.security.DisabledUserRegistry;
 import projeto_gerador_ideias_backend.util.PasswordValidator;
 
 @Service
@@ -32,10 +32,11 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final UserCacheService userCacheService;
+    private final CurrentUserProvider currentUserProvider;
     private final RefreshTokenRepository refreshTokenRepository;
     private final TokenBlacklistService tokenBlacklistService;
     private final IdeasSummaryCacheService ideasSummaryCacheService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public RegisterResponse registerUser(RegisterRequest request) {
@@ -58,7 +59,7 @@ public class UserService {
         
         User savedUser = userRepository.save(user);
         
-        String accessToken = jwtService.generateAccessToken(savedUser.getEmail(), savedUser.getId(), savedUser.getRole());
+        String accessToken = jwtService.generateAccessToken(savedUser.getEmail(), savedUser.getId(), savedUser.getRole(), savedUser.getUuid());
         String refreshTokenString = jwtService.generateRefreshToken(savedUser.getEmail(), savedUser.getId(), savedUser.getRole());
         
         RefreshToken refreshToken = new RefreshToken();
@@ -111,7 +112,8 @@ public class UserService {
         
         User updatedUser = userRepository.save(user);
         
-        userCacheService.invalidateUserCache(updatedUser.getEmail());
+        eventPublisher.publishEvent(new DisabledUserRegistry.UserEnabledChangedEvent(
+                updatedUser.getId(), Boolean.TRUE.equals(updatedUser.getEnabled())));
         
         RegisterResponse response = new RegisterResponse();
         response.setId(updatedUser.getId());
@@ -136,7 +138,7 @@ public class UserService {
             throw new ValidationException("Conta desativada. Entre em contato com o suporte.");
         }
         
-        String accessToken = jwtService.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
+        String accessToken = jwtService.generateAccessToken(user.getEmail(), user.getId(), user.getRole(), user.getUuid());
         String refreshTokenString = jwtService.generateRefreshToken(user.getEmail(), user.getId(), user.getRole());
         
         RefreshToken refreshToken = new RefreshToken();
@@ -181,7 +183,7 @@ public class UserService {
         refreshToken.setRevoked(true);
         refreshTokenRepository.save(refreshToken);
         
-        String newAccessToken = jwtService.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
+        String newAccessToken = jwtService.generateAccessToken(user.getEmail(), user.getId(), user.getRole(), user.getUuid());
         String newRefreshTokenString = jwtService.generateRefreshToken(user.getEmail(), user.getId(), user.getRole());
         
         RefreshToken newRefreshToken = new RefreshToken();
@@ -220,14 +222,6 @@ public class UserService {
     }
 
     private User getCurrentAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails)) {
-            throw new ResourceNotFoundException("Usuário não autenticado.");
-        }
-
-        String userEmail = ((UserDetails) authentication.getPrincipal()).getUsername();
-        return userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário autenticado não encontrado: " + userEmail));
+        return currentUserProvider.getUser("Usuário não autenticado.", "Usuário autenticado não encontrado: ");
     }
 }
@@ -1,27 +1,213 @@
 package projeto_gerador_ideias_backend.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import projeto_gerador_ideias_backend.repository.UserRepository;
 
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de ideias geradas por usuário com escrita adiada. Os incrementos da requisição só
+ * somam em memória; um job periódico grava os totais acumulados em um único {@code UPDATE} por lote,
+ * tirando do caminho da requisição o lock na linha do usuário. O que estiver pendente é gravado
+ * no desligamento, e um lote que falha volta para a fila e é tentado no ciclo seguinte.
+ */
 @Service
 public class UserStatisticsService {
 
     private static final Logger log = LoggerFactory.getLogger(UserStatisticsService.class);
 
-    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    /** Instante (epoch ms) do incremento pendente mais antigo; 0 quando não há pendências. */
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter failureCounter;
+    private volatile Boolean postgres;
+
+    @Value("${users.idea-count.batch-size:500}")
+    private int batchSize = 500;
 
-    public UserStatisticsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public UserStatisticsService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTimer = Timer.builder("users.idea-count.flush")
+                .description("Tempo de gravação dos contadores de ideias pendentes")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("users.idea-count.flushed")
+                .description("Incrementos de contadores de ideias gravados no banco")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("users.idea-count.flush.failures")
+                .description("Falhas ao gravar os contadores de ideias pendentes")
+                .register(meterRegistry);
+        Gauge.builder("users.idea-count.pending", pending, Map::size)
+                .description("Usuários com incrementos de contador ainda não gravados")
+                .register(meterRegistry);
+        Gauge.builder("users.idea-count.flush.lag", this, UserStatisticsService::flushLagMs)
+                .description("Idade, em milissegundos, do incremento pendente mais antigo")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
     }
 
-    @Transactional
+    /**
+     * Registra uma ideia gerada pelo usuário. Só acumula em memória; a gravação é feita por {@link #flush()}.
+     */
     public void incrementUserIdeaCount(String email) {
-        int updatedRows = userRepository.incrementGeneratedIdeasCount(email);
-        if (updatedRows == 0) {
-            log.warn("Tentativa de incrementar contador para usuário não encontrado ou inativo: {}", email);
+        // Marca o instante antes de acumular: um flush que drene este incremento vê a marca e a zera.
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        // compute trava apenas o bin da chave, e o flush remove a entrada sob o mesmo lock:
+        // nenhum incremento cai em um acumulador já drenado.
+        pending.compute(email, (key, adder) -> {
+            LongAdder current = adder != null ? adder : new LongAdder();
+            current.increment();
+            return current;
+        });
+    }
+
+    @Scheduled(initialDelayString = "${users.idea-count.flush-interval-ms:5000}",
+            fixedDelayString = "${users.idea-count.flush-interval-ms:5000}")
+    public void flushScheduled() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Falha ao gravar contadores de ideias; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Contadores de ideias de {} usuário(s) perdidos no desligamento", pending.size(), e);
+        }
+    }
+
+    /**
+     * Grava os incrementos acumulados e devolve quantos foram gravados. Em caso de falha,
+     * os incrementos do lote voltam para a fila antes de a exceção ser propagada.
+     */
+    public synchronized long flush() {
+        if (pending.isEmpty()) {
+            resetLag();
+            return 0;
+        }
+        long pendingSince = oldestPendingAt.getAndSet(0);
+        Map<String, Long> drained = new LinkedHashMap<>();
+        for (String email : pending.keySet()) {
+            pending.computeIfPresent(email, (key, adder) -> {
+                drained.merge(key, adder.sum(), Long::sum);
+                return null;
+            });
+        }
+        resetLag();
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(drained.entrySet());
+        long flushed = 0;
+        int from = 0;
+        long startedAt = System.nanoTime();
+        try {
+            for (; from < entries.size(); from += batchSize) {
+                List<Map.Entry<String, Long>> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+                int updatedRows = writeBatch(batch);
+                if (updatedRows < batch.size()) {
+                    log.warn("{} contador(es) de ideias sem usuário correspondente foram descartados",
+                            batch.size() - updatedRows);
+                }
+                flushed += batch.stream().mapToLong(Map.Entry::getValue).sum();
+            }
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            entries.subList(from, entries.size()).forEach(entry -> restore(entry.getKey(), entry.getValue()));
+            oldestPendingAt.accumulateAndGet(pendingSince, (current, since) -> current == 0 ? since : Math.min(current, since));
+            throw e;
+        } finally {
+            flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            flushedCounter.increment(flushed);
+        }
+        log.debug("Contadores de ideias gravados: {} incremento(s) de {} usuário(s)", flushed, entries.size());
+        return flushed;
+    }
+
+    /**
+     * Acerta a marca do incremento pendente mais antigo após drenar: zera se não sobrou nada e, se chegaram
+     * incrementos durante a drenagem, usa o instante atual como aproximação.
+     */
+    private void resetLag() {
+        if (pending.isEmpty()) {
+            oldestPendingAt.set(0);
+        } else {
+            oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    long flushLagMs() {
+        long since = oldestPendingAt.get();
+        return since == 0 ? 0 : Math.max(0, System.currentTimeMillis() - since);
+    }
+
+    private void restore(String email, long delta) {
+        pending.compute(email, (key, adder) -> {
+            LongAdder current = adder != null ? adder : new LongAdder();
+            current.add(delta);
+            return current;
+        });
+    }
+
+    private int writeBatch(List<Map.Entry<String, Long>> batch) {
+        if (isPostgres()) {
+            // Um único UPDATE para o lote inteiro, juntando os usuários a uma lista de (email, delta).
+            String values = String.join(", ", Collections.nCopies(batch.size(), "(?, CAST(? AS bigint))"));
+            List<Object> args = new ArrayList<>(batch.size() * 2);
+            for (Map.Entry<String, Long> entry : batch) {
+                args.add(entry.getKey());
+                args.add(entry.getValue());
+            }
+            return jdbcTemplate.update(
+                    "UPDATE users u SET generated_ideas_count = u.generated_ideas_count + v.delta " +
+                    "FROM (VALUES " + values + ") AS v(email, delta) WHERE u.email = v.email",
+                    args.toArray());
+        }
+        // Outros bancos (H2 nos testes) não têm UPDATE ... FROM; o lote JDBC mantém uma ida ao banco.
+        int[] counts = jdbcTemplate.batchUpdate(
+                "UPDATE users SET generated_ideas_count = generated_ideas_count + ? WHERE email = ?",
+                batch.stream().map(entry -> new Object[]{entry.getValue(), entry.getKey()}).toList());
+        int updatedRows = 0;
+        for (int count : counts) {
+            updatedRows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return updatedRows;
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            current = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = current;
         }
+        return current;
     }
-}
\ No newline at end of file
+}
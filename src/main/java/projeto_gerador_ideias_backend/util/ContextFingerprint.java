@@ -0,0 +1,47 @@
+package projeto_gerador_ideias_backend.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Impressão digital de 64 bits do contexto de uma ideia. O texto é normalizado antes do hash
+ * (minúsculas, sem acentos, espaços colapsados), então contextos que só diferem nesses
+ * detalhes caem na mesma ideia já gerada.
+ */
+public final class ContextFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private ContextFingerprint() {
+        // Construtor privado para evitar instanciação desta classe utilitária
+    }
+
+    public static String normalize(String context) {
+        if (context == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(context, Normalizer.Form.NFD);
+        String withoutAccents = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    public static long of(String context) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalize(context).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    public static boolean sameContext(String a, String b) {
+        return normalize(a).equals(normalize(b));
+    }
+}
@@ -0,0 +1,472 @@
+package projeto_gerador_ideias_backend.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice HNSW (Hierarchical Navigable Small World) em memória para vizinhos aproximados por
+ * similaridade de cosseno. Os vetores são normalizados na inserção, então a similaridade é o
+ * produto interno. Inserções são serializadas pelo lock de escrita e as buscas rodam em
+ * paralelo sob o lock de leitura. Remover apenas marca o nó: ele continua servindo de
+ * passagem no grafo, mas não aparece mais nos resultados.
+ */
+public class HnswIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x484E5357;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] NO_LINKS = new int[0];
+
+    private final int dimensions;
+    private final int maxLinks;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<VisitedSet> visitedSets = ThreadLocal.withInitial(VisitedSet::new);
+
+    private final Map<Long, Integer> nodeByKey = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private float[][] vectors = new float[INITIAL_CAPACITY][];
+    private int[][][] links = new int[INITIAL_CAPACITY][][];
+    private int nodeCount;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    public HnswIndex(int dimensions, int maxLinks, int efConstruction, long seed) {
+        if (dimensions < 1 || maxLinks < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("Parâmetros do índice HNSW inválidos");
+        }
+        this.dimensions = dimensions;
+        this.maxLinks = maxLinks;
+        this.maxLinksLevel0 = maxLinks * 2;
+        this.efConstruction = Math.max(efConstruction, maxLinks);
+        this.levelFactor = 1.0 / Math.log(maxLinks);
+        this.random = new Random(seed);
+    }
+
+    public record Hit(long key, float similarity) {
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Quantidade de chaves ativas (nós removidos ou substituídos não contam).
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long key) {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Insere o vetor da chave. Se a chave já existir, o nó antigo é removido e um novo entra no grafo.
+     */
+    public void add(long key, float[] vector) {
+        float[] normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeByKey.remove(key);
+            if (previous != null) {
+                removed.set(previous);
+            }
+            int node = allocate(key, normalized);
+            nodeByKey.put(key, node);
+            connect(node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeByKey.remove(key);
+            if (node != null) {
+                removed.set(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Os {@code k} vizinhos mais próximos do vetor, do mais para o menos similar.
+     *
+     * @param ef tamanho da lista de candidatos; valores maiores trocam latência por recall
+     */
+    public List<Hit> search(float[] query, int k, int ef) {
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            return searchLocked(normalized, k, ef, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vizinhos mais próximos de uma chave já indexada, sem incluir a própria chave.
+     * Retorna lista vazia quando a chave não está no índice.
+     */
+    public List<Hit> searchByKey(long key, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodeByKey.get(key);
+            if (node == null) {
+                return List.of();
+            }
+            return searchLocked(vectors[node], k, ef, node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> searchLocked(float[] query, int k, int ef, int excludedNode) {
+        if (entryPoint < 0 || k < 1) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int level = topLevel; level > 0; level--) {
+            current = greedyClosest(query, current, level);
+        }
+        // Nós removidos ocupam vagas na lista de candidatos; a folga evita faltar resultado.
+        int candidates = Math.max(ef, k) + (removed.isEmpty() ? 0 : k) + (excludedNode >= 0 ? 1 : 0);
+        List<Scored> found = searchLevel(query, current, candidates, 0);
+        List<Hit> hits = new ArrayList<>(k);
+        for (Scored scored : found) {
+            if (scored.node() != excludedNode && !removed.get(scored.node())) {
+                hits.add(new Hit(keys[scored.node()], scored.similarity()));
+                if (hits.size() == k) {
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private int allocate(long key, float[] vector) {
+        if (nodeCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            vectors = Arrays.copyOf(vectors, capacity);
+            links = Arrays.copyOf(links, capacity);
+        }
+        int node = nodeCount++;
+        int level = randomLevel();
+        keys[node] = key;
+        vectors[node] = vector;
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = NO_LINKS;
+        }
+        return node;
+    }
+
+    private void connect(int node) {
+        int level = links[node].length - 1;
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLevel = level;
+            return;
+        }
+        float[] vector = vectors[node];
+        int current = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            List<Scored> candidates = searchLevel(vector, current, efConstruction, l);
+            int[] neighbours = selectNeighbours(candidates, maxLinks);
+            links[node][l] = neighbours;
+            for (int neighbour : neighbours) {
+                linkBack(neighbour, node, l);
+            }
+            current = candidates.get(0).node();
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private void linkBack(int node, int newNeighbour, int level) {
+        int[] current = links[node][level];
+        int[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = newNeighbour;
+        int limit = level == 0 ? maxLinksLevel0 : maxLinks;
+        if (extended.length <= limit) {
+            links[node][level] = extended;
+            return;
+        }
+        List<Scored> scored = new ArrayList<>(extended.length);
+        for (int candidate : extended) {
+            scored.add(new Scored(candidate, similarity(vectors[node], vectors[candidate])));
+        }
+        scored.sort(Scored.MOST_SIMILAR_FIRST);
+        links[node][level] = selectNeighbours(scored, limit);
+    }
+
+    /**
+     * Heurística do artigo do HNSW: um candidato entra se estiver mais perto do nó do que de
+     * qualquer vizinho já escolhido, o que espalha as arestas em direções diferentes. As vagas
+     * restantes são completadas pelos mais similares descartados, para manter o grafo conexo.
+     */
+    private int[] selectNeighbours(List<Scored> candidates, int limit) {
+        int[] selected = new int[Math.min(limit, candidates.size())];
+        boolean[] taken = new boolean[candidates.size()];
+        int count = 0;
+        for (int i = 0; i < candidates.size() && count < selected.length; i++) {
+            Scored candidate = candidates.get(i);
+            boolean diverse = true;
+            for (int j = 0; j < count; j++) {
+                if (similarity(vectors[candidate.node()], vectors[selected[j]]) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = candidate.node();
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < candidates.size() && count < selected.length; i++) {
+            if (!taken[i]) {
+                selected[count++] = candidates.get(i).node();
+            }
+        }
+        return selected;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = similarity(query, vectors[current]);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : neighboursAt(current, level)) {
+                float candidate = similarity(query, vectors[neighbour]);
+                if (candidate > best) {
+                    best = candidate;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Busca gulosa com lista de {@code ef} melhores no nível; retorna do mais para o menos similar.
+     */
+    private List<Scored> searchLevel(float[] query, int start, int ef, int level) {
+        VisitedSet visited = visitedSets.get();
+        visited.reset(nodeCount);
+        PriorityQueue<Scored> frontier = new PriorityQueue<>(Scored.MOST_SIMILAR_FIRST);
+        PriorityQueue<Scored> best = new PriorityQueue<>(Scored.MOST_SIMILAR_FIRST.reversed());
+
+        Scored first = new Scored(start, similarity(query, vectors[start]));
+        visited.add(start);
+        frontier.add(first);
+        best.add(first);
+        while (!frontier.isEmpty()) {
+            Scored candidate = frontier.poll();
+            if (best.size() >= ef && candidate.similarity() < best.peek().similarity()) {
+                break;
+            }
+            for (int neighbour : neighboursAt(candidate.node(), level)) {
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                float score = similarity(query, vectors[neighbour]);
+                if (best.size() < ef || score > best.peek().similarity()) {
+                    Scored scored = new Scored(neighbour, score);
+                    frontier.add(scored);
+                    best.add(scored);
+                    if (best.size() > ef) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<Scored> result = new ArrayList<>(best);
+        result.sort(Scored.MOST_SIMILAR_FIRST);
+        return result;
+    }
+
+    private int[] neighboursAt(int node, int level) {
+        int[][] nodeLinks = links[node];
+        return level < nodeLinks.length ? nodeLinks[level] : NO_LINKS;
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelFactor);
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Vetor com " + vector.length + " dimensões; o índice usa " + dimensions);
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] normalized = new float[dimensions];
+        if (norm == 0) {
+            return normalized;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+
+    private static float similarity(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Grava o grafo completo. Usa o lock de leitura: buscas continuam durante a gravação.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(dimensions);
+            out.writeInt(maxLinks);
+            out.writeInt(efConstruction);
+            out.writeInt(nodeCount);
+            out.writeInt(entryPoint);
+            out.writeInt(topLevel);
+            for (int node = 0; node < nodeCount; node++) {
+                out.writeLong(keys[node]);
+                out.writeBoolean(removed.get(node));
+                for (float value : vectors[node]) {
+                    out.writeFloat(value);
+                }
+                out.writeInt(links[node].length);
+                for (int[] levelLinks : links[node]) {
+                    out.writeInt(levelLinks.length);
+                    for (int neighbour : levelLinks) {
+                        out.writeInt(neighbour);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lê um grafo gravado por {@link #writeTo}.
+     *
+     * @throws IOException se o arquivo não for um snapshot válido desta versão
+     */
+    public static HnswIndex readFrom(DataInputStream in, long seed) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Snapshot do índice HNSW em formato desconhecido");
+        }
+        HnswIndex index = new HnswIndex(in.readInt(), in.readInt(), in.readInt(), seed);
+        int count = in.readInt();
+        index.entryPoint = in.readInt();
+        index.topLevel = in.readInt();
+        int capacity = Math.max(INITIAL_CAPACITY, count);
+        index.keys = new long[capacity];
+        index.vectors = new float[capacity][];
+        index.links = new int[capacity][][];
+        for (int node = 0; node < count; node++) {
+            long key = in.readLong();
+            boolean isRemoved = in.readBoolean();
+            float[] vector = new float[index.dimensions];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = in.readFloat();
+            }
+            int[][] nodeLinks = new int[in.readInt()][];
+            for (int level = 0; level < nodeLinks.length; level++) {
+                int[] levelLinks = new int[in.readInt()];
+                for (int i = 0; i < levelLinks.length; i++) {
+                    levelLinks[i] = in.readInt();
+                }
+                nodeLinks[level] = levelLinks;
+            }
+            index.keys[node] = key;
+            index.vectors[node] = vector;
+            index.links[node] = nodeLinks;
+            if (isRemoved) {
+                index.removed.set(node);
+            } else {
+                index.nodeByKey.put(key, node);
+            }
+        }
+        index.nodeCount = count;
+        return index;
+    }
+
+    private record Scored(int node, float similarity) {
+        static final Comparator<Scored> MOST_SIMILAR_FIRST =
+                Comparator.comparingDouble(Scored::similarity).reversed();
+    }
+
+    /**
+     * Marcação de visitados reaproveitada entre buscas da mesma thread: cada busca usa uma
+     * nova época em vez de limpar o vetor.
+     */
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[Math.max(capacity, marks.length * 2)];
+                epoch = 0;
+            }
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        boolean add(int node) {
+            if (marks[node] == epoch) {
+                return false;
+            }
+            marks[node] = epoch;
+            return true;
+        }
+    }
+}
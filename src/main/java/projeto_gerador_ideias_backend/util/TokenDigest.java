@@ -0,0 +1,25 @@
+package projeto_gerador_ideias_backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Digest SHA-256 em hexadecimal, usado para não guardar tokens JWT em claro em caches.
+ */
+public final class TokenDigest {
+
+    private TokenDigest() {
+        // Construtor privado para evitar instanciação desta classe utilitária
+    }
+
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+}
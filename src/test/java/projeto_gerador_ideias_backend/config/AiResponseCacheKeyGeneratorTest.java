@@ -0,0 +1,65 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiResponseCacheKeyGeneratorTest {
+
+    private AiResponseCacheKeyGenerator keyGenerator;
+
+    @BeforeEach
+    void setUp() {
+        keyGenerator = new AiResponseCacheKeyGenerator("mistral", "v1");
+    }
+
+    @Test
+    void shouldGenerateCompactKeyWithModelAndVersionPrefix() {
+        String prompt = "Gere uma ideia concisa (30 palavras ou menos)\n\nTópico: \"Tema: Tecnologia, Contexto: IA\"";
+
+        String key = keyGenerator.generateKey(prompt);
+
+        assertTrue(key.startsWith("mistral:v1:"));
+        assertEquals("mistral:v1:".length() + 32, key.length());
+    }
+
+    @Test
+    void shouldGenerateSameKeyForPromptsDifferingOnlyInWhitespace() {
+        String key1 = keyGenerator.generateKey("  Tópico:   \"IA\"\n\nRESPOSTA:");
+        String key2 = keyGenerator.generateKey("Tópico: \"IA\" RESPOSTA:");
+
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    void shouldGenerateDifferentKeysForDifferentPrompts() {
+        assertNotEquals(keyGenerator.generateKey("Tópico: IA"), keyGenerator.generateKey("Tópico: Saúde"));
+    }
+
+    @Test
+    void shouldChangeKeyWhenModelOrPromptVersionChanges() {
+        String prompt = "Tópico: IA";
+        String original = keyGenerator.generateKey(prompt);
+
+        String otherModel = new AiResponseCacheKeyGenerator("llama3", "v1").generateKey(prompt);
+        String otherVersion = new AiResponseCacheKeyGenerator("mistral", "v2").generateKey(prompt);
+
+        assertNotEquals(original, otherModel);
+        assertNotEquals(original, otherVersion);
+    }
+
+    @Test
+    void shouldUseFirstParameterAsPrompt() throws Exception {
+        Object key = keyGenerator.generate(this, Object.class.getMethod("toString"), "Tópico: IA");
+
+        assertEquals(keyGenerator.generateKey("Tópico: IA"), key);
+    }
+
+    @Test
+    void shouldHandleMissingPrompt() throws Exception {
+        Object key = keyGenerator.generate(this, Object.class.getMethod("toString"), (Object) null);
+
+        assertEquals("mistral:v1:empty", key);
+    }
+}
@@ -0,0 +1,58 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressingStringRedisSerializerTest {
+
+    private CompressingStringRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new CompressingStringRedisSerializer(64);
+    }
+
+    @Test
+    void shouldStoreSmallValuesWithoutCompression() {
+        byte[] bytes = serializer.serialize("SEGURO");
+
+        assertEquals(CompressingStringRedisSerializer.RAW, bytes[0]);
+        assertEquals(7, bytes.length);
+        assertEquals("SEGURO", serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldCompressLargeValues() {
+        String value = "Aplicativo que conecta pequenos produtores rurais a mercados locais. ".repeat(20);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(CompressingStringRedisSerializer.DEFLATE, bytes[0]);
+        assertTrue(bytes.length < value.length());
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldPreserveAccentedCharacters() {
+        String value = "Inovação em saúde: ação rápida, atenção contínua. ".repeat(5);
+
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+
+    @Test
+    void shouldHandleNullValues() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        byte[] bytes = {(byte) 0xAC, (byte) 0xED, 0, 5};
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+}
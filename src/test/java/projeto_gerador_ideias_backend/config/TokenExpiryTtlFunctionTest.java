@@ -0,0 +1,34 @@
+package projeto_gerador_ideias_backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenExpiryTtlFunctionTest {
+
+    private final TokenExpiryTtlFunction ttlFunction = new TokenExpiryTtlFunction(Duration.ofDays(30));
+
+    @Test
+    void shouldUseRemainingLifetimeOfToken() {
+        long expiresAt = System.currentTimeMillis() + 600_000;
+
+        Duration ttl = ttlFunction.getTimeToLive("digest", expiresAt);
+
+        assertTrue(ttl.compareTo(Duration.ofSeconds(590)) > 0);
+        assertTrue(ttl.compareTo(Duration.ofSeconds(600)) <= 0);
+    }
+
+    @Test
+    void shouldApplyMinimumTtlForAlreadyExpiredToken() {
+        Duration ttl = ttlFunction.getTimeToLive("digest", System.currentTimeMillis() - 1000);
+
+        assertEquals(Duration.ofSeconds(1), ttl);
+    }
+
+    @Test
+    void shouldFallBackToDefaultTtlForOtherValues() {
+        assertEquals(Duration.ofDays(30), ttlFunction.getTimeToLive("digest", Boolean.TRUE));
+    }
+}
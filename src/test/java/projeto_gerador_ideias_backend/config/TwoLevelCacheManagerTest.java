@@ -0,0 +1,141 @@
+package projeto_gerador_ideias_backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLevelCacheManagerTest {
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> published;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager("ideasSummaryCache");
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher() {
+            @Override
+            public void publishEvict(String cacheName, String key) {
+                published.add(cacheName + "|" + key);
+            }
+
+            @Override
+            public void publishClear(String cacheName) {
+                published.add(cacheName + "|*");
+            }
+        };
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, new CacheL1Properties(), publisher, meterRegistry);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("cache.two_level.lookups")
+                .tag("cache", "ideasSummaryCache")
+                .tag("result", result)
+                .counter().count();
+    }
+
+    @Test
+    void shouldServeFromL1AfterFirstRemoteHit() {
+        remoteCacheManager.getCache("ideasSummaryCache").put("k", "valor");
+        Cache cache = cacheManager.getCache("ideasSummaryCache");
+
+        assertEquals("valor", cache.get("k").get());
+        assertEquals("valor", cache.get("k").get());
+
+        assertEquals(1, lookups("l2_hit"));
+        assertEquals(1, lookups("l1_hit"));
+        assertEquals(0, lookups("miss"));
+    }
+
+    @Test
+    void shouldCountMissWhenAbsentInBothLevels() {
+        assertNull(cacheManager.getCache("ideasSummaryCache").get("ausente"));
+        assertEquals(1, lookups("miss"));
+    }
+
+    @Test
+    void shouldWriteThroughAndPublishInvalidation() {
+        Cache cache = cacheManager.getCache("ideasSummaryCache");
+
+        cache.put("k", "novo");
+        cache.evict("k");
+        cache.clear();
+
+        assertNull(remoteCacheManager.getCache("ideasSummaryCache").get("k"));
+        assertEquals(List.of("ideasSummaryCache|k", "ideasSummaryCache|k", "ideasSummaryCache|*"), published);
+    }
+
+    @Test
+    void remoteInvalidationShouldOnlyDropLocalCopy() {
+        Cache cache = cacheManager.getCache("ideasSummaryCache");
+        cache.put("k", "v1");
+        remoteCacheManager.getCache("ideasSummaryCache").put("k", "v2");
+
+        assertEquals("v1", cache.get("k").get());
+
+        cacheManager.applyRemoteInvalidation("ideasSummaryCache", "k");
+
+        assertEquals("v2", cache.get("k").get());
+    }
+
+    @Test
+    void shouldCacheNullValuesInL1() {
+        Cache cache = cacheManager.getCache("ideasSummaryCache");
+        cache.put("nulo", null);
+
+        Cache.ValueWrapper first = cache.get("nulo");
+        Cache.ValueWrapper second = cache.get("nulo");
+
+        assertNotNull(first);
+        assertNull(first.get());
+        assertNull(second.get());
+        assertEquals(2, lookups("l1_hit"));
+    }
+
+    @Test
+    void shouldRunLoaderOnceForConcurrentMisses() throws Exception {
+        Cache cache = cacheManager.getCache("ideasSummaryCache");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("k", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return "carregado";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("carregado", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("carregado", remoteCacheManager.getCache("ideasSummaryCache").get("k").get());
+        assertEquals(1, lookups("miss"));
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -23,16 +24,21 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import projeto_gerador_ideias_backend.dto.request.ChatMessageRequest;
 import projeto_gerador_ideias_backend.dto.response.OllamaResponse;
 import projeto_gerador_ideias_backend.dto.request.StartChatRequest;
+import projeto_gerador_ideias_backend.model.ChatMessage;
 import projeto_gerador_ideias_backend.model.ChatSession;
 import projeto_gerador_ideias_backend.model.Idea;
 import projeto_gerador_ideias_backend.model.Theme;
 import projeto_gerador_ideias_backend.model.User;
 import projeto_gerador_ideias_backend.repository.*;
+import projeto_gerador_ideias_backend.service.ChatMessageArchiveService;
+import projeto_gerador_ideias_backend.service.IpEncryptionService;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.stream.Stream;
 
@@ -70,10 +76,13 @@ class ChatControllerTest {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private projeto_gerador_ideias_backend.service.UserCacheService userCacheService;
+    private ThemeRepository themeRepository;
 
     @Autowired
-    private ThemeRepository themeRepository;
+    private IpEncryptionService ipEncryptionService;
+
+    @Autowired
+    private ChatMessageArchiveService chatMessageArchiveService;
 
     private final String testUserEmail = "chat-controller@example.com";
     private User testUser;
@@ -102,11 +111,6 @@ class ChatControllerTest {
 
     @BeforeEach
     void setUpDatabase() {
-        if (userCacheService != null) {
-            userCacheService.invalidateAllCache();
-            userCacheService.clearRequestCache();
-        }
-        
         chatMessageRepository.deleteAll();
         chatSessionRepository.deleteAll();
         ideaRepository.deleteAll();
@@ -351,6 +355,8 @@ class ChatControllerTest {
                 );
             chatMessageRepository.save(msg);
         }
+        session.addTokens(4 * 2500, 0);
+        chatSessionRepository.save(session);
         chatMessageRepository.flush();
 
         ChatMessageRequest messageRequest = new ChatMessageRequest();
@@ -517,6 +523,181 @@ class ChatControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldStreamAdminChatLogsAsNdjson() throws Exception {
+        saveAdminUser();
+        ChatSession session = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
+        session = chatSessionRepository.save(session);
+        ChatMessage question = new ChatMessage(session, ChatMessage.MessageRole.USER, "Pergunta exportada", 10);
+        question.setIpAddress(ipEncryptionService.encryptIp("10.0.0.7"));
+        chatMessageRepository.saveAndFlush(question);
+        chatMessageRepository.saveAndFlush(new ChatMessage(session, ChatMessage.MessageRole.ASSISTANT, "Resposta exportada", 20));
+
+        String today = LocalDateTime.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
+
+        MvcResult result = mockMvc.perform(get("/api/chat/admin/logs/export")
+                        .param("from", today)
+                        .param("to", today))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("application/x-ndjson")))
+                .andExpect(header().string("Content-Disposition", containsString(".ndjson")))
+                .andReturn().getResponse().getContentAsString(java.nio.charset.StandardCharsets.UTF_8);
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(1, lines.length);
+        com.fasterxml.jackson.databind.JsonNode interaction = objectMapper.readTree(lines[0]);
+        assertEquals(1, interaction.get("interactionId").asInt());
+        assertEquals("Pergunta exportada", interaction.get("userMessage").asText());
+        assertEquals("Resposta exportada", interaction.get("assistantMessage").asText());
+        assertEquals("10.0.0.7", interaction.get("userIp").asText());
+        assertEquals(testUserEmail, interaction.get("userEmail").asText());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldStreamAdminChatLogsAsCsv() throws Exception {
+        saveAdminUser();
+        ChatSession session = chatSessionRepository.save(new ChatSession(testUser, ChatSession.ChatType.FREE, null));
+        chatMessageRepository.saveAndFlush(new ChatMessage(session, ChatMessage.MessageRole.USER, "Olá, \"mundo\"", 10));
+
+        MvcResult result = mockMvc.perform(get("/api/chat/admin/logs/export")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("text/csv")))
+                .andReturn().getResponse().getContentAsString(java.nio.charset.StandardCharsets.UTF_8);
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("interactionId,timestamp,sessionId"));
+        assertTrue(lines[1].contains("\"Olá, \"\"mundo\"\"\""));
+        assertTrue(lines[1].contains(",unknown,"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldRejectAdminExportWithInvalidFormat() throws Exception {
+        saveAdminUser();
+
+        mockMvc.perform(get("/api/chat/admin/logs/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "regular@example.com")
+    void shouldDenyAdminExportForNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/chat/admin/logs/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldRecomputeAndReadAdminChatStats() throws Exception {
+        saveAdminUser();
+        ChatSession session = chatSessionRepository.save(new ChatSession(testUser, ChatSession.ChatType.FREE, null));
+        chatMessageRepository.saveAndFlush(new ChatMessage(session, ChatMessage.MessageRole.USER, "Pergunta agregada", 10));
+        chatMessageRepository.saveAndFlush(new ChatMessage(session, ChatMessage.MessageRole.ASSISTANT, "Resposta agregada", 20));
+        String today = LocalDate.now().toString();
+
+        mockMvc.perform(post("/api/chat/admin/stats/recompute")
+                        .param("from", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recomputedDays").value(1));
+
+        mockMvc.perform(get("/api/chat/admin/stats")
+                        .param("from", today)
+                        .param("userId", testUser.getId().toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filteredUserId").value(testUser.getId()))
+                .andExpect(jsonPath("$.summary.totalInteractions").value(1))
+                .andExpect(jsonPath("$.summary.totalTokens").value(30))
+                .andExpect(jsonPath("$.days.length()").value(1))
+                .andExpect(jsonPath("$.days[0].date").value(today));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldRejectAdminChatStatsWithInvertedPeriod() throws Exception {
+        saveAdminUser();
+
+        mockMvc.perform(get("/api/chat/admin/stats")
+                        .param("from", "2025-02-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "regular@example.com")
+    void shouldDenyAdminChatStatsForNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/chat/admin/stats"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/chat/admin/stats/recompute"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldListAndReadArchivedMessages() throws Exception {
+        saveAdminUser();
+        ChatSession session = chatSessionRepository.save(new ChatSession(testUser, ChatSession.ChatType.FREE, null));
+        ChatMessage question = new ChatMessage(session, ChatMessage.MessageRole.USER, "Pergunta arquivada", 10);
+        question.setIpAddress(ipEncryptionService.encryptIp("10.0.0.9"));
+        question = chatMessageRepository.saveAndFlush(question);
+        java.time.YearMonth month = java.time.YearMonth.now();
+        chatMessageArchiveService.archiveMonth(month);
+
+        try {
+            mockMvc.perform(get("/api/chat/admin/archive"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0]").value(month.toString()));
+
+            MvcResult result = mockMvc.perform(get("/api/chat/admin/archive/" + month)
+                            .param("sessionId", session.getId().toString()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertTrue(body.contains("\"id\":" + question.getId()));
+            assertTrue(body.contains("\"content\":\"Pergunta arquivada\""));
+            assertTrue(body.contains("\"ipAddress\":\"10.0.0.9\""));
+        } finally {
+            java.nio.file.Files.deleteIfExists(java.nio.file.Paths.get("target/chat-archive", "chat-messages-" + month + ".ndjson.gz"));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin@criaitor.com", roles = "ADMIN")
+    void shouldRejectArchiveReadWithInvalidMonth() throws Exception {
+        saveAdminUser();
+
+        mockMvc.perform(get("/api/chat/admin/archive/2024-13"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/chat/admin/archive/1999-01"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void saveAdminUser() {
+        User adminUser = new User();
+        adminUser.setEmail("admin@criaitor.com");
+        adminUser.setName("Admin User");
+        adminUser.setPassword(passwordEncoder.encode("password"));
+        adminUser.setEnabled(true);
+        adminUser.setRole(projeto_gerador_ideias_backend.model.Role.ADMIN);
+        userRepository.saveAndFlush(adminUser);
+    }
+
     @Test
     @WithMockUser(username = "chat-controller@example.com")
     void shouldGetOlderMessages() throws Exception {
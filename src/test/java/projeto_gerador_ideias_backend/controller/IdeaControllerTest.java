@@ -19,9 +19,16 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import projeto_gerador_ideias_backend.dto.request.FavoritesUpdateRequest;
 import projeto_gerador_ideias_backend.dto.request.IdeaRequest;
+import projeto_gerador_ideias_backend.dto.response.FavoritesUpdateResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaGenerationStatsResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaListItemResponse;
 import projeto_gerador_ideias_backend.dto.response.IdeaResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaSliceResponse;
+import projeto_gerador_ideias_backend.dto.response.SimilarIdeaResponse;
 import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
 import projeto_gerador_ideias_backend.model.Idea;
 import projeto_gerador_ideias_backend.model.Theme;
 import projeto_gerador_ideias_backend.model.User;
@@ -136,6 +143,38 @@ class IdeaControllerTest {
                 .andExpect(jsonPath("$.userName", is("Controller User")));
     }
 
+    @Test
+    @WithMockUser(username = testUserEmail)
+    void shouldReplayGeneratedIdeaForRepeatedIdempotencyKey() throws Exception {
+        IdeaRequest request = new IdeaRequest();
+        request.setTheme(estudosTheme.getId());
+        request.setContext("Retentativa do app");
+
+        when(ideaService.generateIdea(any(IdeaRequest.class), eq(false)))
+                .thenReturn(mockIdeaResponse);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/ideas/generate")
+                            .header("Idempotency-Key", "idea-retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", is("Crie pequenos projetos todos os dias.")))
+                    .andExpect(attempt == 0
+                            ? header().doesNotExist("Idempotent-Replayed")
+                            : header().string("Idempotent-Replayed", "true"));
+        }
+
+        request.setContext("Outro contexto");
+        mockMvc.perform(post("/api/ideas/generate")
+                        .header("Idempotency-Key", "idea-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(ideaService, times(1)).generateIdea(any(IdeaRequest.class), eq(false));
+    }
+
     @Test
     @WithMockUser(username = testUserEmail)
     void shouldReturnRejectionFromModerationWhenDangerous() throws Exception {
@@ -220,6 +259,98 @@ class IdeaControllerTest {
     }
 
 
+    @Test
+    @WithMockUser
+    void shouldListHistoryByCursor() throws Exception {
+        when(ideaService.listarHistoricoIdeiasPorCursor(isNull(), isNull(), isNull(), isNull(), eq("abc"), eq(2)))
+                .thenReturn(new IdeaSliceResponse(List.of(
+                        new IdeaListItemResponse(1L, "estudos", "Resumo", "Prévia…", true, LocalDateTime.now()),
+                        new IdeaListItemResponse(2L, "estudos", "Resumo", "Prévia", false, LocalDateTime.now())),
+                        "def", true));
+
+        mockMvc.perform(get("/api/ideas/history/cursor")
+                        .param("cursor", "abc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", is("def")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.content[0].preview", is("Prévia…")))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchIdeasByRelevance() throws Exception {
+        when(ideaService.buscarIdeias(eq("festa surpresa"), eq(1L), isNull(), isNull(), isNull(), eq(5)))
+                .thenReturn(new IdeaSliceResponse(List.of(
+                        new IdeaListItemResponse(7L, "estudos", "Resumo", "Prévia", false, LocalDateTime.now())),
+                        "xyz", true));
+
+        mockMvc.perform(get("/api/ideas/search")
+                        .param("q", "festa surpresa")
+                        .param("theme", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(7)))
+                .andExpect(jsonPath("$.nextCursor", is("xyz")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnBadRequestForBlankSearch() throws Exception {
+        when(ideaService.buscarIdeias(eq(" "), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new ValidationException("Informe o termo de busca."));
+
+        mockMvc.perform(get("/api/ideas/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldListSimilarIdeas() throws Exception {
+        when(ideaService.buscarIdeiasSimilares(10L, 3)).thenReturn(List.of(new SimilarIdeaResponse(
+                new IdeaListItemResponse(11L, "estudos", "Resumo", "Prévia", false, LocalDateTime.now()), 0.91)));
+
+        mockMvc.perform(get("/api/ideas/10/similar").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].idea.id", is(11)))
+                .andExpect(jsonPath("$[0].similarity", is(0.91)));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnIdeaDetailWithFullContent() throws Exception {
+        when(ideaService.buscarIdeiaPorId(10L)).thenReturn(mockIdeaResponse);
+
+        mockMvc.perform(get("/api/ideas/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", is(mockIdeaResponse.getContent())));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnNotFoundForMissingIdeaDetail() throws Exception {
+        when(ideaService.buscarIdeiaPorId(99L)).thenThrow(new ResourceNotFoundException("Ideia não encontrada."));
+
+        mockMvc.perform(get("/api/ideas/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        when(ideaService.listarMinhasIdeiasPorCursor(any(), any(), any(), eq("invalido"), anyInt()))
+                .thenThrow(new ValidationException("Cursor de paginação inválido."));
+
+        mockMvc.perform(get("/api/ideas/my-ideas/cursor")
+                        .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+
 
     @Test
     @WithMockUser
@@ -288,6 +419,33 @@ class IdeaControllerTest {
     }
 
 
+    @Test
+    @WithMockUser(username = testUserEmail)
+    void shouldUpdateFavoritesInBulk() throws Exception {
+        FavoritesUpdateRequest request = new FavoritesUpdateRequest(List.of(1L, 2L), List.of(3L));
+        when(ideaService.atualizarFavoritos(request)).thenReturn(new FavoritesUpdateResponse(2, 1));
+
+        mockMvc.perform(put("/api/ideas/favorites")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", is(2)))
+                .andExpect(jsonPath("$.removed", is(1)));
+    }
+
+    @Test
+    @WithMockUser(username = testUserEmail)
+    void shouldRejectBulkFavoritesAboveLimit() throws Exception {
+        List<Long> tooMany = java.util.stream.LongStream.rangeClosed(1, 101).boxed().toList();
+
+        mockMvc.perform(put("/api/ideas/favorites")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FavoritesUpdateRequest(tooMany, List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(ideaService, never()).atualizarFavoritos(any());
+    }
+
     @Test
     @WithMockUser(username = testUserEmail)
     void shouldFavoritarIdeiaSuccessfully() throws Exception {
@@ -754,45 +912,41 @@ class IdeaControllerTest {
     @Test
     @WithMockUser(username = testUserEmail)
     void shouldGetStatsSuccessfully() throws Exception {
-        when(ideaService.getAverageIdeaGenerationTime()).thenReturn(1550.75);
+        when(ideaService.getIdeaGenerationStats())
+                .thenReturn(new IdeaGenerationStatsResponse(4, 1550.75, 320.5, 1000L, 3000L));
 
         mockMvc.perform(get("/api/ideas/generation-stats")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.averageGenerationTimeMs", is(1550.75)));
+                .andExpect(jsonPath("$.ideaCount", is(4)))
+                .andExpect(jsonPath("$.averageGenerationTimeMs", is(1550.75)))
+                .andExpect(jsonPath("$.stdDevGenerationTimeMs", is(320.5)))
+                .andExpect(jsonPath("$.p50GenerationTimeMs", is(1000)))
+                .andExpect(jsonPath("$.p95GenerationTimeMs", is(3000)));
 
-        verify(ideaService, times(1)).getAverageIdeaGenerationTime();
+        verify(ideaService, times(1)).getIdeaGenerationStats();
     }
 
     @Test
     @WithMockUser(username = testUserEmail)
-    void shouldGetStatsWithNullAverageTime() throws Exception {
-        when(ideaService.getAverageIdeaGenerationTime()).thenReturn(null);
+    void shouldGetStatsWithoutGeneratedIdeas() throws Exception {
+        when(ideaService.getIdeaGenerationStats())
+                .thenReturn(new IdeaGenerationStatsResponse(0, 0.0, 0.0, null, null));
 
         mockMvc.perform(get("/api/ideas/generation-stats")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.averageGenerationTimeMs", is(0.0)));
-    }
-
-    @Test
-    @WithMockUser(username = testUserEmail)
-    void shouldReturnZeroWhenServiceReturnsZero() throws Exception {
-        when(ideaService.getAverageIdeaGenerationTime()).thenReturn(0.0);
-
-        mockMvc.perform(get("/api/ideas/generation-stats")
-                        .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.averageGenerationTimeMs", is(0.0)));
-
-        verify(ideaService, times(1)).getAverageIdeaGenerationTime();
+                .andExpect(jsonPath("$.ideaCount", is(0)))
+                .andExpect(jsonPath("$.averageGenerationTimeMs", is(0.0)))
+                .andExpect(jsonPath("$.p50GenerationTimeMs").doesNotExist());
     }
 
     @Test
     @WithMockUser(username = testUserEmail)
     void shouldHandleLargeDoubleValue() throws Exception {
         double largeValue = 987654321.12345;
-        when(ideaService.getAverageIdeaGenerationTime()).thenReturn(largeValue);
+        when(ideaService.getIdeaGenerationStats())
+                .thenReturn(new IdeaGenerationStatsResponse(1, largeValue, 0.0, 60000L, 60000L));
 
         mockMvc.perform(get("/api/ideas/generation-stats")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -804,7 +958,8 @@ class IdeaControllerTest {
     @WithMockUser(username = testUserEmail)
     void shouldHandleSmallFractionalValue() throws Exception {
         double smallValue = 0.000123;
-        when(ideaService.getAverageIdeaGenerationTime()).thenReturn(smallValue);
+        when(ideaService.getIdeaGenerationStats())
+                .thenReturn(new IdeaGenerationStatsResponse(1, smallValue, 0.0, 250L, 250L));
 
         mockMvc.perform(get("/api/ideas/generation-stats")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -818,12 +973,15 @@ class IdeaControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
 
-        verify(ideaService, never()).getAverageIdeaGenerationTime();
+        verify(ideaService, never()).getIdeaGenerationStats();
     }
 
     @Test
     @WithMockUser(username = testUserEmail)
     void shouldReturnCorrectContentType() throws Exception {
+        when(ideaService.getIdeaGenerationStats())
+                .thenReturn(new IdeaGenerationStatsResponse(0, 0.0, 0.0, null, null));
+
         mockMvc.perform(get("/api/ideas/generation-stats"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
@@ -832,7 +990,7 @@ class IdeaControllerTest {
     @Test
     @WithMockUser(username = testUserEmail)
     void shouldReturnOkEvenIfServiceThrowsException() throws Exception {
-        when(ideaService.getAverageIdeaGenerationTime()).thenThrow(new RuntimeException("Erro de banco de dados"));
+        when(ideaService.getIdeaGenerationStats()).thenThrow(new RuntimeException("Erro de banco de dados"));
 
         mockMvc.perform(get("/api/ideas/generation-stats"))
                 .andExpect(status().isInternalServerError())
@@ -943,7 +1101,7 @@ class IdeaControllerTest {
     @WithMockUser(username = testUserEmail)
     @DisplayName("Deve retornar 500 em generation-stats quando o serviço falha")
     void shouldReturn500WhenStatsServiceFails() throws Exception {
-        when(ideaService.getAverageIdeaGenerationTime()).thenThrow(new RuntimeException("Falha no banco de dados"));
+        when(ideaService.getIdeaGenerationStats()).thenThrow(new RuntimeException("Falha no banco de dados"));
 
         mockMvc.perform(get("/api/ideas/generation-stats"))
                 .andExpect(status().isInternalServerError())
@@ -1,5 +1,6 @@
 package projeto_gerador_ideias_backend.repository;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +38,9 @@ class ChatMessageRepositoryTest {
     @Autowired
     private ThemeRepository themeRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private ChatSession testSession;
     private Theme testTheme;
@@ -164,39 +168,6 @@ class ChatMessageRepositoryTest {
         assertEquals("Mensagem 4", page.getContent().get(0).getContent());
     }
 
-    @Test
-    void shouldFindByUserIdAndDateRange() {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(1);
-        LocalDateTime endDate = LocalDateTime.now().plusDays(1);
-
-        ChatMessage msg = new ChatMessage(testSession, ChatMessage.MessageRole.USER, "Mensagem", 10);
-        msg.setCreatedAt(LocalDateTime.now());
-        chatMessageRepository.save(msg);
-
-        List<ChatMessage> messages = chatMessageRepository.findByUserIdAndDateRange(
-                testUser.getId(), startDate, endDate);
-
-        assertEquals(1, messages.size());
-    }
-
-    @Test
-    void shouldFindByUserIdAndDateRangePaginated() {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(1);
-        LocalDateTime endDate = LocalDateTime.now().plusDays(1);
-
-        for (int i = 0; i < 5; i++) {
-            ChatMessage msg = new ChatMessage(testSession, ChatMessage.MessageRole.USER, "Mensagem " + i, 10);
-            msg.setCreatedAt(LocalDateTime.now());
-            chatMessageRepository.save(msg);
-        }
-
-        Pageable pageable = PageRequest.of(0, 3);
-        var page = chatMessageRepository.findByUserIdAndDateRangePaginated(
-                testUser.getId(), startDate, endDate, pageable);
-
-        assertEquals(3, page.getContent().size());
-    }
-
     @Test
     void shouldFindRecentMessagesOptimized() {
         for (int i = 0; i < 10; i++) {
@@ -279,31 +250,83 @@ class ChatMessageRepositoryTest {
     }
 
     @Test
-    void shouldFindByUserIdAndDateRangeAdmin() {
-        User otherUser = new User();
-        otherUser.setEmail("other@example.com");
-        otherUser.setName("Other User");
-        otherUser.setPassword("password");
-        otherUser = userRepository.save(otherUser);
-
-        ChatSession otherSession = new ChatSession(otherUser, ChatSession.ChatType.FREE, null);
+    void shouldPairInteractionsBySessionAndPaginateInDatabase() {
+        ChatSession otherSession = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
         otherSession.setLastResetAt(LocalDateTime.now());
         otherSession = chatSessionRepository.save(otherSession);
 
-        LocalDateTime startDate = LocalDateTime.now().minusDays(1);
-        LocalDateTime endDate = LocalDateTime.now().plusDays(1);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 15, 10, 0);
+        ChatMessage question1 = saveAt(testSession, ChatMessage.MessageRole.USER, "Pergunta 1", 10, base);
+        saveAt(otherSession, ChatMessage.MessageRole.USER, "Pergunta 2", 7, base.plusSeconds(1));
+        saveAt(testSession, ChatMessage.MessageRole.ASSISTANT, "Resposta 1", 20, base.plusSeconds(2));
+        saveAt(otherSession, ChatMessage.MessageRole.ASSISTANT, "Resposta 2", 30, base.plusSeconds(5));
+        saveAt(testSession, ChatMessage.MessageRole.USER, "Pergunta 3", 5, base.plusMinutes(5));
+        saveAt(testSession, ChatMessage.MessageRole.USER, "Outro dia", 99, base.plusDays(1));
+
+        LocalDateTime startDate = base.toLocalDate().atStartOfDay();
+        LocalDateTime endDate = startDate.plusDays(1);
+
+        List<Object[]> firstPage = chatMessageRepository.findInteractionsPage(
+                testUser.getId(), startDate, endDate,
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT, PageRequest.of(0, 2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(question1.getId(), firstPage.get(0)[0]);
+        assertEquals("Pergunta 1", firstPage.get(0)[7]);
+        assertEquals("Resposta 1", firstPage.get(0)[11]);
+        assertEquals("Pergunta 2", firstPage.get(1)[7]);
+        assertEquals("Resposta 2", firstPage.get(1)[11]);
+
+        List<Object[]> secondPage = chatMessageRepository.findInteractionsPage(
+                testUser.getId(), startDate, endDate,
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT, PageRequest.of(1, 2));
+
+        assertEquals(1, secondPage.size());
+        assertEquals("Pergunta 3", secondPage.get(0)[7]);
+        assertNull(secondPage.get(0)[11]);
+
+        Object[] summary = chatMessageRepository.summarizeInteractions(
+                testUser.getId(), startDate, endDate,
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT).get(0);
+
+        assertEquals(3L, ((Number) summary[0]).longValue());
+        assertEquals(22L, ((Number) summary[1]).longValue());
+        assertEquals(50L, ((Number) summary[2]).longValue());
+        assertEquals(3_000.0, ((Number) summary[3]).doubleValue() / 1_000_000, 0.001);
+    }
 
-        chatMessageRepository.save(new ChatMessage(testSession, ChatMessage.MessageRole.USER, "Mensagem 1", 10));
-        chatMessageRepository.save(new ChatMessage(otherSession, ChatMessage.MessageRole.USER, "Mensagem 2", 10));
+    @Test
+    void shouldSummarizeInteractionsOfAllUsersWhenUserIdIsNull() {
+        User otherUser = new User();
+        otherUser.setEmail("other-summary@example.com");
+        otherUser.setName("Other User");
+        otherUser.setPassword("password");
+        otherUser = userRepository.save(otherUser);
+        ChatSession otherSession = chatSessionRepository.save(new ChatSession(otherUser, ChatSession.ChatType.FREE, null));
 
-        List<ChatMessage> allMessages = chatMessageRepository.findByUserIdAndDateRangeAdmin(
-                null, startDate, endDate);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 15, 10, 0);
+        saveAt(testSession, ChatMessage.MessageRole.USER, "Pergunta 1", 10, base);
+        saveAt(otherSession, ChatMessage.MessageRole.USER, "Pergunta 2", 7, base.plusSeconds(1));
 
-        assertEquals(2, allMessages.size());
+        LocalDateTime startDate = base.toLocalDate().atStartOfDay();
+        Object[] summary = chatMessageRepository.summarizeInteractions(
+                null, startDate, startDate.plusDays(1),
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT).get(0);
 
-        List<ChatMessage> userMessages = chatMessageRepository.findByUserIdAndDateRangeAdmin(
-                testUser.getId(), startDate, endDate);
+        assertEquals(2L, ((Number) summary[0]).longValue());
+        assertEquals(17L, ((Number) summary[1]).longValue());
+        assertEquals(0L, ((Number) summary[2]).longValue());
+        assertNull(summary[3]);
+    }
 
-        assertEquals(1, userMessages.size());
+    private ChatMessage saveAt(ChatSession session, ChatMessage.MessageRole role, String content,
+                               int tokens, LocalDateTime createdAt) {
+        ChatMessage message = chatMessageRepository.saveAndFlush(new ChatMessage(session, role, content, tokens));
+        entityManager.createQuery("UPDATE ChatMessage m SET m.createdAt = :createdAt WHERE m.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", message.getId())
+                .executeUpdate();
+        entityManager.clear();
+        return message;
     }
 }
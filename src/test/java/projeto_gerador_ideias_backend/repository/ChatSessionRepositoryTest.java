@@ -0,0 +1,69 @@
+package projeto_gerador_ideias_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.model.ChatMessage;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ChatSessionRepositoryTest {
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setEmail("ledger@example.com");
+        testUser.setName("Ledger User");
+        testUser.setPassword("password");
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    void shouldBackfillTokenLedgerOnlyForLegacySessions() {
+        ChatSession legacy = chatSessionRepository.save(new ChatSession(testUser, ChatSession.ChatType.FREE, null));
+        chatMessageRepository.save(new ChatMessage(legacy, ChatMessage.MessageRole.USER, "Pergunta", 10));
+        chatMessageRepository.save(new ChatMessage(legacy, ChatMessage.MessageRole.ASSISTANT, "Resposta", 25, 9965));
+        chatMessageRepository.save(new ChatMessage(legacy, ChatMessage.MessageRole.USER, "Outra", 5));
+
+        ChatSession migrated = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
+        migrated.addTokens(1, 2);
+        migrated = chatSessionRepository.save(migrated);
+        chatSessionRepository.flush();
+        entityManager.createQuery("UPDATE ChatSession s SET s.userTokens = NULL, s.assistantTokens = NULL WHERE s.id = :id")
+                .setParameter("id", legacy.getId())
+                .executeUpdate();
+
+        int updated = chatSessionRepository.backfillTokenLedger(
+                ChatMessage.MessageRole.USER, ChatMessage.MessageRole.ASSISTANT);
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        ChatSession reloadedLegacy = chatSessionRepository.findById(legacy.getId()).orElseThrow();
+        assertEquals(15, reloadedLegacy.getUserTokens());
+        assertEquals(25, reloadedLegacy.getAssistantTokens());
+        ChatSession reloadedMigrated = chatSessionRepository.findById(migrated.getId()).orElseThrow();
+        assertEquals(1, reloadedMigrated.getUserTokens());
+        assertEquals(2, reloadedMigrated.getAssistantTokens());
+    }
+}
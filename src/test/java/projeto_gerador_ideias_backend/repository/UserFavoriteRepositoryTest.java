@@ -0,0 +1,72 @@
+package projeto_gerador_ideias_backend.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserFavoriteRepositoryTest {
+
+    @Autowired
+    private UserFavoriteRepository userFavoriteRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Idea first;
+    private Idea second;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("favorites@example.com");
+        user.setName("Favorites User");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        Theme theme = themeRepository.save(new Theme("FAVORITOS"));
+        first = new Idea(theme, "Contexto 1", "Conteúdo 1", "mistral", 100L);
+        first.setUser(user);
+        second = new Idea(theme, "Contexto 2", "Conteúdo 2", "mistral", 100L);
+        second.setUser(user);
+        ideaRepository.saveAllAndFlush(List.of(first, second));
+    }
+
+    @Test
+    void shouldInsertOnlyNewFavoritesOfExistingIdeas() {
+        assertEquals(1, userFavoriteRepository.addFavorites(user.getId(), List.of(first.getId())));
+        assertEquals(0, userFavoriteRepository.addFavorites(user.getId(), List.of(first.getId())));
+
+        int inserted = userFavoriteRepository.addFavorites(user.getId(),
+                List.of(first.getId(), second.getId(), second.getId(), -1L));
+
+        assertEquals(1, inserted);
+        assertEquals(2L, ideaRepository.countFavoriteIdeasByUserId(user.getId()));
+    }
+
+    @Test
+    void shouldReportRemovedRows() {
+        userFavoriteRepository.addFavorites(user.getId(), List.of(first.getId()));
+
+        assertEquals(1, userFavoriteRepository.removeFavorites(user.getId(), List.of(first.getId(), second.getId())));
+        assertEquals(0, userFavoriteRepository.removeFavorites(user.getId(), List.of(first.getId())));
+        assertEquals(0L, ideaRepository.countFavoriteIdeasByUserId(user.getId()));
+    }
+}
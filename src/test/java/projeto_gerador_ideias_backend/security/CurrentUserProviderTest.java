@@ -0,0 +1,131 @@
+package projeto_gerador_ideias_backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserProviderTest {
+
+    private static final String EMAIL = "current@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CurrentUserProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        provider = new CurrentUserProvider(userRepository);
+        user = new User();
+        user.setId(7L);
+        user.setEmail(EMAIL);
+        user.setName("Atual");
+        user.setRole(Role.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, java.util.List.of()));
+    }
+
+    @Test
+    void shouldResolveOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authenticate(new JwtUserPrincipal(7L, EMAIL, Role.ADMIN, UUID.randomUUID()));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        CurrentUser first = provider.get();
+        CurrentUser second = provider.get();
+        User entity = provider.getUser();
+
+        assertSame(first, second);
+        assertSame(user, entity);
+        assertEquals(7L, first.id());
+        assertTrue(first.isAdmin());
+        verify(userRepository, times(1)).findById(7L);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldResolveAgainInNewRequest() {
+        authenticate(new JwtUserPrincipal(7L, EMAIL, Role.ADMIN, null));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        provider.get();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        provider.get();
+
+        verify(userRepository, times(2)).findById(7L);
+    }
+
+    @Test
+    void shouldResolveByEmailWithoutRequest() {
+        authenticate(org.springframework.security.core.userdetails.User
+                .withUsername(EMAIL).password("x").roles("USER").build());
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        provider.get();
+        provider.get();
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldThrowWhenNotAuthenticated() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, provider::get);
+
+        assertEquals("Usuário não autenticado.", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldThrowWhenTokenUserIdDoesNotMatchEmail() {
+        authenticate(new JwtUserPrincipal(7L, "outro@example.com", Role.USER, null));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, provider::getUser);
+
+        assertEquals("Usuário autenticado não encontrado no banco de dados: outro@example.com", exception.getMessage());
+    }
+
+    @Test
+    void shouldUseMessagesSuppliedByCaller() {
+        ResourceNotFoundException unauthenticated = assertThrows(ResourceNotFoundException.class,
+                () -> provider.getUser("Usuário não autenticado. Não é possível usar o chat.", "Não encontrado: "));
+        assertEquals("Usuário não autenticado. Não é possível usar o chat.", unauthenticated.getMessage());
+
+        authenticate(new JwtUserPrincipal(7L, "outro@example.com", Role.USER, null));
+        when(userRepository.findById(7L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException notFound = assertThrows(ResourceNotFoundException.class,
+                () -> provider.getUser("Usuário não autenticado.", "Usuário autenticado não encontrado: "));
+        assertEquals("Usuário autenticado não encontrado: outro@example.com", notFound.getMessage());
+    }
+}
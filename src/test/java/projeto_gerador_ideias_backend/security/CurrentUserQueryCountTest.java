@@ -0,0 +1,114 @@
+package projeto_gerador_ideias_backend.security;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.service.ChatService;
+import projeto_gerador_ideias_backend.service.JwtService;
+import projeto_gerador_ideias_backend.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CurrentUserQueryCountTest {
+
+    private static final String EMAIL = "current-user-queries@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CurrentUserProvider currentUserProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ChatService chatService;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        user = new User();
+        user.setName("Consultas");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode("Senha@123"));
+        user = userRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void shouldIssueAtMostOneQueryWhenServicesShareTheCurrentUserInARequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(user.getId(), EMAIL, Role.USER, user.getUuid()), null, List.of()));
+
+        userService.getUserStats();
+        userService.getUserStats();
+        User fromChat = chatService.getCurrentAuthenticatedUser();
+        CurrentUser snapshot = currentUserProvider.get();
+
+        assertEquals(user.getId(), fromChat.getId());
+        assertEquals(EMAIL, snapshot.email());
+        assertTrue(statistics.getPrepareStatementCount() <= 1,
+                "Consultas executadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldIssueAtMostOneQueryPerHttpRequest() throws Exception {
+        String token = jwtService.generateAccessToken(EMAIL, user.getId(), Role.USER, user.getUuid());
+
+        mockMvc.perform(get("/api/users/me/stats").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertTrue(statistics.getPrepareStatementCount() <= 1,
+                "Consultas executadas: " + statistics.getPrepareStatementCount());
+    }
+}
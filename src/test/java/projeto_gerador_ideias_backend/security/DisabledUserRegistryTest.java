@@ -0,0 +1,79 @@
+package projeto_gerador_ideias_backend.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisabledUserRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DisabledUserRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DisabledUserRegistry(userRepository);
+    }
+
+    @Test
+    void shouldLoadDisabledUsersFromDatabase() {
+        when(userRepository.findDisabledUserIds()).thenReturn(List.of(3L, 4L));
+
+        registry.refresh();
+
+        assertTrue(registry.isDisabled(3L));
+        assertTrue(registry.isDisabled(4L));
+        assertFalse(registry.isDisabled(1L));
+        assertFalse(registry.isDisabled(null));
+    }
+
+    @Test
+    void shouldApplyUpdatesImmediately() {
+        registry.update(7L, false);
+        assertTrue(registry.isDisabled(7L));
+
+        registry.update(7L, true);
+        assertFalse(registry.isDisabled(7L));
+    }
+
+    @Test
+    void shouldApplyEnabledChangeEvents() {
+        registry.onUserEnabledChanged(new DisabledUserRegistry.UserEnabledChangedEvent(9L, false));
+        assertTrue(registry.isDisabled(9L));
+
+        registry.onUserEnabledChanged(new DisabledUserRegistry.UserEnabledChangedEvent(9L, true));
+        assertFalse(registry.isDisabled(9L));
+    }
+
+    @Test
+    void shouldApplyReplicatedMessagesFromOtherNodes() {
+        DisabledUserReplicator replicator = new DisabledUserReplicator(null, null, registry, "user:enabled-changed");
+
+        replicator.apply("11:0");
+        assertTrue(registry.isDisabled(11L));
+
+        replicator.apply("11:1");
+        replicator.apply("invalida");
+        assertFalse(registry.isDisabled(11L));
+    }
+
+    @Test
+    void shouldKeepPreviousSetWhenRefreshFails() {
+        registry.update(7L, false);
+        when(userRepository.findDisabledUserIds()).thenThrow(new RuntimeException("Banco indisponível"));
+
+        registry.refresh();
+
+        assertTrue(registry.isDisabled(7L));
+    }
+}
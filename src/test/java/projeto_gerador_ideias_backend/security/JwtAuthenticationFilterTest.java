@@ -14,19 +14,28 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import projeto_gerador_ideias_backend.model.Role;
 import projeto_gerador_ideias_backend.service.JwtService;
 import projeto_gerador_ideias_backend.service.TokenBlacklistService;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class JwtAuthenticationFilterTest {
     
+    private static final String DIGEST = "digest";
+    
     @Mock
     private JwtService jwtService;
     
@@ -36,6 +45,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private TokenBlacklistService tokenBlacklistService;
     
+    @Mock
+    private DisabledUserRegistry disabledUserRegistry;
+    
     @Mock
     private HttpServletRequest request;
     
@@ -53,6 +65,7 @@ class JwtAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessPrincipal", false);
         testUserDetails = User.builder()
                 .username("joao@example.com")
                 .password("encodedPassword")
@@ -67,7 +80,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).verifyAccessToken(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -79,7 +92,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).verifyAccessToken(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -87,14 +100,12 @@ class JwtAuthenticationFilterTest {
     @Test
     void shouldContinueWhenTokenIsInvalid() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer invalid-token");
-        when(tokenBlacklistService.isTokenBlacklisted("invalid-token")).thenReturn(false);
-        when(jwtService.validateToken("invalid-token")).thenReturn(false);
+        when(jwtService.verifyAccessToken("invalid-token")).thenReturn(Optional.empty());
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).validateToken("invalid-token");
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(tokenBlacklistService, never()).isDigestBlacklisted(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -105,15 +116,13 @@ class JwtAuthenticationFilterTest {
         String email = "joao@example.com";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(email);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(email)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         when(userDetailsService.loadUserByUsername(email)).thenReturn(testUserDetails);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).extractUsername(validToken);
         verify(userDetailsService, times(1)).loadUserByUsername(email);
         
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
@@ -126,16 +135,14 @@ class JwtAuthenticationFilterTest {
         String email = "naoexiste@example.com";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(email);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(email)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         when(userDetailsService.loadUserByUsername(email))
                 .thenThrow(new org.springframework.security.core.userdetails.UsernameNotFoundException("User not found"));
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).extractUsername(validToken);
         verify(userDetailsService, times(1)).loadUserByUsername(email);
         
         assertNull(SecurityContextHolder.getContext().getAuthentication());
@@ -154,9 +161,8 @@ class JwtAuthenticationFilterTest {
                 .build();
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(emailFromToken);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(emailFromToken)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         when(userDetailsService.loadUserByUsername(emailFromToken)).thenReturn(differentUser);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -177,9 +183,8 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(email);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(email)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
@@ -195,32 +200,34 @@ class JwtAuthenticationFilterTest {
         String blacklistedToken = "blacklisted-token";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + blacklistedToken);
-        when(tokenBlacklistService.isTokenBlacklisted(blacklistedToken)).thenReturn(true);
+        when(jwtService.verifyAccessToken(blacklistedToken)).thenReturn(Optional.of(verified("joao@example.com")));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(true);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, never()).validateToken(anyString());
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(request, never()).setAttribute(anyString(), any());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
     
     @Test
-    void shouldContinueWhenExtractUsernameThrowsException() throws ServletException, IOException {
+    void shouldExposeVerifiedClaimsWithoutReparsingToken() throws ServletException, IOException {
         String validToken = "valid-token";
+        VerifiedJwt verifiedJwt = verified("joao@example.com");
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verifiedJwt));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
+        when(userDetailsService.loadUserByUsername("joao@example.com")).thenReturn(testUserDetails);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
-        verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).extractUsername(validToken);
-        verify(userDetailsService, never()).loadUserByUsername(anyString());
-        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(request).setAttribute(JwtAuthenticationFilter.VERIFIED_JWT_ATTRIBUTE, verifiedJwt);
+        verify(jwtService, times(1)).verifyAccessToken(validToken);
+        verify(jwtService, never()).validateToken(anyString());
+        verify(jwtService, never()).extractUsername(anyString());
+        verify(tokenBlacklistService, never()).isTokenBlacklisted(anyString());
     }
     
     @Test
@@ -236,15 +243,13 @@ class JwtAuthenticationFilterTest {
                 .build();
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(email);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(email)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         when(userDetailsService.loadUserByUsername(email)).thenReturn(disabledUser);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).extractUsername(validToken);
         verify(userDetailsService, times(1)).loadUserByUsername(email);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -254,14 +259,12 @@ class JwtAuthenticationFilterTest {
         String validToken = "valid-jwt-token";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(null);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(null)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).extractUsername(validToken);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -272,18 +275,64 @@ class JwtAuthenticationFilterTest {
         String email = "joao@example.com";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
-        when(tokenBlacklistService.isTokenBlacklisted(validToken)).thenReturn(false);
-        when(jwtService.validateToken(validToken)).thenReturn(true);
-        when(jwtService.extractUsername(validToken)).thenReturn(email);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified(email)));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
         when(userDetailsService.loadUserByUsername(email))
                 .thenThrow(new RuntimeException("Database error"));
         
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(jwtService, times(1)).extractUsername(validToken);
         verify(userDetailsService, times(1)).loadUserByUsername(email);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
+    
+    private static VerifiedJwt verified(String email) {
+        return new VerifiedJwt(DIGEST, email, 1L, UUID.randomUUID(), List.of("ROLE_USER"), Instant.now().plusSeconds(600));
+    }
+    
+    @Test
+    void shouldBuildPrincipalFromClaimsWithoutLoadingUser() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessPrincipal", true);
+        String validToken = "valid-jwt-token";
+        UUID uuid = UUID.randomUUID();
+        VerifiedJwt verifiedJwt = new VerifiedJwt(DIGEST, "admin@example.com", 5L, uuid,
+                List.of("ROLE_ADMIN"), Instant.now().plusSeconds(600));
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verifiedJwt));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
+        when(disabledUserRegistry.isDisabled(5L)).thenReturn(false);
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        JwtUserPrincipal jwtPrincipal = assertInstanceOf(JwtUserPrincipal.class, principal);
+        assertEquals(5L, jwtPrincipal.id());
+        assertEquals("admin@example.com", jwtPrincipal.getUsername());
+        assertEquals(Role.ADMIN, jwtPrincipal.role());
+        assertEquals(uuid, jwtPrincipal.uuid());
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())));
+    }
+    
+    @Test
+    void shouldNotAuthenticateDisabledUserInStatelessMode() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessPrincipal", true);
+        String validToken = "valid-jwt-token";
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(jwtService.verifyAccessToken(validToken)).thenReturn(Optional.of(verified("joao@example.com")));
+        when(tokenBlacklistService.isDigestBlacklisted(DIGEST)).thenReturn(false);
+        when(disabledUserRegistry.isDisabled(1L)).thenReturn(true);
+        
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
 }
-
@@ -139,7 +139,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldThrowExceptionWhenChatNotBlockedWithAdditionalTokensExceedsLimit() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(9999);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(9999);
 
         assertThrows(TokenLimitExceededException.class, () -> {
             chatLimitValidator.validateChatNotBlocked(chatSession, 1);
@@ -149,7 +149,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldThrowExceptionWhenChatNotBlockedWithAdditionalTokensEqualsLimit() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(5000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(5000);
 
         assertThrows(TokenLimitExceededException.class, () -> {
             chatLimitValidator.validateChatNotBlocked(chatSession, 5000);
@@ -159,7 +159,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldNotThrowExceptionWhenChatNotBlockedWithValidTokens() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(5000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(5000);
 
         assertDoesNotThrow(() -> {
             chatLimitValidator.validateChatNotBlocked(chatSession, 4999);
@@ -169,7 +169,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldThrowExceptionWhenValidateChatNotBlockedWithResponseExceedsLimit() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(5000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(5000);
 
         assertThrows(TokenLimitExceededException.class, () -> {
             chatLimitValidator.validateChatNotBlockedWithResponse(chatSession, 3000, 2001);
@@ -179,7 +179,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldNotThrowExceptionWhenValidateChatNotBlockedWithResponseEqualsLimit() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(5000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(5000);
 
         assertDoesNotThrow(() -> {
             chatLimitValidator.validateChatNotBlockedWithResponse(chatSession, 3000, 2000);
@@ -189,7 +189,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldNotThrowExceptionWhenValidateChatNotBlockedWithResponseValid() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(5000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(5000);
 
         assertDoesNotThrow(() -> {
             chatLimitValidator.validateChatNotBlockedWithResponse(chatSession, 3000, 1999);
@@ -199,7 +199,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldThrowExceptionWhenValidateChatNotBlockedWithResponseExceedsLimitByOne() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(9999);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(9999);
 
         assertThrows(TokenLimitExceededException.class, () -> {
             chatLimitValidator.validateChatNotBlockedWithResponse(chatSession, 1, 1);
@@ -209,7 +209,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldReturnTrueWhenIsChatBlocked() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(10000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(10000);
 
         boolean isBlocked = chatLimitValidator.isChatBlocked(chatSession);
 
@@ -219,7 +219,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldReturnTrueWhenIsChatBlockedExceedsLimit() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(10001);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(10001);
 
         boolean isBlocked = chatLimitValidator.isChatBlocked(chatSession);
 
@@ -229,7 +229,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldReturnFalseWhenIsChatBlockedBelowLimit() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(9999);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(9999);
 
         boolean isBlocked = chatLimitValidator.isChatBlocked(chatSession);
 
@@ -239,7 +239,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldThrowExceptionWhenValidateSessionNotBlockedIsBlocked() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(10000);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(10000);
 
         assertThrows(TokenLimitExceededException.class, () -> {
             chatLimitValidator.validateSessionNotBlocked(chatSession);
@@ -249,7 +249,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldNotThrowExceptionWhenValidateSessionNotBlockedIsNotBlocked() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(9999);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(9999);
 
         assertDoesNotThrow(() -> {
             chatLimitValidator.validateSessionNotBlocked(chatSession);
@@ -259,7 +259,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldHandleZeroTokensInValidateChatNotBlocked() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(0);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(0);
 
         assertDoesNotThrow(() -> {
             chatLimitValidator.validateChatNotBlocked(chatSession, 0);
@@ -269,7 +269,7 @@ class ChatLimitValidatorTest {
     @Test
     void shouldHandleZeroTokensInValidateChatNotBlockedWithResponse() {
         when(chatProperties.getMaxTokensPerChat()).thenReturn(10000);
-        when(tokenCalculationService.getTotalUserTokensInChat(1L)).thenReturn(0);
+        when(tokenCalculationService.getSessionTokens(chatSession)).thenReturn(0);
 
         assertDoesNotThrow(() -> {
             chatLimitValidator.validateChatNotBlockedWithResponse(chatSession, 0, 0);
@@ -0,0 +1,132 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import projeto_gerador_ideias_backend.exceptions.ChatPermissionException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.ChatMessage;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.repository.ChatMessageRepository;
+import projeto_gerador_ideias_backend.security.CurrentUser;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatLogExportServiceTest {
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private IpEncryptionService ipEncryptionService;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChatLogExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChatLogExportService(chatMessageRepository, ipEncryptionService, currentUserProvider,
+                new ObjectMapper(), transactionManager, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldDenyExportForNonAdmin() {
+        when(currentUserProvider.get()).thenReturn(currentUser(Role.USER));
+
+        assertThrows(ChatPermissionException.class, () -> service.prepareExport(null, null, null, "ndjson"));
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    void shouldRejectInvalidPeriod() {
+        when(currentUserProvider.get()).thenReturn(currentUser(Role.ADMIN));
+
+        assertThrows(ValidationException.class, () -> service.prepareExport("2025-01-10", "2025-01-01", null, "csv"));
+        assertThrows(ValidationException.class, () -> service.prepareExport("2025-01-01", "2025-03-01", null, "csv"));
+        assertThrows(ValidationException.class, () -> service.prepareExport("01/01/2025", null, null, "csv"));
+        assertThrows(ValidationException.class, () -> service.prepareExport(null, null, null, "xml"));
+    }
+
+    @Test
+    void shouldNameExportAfterPeriodAndFormat() {
+        when(currentUserProvider.get()).thenReturn(currentUser(Role.ADMIN));
+
+        ChatLogExportService.ChatLogExport export = service.prepareExport("2025-01-01", "2025-01-31", null, "CSV");
+
+        assertEquals("chat-logs-2025-01-01_2025-01-31.csv", export.filename());
+        assertEquals("text", export.mediaType().getType());
+    }
+
+    @Test
+    void shouldStreamCsvInBatchesKeepingOrderAndDecryptingIps() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 15, 10, 0);
+        for (int i = 0; i < 1_203; i++) {
+            rows.add(new Object[]{
+                (long) i, 1L, ChatSession.ChatType.FREE, null, 7L, "Usuário", "user@example.com",
+                "Pergunta " + i, 3, "ip-" + i, base.plusSeconds(i),
+                i % 2 == 0 ? "Resposta, " + i : null, i % 2 == 0 ? 5 : null, i % 2 == 0 ? base.plusSeconds(i + 1) : null
+            });
+        }
+        when(chatMessageRepository.streamInteractions(any(), any(), any(),
+                eq(ChatMessage.MessageRole.USER), eq(ChatMessage.MessageRole.ASSISTANT)))
+                .thenReturn(rows.stream());
+        when(ipEncryptionService.decryptIp(anyString()))
+                .thenAnswer(invocation -> "ip:" + invocation.getArgument(0, String.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(null, base, base.plusDays(1), ChatLogExportService.ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1_204, lines.length);
+        assertEquals(ChatLogExportService.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].startsWith("1,2025-01-15T10:00:00,1,FREE,,7,Usuário,user@example.com,ip:ip-0,Pergunta 0,\"Resposta, 0\",3,5,8,1000"));
+        assertTrue(lines[1_203].startsWith("1203,"));
+        assertTrue(lines[1_202].endsWith(",ip:ip-1201,Pergunta 1201,,3,0,3,"));
+        verify(ipEncryptionService, times(1_203)).decryptIp(anyString());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldEscapeCsvValues() {
+        assertEquals("", ChatLogExportService.escapeCsv(null));
+        assertEquals("simples", ChatLogExportService.escapeCsv("simples"));
+        assertEquals("\"a,b\"", ChatLogExportService.escapeCsv("a,b"));
+        assertEquals("\"diz \"\"oi\"\"\"", ChatLogExportService.escapeCsv("diz \"oi\""));
+        assertEquals("\"linha\nnova\"", ChatLogExportService.escapeCsv("linha\nnova"));
+    }
+
+    private CurrentUser currentUser(Role role) {
+        return new CurrentUser(1L, UUID.randomUUID(), "admin@example.com", "Admin", role, true);
+    }
+}
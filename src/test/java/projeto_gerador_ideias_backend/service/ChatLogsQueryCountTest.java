@@ -0,0 +1,150 @@
+package projeto_gerador_ideias_backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.dto.response.ChatLogsResponse;
+import projeto_gerador_ideias_backend.dto.response.Interaction;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.JwtUserPrincipal;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regressão de getChatLogs em um dia com muitas mensagens: a página e o resumo
+ * saem do banco em consultas fixas, sem carregar o dia inteiro.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChatLogsQueryCountTest {
+
+    private static final int INTERACTIONS = 2_000;
+    private static final int USER_TOKENS = 3;
+    private static final int ASSISTANT_TOKENS = 5;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ChatStatsRollupService chatStatsRollupService;
+
+    private User user;
+    private ChatSession session;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Dia Movimentado");
+        user.setEmail("chat-logs@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        session = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+
+        day = LocalDate.now().minusDays(2);
+        LocalDateTime base = day.atTime(8, 0);
+        List<Object[]> rows = new ArrayList<>(INTERACTIONS * 2);
+        for (int i = 0; i < INTERACTIONS; i++) {
+            LocalDateTime askedAt = base.plusSeconds(i * 10L);
+            rows.add(new Object[]{session.getId(), "USER", "Pergunta " + i, USER_TOKENS, Timestamp.valueOf(askedAt)});
+            rows.add(new Object[]{session.getId(), "ASSISTANT", "Resposta " + i, ASSISTANT_TOKENS,
+                Timestamp.valueOf(askedAt.plusSeconds(2))});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO chat_messages (id, session_id, role, content, tokens_used, created_at) VALUES (NEXT VALUE FOR chat_messages_seq, ?, ?, ?, ?, ?)",
+            rows);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            new JwtUserPrincipal(user.getId(), user.getEmail(), Role.USER, user.getUuid()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id = ?", session.getId());
+        jdbcTemplate.update("DELETE FROM chat_daily_stats WHERE stat_date = ?", day);
+        chatSessionRepository.deleteById(session.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldServePageAndSummaryFromDatabase() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ChatLogsResponse response = chatService.getChatLogs(day.toString(), 7, 20);
+
+        // Sem agregado do dia: a busca no agregado falha e o resumo sai da consulta direta.
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+            "Consultas executadas: " + statistics.getPrepareStatementCount());
+        assertTrue(statistics.getEntityLoadCount() <= 1,
+            "Entidades carregadas além do usuário atual: " + statistics.getEntityLoadCount());
+
+        assertEquals(INTERACTIONS, response.getSummary().getTotalInteractions());
+        assertEquals(INTERACTIONS * USER_TOKENS, response.getSummary().getTotalTokensInput());
+        assertEquals(INTERACTIONS * ASSISTANT_TOKENS, response.getSummary().getTotalTokensOutput());
+        assertEquals(2_000.0, response.getSummary().getAverageResponseTimeMs(), 0.001);
+        assertEquals(100, response.getPagination().getTotalPages());
+
+        assertEquals(20, response.getInteractions().size());
+        for (int k = 0; k < 20; k++) {
+            Interaction interaction = response.getInteractions().get(k);
+            int index = 120 + k;
+            assertEquals(index + 1L, interaction.getInteractionId());
+            assertEquals("Pergunta " + index, interaction.getUserMessage());
+            assertEquals("Resposta " + index, interaction.getAssistantMessage());
+            assertEquals(2_000L, interaction.getMetrics().getResponseTimeMs());
+        }
+    }
+
+    @Test
+    void shouldServeSummaryFromDailyRollupOnceRecomputed() {
+        chatStatsRollupService.recomputeDay(day);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ChatLogsResponse response = chatService.getChatLogs(day.toString(), 100, 20);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+            "Consultas executadas: " + statistics.getPrepareStatementCount());
+        assertEquals(INTERACTIONS, response.getSummary().getTotalInteractions());
+        assertEquals(INTERACTIONS * (USER_TOKENS + ASSISTANT_TOKENS), response.getSummary().getTotalTokens());
+        assertEquals(2_000.0, response.getSummary().getAverageResponseTimeMs(), 0.001);
+        assertEquals(20, response.getInteractions().size());
+        assertEquals("Pergunta 1999", response.getInteractions().get(19).getUserMessage());
+    }
+}
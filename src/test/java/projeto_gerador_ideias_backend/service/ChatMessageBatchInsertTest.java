@@ -0,0 +1,118 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.dto.MessagePreparationResult;
+import projeto_gerador_ideias_backend.dto.response.ChatMessageResponse;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regressão do caminho de escrita do chat: com IDs por sequência, o par pergunta/resposta
+ * é inserido em um único lote JDBC no commit, sem flush intermediário.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "projeto_gerador_ideias_backend.service.ChatMessageBatchInsertTest$RecordingInspector")
+@ActiveProfiles("test")
+class ChatMessageBatchInsertTest {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private ChatSession session;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Lote de Mensagens");
+        user.setEmail("chat-batch@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        session = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id = ?", session.getId());
+        chatSessionRepository.deleteById(session.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldInsertMessagePairInSingleBatch() {
+        ChatMessageResponse first = chatService.saveMessageAndResponse(
+                session.getId(), preparation("Primeira pergunta"), "Primeira resposta", 7, "127.0.0.1");
+        assertEquals(1, count("insert into chat_messages"),
+                "A troca deve preparar um único INSERT em lote: " + RecordingInspector.STATEMENTS);
+        assertTrue(indexOf("from chat_daily_stats") < indexOf("insert into chat_messages"),
+                "O lock do agregado diário não deve forçar flush das mensagens: " + RecordingInspector.STATEMENTS);
+
+        RecordingInspector.STATEMENTS.clear();
+        ChatMessageResponse second = chatService.saveMessageAndResponse(
+                session.getId(), preparation("Segunda pergunta"), "Segunda resposta", 9, "127.0.0.1");
+        assertEquals(1, count("insert into chat_messages"),
+                "A troca deve preparar um único INSERT em lote: " + RecordingInspector.STATEMENTS);
+        assertEquals(0, count("chat_messages_seq"),
+                "IDs devem sair do bloco já alocado, sem ir à sequência: " + RecordingInspector.STATEMENTS);
+
+        assertNotNull(first.getCreatedAt());
+        assertTrue(second.getId() > first.getId());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chat_messages WHERE session_id = ?", Integer.class, session.getId()));
+    }
+
+    private MessagePreparationResult preparation(String message) {
+        return new MessagePreparationResult(session.getId(), user.getId(), message, 3, "", true, List.of());
+    }
+
+    private static long count(String fragment) {
+        return RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(fragment))
+                .count();
+    }
+
+    private static int indexOf(String fragment) {
+        for (int i = 0; i < RecordingInspector.STATEMENTS.size(); i++) {
+            if (RecordingInspector.STATEMENTS.get(i).toLowerCase(Locale.ROOT).contains(fragment)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conversão de {@code chat_messages} para particionamento e retenção por partição em um PostgreSQL real.
+ * Ignorado quando não há Docker disponível.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "chat.messages.partitioning.enabled=false",
+    "chat.messages.archive-dir=target/chat-archive-postgres"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ChatMessagePartitionPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ChatMessagePartitionService partitionService;
+
+    @Autowired
+    private ChatMessageRetentionService retentionService;
+
+    @Autowired
+    private ChatMessageArchiveService archiveService;
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ChatSession session;
+    private YearMonth expiredMonth;
+    private YearMonth defaultMonth;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Usuário Particionado");
+        user.setEmail("chat-partition@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        session = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+        expiredMonth = retentionService.firstRetainedMonth().minusMonths(2);
+        defaultMonth = expiredMonth.minusMonths(3);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (YearMonth month : List.of(expiredMonth, defaultMonth)) {
+            for (Path segment : archiveService.segmentsFor(month)) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Test
+    void shouldConvertTableAndArchiveOwnAndDefaultPartitionMonths() throws Exception {
+        insert("Pergunta expirada", expiredMonth.atDay(5).atTime(10, 0));
+        insert("Pergunta mantida", YearMonth.now().atDay(1).atTime(12, 0));
+
+        partitionService.convertToPartitioned();
+
+        assertTrue(partitionService.isPartitioned());
+        assertTrue(partitionService.listPartitionMonths().containsAll(List.of(expiredMonth, YearMonth.now())));
+        assertEquals(2, count("SELECT COUNT(*) FROM chat_messages"));
+        assertTrue(count("SELECT COUNT(*) FROM pg_constraint WHERE conrelid = 'chat_messages'::regclass AND contype = 'f'") > 0);
+        assertTrue(count("SELECT COUNT(*) FROM pg_constraint WHERE conrelid = 'chat_messages'::regclass AND contype = 'c'") > 0);
+
+        insert("Pergunta anterior às partições", defaultMonth.atDay(20).atTime(9, 0));
+        assertEquals(1, count("SELECT COUNT(*) FROM " + ChatMessagePartitionService.DEFAULT_PARTITION));
+        assertEquals(List.of(defaultMonth), partitionService.listDefaultPartitionMonths(retentionService.firstRetainedMonth()));
+
+        // Outra instância aplicando a retenção: este ciclo não arquiva nem remove nada
+        try (Connection other = dataSource.getConnection()) {
+            assertTrue(advisoryLock(other, "pg_try_advisory_lock"));
+            try {
+                assertEquals(0, retentionService.applyRetention());
+            } finally {
+                advisoryLock(other, "pg_advisory_unlock");
+            }
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM " + ChatMessagePartitionService.DEFAULT_PARTITION));
+
+        // Partição padrão, mês expirado e o mês vazio entre ele e a janela de retenção
+        assertEquals(3, retentionService.applyRetention());
+
+        assertFalse(partitionService.listPartitionMonths().contains(expiredMonth));
+        assertEquals(0, count("SELECT COUNT(*) FROM " + ChatMessagePartitionService.DEFAULT_PARTITION));
+        assertEquals(List.of("Pergunta mantida"),
+            jdbcTemplate.queryForList("SELECT content FROM chat_messages", String.class));
+        assertEquals(1, archiveService.segmentsFor(expiredMonth).size());
+        assertEquals(1, archiveService.segmentsFor(defaultMonth).size());
+    }
+
+    private void insert(String content, LocalDateTime createdAt) {
+        jdbcTemplate.update(
+            "INSERT INTO chat_messages (id, session_id, role, content, tokens_used, created_at) VALUES (nextval('chat_messages_seq'), ?, ?, ?, ?, ?)",
+            session.getId(), "USER", content, 1, Timestamp.valueOf(createdAt));
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, ChatMessageRetentionService.RETENTION_LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,160 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.dto.response.ArchivedChatMessage;
+import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.model.ChatDailyStats;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.ChatDailyStatsRepository;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatMessageRetentionServiceTest {
+
+    @Autowired
+    private ChatMessageRetentionService retentionService;
+
+    @Autowired
+    private ChatMessageArchiveService archiveService;
+
+    @Autowired
+    private ChatMessagePartitionService partitionService;
+
+    @Autowired
+    private ChatDailyStatsRepository chatDailyStatsRepository;
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private ChatSession session;
+    private ChatSession otherSession;
+    private YearMonth expiredMonth;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Usuário Antigo");
+        user.setEmail("chat-retention@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        session = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+        otherSession = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+        expiredMonth = retentionService.firstRetainedMonth().minusMonths(2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id IN (?, ?)", session.getId(), otherSession.getId());
+        jdbcTemplate.update("DELETE FROM chat_daily_stats WHERE stat_date < ?",
+            Timestamp.valueOf(retentionService.firstRetainedMonth().atDay(1).atStartOfDay()));
+        chatSessionRepository.deleteAllById(List.of(session.getId(), otherSession.getId()));
+        userRepository.deleteById(user.getId());
+        for (Path segment : archiveService.segmentsFor(expiredMonth)) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    @Test
+    void shouldArchiveExpiredMonthsAndKeepRetainedOnes() throws Exception {
+        LocalDateTime expired = expiredMonth.atDay(10).atTime(9, 0);
+        insert(session, "USER", "Pergunta antiga", 4, expired, "ip-cifrado");
+        insert(session, "ASSISTANT", "Resposta antiga", 6, expired.plusSeconds(3), null);
+        insert(otherSession, "USER", "Outra sessão", 2, expired.plusHours(1), null);
+        LocalDateTime retained = retentionService.firstRetainedMonth().atDay(1).atTime(12, 0);
+        insert(session, "USER", "Pergunta mantida", 4, retained, null);
+
+        int archivedMonths = retentionService.applyRetention();
+
+        assertTrue(archivedMonths >= 1);
+        assertEquals(List.of("Pergunta mantida"), jdbcTemplate.queryForList(
+            "SELECT content FROM chat_messages WHERE session_id IN (?, ?)", String.class,
+            session.getId(), otherSession.getId()));
+        assertTrue(archiveService.listArchivedMonths().contains(expiredMonth));
+
+        try (Stream<ArchivedChatMessage> messages = archiveService.readMonth(expiredMonth, session.getId(), null)) {
+            List<ArchivedChatMessage> archived = messages.toList();
+            assertEquals(2, archived.size());
+            assertEquals("Pergunta antiga", archived.get(0).getContent());
+            assertEquals("ip-cifrado", archived.get(0).getIpAddress());
+            assertEquals(user.getId(), archived.get(0).getUserId());
+            assertEquals("ASSISTANT", archived.get(1).getRole());
+            assertEquals(6, archived.get(1).getTokensUsed());
+        }
+
+        ChatDailyStats stats = chatDailyStatsRepository
+            .findByStatDateAndUserId(expired.toLocalDate(), user.getId()).orElseThrow();
+        assertEquals(2, stats.getUserMessages());
+        assertEquals(3_000.0, stats.getAverageResponseTimeMs(), 0.001);
+        assertEquals(0, retentionService.applyRetention());
+    }
+
+    @Test
+    void shouldWriteNewSegmentInsteadOfReplacingExistingArchive() throws Exception {
+        LocalDateTime expired = expiredMonth.atDay(3).atTime(8, 0);
+        insert(session, "USER", "Primeira leva", 1, expired, null);
+        assertEquals(1, archiveService.archiveMonth(expiredMonth));
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id = ?", session.getId());
+        insert(session, "USER", "Segunda leva", 1, expired.plusDays(1), null);
+
+        assertEquals(1, archiveService.archiveMonth(expiredMonth));
+
+        assertEquals(2, archiveService.segmentsFor(expiredMonth).size());
+        assertEquals(List.of(expiredMonth), archiveService.listArchivedMonths().stream()
+            .filter(expiredMonth::equals).toList());
+        try (Stream<ArchivedChatMessage> messages = archiveService.readMonth(expiredMonth, session.getId(), null)) {
+            assertEquals(List.of("Primeira leva", "Segunda leva"),
+                messages.map(ArchivedChatMessage::getContent).toList());
+        }
+    }
+
+    @Test
+    void shouldRejectReadingMonthWithoutArchive() {
+        assertThrows(ResourceNotFoundException.class, () -> archiveService.readMonth(expiredMonth, null, null));
+    }
+
+    @Test
+    void shouldKeepSingleTableAndNameMonthlyPartitions() {
+        assertFalse(partitionService.isSupported());
+        assertFalse(partitionService.isPartitioned());
+        assertEquals("chat_messages_p202401", ChatMessagePartitionService.partitionName(YearMonth.of(2024, 1)));
+        assertEquals(Optional.of(YearMonth.of(2024, 12)), ChatMessagePartitionService.monthOf("chat_messages_p202412"));
+        assertEquals(Optional.empty(), ChatMessagePartitionService.monthOf("chat_messages_default"));
+        assertEquals(Optional.of(YearMonth.of(2024, 3)), ChatMessageArchiveService.monthOf("chat-messages-2024-03.ndjson.gz"));
+        assertEquals(Optional.empty(), ChatMessageArchiveService.monthOf("chat-messages-2024-03.ndjson.gz.tmp"));
+        assertEquals(Optional.of(YearMonth.of(2024, 3)), ChatMessageArchiveService.monthOf("chat-messages-2024-03.2.ndjson.gz"));
+        assertEquals(Optional.empty(), ChatMessageArchiveService.monthOf("chat-messages-2024-03.x.ndjson.gz"));
+    }
+
+    private void insert(ChatSession target, String role, String content, int tokens, LocalDateTime createdAt, String ip) {
+        jdbcTemplate.update(
+            "INSERT INTO chat_messages (id, session_id, role, content, tokens_used, ip_address, created_at) VALUES (NEXT VALUE FOR chat_messages_seq, ?, ?, ?, ?, ?, ?)",
+            target.getId(), role, content, tokens, ip, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,126 @@
+package projeto_gerador_ideias_backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.dto.response.ChatMessageResponse;
+import projeto_gerador_ideias_backend.dto.response.OlderMessagesResponse;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.JwtUserPrincipal;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regressão de getOlderMessages em uma sessão longa: o custo por página deve ser
+ * um número fixo de consultas, independente do tamanho da página e do histórico.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChatOlderMessagesQueryCountTest {
+
+    private static final int SESSION_MESSAGES = 5_000;
+    private static final int USER_TOKENS = 3;
+    private static final int ASSISTANT_TOKENS = 5;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private ChatSession session;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Sessão Longa");
+        user.setEmail("older-messages@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        session = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+
+        base = LocalDateTime.now().minusDays(1).withNano(0);
+        List<Object[]> rows = new ArrayList<>(SESSION_MESSAGES);
+        for (int i = 0; i < SESSION_MESSAGES; i++) {
+            boolean fromUser = i % 2 == 0;
+            rows.add(new Object[]{
+                session.getId(),
+                fromUser ? "USER" : "ASSISTANT",
+                "Mensagem " + i,
+                fromUser ? USER_TOKENS : ASSISTANT_TOKENS,
+                Timestamp.valueOf(base.plusSeconds(i))
+            });
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO chat_messages (id, session_id, role, content, tokens_used, created_at) VALUES (NEXT VALUE FOR chat_messages_seq, ?, ?, ?, ?, ?)",
+            rows);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            new JwtUserPrincipal(user.getId(), user.getEmail(), Role.USER, user.getUuid()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id = ?", session.getId());
+        chatSessionRepository.deleteById(session.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldLoadPageWithConstantQueriesAndCorrectRunningTotals() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int before = 4_000;
+        OlderMessagesResponse response = chatService.getOlderMessages(
+            session.getId(), base.plusSeconds(before).toString(), 50);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+            "Consultas executadas: " + statistics.getPrepareStatementCount());
+        assertEquals(50, response.getMessages().size());
+        assertTrue(response.isHasMore());
+
+        for (int k = 0; k < 50; k++) {
+            int index = before - 50 + k;
+            ChatMessageResponse message = response.getMessages().get(k);
+            int userMessages = index / 2 + 1;
+            int assistantMessages = (index + 1) / 2;
+            assertEquals("Mensagem " + index, message.getContent());
+            assertEquals(userMessages * USER_TOKENS, message.getTokensInput());
+            assertEquals(assistantMessages * ASSISTANT_TOKENS, message.getTokensOutput());
+        }
+    }
+}
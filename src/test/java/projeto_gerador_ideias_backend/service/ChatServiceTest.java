@@ -21,6 +21,8 @@ import projeto_gerador_ideias_backend.exceptions.TokenLimitExceededException;
 import projeto_gerador_ideias_backend.exceptions.ValidationException;
 import projeto_gerador_ideias_backend.model.*;
 import projeto_gerador_ideias_backend.repository.*;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSummaryRow;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -67,7 +69,7 @@ class ChatServiceTest {
     private ContentModerationService contentModerationService;
 
     @Mock
-    private UserCacheService userCacheService;
+    private CurrentUserProvider currentUserProvider;
 
     @Mock
     private ChatMetricsService chatMetricsService;
@@ -78,6 +80,9 @@ class ChatServiceTest {
     @Mock
     private projeto_gerador_ideias_backend.service.IpEncryptionService ipEncryptionService;
 
+    @Mock
+    private ChatStatsRollupService chatStatsRollupService;
+
     private ChatService chatService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -99,7 +104,7 @@ class ChatServiceTest {
         tecnologiaTheme = new Theme("TECNOLOGIA");
 
         lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        lenient().when(userCacheService.getCurrentAuthenticatedUser()).thenReturn(testUser);
+        lenient().when(currentUserProvider.getUser(anyString(), anyString())).thenReturn(testUser);
         lenient().when(chatProperties.getMaxHistoryMessages()).thenReturn(3);
         lenient().when(chatProperties.getMaxTokensPerMessage()).thenReturn(1000);
         lenient().when(chatProperties.getMaxCharsPerMessage()).thenReturn(1000);
@@ -147,10 +152,11 @@ class ChatServiceTest {
                 ollamaIntegrationService,
                 chatLimitValidator,
                 contentModerationService,
-                userCacheService,
+                currentUserProvider,
                 chatMetricsService,
                 ideaSummaryService,
-                ipEncryptionService
+                ipEncryptionService,
+                chatStatsRollupService
         );
 
         try {
@@ -176,6 +182,64 @@ class ChatServiceTest {
         SecurityContextHolder.clearContext();
     }
 
+    /**
+     * Simula as consultas de logs do repositório: pareia cada pergunta com a mensagem seguinte
+     * da mesma sessão, como o LEAD() faz no banco.
+     */
+    private void stubChatLogs(List<ChatMessage> messages) {
+        List<Object[]> rows = new ArrayList<>();
+        long tokensInput = 0;
+        long tokensOutput = 0;
+        long responseTimeNanos = 0;
+        int responses = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            ChatMessage message = messages.get(i);
+            if (message == null || message.getSession() == null || message.getRole() != ChatMessage.MessageRole.USER) {
+                continue;
+            }
+            ChatMessage next = null;
+            for (int j = i + 1; j < messages.size() && next == null; j++) {
+                ChatMessage candidate = messages.get(j);
+                if (candidate != null && candidate.getSession() != null
+                        && candidate.getSession().getId().equals(message.getSession().getId())) {
+                    next = candidate;
+                }
+            }
+            ChatMessage answer = next != null && next.getRole() == ChatMessage.MessageRole.ASSISTANT ? next : null;
+            ChatSession session = message.getSession();
+            User owner = session.getUser();
+            rows.add(new Object[]{
+                    message.getId(), session.getId(), session.getType(),
+                    session.getIdea() != null ? session.getIdea().getId() : null,
+                    owner.getId(), owner.getName(), owner.getEmail(),
+                    message.getContent(), message.getTokensUsed(), message.getIpAddress(), message.getCreatedAt(),
+                    answer != null ? answer.getContent() : null,
+                    answer != null ? answer.getTokensUsed() : null,
+                    answer != null ? answer.getCreatedAt() : null
+            });
+            tokensInput += message.getTokensUsed();
+            if (answer != null) {
+                tokensOutput += answer.getTokensUsed();
+                if (message.getCreatedAt() != null && answer.getCreatedAt() != null) {
+                    responseTimeNanos += java.time.Duration.between(message.getCreatedAt(), answer.getCreatedAt()).toNanos();
+                    responses++;
+                }
+            }
+        }
+        Double averageNanos = responses > 0 ? (double) responseTimeNanos / responses : null;
+        List<Object[]> summary = new ArrayList<>();
+        summary.add(new Object[]{(long) rows.size(), tokensInput, tokensOutput, averageNanos});
+        when(chatMessageRepository.summarizeInteractions(any(), any(LocalDateTime.class), any(LocalDateTime.class), any(), any()))
+                .thenReturn(summary);
+        when(chatMessageRepository.findInteractionsPage(any(), any(LocalDateTime.class), any(LocalDateTime.class), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    org.springframework.data.domain.Pageable pageable = invocation.getArgument(5);
+                    int from = (int) Math.min(pageable.getOffset(), rows.size());
+                    int to = Math.min(from + pageable.getPageSize(), rows.size());
+                    return new ArrayList<>(rows.subList(from, to));
+                });
+    }
+
     private String createMockOllamaResponse(String content) throws JsonProcessingException {
         OllamaResponse ollamaResponse = new OllamaResponse();
         OllamaResponse.Message message = new OllamaResponse.Message();
@@ -357,7 +421,7 @@ class ChatServiceTest {
 
     @Test
     void shouldGetUserIdeasSummarySuccessfully() {
-        Object[] row = new Object[]{1L, "Resumo da ideia", "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "Resumo da ideia", "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Collections.singletonList(row));
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
@@ -695,10 +759,11 @@ class ChatServiceTest {
                     ollamaIntegrationService,
                     chatLimitValidator,
                     contentModerationService,
-                    userCacheService,
+                    currentUserProvider,
                     chatMetricsService,
                     ideaSummaryService,
-                    ipEncryptionService
+                    ipEncryptionService,
+                    chatStatsRollupService
             );
 
             try {
@@ -808,8 +873,8 @@ class ChatServiceTest {
 
     @Test
     void shouldGetUserIdeasSummaryWithMultipleIdeas() {
-        Object[] row1 = new Object[]{1L, "Resumo 1", "TECNOLOGIA", LocalDateTime.now()};
-        Object[] row2 = new Object[]{2L, "Resumo 2", "TRABALHO", LocalDateTime.now()};
+        IdeaSummaryRow row1 = new IdeaSummaryRow(1L, "Resumo 1", "TECNOLOGIA", LocalDateTime.now());
+        IdeaSummaryRow row2 = new IdeaSummaryRow(2L, "Resumo 2", "TRABALHO", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Arrays.asList(row1, row2));
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
@@ -837,7 +902,7 @@ class ChatServiceTest {
     @Test
     void shouldThrowExceptionWhenUserNotAuthenticated() {
         SecurityContextHolder.clearContext();
-        when(userCacheService.getCurrentAuthenticatedUser()).thenThrow(new ResourceNotFoundException("Usuário não autenticado"));
+        when(currentUserProvider.getUser(anyString(), anyString())).thenThrow(new ResourceNotFoundException("Usuário não autenticado"));
 
         StartChatRequest request = new StartChatRequest();
         request.setIdeaId(null);
@@ -847,7 +912,7 @@ class ChatServiceTest {
 
     @Test
     void shouldThrowExceptionWhenAuthenticatedUserNotFound() {
-        when(userCacheService.getCurrentAuthenticatedUser()).thenThrow(new ResourceNotFoundException("Usuário não encontrado"));
+        when(currentUserProvider.getUser(anyString(), anyString())).thenThrow(new ResourceNotFoundException("Usuário não encontrado"));
 
         StartChatRequest request = new StartChatRequest();
         request.setIdeaId(null);
@@ -885,6 +950,39 @@ class ChatServiceTest {
         verify(chatMessageRepository).findMessagesBeforeTimestamp(anyLong(), any(LocalDateTime.class), any());
     }
 
+    @Test
+    void shouldAccumulateOlderMessageTokensFromPreviousTotalsWithoutLoadingHistory() {
+        ChatSession session = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
+        session.setId(1L);
+
+        ChatMessage userMessage = new ChatMessage(session, ChatMessage.MessageRole.USER, "Pergunta", 10);
+        userMessage.setId(5L);
+        userMessage.setCreatedAt(LocalDateTime.now().minusHours(2));
+        ChatMessage assistantMessage = new ChatMessage(session, ChatMessage.MessageRole.ASSISTANT, "Resposta", 20);
+        assistantMessage.setId(6L);
+        assistantMessage.setCreatedAt(LocalDateTime.now().minusHours(1));
+        assistantMessage.setTokensRemaining(9870);
+
+        when(chatSessionRepository.findByIdWithIdea(1L)).thenReturn(Optional.of(session));
+        when(chatMessageRepository.findMessagesBeforeTimestamp(anyLong(), any(LocalDateTime.class), any()))
+                .thenReturn(new ArrayList<>(Arrays.asList(assistantMessage, userMessage)));
+        when(chatMessageRepository.sumTokensByRoleUpTo(eq(1L), eq(userMessage.getCreatedAt()), eq(List.of(5L, 6L))))
+                .thenReturn(List.of(
+                        new Object[]{ChatMessage.MessageRole.USER, 40L},
+                        new Object[]{ChatMessage.MessageRole.ASSISTANT, 60L}));
+
+        OlderMessagesResponse response = chatService.getOlderMessages(1L, LocalDateTime.now().toString(), 20);
+
+        ChatMessageResponse first = response.getMessages().get(0);
+        ChatMessageResponse second = response.getMessages().get(1);
+        assertEquals(50, first.getTokensInput());
+        assertEquals(60, first.getTokensOutput());
+        assertEquals(50, second.getTokensInput());
+        assertEquals(80, second.getTokensOutput());
+        assertEquals(9870, second.getTokensRemaining());
+        verify(chatMessageRepository, never()).findBySessionIdOrderByCreatedAtAsc(anyLong());
+    }
+
     @Test
     void shouldThrowExceptionWhenGettingOlderMessagesWithInvalidTimestamp() {
         ChatSession session = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
@@ -965,8 +1063,7 @@ class ChatServiceTest {
         assistantMessage.setId(2L);
         assistantMessage.setCreatedAt(LocalDateTime.now().plusSeconds(1));
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(userMessage, assistantMessage));
+        stubChatLogs(Arrays.asList(userMessage, assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -986,8 +1083,7 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs("2025-11-08", 1, 10);
 
@@ -1019,8 +1115,7 @@ class ChatServiceTest {
             messages.add(assistantMsg);
         }
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(messages);
+        stubChatLogs(messages);
 
         ChatLogsResponse response = chatService.getChatLogs(null, 2, 10);
 
@@ -1049,8 +1144,7 @@ class ChatServiceTest {
         assistantMessage.setId(2L);
         assistantMessage.setCreatedAt(LocalDateTime.now().plusSeconds(1));
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(userMessage, assistantMessage));
+        stubChatLogs(Arrays.asList(userMessage, assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -1132,6 +1226,38 @@ class ChatServiceTest {
         verify(tokenCalculationService, atLeastOnce()).estimateTokens(anyString());
     }
 
+    @Test
+    void shouldUpdateSessionTokenLedgerWithoutAggregateQueries() {
+        ChatSession session = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
+        session.setId(1L);
+        session.setLastResetAt(LocalDateTime.now());
+        session.setUserTokens(100);
+        session.setAssistantTokens(200);
+
+        ChatMessageRequest messageRequest = new ChatMessageRequest();
+        messageRequest.setMessage("Teste");
+
+        when(chatSessionRepository.findByIdWithLock(1L)).thenReturn(Optional.of(session));
+        when(tokenCalculationService.getSessionTokens(session)).thenAnswer(inv -> session.getTotalTokens());
+        when(chatLimitValidator.validateMessageLimitsAndGetTokens(anyString())).thenReturn(5);
+        when(ollamaIntegrationService.callOllamaWithSystemPrompt(anyString(), anyString())).thenReturn("Resposta");
+        when(tokenCalculationService.estimateTokens("Resposta")).thenReturn(7);
+        when(chatMessageRepository.save(any(ChatMessage.class))).thenAnswer(invocation -> {
+            ChatMessage msg = invocation.getArgument(0);
+            msg.setId(1L);
+            msg.setCreatedAt(LocalDateTime.now());
+            return msg;
+        });
+
+        ChatMessageResponse response = chatService.sendMessage(1L, messageRequest, "127.0.0.1");
+
+        assertEquals(105, session.getUserTokens());
+        assertEquals(207, session.getAssistantTokens());
+        assertEquals(10000 - 312, response.getTokensRemaining());
+        verify(chatMessageRepository, never()).getTotalUserTokensBySessionId(anyLong(), any());
+        verify(chatMessageRepository, never()).findUserMessagesBySessionId(anyLong(), any());
+    }
+
     @Test
     void shouldHandleOptimisticLockExceptionInPrepareMessage() {
         ChatSession session = new ChatSession(testUser, ChatSession.ChatType.FREE, null);
@@ -1489,7 +1615,7 @@ class ChatServiceTest {
 
     @Test
     void shouldSummarizeIdeaWithShortContent() {
-        Object[] row = new Object[]{1L, "Ideia curta", "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "Ideia curta", "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Collections.singletonList(row));
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
@@ -1501,7 +1627,7 @@ class ChatServiceTest {
 
     @Test
     void shouldSummarizeIdeaWithLongContent() {
-        Object[] row = new Object[]{1L, "Esta é uma ideia muito longa que contém várias palavras e precisa ser resumida para exibição na lista de ideias do usuário. O resumo deve capturar a essência da ideia de forma concisa.", "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "Esta é uma ideia muito longa que contém várias palavras e precisa ser resumida para exibição na lista de ideias do usuário. O resumo deve capturar a essência da ideia de forma concisa.", "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Collections.singletonList(row));
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
@@ -1513,24 +1639,16 @@ class ChatServiceTest {
 
     @Test
     void shouldHandleEmptyIdeaContent() {
-        Idea idea = new Idea();
-        idea.setId(1L);
-        idea.setUser(testUser);
-        idea.setTheme(tecnologiaTheme);
-        idea.setContext("Contexto");
-        idea.setGeneratedContent("");
-        idea.setCreatedAt(LocalDateTime.now());
-
-        Object[] row = new Object[]{1L, "", "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "", "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Collections.singletonList(row));
-        when(ideaRepository.findById(1L)).thenReturn(Optional.of(idea));
-        when(ideaSummaryService.summarizeIdeaSimple("")).thenReturn("");
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
 
         assertNotNull(response);
         assertEquals(1, response.size());
-        assertEquals("", response.get(0).getSummary());
+        assertEquals(IdeaSummaryService.NO_SUMMARY, response.get(0).getSummary());
+        verify(ideaRepository, never()).findById(anyLong());
+        verify(ideaRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -1847,8 +1965,7 @@ class ChatServiceTest {
 
     @Test
     void shouldGetChatLogsWithEmptyMessages() {
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        stubChatLogs(Collections.emptyList());
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -1867,13 +1984,13 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 200);
 
         assertNotNull(response);
-        verify(chatMessageRepository).findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(chatMessageRepository).findInteractionsPage(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(), any(), eq(org.springframework.data.domain.PageRequest.of(0, 100)));
     }
 
     @Test
@@ -1885,8 +2002,7 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 0, 10);
 
@@ -1903,8 +2019,7 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, null, null);
 
@@ -1921,8 +2036,7 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -1945,8 +2059,7 @@ class ChatServiceTest {
         msg2.setId(2L);
         msg2.setCreatedAt(LocalDateTime.now().plusSeconds(1));
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(msg1, msg2));
+        stubChatLogs(Arrays.asList(msg1, msg2));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -1956,57 +2069,29 @@ class ChatServiceTest {
 
     @Test
     void shouldGetUserIdeasSummaryWithEmptyContent() {
-        Idea idea1 = new Idea();
-        idea1.setId(1L);
-        idea1.setUser(testUser);
-        idea1.setTheme(tecnologiaTheme);
-        idea1.setContext("Contexto 1");
-        idea1.setGeneratedContent("");
-        idea1.setCreatedAt(LocalDateTime.now());
-
-        Idea idea2 = new Idea();
-        idea2.setId(2L);
-        idea2.setUser(testUser);
-        idea2.setTheme(tecnologiaTheme);
-        idea2.setContext("Contexto 2");
-        idea2.setGeneratedContent("Conteúdo válido");
-        idea2.setCreatedAt(LocalDateTime.now());
-
-        Object[] row1 = new Object[]{1L, "", "TECNOLOGIA", LocalDateTime.now()};
-        Object[] row2 = new Object[]{2L, "Resumo", "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row1 = new IdeaSummaryRow(1L, "", "TECNOLOGIA", LocalDateTime.now());
+        IdeaSummaryRow row2 = new IdeaSummaryRow(2L, "Resumo", "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Arrays.asList(row1, row2));
-        when(ideaRepository.findById(1L)).thenReturn(Optional.of(idea1));
-        when(ideaRepository.findById(2L)).thenReturn(Optional.of(idea2));
-        when(ideaSummaryService.summarizeIdeaSimple("")).thenReturn("Sem resumo");
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
 
         assertNotNull(response);
         assertEquals(2, response.size());
-        assertEquals("Sem resumo", response.get(0).getSummary());
+        assertEquals(IdeaSummaryService.NO_SUMMARY, response.get(0).getSummary());
         assertEquals("Resumo", response.get(1).getSummary());
     }
 
     @Test
     void shouldGetUserIdeasSummaryWithNullContent() {
-        Idea idea = new Idea();
-        idea.setId(1L);
-        idea.setUser(testUser);
-        idea.setTheme(tecnologiaTheme);
-        idea.setContext("Contexto");
-        idea.setGeneratedContent(null);
-        idea.setCreatedAt(LocalDateTime.now());
-
-        Object[] row = new Object[]{1L, null, "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, null, "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(1L)).thenReturn(Collections.singletonList(row));
-        when(ideaRepository.findById(1L)).thenReturn(Optional.of(idea));
-        when(ideaSummaryService.summarizeIdeaSimple(null)).thenReturn("Sem resumo disponível");
 
         List<IdeaSummaryResponse> response = chatService.getUserIdeasSummary();
 
         assertNotNull(response);
         assertEquals(1, response.size());
-        assertNotNull(response.get(0).getSummary());
+        assertEquals(IdeaSummaryService.NO_SUMMARY, response.get(0).getSummary());
+        verify(ideaSummaryService, never()).summarizeIdeaSimple(any());
     }
 
     @Test
@@ -2109,8 +2194,7 @@ class ChatServiceTest {
         assistantMessage.setId(1L);
         assistantMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(assistantMessage));
+        stubChatLogs(Collections.singletonList(assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2124,8 +2208,7 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2135,8 +2218,7 @@ class ChatServiceTest {
 
     @Test
     void shouldGetChatLogsWithNullMessage() {
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(null));
+        stubChatLogs(Collections.singletonList(null));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2157,8 +2239,7 @@ class ChatServiceTest {
         assistantMessage2.setId(2L);
         assistantMessage2.setCreatedAt(LocalDateTime.now().plusMinutes(1));
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(assistantMessage1, assistantMessage2));
+        stubChatLogs(Arrays.asList(assistantMessage1, assistantMessage2));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2180,8 +2261,7 @@ class ChatServiceTest {
         assistantMessage.setId(2L);
         assistantMessage.setCreatedAt(LocalDateTime.now().plusSeconds(1));
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(userMessage, assistantMessage));
+        stubChatLogs(Arrays.asList(userMessage, assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2202,8 +2282,7 @@ class ChatServiceTest {
         assistantMessage.setId(2L);
         assistantMessage.setCreatedAt(null);
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(userMessage, assistantMessage));
+        stubChatLogs(Arrays.asList(userMessage, assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2224,8 +2303,7 @@ class ChatServiceTest {
         assistantMessage.setId(2L);
         assistantMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(userMessage, assistantMessage));
+        stubChatLogs(Arrays.asList(userMessage, assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2236,8 +2314,7 @@ class ChatServiceTest {
 
     @Test
     void shouldGetChatLogsWithEmptyInteractionsSummary() {
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        stubChatLogs(Collections.emptyList());
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2258,8 +2335,7 @@ class ChatServiceTest {
         userMessage.setId(1L);
         userMessage.setCreatedAt(LocalDateTime.now());
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(userMessage));
+        stubChatLogs(Collections.singletonList(userMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2282,8 +2358,7 @@ class ChatServiceTest {
         assistantMessage.setId(2L);
         assistantMessage.setCreatedAt(userTime.plusSeconds(2));
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(userMessage, assistantMessage));
+        stubChatLogs(Arrays.asList(userMessage, assistantMessage));
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -2312,8 +2387,7 @@ class ChatServiceTest {
             messages.add(assistantMsg);
         }
 
-        when(chatMessageRepository.findByUserIdAndDateRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(messages);
+        stubChatLogs(messages);
 
         ChatLogsResponse response = chatService.getChatLogs(null, 1, 10);
 
@@ -0,0 +1,250 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import projeto_gerador_ideias_backend.dto.response.ChatStatsResponse;
+import projeto_gerador_ideias_backend.dto.response.LogsSummary;
+import projeto_gerador_ideias_backend.exceptions.ChatPermissionException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.ChatDailyStats;
+import projeto_gerador_ideias_backend.model.ChatSession;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.ChatDailyStatsRepository;
+import projeto_gerador_ideias_backend.repository.ChatSessionRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.JwtUserPrincipal;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatStatsRollupServiceTest {
+
+    @Autowired
+    private ChatStatsRollupService chatStatsRollupService;
+
+    @Autowired
+    private ChatDailyStatsRepository chatDailyStatsRepository;
+
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private ChatSession session;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Usuário Agregado");
+        user.setEmail("chat-stats@example.com");
+        user.setPassword("password");
+        user.setRole(Role.ADMIN);
+        user = userRepository.save(user);
+        session = chatSessionRepository.save(new ChatSession(user, ChatSession.ChatType.FREE, null));
+        day = LocalDate.now().minusDays(20);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            new JwtUserPrincipal(user.getId(), user.getEmail(), Role.ADMIN, user.getUuid()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id = ?", session.getId());
+        jdbcTemplate.update("DELETE FROM chat_daily_stats WHERE stat_date BETWEEN ? AND ?", day, day.plusDays(1));
+        chatSessionRepository.deleteById(session.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldRecordInteractionsIntoUserRowAndSumGlobalOnRead() {
+        chatStatsRollupService.recordInteraction(user.getId(), day, 4, 6, 300L);
+        chatStatsRollupService.recordInteraction(user.getId(), day, 2, null, null);
+
+        ChatDailyStats userRow = chatDailyStatsRepository.findByStatDateAndUserId(day, user.getId()).orElseThrow();
+        assertEquals(2, userRow.getUserMessages());
+        assertEquals(1, userRow.getAssistantMessages());
+        assertEquals(6, userRow.getUserTokens());
+        assertEquals(6, userRow.getAssistantTokens());
+        assertEquals(300.0, userRow.getAverageResponseTimeMs(), 0.001);
+        assertEquals(1, userRow.getResponseHistogram()[2]);
+
+        LogsSummary global = chatStatsRollupService.findDailySummary(null, day).orElseThrow();
+        assertEquals(2, global.getTotalInteractions());
+        assertEquals(12, global.getTotalTokens());
+        assertEquals(300.0, global.getAverageResponseTimeMs(), 0.001);
+        assertFalse(chatDailyStatsRepository.existsByStatDateAndUserId(day, ChatDailyStats.GLOBAL_USER_ID));
+    }
+
+    @Test
+    void shouldRecomputeDayIdempotentlyOverwritingIncrementalDrift() {
+        insertInteraction(day.atTime(9, 0), 3, 5, 2);
+        insertInteraction(day.atTime(10, 0), 3, 5, 40);
+        insertInteraction(day.atTime(11, 0), 3, null, 0);
+        chatStatsRollupService.recordInteraction(user.getId(), day, 100, 100, 1L);
+
+        chatStatsRollupService.recomputeDay(day);
+        chatStatsRollupService.recomputeDay(day);
+
+        LogsSummary summary = chatStatsRollupService.findDailySummary(user.getId(), day).orElseThrow();
+        assertEquals(3, summary.getTotalInteractions());
+        assertEquals(9, summary.getTotalTokensInput());
+        assertEquals(10, summary.getTotalTokensOutput());
+        assertEquals(21_000.0, summary.getAverageResponseTimeMs(), 0.001);
+        assertEquals(3, chatStatsRollupService.findDailySummary(null, day).orElseThrow().getTotalInteractions());
+        ChatDailyStats globalRow = chatDailyStatsRepository.findByStatDateAndUserId(day, ChatDailyStats.GLOBAL_USER_ID).orElseThrow();
+        assertTrue(globalRow.isConsolidatedTotal());
+        assertEquals(3, globalRow.getUserMessages());
+        assertEquals(1, chatDailyStatsRepository.findByStatDate(day).stream().filter(ChatDailyStats::isGlobal).count());
+
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE session_id = ?", session.getId());
+        chatStatsRollupService.recomputeDay(day);
+
+        assertEquals(0, chatStatsRollupService.findDailySummary(user.getId(), day).orElseThrow().getTotalInteractions());
+    }
+
+    @Test
+    void shouldKeepInteractionsRecordedAfterTheRecomputeSnapshot() {
+        insertInteraction(day.atTime(9, 0), 3, 5, 2);
+        ChatStatsRollupService.DaySnapshot snapshot = chatStatsRollupService.snapshotDay(day);
+        chatStatsRollupService.recordInteraction(user.getId(), day, 4, 6, 300L);
+
+        chatStatsRollupService.applyRecompute(snapshot);
+
+        LogsSummary summary = chatStatsRollupService.findDailySummary(user.getId(), day).orElseThrow();
+        assertEquals(2, summary.getTotalInteractions());
+        assertEquals(7, summary.getTotalTokensInput());
+        assertEquals(11, summary.getTotalTokensOutput());
+    }
+
+    @Test
+    void shouldIgnoreLegacyGlobalRowsUntilRecomputeConsolidatesTheDay() {
+        ChatDailyStats legacy = new ChatDailyStats(day, ChatDailyStats.GLOBAL_USER_ID);
+        legacy.recordInteraction(50, 50, 1L);
+        chatDailyStatsRepository.save(legacy);
+        jdbcTemplate.update("UPDATE chat_daily_stats SET updated_at = ? WHERE stat_date = ? AND user_id = ?",
+            Timestamp.valueOf(day.atTime(12, 0)), day, ChatDailyStats.GLOBAL_USER_ID);
+        insertInteraction(day.atTime(9, 0), 4, 6, 1);
+        chatStatsRollupService.recordInteraction(user.getId(), day, 4, 6, 1_000L);
+        chatStatsRollupService.recordInteraction(user.getId(), day, 4, 6, 1_000L);
+
+        assertEquals(2, chatStatsRollupService.findDailySummary(null, day).orElseThrow().getTotalInteractions());
+
+        chatStatsRollupService.recomputeDay(day);
+
+        ChatDailyStats globalRow = chatDailyStatsRepository.findByStatDateAndUserId(day, ChatDailyStats.GLOBAL_USER_ID).orElseThrow();
+        assertTrue(globalRow.isConsolidatedTotal());
+        assertEquals(1, globalRow.getUserMessages());
+        assertEquals(1, chatStatsRollupService.findDailySummary(null, day).orElseThrow().getTotalInteractions());
+    }
+
+    @Test
+    void shouldReadConsolidatedGlobalRowForClosedDaysAndSumOpenDays() {
+        insertInteraction(day.atTime(9, 0), 3, 5, 2);
+        chatStatsRollupService.recomputeDay(day);
+        // Uma linha de usuário alterada depois da consolidação não muda o total global do dia encerrado
+        jdbcTemplate.update("UPDATE chat_daily_stats SET user_messages = 100 WHERE stat_date = ? AND user_id = ?",
+            day, user.getId());
+        chatStatsRollupService.recordInteraction(user.getId(), day.plusDays(1), 1, 1, 8_000L);
+
+        ChatStatsResponse global = chatStatsRollupService.getStats(day.toString(), day.plusDays(1).toString(), null);
+
+        assertEquals(2, global.getDays().size());
+        assertEquals(1L, global.getDays().get(0).getTotalInteractions());
+        assertEquals(1L, global.getDays().get(1).getTotalInteractions());
+        assertEquals(2, global.getSummary().getTotalInteractions());
+        assertEquals(2_500L, global.getP50ResponseTimeMs());
+        assertEquals(10_000L, global.getP95ResponseTimeMs());
+    }
+
+    @Test
+    void shouldSumRangeAndApproximatePercentilesFromHistograms() {
+        for (int i = 0; i < 19; i++) {
+            chatStatsRollupService.recordInteraction(user.getId(), day, 1, 1, 200L);
+        }
+        chatStatsRollupService.recordInteraction(user.getId(), day.plusDays(1), 1, 1, 8_000L);
+
+        ChatStatsResponse stats = chatStatsRollupService.getStats(
+            day.toString(), day.plusDays(1).toString(), user.getId());
+
+        assertEquals(2, stats.getDays().size());
+        assertEquals(20, stats.getSummary().getTotalInteractions());
+        assertEquals(40, stats.getSummary().getTotalTokens());
+        assertEquals(250L, stats.getP50ResponseTimeMs());
+        assertEquals(250L, stats.getP95ResponseTimeMs());
+        assertEquals(590.0, stats.getSummary().getAverageResponseTimeMs(), 0.001);
+        assertEquals(10_000L, ChatDailyStats.percentileMs(new long[]{0, 0, 0, 0, 0, 0, 1, 0, 0, 0}, 0.99));
+        assertNull(ChatDailyStats.percentileMs(new long[10], 0.5));
+
+        ChatStatsResponse global = chatStatsRollupService.getStats(day.toString(), day.plusDays(1).toString(), null);
+        assertEquals(2, global.getDays().size());
+        assertEquals(20, global.getSummary().getTotalInteractions());
+        assertEquals(250L, global.getP95ResponseTimeMs());
+    }
+
+    @Test
+    void shouldRejectInvalidStatsPeriod() {
+        assertThrows(ValidationException.class,
+            () -> chatStatsRollupService.getStats("2025-02-01", "2025-01-01", null));
+        assertThrows(ValidationException.class,
+            () -> chatStatsRollupService.getStats("2020-01-01", "2025-01-01", null));
+        assertThrows(ValidationException.class,
+            () -> chatStatsRollupService.recomputeRangeAsAdmin("01/01/2025", null));
+        assertThrows(ValidationException.class,
+            () -> chatStatsRollupService.recomputeRangeAsAdmin("2000-01-01", "2000-01-02"));
+    }
+
+    @Test
+    void shouldAllowRecomputingOldDaysWhenRetentionIsDisabled() {
+        ChatStatsRollupService target = AopTestUtils.getTargetObject(chatStatsRollupService);
+        ReflectionTestUtils.setField(target, "retentionEnabled", false);
+        try {
+            assertEquals(1, chatStatsRollupService.recomputeRangeAsAdmin("2000-01-01", "2000-01-01"));
+        } finally {
+            ReflectionTestUtils.setField(target, "retentionEnabled", true);
+        }
+    }
+
+    @Test
+    void shouldDenyStatsForNonAdmin() {
+        user.setRole(Role.USER);
+        userRepository.save(user);
+
+        assertThrows(ChatPermissionException.class, () -> chatStatsRollupService.getStats(null, null, null));
+        assertThrows(ChatPermissionException.class, () -> chatStatsRollupService.recomputeRangeAsAdmin(null, null));
+    }
+
+    private void insertInteraction(LocalDateTime askedAt, int userTokens, Integer assistantTokens, int responseSeconds) {
+        jdbcTemplate.update(
+            "INSERT INTO chat_messages (id, session_id, role, content, tokens_used, created_at) VALUES (NEXT VALUE FOR chat_messages_seq, ?, ?, ?, ?, ?)",
+            session.getId(), "USER", "Pergunta", userTokens, Timestamp.valueOf(askedAt));
+        if (assistantTokens != null) {
+            jdbcTemplate.update(
+                "INSERT INTO chat_messages (id, session_id, role, content, tokens_used, created_at) VALUES (NEXT VALUE FOR chat_messages_seq, ?, ?, ?, ?, ?)",
+                session.getId(), "ASSISTANT", "Resposta", assistantTokens,
+                Timestamp.valueOf(askedAt.plusSeconds(responseSeconds)));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package projeto_gerador_ideias_backend.service;
 
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,7 +10,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -31,24 +34,18 @@ class EmailServiceTest {
     void setUp() {
         ReflectionTestUtils.setField(emailService, "fromEmail", FROM_EMAIL);
         ReflectionTestUtils.setField(emailService, "adminEmail", ADMIN_EMAIL);
+        lenient().when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
     }
 
     @Test
-    void deveCriarEmailComInformacoesCorretas() {
+    void deveCriarEmailComInformacoesCorretas() throws Exception {
         String userEmail = "usuario@teste.com";
-        String userName = "João Silva";
-        int failureCount = 4;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
-
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
+        String userName = "José da Silva Júnior";
 
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
+        MimeMessage sentMessage = send(userEmail, userName, 4);
 
-        assertEquals(FROM_EMAIL, sentMessage.getFrom());
-        assertEquals(ADMIN_EMAIL, sentMessage.getTo()[0]);
+        assertEquals(FROM_EMAIL, ((InternetAddress) sentMessage.getFrom()[0]).getAddress());
+        assertEquals(ADMIN_EMAIL, ((InternetAddress) sentMessage.getAllRecipients()[0]).getAddress());
         assertEquals("[ALERTA] 4 falhas consecutivas na comunicação com a IA", sentMessage.getSubject());
 
         String expectedText = String.format("""
@@ -58,137 +55,36 @@ class EmailServiceTest {
                 
                 - Sistema de Monitoramento CriAItor
                 """, userName, userEmail).strip();
-        assertEquals(expectedText, sentMessage.getText());
+        assertEquals(expectedText, sentMessage.getContent());
     }
 
     @Test
-    void deveEnviarEmailComDiferentesContagensDeFalhas() {
-        String userEmail = "usuario@teste.com";
-        String userName = "Maria Santos";
-        int failureCount = 8;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
+    void deveFormatarAssuntoComContagemCorreta() throws Exception {
+        MimeMessage sentMessage = send("usuario@teste.com", "Teste", 12);
 
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertEquals("[ALERTA] 8 falhas consecutivas na comunicação com a IA", sentMessage.getSubject());
+        assertEquals("[ALERTA] 12 falhas consecutivas na comunicação com a IA", sentMessage.getSubject());
     }
 
     @Test
-    void deveConterEmailDoUsuarioNoCorpoMensagem() {
-        String userEmail = "teste@exemplo.com";
-        String userName = "Teste User";
-        int failureCount = 4;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
-
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
+    void deveEnviarAlertaDoOutboxComMessageIdDaChave() throws Exception {
+        MimeMessage sentMessage = send("usuario@teste.com", "João Silva", 4);
 
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertTrue(sentMessage.getText().contains(userEmail));
-        assertTrue(sentMessage.getText().contains(userName));
+        assertEquals("<outbox-42@criaitor.com>", sentMessage.getHeader("Message-ID", null));
     }
 
     @Test
-    void deveConterMensagemDeMonitoramentoNoEmail() {
-        String userEmail = "usuario@teste.com";
-        String userName = "Teste";
-        int failureCount = 4;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
+    void devePropagarFalhaDoAlertaDoOutbox() {
+        doThrow(new MailSendException("SMTP indisponível")).when(mailSender).send(any(MimeMessage.class));
 
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertTrue(sentMessage.getText().contains("Verificar possível instabilidade no Sistema"));
-        assertTrue(sentMessage.getText().contains("Sistema de Monitoramento CriAItor"));
+        assertThrows(MailSendException.class, () ->
+                emailService.sendSystemErrorNotification("usuario@teste.com", "João Silva", 4, "outbox-42"));
     }
 
-    @Test
-    void naoDeveLancarExcecaoQuandoEnvioFalhar() {
-        String userEmail = "usuario@teste.com";
-        String userName = "Teste";
-        int failureCount = 4;
-
-        doThrow(new RuntimeException("Erro ao enviar email"))
-                .when(mailSender).send(any(SimpleMailMessage.class));
-
-        assertDoesNotThrow(() ->
-                emailService.sendSystemErrorNotification(userEmail, userName, failureCount)
-        );
-
-        verify(mailSender, timeout(1000).times(1)).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    void deveEnviarEmailParaAdminConfigurado() {
-        String userEmail = "usuario@teste.com";
-        String userName = "Teste";
-        int failureCount = 4;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
-
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
+    private MimeMessage send(String userEmail, String userName, int failureCount) throws Exception {
+        emailService.sendSystemErrorNotification(userEmail, userName, failureCount, "outbox-42");
 
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertArrayEquals(new String[]{ADMIN_EMAIL}, sentMessage.getTo());
+        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(messageCaptor.capture());
+        return messageCaptor.getValue();
     }
-
-    @Test
-    void deveUsarEmailRemetenteConfigurado() {
-        String userEmail = "usuario@teste.com";
-        String userName = "Teste";
-        int failureCount = 4;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
-
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertEquals(FROM_EMAIL, sentMessage.getFrom());
-    }
-
-    @Test
-    void deveFormatarAssuntoComContagemCorreta() {
-        String userEmail = "usuario@teste.com";
-        String userName = "Teste";
-        int failureCount = 12;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
-
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertTrue(sentMessage.getSubject().contains("12 falhas"));
-    }
-
-    @Test
-    void deveEnviarEmailComNomeUsuarioEspecial() {
-        String userEmail = "usuario@teste.com";
-        String userName = "José da Silva Júnior";
-        int failureCount = 4;
-
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-
-        emailService.sendSystemErrorNotification(userEmail, userName, failureCount);
-
-        verify(mailSender, timeout(1000).times(1)).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertTrue(sentMessage.getText().contains(userName));
-    }
-
-}
\ No newline at end of file
+}
@@ -21,7 +21,7 @@ class FailureCounterServiceTest {
     private CacheManager cacheManager;
 
     @Mock
-    private EmailService emailService;
+    private OutboxService outboxService;
 
     private FailureCounterService failureCounterService;
 
@@ -34,7 +34,7 @@ class FailureCounterServiceTest {
     void setUp() {
         cache = new ConcurrentMapCache("consecutiveFailureCache");
         when(cacheManager.getCache("consecutiveFailureCache")).thenReturn(cache);
-        failureCounterService = new FailureCounterService(cacheManager, emailService);
+        failureCounterService = new FailureCounterService(cacheManager, outboxService);
     }
 
     @Test
@@ -44,7 +44,7 @@ class FailureCounterServiceTest {
         Cache.ValueWrapper valueWrapper = cache.get(USER_EMAIL);
         assertNotNull(valueWrapper);
         assertEquals(1, valueWrapper.get());
-        verify(emailService, never()).sendSystemErrorNotification(anyString(), anyString(), anyInt());
+        verify(outboxService, never()).publishFailureAlert(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -56,7 +56,7 @@ class FailureCounterServiceTest {
         Cache.ValueWrapper valueWrapper = cache.get(USER_EMAIL);
         assertNotNull(valueWrapper);
         assertEquals(3, valueWrapper.get());
-        verify(emailService, never()).sendSystemErrorNotification(anyString(), anyString(), anyInt());
+        verify(outboxService, never()).publishFailureAlert(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -66,7 +66,7 @@ class FailureCounterServiceTest {
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
 
-        verify(emailService, times(1)).sendSystemErrorNotification(USER_EMAIL, USER_NAME, 4);
+        verify(outboxService, times(1)).publishFailureAlert(USER_EMAIL, USER_NAME, 4);
     }
 
     @Test
@@ -94,7 +94,7 @@ class FailureCounterServiceTest {
         assertNotNull(valueWrapper);
         assertEquals(2, valueWrapper.get());
 
-        verify(emailService, times(1)).sendSystemErrorNotification(anyString(), anyString(), anyInt());
+        verify(outboxService, times(1)).publishFailureAlert(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -109,7 +109,7 @@ class FailureCounterServiceTest {
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
 
-        verify(emailService, times(2)).sendSystemErrorNotification(USER_EMAIL, USER_NAME, 4);
+        verify(outboxService, times(2)).publishFailureAlert(USER_EMAIL, USER_NAME, 4);
     }
 
     @Test
@@ -153,7 +153,7 @@ class FailureCounterServiceTest {
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
 
-        verify(emailService, never()).sendSystemErrorNotification(anyString(), anyString(), anyInt());
+        verify(outboxService, never()).publishFailureAlert(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -161,7 +161,7 @@ class FailureCounterServiceTest {
         when(cacheManager.getCache("consecutiveFailureCache")).thenReturn(null);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
-                new FailureCounterService(cacheManager, emailService)
+                new FailureCounterService(cacheManager, outboxService)
         );
 
         assertTrue(exception.getMessage().contains("Cache 'consecutiveFailureCache' não encontrado"));
@@ -179,7 +179,7 @@ class FailureCounterServiceTest {
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
 
-        verify(emailService).sendSystemErrorNotification(
+        verify(outboxService).publishFailureAlert(
                 USER_EMAIL,
                 USER_NAME,
                 4
@@ -226,7 +226,7 @@ class FailureCounterServiceTest {
         Cache.ValueWrapper valueWrapper = cache.get(USER_EMAIL);
         assertNotNull(valueWrapper);
         assertEquals(3, valueWrapper.get());
-        verify(emailService, never()).sendSystemErrorNotification(anyString(), anyString(), anyInt());
+        verify(outboxService, never()).publishFailureAlert(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -234,7 +234,7 @@ class FailureCounterServiceTest {
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
         failureCounterService.handleFailure(USER_EMAIL, USER_NAME);
         
-        verify(emailService, never()).sendSystemErrorNotification(anyString(), anyString(), anyInt());
+        verify(outboxService, never()).publishFailureAlert(anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -251,6 +251,6 @@ class FailureCounterServiceTest {
         
         Cache.ValueWrapper after = cache.get(USER_EMAIL);
         assertNull(after);
-        verify(emailService, times(1)).sendSystemErrorNotification(USER_EMAIL, USER_NAME, 4);
+        verify(outboxService, times(1)).publishFailureAlert(USER_EMAIL, USER_NAME, 4);
     }
 }
\ No newline at end of file
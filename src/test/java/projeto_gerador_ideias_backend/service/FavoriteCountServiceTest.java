@@ -0,0 +1,143 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.ThemeRepository;
+import projeto_gerador_ideias_backend.repository.UserFavoriteRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.repository.UserStatsRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FavoriteCountServiceTest {
+
+    @Autowired
+    private FavoriteCountService favoriteCountService;
+
+    @Autowired
+    private UserFavoriteRepository userFavoriteRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Theme theme;
+    private List<Long> ideaIds;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Usuário Favoritos");
+        user.setEmail("favorite-count@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        theme = themeRepository.save(new Theme("FAVORITOS"));
+        ideaIds = ideaRepository.saveAll(IntStream.range(0, 4).mapToObj(i -> {
+            Idea idea = new Idea(theme, "Contexto " + i, "Conteúdo", "mistral", 100L);
+            idea.setUser(user);
+            return idea;
+        }).toList()).stream().map(Idea::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_favorites WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM user_stats WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM ideas WHERE user_id = ?", user.getId());
+        themeRepository.deleteById(theme.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldCountExistingFavoritesOnceAndApplyDeltasInTheSameTransaction() {
+        favorite(ideaIds.subList(0, 2), 0);
+        assertEquals(2L, favoriteCountService.getCount(user.getId()));
+
+        favorite(List.of(ideaIds.get(2)), 1);
+        unfavorite(List.of(ideaIds.get(0)));
+
+        assertEquals(2L, favoriteCountService.getCount(user.getId()));
+        assertEquals(2L, userStatsRepository.findById(user.getId()).orElseThrow().getFavoriteCount());
+    }
+
+    @Test
+    void shouldNotCountTheSameFavoriteTwiceWhenRowIsCreatedByTheChange() {
+        favorite(List.of(ideaIds.get(0)), 1);
+
+        assertEquals(1L, favoriteCountService.getCount(user.getId()));
+    }
+
+    @Test
+    void shouldFillCountOfRowsCreatedBeforeTheColumn() {
+        favorite(ideaIds.subList(0, 3), 0);
+        favoriteCountService.getCount(user.getId());
+        jdbcTemplate.update("UPDATE user_stats SET favorite_count = NULL WHERE user_id = ?", user.getId());
+
+        favorite(List.of(ideaIds.get(3)), 1);
+
+        assertEquals(4L, favoriteCountService.getCount(user.getId()));
+    }
+
+    @Test
+    void shouldRollBackDeltaWithTheFavoriteChange() {
+        assertEquals(0L, favoriteCountService.getCount(user.getId()));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            userFavoriteRepository.addFavorites(user.getId(), List.of(ideaIds.get(0)));
+            favoriteCountService.adjust(user.getId(), 1);
+            throw new IllegalStateException("falha depois de favoritar");
+        }));
+
+        assertEquals(0L, favoriteCountService.getCount(user.getId()));
+    }
+
+    /**
+     * Favorita e ajusta a contagem na mesma transação, como {@code IdeaService}; {@code delta} 0
+     * simula favoritos gravados antes de a contagem existir.
+     */
+    private void favorite(List<Long> ids, long delta) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userFavoriteRepository.addFavorites(user.getId(), ids);
+            favoriteCountService.adjust(user.getId(), delta);
+        });
+    }
+
+    private void unfavorite(List<Long> ids) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userFavoriteRepository.removeFavorites(user.getId(), ids);
+            favoriteCountService.adjust(user.getId(), -ids.size());
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.model.UserStats;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.ThemeRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.repository.UserStatsRepository;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdeaGenerationStatsServiceTest {
+
+    @Autowired
+    private IdeaGenerationStatsService ideaGenerationStatsService;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Theme theme;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Usuário Estatísticas");
+        user.setEmail("generation-stats@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        theme = themeRepository.save(new Theme("ESTATISTICAS"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_stats WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM ideas WHERE user_id = ?", user.getId());
+        themeRepository.deleteById(theme.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldBuildMissingRowFromExistingIdeas() {
+        saveIdeas(400L, 1_800L);
+
+        UserStats stats = ideaGenerationStatsService.getStats(user.getId());
+
+        assertEquals(2, stats.getIdeaCount());
+        assertEquals(1_100.0, stats.getAverageExecutionTimeMs(), 0.001);
+        assertEquals(700.0, stats.getExecutionTimeStdDevMs(), 0.001);
+        assertEquals(500L, stats.percentileMs(0.5));
+        assertEquals(2_000L, stats.percentileMs(0.95));
+        assertTrue(userStatsRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void shouldIncrementExistingRowWithoutRescanningIdeas() {
+        saveIdeas(400L);
+        ideaGenerationStatsService.getStats(user.getId());
+        saveIdeas(999_999L);
+
+        ideaGenerationStatsService.recordIdea(user.getId(), 4_000L);
+
+        UserStats stats = userStatsRepository.findById(user.getId()).orElseThrow();
+        assertEquals(2, stats.getIdeaCount());
+        assertEquals(2_200.0, stats.getAverageExecutionTimeMs(), 0.001);
+        assertEquals(5_000L, stats.percentileMs(0.95));
+    }
+
+    @Test
+    void shouldCreateRowOnFirstRecordedIdea() {
+        saveIdeas(1_000L);
+
+        ideaGenerationStatsService.recordIdea(user.getId(), 3_000L);
+
+        UserStats stats = userStatsRepository.findById(user.getId()).orElseThrow();
+        assertEquals(2, stats.getIdeaCount());
+        assertEquals(4_000L, stats.getExecutionTimeTotalMs());
+        assertEquals(1_000_000.0 + 9_000_000.0, stats.getExecutionTimeSumSquares(), 0.001);
+    }
+
+    @Test
+    void shouldReportEmptyStatsForUserWithoutIdeas() {
+        UserStats stats = ideaGenerationStatsService.getStats(user.getId());
+
+        assertEquals(0, stats.getIdeaCount());
+        assertNull(stats.getAverageExecutionTimeMs());
+        assertNull(stats.percentileMs(0.5));
+    }
+
+    private void saveIdeas(Long... executionTimes) {
+        List<Idea> ideas = Arrays.stream(executionTimes).map(time -> {
+            Idea idea = new Idea(theme, "Contexto", "Conteúdo", "mistral", time);
+            idea.setUser(user);
+            return idea;
+        }).toList();
+        ideaRepository.saveAll(ideas);
+    }
+}
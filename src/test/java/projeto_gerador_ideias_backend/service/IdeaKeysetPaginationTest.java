@@ -0,0 +1,205 @@
+package projeto_gerador_ideias_backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.dto.response.IdeaListItemResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaSliceResponse;
+import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.ThemeRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.JwtUserPrincipal;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paginação por cursor das ideias: percorre todas as páginas sem repetir nem pular ideias,
+ * inclusive com datas de criação repetidas, e cada página custa uma única consulta que
+ * traz só a prévia do conteúdo.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class IdeaKeysetPaginationTest {
+
+    private static final int IDEAS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Theme theme;
+    private List<Idea> ideas;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Usuário Cursor");
+        user.setEmail("keyset@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        theme = themeRepository.save(new Theme("KEYSET"));
+
+        ideas = new ArrayList<>();
+        for (int i = 0; i < IDEAS; i++) {
+            Idea idea = new Idea(theme, "Contexto " + i, "Conteúdo " + i, "mistral", 100L);
+            idea.setUser(user);
+            ideas.add(idea);
+        }
+        ideas = ideaRepository.saveAll(ideas);
+
+        // Grupos de três ideias com a mesma data forçam o desempate pelo id.
+        LocalDateTime base = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < ideas.size(); i++) {
+            LocalDateTime createdAt = base.plusMinutes(i / 3);
+            jdbcTemplate.update("UPDATE ideas SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(createdAt), ideas.get(i).getId());
+            ideas.get(i).setCreatedAt(createdAt);
+        }
+        for (int i = 0; i < ideas.size(); i += 2) {
+            jdbcTemplate.update("INSERT INTO user_favorites (user_id, idea_id) VALUES (?, ?)",
+                    user.getId(), ideas.get(i).getId());
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(user.getId(), user.getEmail(), Role.USER, user.getUuid()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM user_favorites WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM ideas WHERE user_id = ?", user.getId());
+        themeRepository.deleteById(theme.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldWalkMyIdeasWithoutGapsOrDuplicates() {
+        List<Long> expected = ideas.stream()
+                .sorted(Comparator.comparing(Idea::getCreatedAt).thenComparing(Idea::getId).reversed())
+                .map(Idea::getId)
+                .toList();
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            IdeaSliceResponse slice = ideaService.listarMinhasIdeiasPorCursor(theme.getId(), null, null, cursor, PAGE_SIZE);
+            slice.getContent().stream().map(IdeaListItemResponse::getId).forEach(walked::add);
+            assertEquals(slice.isHasNext(), slice.getNextCursor() != null);
+            cursor = slice.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        assertEquals((IDEAS + PAGE_SIZE - 1) / PAGE_SIZE, pages);
+    }
+
+    @Test
+    void shouldWalkFavoritesAndHistoryWithCursor() {
+        List<Long> favorites = new ArrayList<>();
+        String cursor = null;
+        do {
+            IdeaSliceResponse slice = ideaService.listarIdeiasFavoritadasPorCursor(null, null, null, cursor, PAGE_SIZE);
+            slice.getContent().stream().map(IdeaListItemResponse::getId).forEach(favorites::add);
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        assertEquals((IDEAS + 1) / 2, favorites.size());
+        assertEquals(favorites.size(), favorites.stream().distinct().count());
+
+        IdeaSliceResponse history = ideaService.listarHistoricoIdeiasPorCursor(user.getId(), theme.getId(), null, null, null, IDEAS);
+        assertEquals(IDEAS, history.getContent().size());
+        assertFalse(history.isHasNext());
+        assertNull(history.getNextCursor());
+        assertEquals("KEYSET", history.getContent().get(0).getTheme());
+        assertFalse(history.getContent().get(0).isTruncated());
+    }
+
+    @Test
+    void shouldListPreviewAndServeFullContentOnDetail() {
+        String longContent = "Ideia longa ".repeat(200);
+        Idea longIdea = new Idea(theme, "Contexto longo", longContent, "mistral", 100L);
+        longIdea.setUser(user);
+        longIdea = ideaRepository.save(longIdea);
+
+        IdeaListItemResponse item = ideaService.listarMinhasIdeiasPorCursor(theme.getId(), null, null, null, 1)
+                .getContent().get(0);
+        assertEquals(longIdea.getId(), item.getId());
+        assertTrue(item.isTruncated());
+        assertTrue(item.getPreview().length() <= 161, "Prévia com " + item.getPreview().length() + " caracteres");
+        assertTrue(item.getPreview().endsWith("…"));
+
+        IdeaResponse detail = ideaService.buscarIdeiaPorId(longIdea.getId());
+        assertEquals(longContent, detail.getContent());
+        assertEquals("Usuário Cursor", detail.getUserName());
+        assertThrows(ResourceNotFoundException.class, () -> ideaService.buscarIdeiaPorId(-1L));
+    }
+
+    @Test
+    void shouldCostOneQueryPerPageRegardlessOfDepth() {
+        IdeaSliceResponse first = ideaService.listarMinhasIdeiasPorCursor(theme.getId(), null, null, null, PAGE_SIZE);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String cursor = first.getNextCursor();
+        IdeaSliceResponse last = first;
+        while (cursor != null) {
+            statistics.clear();
+            last = ideaService.listarMinhasIdeiasPorCursor(theme.getId(), null, null, cursor, PAGE_SIZE);
+
+            // Usuário atual já está em cache na requisição: só a consulta da página, sem COUNT.
+            assertEquals(1, statistics.getPrepareStatementCount(),
+                    "Consultas executadas: " + statistics.getPrepareStatementCount());
+            cursor = last.getNextCursor();
+        }
+        assertEquals(IDEAS % PAGE_SIZE, last.getContent().size());
+    }
+
+    @Test
+    void shouldRejectInvalidCursorAndPageSize() {
+        assertThrows(ValidationException.class,
+                () -> ideaService.listarMinhasIdeiasPorCursor(null, null, null, "não-é-um-cursor", PAGE_SIZE));
+        assertThrows(ValidationException.class,
+                () -> ideaService.listarMinhasIdeiasPorCursor(null, null, null, null, 0));
+        assertThrows(ValidationException.class,
+                () -> ideaService.listarMinhasIdeiasPorCursor(null, null, null, null, 101));
+    }
+}
@@ -0,0 +1,147 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.dto.response.IdeaListItemResponse;
+import projeto_gerador_ideias_backend.dto.response.IdeaSliceResponse;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.ThemeRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.JwtUserPrincipal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Busca textual nas ideias do usuário (índice em memória no H2): relevância, plurais e
+ * acentos, filtros de tema, isolamento entre usuários e paginação por cursor.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdeaSearchTest {
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User other;
+    private Theme festas;
+    private Theme estudos;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser("busca@example.com");
+        other = saveUser("busca-outro@example.com");
+        festas = themeRepository.save(new Theme("BUSCA_FESTAS"));
+        estudos = themeRepository.save(new Theme("BUSCA_ESTUDOS"));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(user.getId(), user.getEmail(), Role.USER, user.getUuid()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM ideas WHERE user_id IN (?, ?)", user.getId(), other.getId());
+        themeRepository.deleteById(festas.getId());
+        themeRepository.deleteById(estudos.getId());
+        userRepository.deleteById(user.getId());
+        userRepository.deleteById(other.getId());
+    }
+
+    @Test
+    void shouldRankContextMatchesFirstAndMatchPlurals() {
+        Idea inContent = save(user, festas, "Algo para o fim de semana", "Organize uma festa surpresa no quintal");
+        Idea inContext = save(user, festas, "Festas surpresa para amigos", "Reúna todos no parque");
+        save(user, festas, "Jantar em família", "Cozinhe uma receita nova");
+
+        IdeaSliceResponse slice = ideaService.buscarIdeias("festa surpresa", null, null, null, null, 10);
+
+        assertEquals(List.of(inContext.getId(), inContent.getId()), ids(slice));
+        assertFalse(slice.isHasNext());
+    }
+
+    @Test
+    void shouldIgnoreAccentsAndApplyFiltersAndOwnership() {
+        Idea mine = save(user, estudos, "Revisão para provas", "Crie cartões de memorização");
+        save(user, festas, "Revisão da lista de convidados", "Confirme presença");
+        save(other, estudos, "Revisão para provas", "Outra ideia de outro usuário");
+
+        IdeaSliceResponse slice = ideaService.buscarIdeias("revisao", estudos.getId(), null, null, null, 10);
+
+        assertEquals(List.of(mine.getId()), ids(slice));
+        assertTrue(ideaService.buscarIdeias("inexistente", null, null, null, null, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void shouldWalkResultsWithCursor() {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            saved.add(save(user, festas, "Ideia de piquenique " + i, "Leve lanches").getId());
+        }
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            IdeaSliceResponse slice = ideaService.buscarIdeias("piquenique", null, null, null, cursor, 3);
+            walked.addAll(ids(slice));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(saved.size(), walked.size());
+        assertTrue(walked.containsAll(saved));
+    }
+
+    @Test
+    void shouldRejectInvalidSearch() {
+        assertThrows(ValidationException.class, () -> ideaService.buscarIdeias(" ", null, null, null, null, 5));
+        assertThrows(ValidationException.class,
+                () -> ideaService.buscarIdeias("a".repeat(201), null, null, null, null, 5));
+        assertThrows(ValidationException.class, () -> ideaService.buscarIdeias("festa", null, null, null, "???", 5));
+        assertThrows(ValidationException.class, () -> ideaService.buscarIdeias("festa", null, null, null, null, 0));
+    }
+
+    private User saveUser(String email) {
+        User created = new User();
+        created.setName("Usuário Busca");
+        created.setEmail(email);
+        created.setPassword("password");
+        return userRepository.save(created);
+    }
+
+    private Idea save(User owner, Theme theme, String context, String content) {
+        Idea idea = new Idea(theme, context, content, "mistral", 100L);
+        idea.setUser(owner);
+        return ideaRepository.save(idea);
+    }
+
+    private static List<Long> ids(IdeaSliceResponse slice) {
+        return slice.getContent().stream().map(IdeaListItemResponse::getId).toList();
+    }
+}
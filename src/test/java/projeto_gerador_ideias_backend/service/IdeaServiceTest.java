@@ -22,7 +22,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import projeto_gerador_ideias_backend.dto.request.FavoritesUpdateRequest;
 import projeto_gerador_ideias_backend.dto.request.IdeaRequest;
+import projeto_gerador_ideias_backend.dto.response.FavoritesUpdateResponse;
 import projeto_gerador_ideias_backend.dto.response.IdeaResponse;
 import projeto_gerador_ideias_backend.exceptions.OllamaServiceException;
 import projeto_gerador_ideias_backend.exceptions.ResourceNotFoundException;
@@ -34,6 +36,8 @@ import projeto_gerador_ideias_backend.repository.IdeaRepository;
 import projeto_gerador_ideias_backend.repository.ThemeRepository;
 import projeto_gerador_ideias_backend.repository.UserFavoriteRepository;
 import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+import projeto_gerador_ideias_backend.util.ContextFingerprint;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -41,6 +45,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
@@ -71,10 +76,22 @@ class IdeaServiceTest {
     private IdeaSummaryService ideaSummaryService;
 
     @Mock
-    private IdeasSummaryCacheService ideasSummaryCacheService;
+    private UserFavoriteRepository userFavoriteRepository;
 
     @Mock
-    private UserFavoriteRepository userFavoriteRepository;
+    private IdeaSearchIndex ideaSearchIndex;
+
+    @Mock
+    private IdeaVectorIndex ideaVectorIndex;
+
+    @Mock
+    private FavoriteCountService favoriteCountService;
+
+    @Mock
+    private IdeaGenerationStatsService ideaGenerationStatsService;
+
+    @Mock
+    private OutboxService outboxService;
 
     @InjectMocks
     private IdeaService ideaService;
@@ -109,6 +126,7 @@ class IdeaServiceTest {
         testIdea.setCreatedAt(LocalDateTime.now());
 
         ReflectionTestUtils.setField(ideaService, "ollamaModel", "mistral");
+        ReflectionTestUtils.setField(ideaService, "currentUserProvider", new CurrentUserProvider(userRepository));
 
         SecurityContextHolder.clearContext();
 
@@ -120,7 +138,6 @@ class IdeaServiceTest {
             if (content == null || content.length() <= 50) return content;
             return content.substring(0, Math.min(50, content.length()));
         });
-        doNothing().when(ideasSummaryCacheService).invalidateUserCache(anyLong());
 
         when(themeRepository.findById(1L)).thenReturn(Optional.of(tecnologiaTheme));
         when(themeRepository.findById(2L)).thenReturn(Optional.of(trabalhoTheme));
@@ -164,8 +181,8 @@ class IdeaServiceTest {
 
         when(themeService.findByID(localTecnologiaTheme.getId())).thenReturn(localTecnologiaTheme);
 
-        when(ideaRepository.findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(
-                testUser, localTecnologiaTheme, request.getContext()))
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), localTecnologiaTheme.getId(), ContextFingerprint.of(request.getContext())))
                 .thenReturn(Optional.of(testIdea));
 
         IdeaResponse response = ideaService.generateIdea(request, false);
@@ -178,6 +195,64 @@ class IdeaServiceTest {
         verify(ideaRepository, never()).save(any(Idea.class));
     }
 
+    @Test
+    void generateIdea_ShouldReuseOwnIdea_WhenContextDiffersOnlyInCaseAccentsAndSpaces() {
+        setupSecurityContext();
+
+        IdeaRequest request = new IdeaRequest();
+        request.setTheme(tecnologiaTheme.getId());
+        request.setContext("  CONTÉXTO  ");
+
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), tecnologiaTheme.getId(), ContextFingerprint.of("contexto")))
+                .thenReturn(Optional.of(testIdea));
+
+        IdeaResponse response = ideaService.generateIdea(request, false);
+
+        assertEquals(testIdea.getGeneratedContent(), response.getContent());
+        verify(ollamaService, never()).getAiResponse(anyString());
+        verify(ideaRepository, never()).save(any(Idea.class));
+    }
+
+    @Test
+    void generateIdea_ShouldCopyIdeaFromAnotherUser_WhenGlobalReuseIsEnabled() {
+        setupSecurityContext();
+        ReflectionTestUtils.setField(ideaService, "globalReuse", true);
+
+        User otherUser = new User();
+        otherUser.setId(2L);
+        otherUser.setName("Outro Usuário");
+        Idea sharedIdea = new Idea(tecnologiaTheme, "Contexto", "Conteudo Compartilhado", "mistral", 900L);
+        sharedIdea.setId(7L);
+        sharedIdea.setUser(otherUser);
+        sharedIdea.setSummary("Resumo compartilhado");
+
+        IdeaRequest request = new IdeaRequest();
+        request.setTheme(tecnologiaTheme.getId());
+        request.setContext("Contexto");
+
+        long contextHash = ContextFingerprint.of("Contexto");
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), tecnologiaTheme.getId(), contextHash))
+                .thenReturn(Optional.empty());
+        when(ideaRepository.findFirstByThemeIdAndContextHashOrderByCreatedAtDesc(tecnologiaTheme.getId(), contextHash))
+                .thenReturn(Optional.of(sharedIdea));
+        when(ideaRepository.save(any(Idea.class))).thenAnswer(invocation -> {
+            Idea savedIdea = invocation.getArgument(0);
+            savedIdea.setId(8L);
+            savedIdea.setCreatedAt(LocalDateTime.now());
+            return savedIdea;
+        });
+
+        IdeaResponse response = ideaService.generateIdea(request, false);
+
+        assertEquals("Conteudo Compartilhado", response.getContent());
+        assertEquals(testUser.getName(), response.getUserName());
+        verify(ollamaService, never()).getAiResponse(anyString());
+        verify(ideaRepository).save(argThat(idea ->
+                idea.getUser() == testUser && "Resumo compartilhado".equals(idea.getSummary())));
+    }
+
     @Test
     void generateIdea_ShouldGenerateNew_WhenPersonalCacheMisses() {
         setupSecurityContext();
@@ -190,8 +265,8 @@ class IdeaServiceTest {
 
         when(themeService.findByID(tecnologiaTheme.getId())).thenReturn(tecnologiaTheme);
 
-        when(ideaRepository.findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(
-                testUser, tecnologiaTheme, request.getContext()))
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), tecnologiaTheme.getId(), ContextFingerprint.of(request.getContext())))
                 .thenReturn(Optional.empty());
 
         when(ollamaService.getAiResponse(contains("Analise o 'Tópico'"))).thenReturn("SEGURO");
@@ -211,6 +286,8 @@ class IdeaServiceTest {
         assertEquals(testUser.getName(), response.getUserName());
         verify(ollamaService, times(2)).getAiResponse(anyString());
         verify(ideaRepository, times(1)).save(any(Idea.class));
+        verify(outboxService).publishIdeaCreated(testUser.getId(), 2L);
+        verify(ideaGenerationStatsService).recordIdea(eq(testUser.getId()), anyLong());
     }
 
     @Test
@@ -235,7 +312,7 @@ class IdeaServiceTest {
 
         assertNotNull(response);
         assertEquals(aiResponse, response.getContent());
-        verify(ideaRepository, never()).findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(any(), any(), any());
+        verify(ideaRepository, never()).findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(any(), any(), any());
         verify(ollamaService, never()).getAiResponse(anyString());
         verify(ollamaService, times(2)).getAiResponseBypassingCache(anyString());
         verify(ideaRepository, times(1)).save(any(Idea.class));
@@ -251,8 +328,8 @@ class IdeaServiceTest {
 
         when(themeRepository.findById(tecnologiaTheme.getId())).thenReturn(Optional.of(tecnologiaTheme));
 
-        when(ideaRepository.findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(
-                testUser, tecnologiaTheme, request.getContext()))
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), tecnologiaTheme.getId(), ContextFingerprint.of(request.getContext())))
                 .thenReturn(Optional.empty());
 
         when(ollamaService.getAiResponse(contains("Analise o 'Tópico'"))).thenReturn("PERIGOSO");
@@ -269,7 +346,8 @@ class IdeaServiceTest {
         verify(ollamaService, never()).getAiResponse(contains("Gere uma ideia concisa"));
         verify(ideaRepository, never()).save(any(Idea.class));
         verify(failureCounterService, times(1)).resetCounter(testUser.getEmail());
-        verify(ideasSummaryCacheService, never()).invalidateUserCache(anyLong());
+        verify(outboxService, never()).publishIdeaCreated(anyLong(), anyLong());
+        verify(ideaGenerationStatsService, never()).recordIdea(anyLong(), anyLong());
     }
 
     @Test
@@ -397,13 +475,13 @@ class IdeaServiceTest {
     @Test
     void favoritarIdeia_ShouldAddFavorite() {
         setupSecurityContext();
-        when(ideaRepository.findById(testIdea.getId())).thenReturn(Optional.of(testIdea));
-        when(userFavoriteRepository.existsByUserIdAndIdeaId(testUser.getId(), testIdea.getId())).thenReturn(false);
-        doNothing().when(userFavoriteRepository).addFavorite(anyLong(), anyLong());
+        when(userFavoriteRepository.addFavorites(testUser.getId(), List.of(testIdea.getId()))).thenReturn(1);
 
         ideaService.favoritarIdeia(testIdea.getId());
 
-        verify(userFavoriteRepository, times(1)).addFavorite(testUser.getId(), testIdea.getId());
+        verify(userFavoriteRepository, times(1)).addFavorites(testUser.getId(), List.of(testIdea.getId()));
+        verify(ideaRepository, never()).existsById(anyLong());
+        verify(favoriteCountService).adjust(testUser.getId(), 1);
     }
 
     @Test
@@ -411,21 +489,22 @@ class IdeaServiceTest {
         setupSecurityContext();
 
         Long ideaId = testIdea.getId();
-        when(ideaRepository.findById(ideaId)).thenReturn(Optional.of(testIdea));
-        when(userFavoriteRepository.existsByUserIdAndIdeaId(testUser.getId(), ideaId)).thenReturn(true);
+        when(userFavoriteRepository.addFavorites(testUser.getId(), List.of(ideaId))).thenReturn(0);
+        when(ideaRepository.existsById(ideaId)).thenReturn(true);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             ideaService.favoritarIdeia(ideaId);
         });
 
         assertEquals("Ideia já está favoritada.", exception.getMessage());
-        verify(userFavoriteRepository, never()).addFavorite(anyLong(), anyLong());
+        verify(favoriteCountService, never()).adjust(anyLong(), anyLong());
     }
 
     @Test
     void favoritarIdeia_ShouldThrowException_WhenIdeaNotFound() {
         setupSecurityContext();
-        when(ideaRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userFavoriteRepository.addFavorites(testUser.getId(), List.of(99L))).thenReturn(0);
+        when(ideaRepository.existsById(99L)).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             ideaService.favoritarIdeia(99L);
@@ -437,20 +516,19 @@ class IdeaServiceTest {
     @Test
     void desfavoritarIdeia_ShouldRemoveFavorite() {
         setupSecurityContext();
-        when(ideaRepository.findById(testIdea.getId())).thenReturn(Optional.of(testIdea));
-        when(userFavoriteRepository.existsByUserIdAndIdeaId(testUser.getId(), testIdea.getId())).thenReturn(true);
-        doNothing().when(userFavoriteRepository).deleteById(any());
+        when(userFavoriteRepository.removeFavorites(testUser.getId(), List.of(testIdea.getId()))).thenReturn(1);
 
         ideaService.desfavoritarIdeia(testIdea.getId());
 
-        verify(userFavoriteRepository, times(1)).deleteById(any(projeto_gerador_ideias_backend.model.UserFavorite.UserFavoriteId.class));
+        verify(userFavoriteRepository, times(1)).removeFavorites(testUser.getId(), List.of(testIdea.getId()));
+        verify(favoriteCountService).adjust(testUser.getId(), -1);
     }
 
     @Test
     void desfavoritarIdeia_ShouldThrowException_WhenNotFavorited() {
         setupSecurityContext();
-        when(userFavoriteRepository.existsByUserIdAndIdeaId(testUser.getId(), testIdea.getId())).thenReturn(false);
-        when(ideaRepository.findById(testIdea.getId())).thenReturn(Optional.of(testIdea));
+        when(userFavoriteRepository.removeFavorites(testUser.getId(), List.of(testIdea.getId()))).thenReturn(0);
+        when(ideaRepository.existsById(testIdea.getId())).thenReturn(true);
 
         Long ideaId = testIdea.getId();
 
@@ -461,6 +539,30 @@ class IdeaServiceTest {
         assertEquals("Ideia não está favoritada.", exception.getMessage());
     }
 
+    @Test
+    void atualizarFavoritos_ShouldApplyBothListsAndAdjustCountByAffectedRows() {
+        setupSecurityContext();
+        when(userFavoriteRepository.addFavorites(eq(testUser.getId()), eq(Set.of(1L, 2L, 3L)))).thenReturn(2);
+        when(userFavoriteRepository.removeFavorites(eq(testUser.getId()), eq(Set.of(4L)))).thenReturn(1);
+
+        FavoritesUpdateResponse response = ideaService.atualizarFavoritos(
+                new FavoritesUpdateRequest(List.of(1L, 2L, 3L, 2L), List.of(4L)));
+
+        assertEquals(2, response.getAdded());
+        assertEquals(1, response.getRemoved());
+        verify(favoriteCountService).adjust(testUser.getId(), 1L);
+    }
+
+    @Test
+    void atualizarFavoritos_ShouldRejectEmptyOrConflictingLists() {
+        FavoritesUpdateRequest empty = new FavoritesUpdateRequest(List.of(), List.of());
+        FavoritesUpdateRequest conflicting = new FavoritesUpdateRequest(List.of(1L), List.of(1L));
+
+        assertThrows(ValidationException.class, () -> ideaService.atualizarFavoritos(empty));
+        assertThrows(ValidationException.class, () -> ideaService.atualizarFavoritos(conflicting));
+        verify(userFavoriteRepository, never()).addFavorites(anyLong(), any());
+    }
+
     @Test
     void getCurrentAuthenticatedUser_ShouldThrowException_WhenNotAuthenticated() {
 
@@ -648,8 +750,8 @@ class IdeaServiceTest {
 
         when(themeService.findByID(tecnologiaTheme.getId())).thenReturn(tecnologiaTheme);
 
-        when(ideaRepository.findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(
-                testUser, tecnologiaTheme, request.getContext()))
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), tecnologiaTheme.getId(), ContextFingerprint.of(request.getContext())))
                 .thenReturn(Optional.empty());
 
         when(ollamaService.getAiResponse(anyString()))
@@ -676,8 +778,8 @@ class IdeaServiceTest {
 
         when(themeService.findByID(tecnologiaTheme.getId())).thenReturn(tecnologiaTheme);
 
-        when(ideaRepository.findFirstByUserAndThemeAndContextOrderByCreatedAtDesc(
-                testUser, tecnologiaTheme, request.getContext()))
+        when(ideaRepository.findFirstByUserIdAndThemeIdAndContextHashOrderByCreatedAtDesc(
+                testUser.getId(), tecnologiaTheme.getId(), ContextFingerprint.of(request.getContext())))
                 .thenReturn(Optional.empty());
 
         when(ollamaService.getAiResponse(contains("Analise o 'Tópico'"))).thenReturn("SEGURO");
@@ -914,7 +1016,8 @@ class IdeaServiceTest {
     @Test
     void desfavoritarIdeia_ShouldThrowException_WhenIdeaNotFound() {
         setupSecurityContext();
-        when(ideaRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userFavoriteRepository.removeFavorites(testUser.getId(), List.of(99L))).thenReturn(0);
+        when(ideaRepository.existsById(99L)).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             ideaService.desfavoritarIdeia(99L);
@@ -924,14 +1027,33 @@ class IdeaServiceTest {
     }
 
     @Test
-    void shouldReturnFavoriteIdeasCount() {
+    void shouldReturnFavoriteIdeasCountFromCache() {
         setupSecurityContext();
         long expectedCount = 7L;
-        when(ideaRepository.countFavoriteIdeasByUserId(testUser.getId())).thenReturn(expectedCount);
+        when(favoriteCountService.getCount(testUser.getId())).thenReturn(expectedCount);
 
         long actualCount = ideaService.getFavoriteIdeasCount();
 
         assertEquals(expectedCount, actualCount);
-        verify(ideaRepository, times(1)).countFavoriteIdeasByUserId(testUser.getId());
+        verify(ideaRepository, never()).countFavoriteIdeasByUserId(anyLong());
+    }
+
+    @Test
+    void buscarIdeiasSimilares_ShouldReturnEmpty_WhenIdeaHasNoEmbeddingYet() {
+        when(ideaRepository.existsById(10L)).thenReturn(true);
+        when(ideaVectorIndex.similar(10L, 5)).thenReturn(List.of());
+
+        assertTrue(ideaService.buscarIdeiasSimilares(10L, 5).isEmpty());
+        verify(ideaRepository, never()).findListItems(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void buscarIdeiasSimilares_ShouldValidateIdeaAndLimit() {
+        when(ideaRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> ideaService.buscarIdeiasSimilares(99L, 5));
+        assertThrows(ValidationException.class, () -> ideaService.buscarIdeiasSimilares(10L, 0));
+        assertThrows(ValidationException.class, () -> ideaService.buscarIdeiasSimilares(10L, 21));
+        verify(ideaVectorIndex, never()).similar(anyLong(), anyInt());
     }
 }
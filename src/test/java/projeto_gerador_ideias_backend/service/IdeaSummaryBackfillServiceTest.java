@@ -0,0 +1,112 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.ThemeRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Backfill de resumos: percorre as ideias sem resumo em vários lotes, preserva resumos
+ * existentes e não reprocessa ideias já preenchidas.
+ */
+@SpringBootTest(properties = {
+        "ideas.summary.backfill.batch-size=3",
+        "ideas.summary.backfill.threads=2"
+})
+@ActiveProfiles("test")
+class IdeaSummaryBackfillServiceTest {
+
+    private static final int IDEAS = 8;
+
+    @Autowired
+    private IdeaSummaryBackfillService backfillService;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Theme theme;
+    private List<Idea> ideas;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Usuário Backfill");
+        user.setEmail("backfill@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        theme = themeRepository.save(new Theme("BACKFILL"));
+
+        ideas = new ArrayList<>();
+        for (int i = 0; i < IDEAS; i++) {
+            Idea idea = new Idea(theme, "Contexto " + i, "Ideia número " + i, "mistral", 100L);
+            idea.setUser(user);
+            ideas.add(idea);
+        }
+        Idea blank = new Idea(theme, "Contexto vazio", "   ", "mistral", 100L);
+        blank.setUser(user);
+        ideas.add(blank);
+        Idea summarized = new Idea(theme, "Contexto pronto", "Conteúdo já resumido", "mistral", 100L);
+        summarized.setUser(user);
+        summarized.setSummary("Resumo existente");
+        ideas.add(summarized);
+        ideas = ideaRepository.saveAll(ideas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ideas WHERE user_id = ?", user.getId());
+        themeRepository.deleteById(theme.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldFillMissingSummariesAcrossBatches() {
+        int updated = backfillService.backfill();
+
+        assertTrue(updated >= IDEAS + 1, "Ideias atualizadas: " + updated);
+        for (int i = 0; i < IDEAS; i++) {
+            assertEquals("Ideia número " + i, summaryOf(ideas.get(i)));
+        }
+        assertEquals(IdeaSummaryService.NO_SUMMARY, summaryOf(ideas.get(IDEAS)));
+        assertEquals("Resumo existente", summaryOf(ideas.get(IDEAS + 1)));
+        assertEquals(0L, ideaRepository.countMissingSummary());
+    }
+
+    @Test
+    void shouldNotRewriteIdeasOnSecondRun() {
+        backfillService.backfill();
+        jdbcTemplate.update("UPDATE ideas SET summary = ? WHERE id = ?", "Editado", ideas.get(0).getId());
+
+        assertEquals(0, backfillService.backfill());
+        assertEquals("Editado", summaryOf(ideas.get(0)));
+    }
+
+    private String summaryOf(Idea idea) {
+        return jdbcTemplate.queryForObject("SELECT summary FROM ideas WHERE id = ?", String.class, idea.getId());
+    }
+}
@@ -5,12 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
 import projeto_gerador_ideias_backend.model.Idea;
 import projeto_gerador_ideias_backend.model.Theme;
 import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.projection.IdeaSummaryRow;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -25,17 +24,11 @@ import static org.mockito.Mockito.*;
 class IdeasSummaryCacheServiceTest {
 
     @Mock
-    private CacheManager cacheManager;
+    private IdeaSummaryCacheStore store;
 
     @Mock
     private IdeaRepository ideaRepository;
 
-    @Mock
-    private IdeaSummaryService ideaSummaryService;
-
-    @Mock
-    private Cache cache;
-
     private IdeasSummaryCacheService ideasSummaryCacheService;
 
     private Long userId;
@@ -47,19 +40,15 @@ class IdeasSummaryCacheServiceTest {
         testTheme = new Theme("TECNOLOGIA");
         testTheme.setId(1L);
 
-        when(cacheManager.getCache("ideasSummaryCache")).thenReturn(cache);
-        
         IdeasSummaryCacheService tempService = new IdeasSummaryCacheService(
-                cacheManager,
+                store,
                 ideaRepository,
-                ideaSummaryService,
                 null
         );
         
         ideasSummaryCacheService = new IdeasSummaryCacheService(
-                cacheManager,
+                store,
                 ideaRepository,
-                ideaSummaryService,
                 tempService
         );
     }
@@ -69,24 +58,21 @@ class IdeasSummaryCacheServiceTest {
         List<IdeaSummaryResponse> cachedSummaries = List.of(
                 new IdeaSummaryResponse(1L, "Resumo 1", "TECNOLOGIA", LocalDateTime.now().toString())
         );
-
-        Cache.ValueWrapper wrapper = mock(Cache.ValueWrapper.class);
-        when(wrapper.get()).thenReturn(cachedSummaries);
-        when(cache.get("ideas:summary:user:1")).thenReturn(wrapper);
+        when(store.read(userId)).thenReturn(Optional.of(cachedSummaries));
 
         List<IdeaSummaryResponse> result = ideasSummaryCacheService.getUserIdeasSummary(userId);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Resumo 1", result.get(0).getSummary());
-        verify(cache, times(1)).get("ideas:summary:user:1");
+        verify(store, times(1)).read(userId);
         verify(ideaRepository, never()).findIdeasSummaryOnlyByUserId(anyLong());
     }
 
     @Test
     void shouldLoadFromDatabaseWhenCacheMiss() {
-        Object[] row = new Object[]{1L, "Resumo da ideia", "TECNOLOGIA", LocalDateTime.now()};
-        when(cache.get("ideas:summary:user:1")).thenReturn(null);
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "Resumo da ideia", "TECNOLOGIA", LocalDateTime.now());
+        when(store.read(userId)).thenReturn(Optional.empty());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(userId)).thenReturn(Collections.singletonList(row));
 
         List<IdeaSummaryResponse> result = ideasSummaryCacheService.getUserIdeasSummary(userId);
@@ -95,67 +81,79 @@ class IdeasSummaryCacheServiceTest {
         assertEquals(1, result.size());
         assertEquals("Resumo da ideia", result.get(0).getSummary());
         verify(ideaRepository, times(1)).findIdeasSummaryOnlyByUserId(userId);
-        verify(cache, times(1)).put(anyString(), anyList());
+        verify(store, times(1)).replace(eq(userId), anyList());
     }
 
     @Test
-    void shouldGenerateSummaryWhenMissing() {
-        Idea idea = new Idea();
-        idea.setId(1L);
-        idea.setTheme(testTheme);
-        idea.setGeneratedContent("Conteúdo completo da ideia que precisa ser resumido");
-        idea.setCreatedAt(LocalDateTime.now());
+    void shouldLoadFromDatabaseWhenCacheIsUnavailable() {
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "Resumo da ideia", "TECNOLOGIA", LocalDateTime.now());
+        when(store.read(userId)).thenThrow(new IllegalStateException("Redis fora do ar"));
+        when(ideaRepository.findIdeasSummaryOnlyByUserId(userId)).thenReturn(Collections.singletonList(row));
+
+        List<IdeaSummaryResponse> result = ideasSummaryCacheService.getUserIdeasSummary(userId);
 
-        Object[] row = new Object[]{1L, null, "TECNOLOGIA", LocalDateTime.now()};
-        when(cache.get("ideas:summary:user:1")).thenReturn(null);
+        assertEquals(1, result.size());
+        verify(store, never()).replace(anyLong(), anyList());
+    }
+
+    @Test
+    void shouldShowPlaceholderWithoutWritingWhenSummaryMissing() {
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, null, "TECNOLOGIA", LocalDateTime.now());
+        when(store.read(userId)).thenReturn(Optional.empty());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(userId)).thenReturn(Collections.singletonList(row));
-        when(ideaRepository.findById(1L)).thenReturn(Optional.of(idea));
-        when(ideaSummaryService.summarizeIdeaSimple(idea.getGeneratedContent())).thenReturn("Resumo gerado");
 
         List<IdeaSummaryResponse> result = ideasSummaryCacheService.getUserIdeasSummary(userId);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("Resumo gerado", result.get(0).getSummary());
-        verify(ideaSummaryService, times(1)).summarizeIdeaSimple(idea.getGeneratedContent());
-        verify(ideaRepository, times(1)).saveAll(anyList());
+        assertEquals(IdeaSummaryService.NO_SUMMARY, result.get(0).getSummary());
+        verify(ideaRepository, never()).findById(anyLong());
+        verify(ideaRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldEvictUserCacheWithoutReloading() {
+        ideasSummaryCacheService.evictUserCache(userId);
+
+        verify(store, times(1)).evict(userId);
+        verify(ideaRepository, never()).findIdeasSummaryOnlyByUserId(anyLong());
     }
 
     @Test
     void shouldInvalidateUserCache() {
         ideasSummaryCacheService.invalidateUserCache(userId);
 
-        verify(cache, times(1)).evict("ideas:summary:user:1");
+        verify(store, times(1)).evict(userId);
     }
 
     @Test
     void shouldPreloadUserIdeasSummary() {
-        Object[] row = new Object[]{1L, "Resumo", "TECNOLOGIA", LocalDateTime.now()};
+        IdeaSummaryRow row = new IdeaSummaryRow(1L, "Resumo", "TECNOLOGIA", LocalDateTime.now());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(userId)).thenReturn(Collections.singletonList(row));
 
         ideasSummaryCacheService.preloadUserIdeasSummary(userId);
 
         verify(ideaRepository, times(1)).findIdeasSummaryOnlyByUserId(userId);
-        verify(cache, times(1)).put(anyString(), anyList());
+        verify(store, times(1)).replace(eq(userId), anyList());
     }
 
     @Test
     void shouldHandleEmptyIdeasList() {
-        when(cache.get("ideas:summary:user:1")).thenReturn(null);
+        when(store.read(userId)).thenReturn(Optional.empty());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(userId)).thenReturn(Collections.emptyList());
 
         List<IdeaSummaryResponse> result = ideasSummaryCacheService.getUserIdeasSummary(userId);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(cache, times(1)).put("ideas:summary:user:1", Collections.emptyList());
+        verify(store, times(1)).replace(userId, Collections.emptyList());
     }
 
     @Test
     void shouldHandleMultipleIdeas() {
-        Object[] row1 = new Object[]{1L, "Resumo 1", "TECNOLOGIA", LocalDateTime.now()};
-        Object[] row2 = new Object[]{2L, "Resumo 2", "TRABALHO", LocalDateTime.now()};
-        when(cache.get("ideas:summary:user:1")).thenReturn(null);
+        IdeaSummaryRow row1 = new IdeaSummaryRow(1L, "Resumo 1", "TECNOLOGIA", LocalDateTime.now());
+        IdeaSummaryRow row2 = new IdeaSummaryRow(2L, "Resumo 2", "TRABALHO", LocalDateTime.now());
+        when(store.read(userId)).thenReturn(Optional.empty());
         when(ideaRepository.findIdeasSummaryOnlyByUserId(userId)).thenReturn(List.of(row1, row2));
 
         List<IdeaSummaryResponse> result = ideasSummaryCacheService.getUserIdeasSummary(userId);
@@ -165,6 +163,52 @@ class IdeasSummaryCacheServiceTest {
         assertEquals(1L, result.get(0).getId());
         assertEquals(2L, result.get(1).getId());
     }
-}
 
+    @Test
+    void shouldAddNewIdeaToCachedSummariesWithoutReloading() {
+        when(store.addIfPresent(eq(userId), any())).thenReturn(true);
+
+        Idea idea = new Idea(testTheme, "Contexto", "Conteúdo", "modelo", 100L);
+        idea.setId(2L);
+        idea.setSummary("Resumo novo");
+        idea.setCreatedAt(LocalDateTime.now());
+
+        ideasSummaryCacheService.addIdeaToUserCache(userId, idea);
+
+        org.mockito.ArgumentCaptor<IdeaSummaryResponse> captor = org.mockito.ArgumentCaptor.forClass(IdeaSummaryResponse.class);
+        verify(store).addIfPresent(eq(userId), captor.capture());
+        assertEquals(2L, captor.getValue().getId());
+        assertEquals("Resumo novo", captor.getValue().getSummary());
+        assertEquals("TECNOLOGIA", captor.getValue().getTheme());
+        verify(store, never()).replace(anyLong(), anyList());
+        verify(ideaRepository, never()).findIdeasSummaryOnlyByUserId(anyLong());
+    }
+
+    @Test
+    void shouldEvictWhenAddingToCacheFails() {
+        when(store.addIfPresent(eq(userId), any())).thenThrow(new IllegalStateException("Redis fora do ar"));
+
+        Idea idea = new Idea(testTheme, "Contexto", "Conteúdo", "modelo", 100L);
+        idea.setId(2L);
 
+        ideasSummaryCacheService.addIdeaToUserCache(userId, idea);
+
+        verify(store).evict(userId);
+    }
+
+    @Test
+    void shouldKeepFullListNewestFirstAndAddEachIdeaOnce() {
+        InMemoryIdeaSummaryCacheStore memoryStore = new InMemoryIdeaSummaryCacheStore();
+        LocalDateTime now = LocalDateTime.now();
+        IdeaSummaryResponse older = new IdeaSummaryResponse(1L, "Antiga", "TECNOLOGIA", now.minusDays(1).toString());
+        IdeaSummaryResponse newer = new IdeaSummaryResponse(2L, "Nova", "TECNOLOGIA", now.toString());
+
+        assertFalse(memoryStore.addIfPresent(userId, newer));
+        memoryStore.replace(userId, List.of(older));
+        assertTrue(memoryStore.addIfPresent(userId, newer));
+        assertTrue(memoryStore.addIfPresent(userId, newer));
+
+        List<IdeaSummaryResponse> cached = memoryStore.read(userId).orElseThrow();
+        assertEquals(List.of(2L, 1L), cached.stream().map(IdeaSummaryResponse::getId).toList());
+    }
+}
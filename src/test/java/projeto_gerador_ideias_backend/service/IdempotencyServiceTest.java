@@ -0,0 +1,231 @@
+package projeto_gerador_ideias_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import projeto_gerador_ideias_backend.dto.response.ChatMessageResponse;
+import projeto_gerador_ideias_backend.exceptions.IdempotencyConflictException;
+import projeto_gerador_ideias_backend.exceptions.ValidationException;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.security.CurrentUser;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyServiceTest {
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    private InMemoryIdempotencyStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore();
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(store, currentUserProvider, new ObjectMapper(),
+                meterRegistry, 24, 1000, 20);
+        executions = new AtomicInteger();
+        loginAs(1L);
+    }
+
+    private void loginAs(Long userId) {
+        when(currentUserProvider.get()).thenReturn(
+                new CurrentUser(userId, UUID.randomUUID(), "user" + userId + "@example.com", "Usuário", Role.USER, true));
+    }
+
+    private ChatMessageResponse answer() {
+        int execution = executions.incrementAndGet();
+        return new ChatMessageResponse((long) execution, "ASSISTANT", "Resposta " + execution, 5, 10, 15, 985, null);
+    }
+
+    private IdempotencyService.Result<ChatMessageResponse> send(String key, String message) {
+        return idempotencyService.execute("chat.message", key, List.of(85L, message), ChatMessageResponse.class, this::answer);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("idempotency.requests", "operation", "chat.message", "outcome", outcome).count();
+    }
+
+    @Test
+    void shouldExecuteEveryTimeWithoutKey() {
+        send(null, "Olá");
+        send(" ", "Olá");
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldReplayStoredResponseForRepeatedKey() {
+        IdempotencyService.Result<ChatMessageResponse> first = send("retry-1", "Olá");
+        IdempotencyService.Result<ChatMessageResponse> second = send("retry-1", "Olá");
+
+        assertEquals(1, executions.get());
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.value(), second.value());
+        assertEquals(1.0, outcome("executed"));
+        assertEquals(1.0, outcome("replayed"));
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        send("retry-1", "Olá");
+
+        assertThrows(ValidationException.class, () -> send("retry-1", "Outra mensagem"));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldRejectOversizedKey() {
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        assertThrows(ValidationException.class, () -> send(key, "Olá"));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void shouldScopeKeysPerUser() {
+        send("retry-1", "Olá");
+        loginAs(2L);
+
+        IdempotencyService.Result<ChatMessageResponse> other = send("retry-1", "Olá");
+
+        assertFalse(other.replayed());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldReleaseKeyWhenActionFails() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute(
+                "chat.message", "retry-1", List.of(85L, "Olá"), ChatMessageResponse.class,
+                () -> {
+                    throw new IllegalStateException("Ollama indisponível");
+                }));
+
+        IdempotencyService.Result<ChatMessageResponse> retry = send("retry-1", "Olá");
+
+        assertFalse(retry.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldAttachConcurrentDuplicateToInFlightRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyService.Result<ChatMessageResponse>> original = executor.submit(() ->
+                    idempotencyService.execute("chat.message", "retry-1", List.of(85L, "Olá"), ChatMessageResponse.class,
+                            () -> {
+                                started.countDown();
+                                await(release);
+                                return answer();
+                            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Thread releaser = new Thread(() -> {
+                sleepQuietly(100);
+                release.countDown();
+            });
+            releaser.start();
+            IdempotencyService.Result<ChatMessageResponse> duplicate = send("retry-1", "Olá");
+
+            assertTrue(duplicate.replayed());
+            assertEquals(original.get(5, TimeUnit.SECONDS).value(), duplicate.value());
+            assertEquals(1, executions.get());
+            assertEquals(1.0, outcome("attached"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepReservationWhileActionOutlivesInFlightTimeout() throws Exception {
+        IdempotencyService otherInstance = new IdempotencyService(store, currentUserProvider, new ObjectMapper(),
+                meterRegistry, 24, 1000, 20);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyService.Result<ChatMessageResponse>> original = executor.submit(() ->
+                    idempotencyService.execute("chat.message", "retry-1", List.of(85L, "Olá"), ChatMessageResponse.class,
+                            () -> {
+                                started.countDown();
+                                await(release);
+                                return answer();
+                            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            sleepQuietly(1500);
+            assertTrue(store.get("idempotency:1:chat.message:retry-1").orElseThrow().contains("IN_PROGRESS"));
+
+            Thread releaser = new Thread(() -> {
+                sleepQuietly(100);
+                release.countDown();
+            });
+            releaser.start();
+            IdempotencyService.Result<ChatMessageResponse> duplicate = otherInstance.execute(
+                    "chat.message", "retry-1", List.of(85L, "Olá"), ChatMessageResponse.class, this::answer);
+
+            assertTrue(duplicate.replayed());
+            assertEquals(original.get(5, TimeUnit.SECONDS).value(), duplicate.value());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+            otherInstance.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReportConflictWhileAnotherInstanceHoldsTheKey() throws Exception {
+        send("retry-0", "Olá");
+        String fingerprint = new ObjectMapper()
+                .readTree(store.get("idempotency:1:chat.message:retry-0").orElseThrow())
+                .get("fingerprint").asText();
+        store.reserve("idempotency:1:chat.message:retry-1",
+                "{\"fingerprint\":\"" + fingerprint + "\",\"status\":\"IN_PROGRESS\"}", Duration.ofMinutes(1));
+
+        assertThrows(IdempotencyConflictException.class, () -> send("retry-1", "Olá"));
+        assertEquals(1, executions.get());
+        assertEquals(1.0, outcome("conflict"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
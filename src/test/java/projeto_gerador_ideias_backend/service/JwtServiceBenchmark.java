@@ -0,0 +1,94 @@
+package projeto_gerador_ideias_backend.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.util.TokenDigest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de autenticação JWT por requisição.
+ * Execução: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=projeto_gerador_ideias_backend.service.JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-minimum-32-characters-long";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3600L, 604800L);
+        token = jwtService.generateAccessToken("benchmark@example.com", 1L, Role.USER);
+        jwtService.verifyAccessToken(token);
+    }
+
+    /**
+     * Fluxo anterior: validateToken + extractUsername, cada um derivando a chave e montando um parser.
+     */
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        Claims validated = legacyParse(token);
+        if (!"access".equals(validated.get("type", String.class)) || !validated.getExpiration().after(new Date())) {
+            return null;
+        }
+        return legacyParse(token).getSubject();
+    }
+
+    @Benchmark
+    public String digestOnly() {
+        return TokenDigest.sha256Hex(token);
+    }
+
+    /**
+     * Verificação única com chave e parser pré-construídos, sem o cache de tokens verificados.
+     */
+    @Benchmark
+    public Object verifyUncached() {
+        return jwtService.parseAccessToken(token, TokenDigest.sha256Hex(token));
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return jwtService.verifyAccessToken(token);
+    }
+
+    private static Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -5,13 +5,16 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 import projeto_gerador_ideias_backend.model.Role;
+import projeto_gerador_ideias_backend.security.VerifiedJwt;
+import projeto_gerador_ideias_backend.util.TokenDigest;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,10 +27,12 @@ class JwtServiceTest {
     
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secret", TEST_SECRET);
-        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", TEST_EXPIRATION);
-        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604800L);
+        jwtService = new JwtService(TEST_SECRET, TEST_EXPIRATION, 604800L);
+    }
+    
+    @Test
+    void shouldRejectBlankSecretAtConstruction() {
+        assertThrows(IllegalStateException.class, () -> new JwtService(" ", TEST_EXPIRATION, 604800L));
     }
     
     @Test
@@ -110,10 +115,7 @@ class JwtServiceTest {
         
         String token = jwtService.generateAccessToken(email, userId, Role.USER);
         
-        JwtService differentService = new JwtService();
-        ReflectionTestUtils.setField(differentService, "secret", "different-secret-key-minimum-32-characters");
-        ReflectionTestUtils.setField(differentService, "accessTokenExpiration", TEST_EXPIRATION);
-        ReflectionTestUtils.setField(differentService, "refreshTokenExpiration", 604800L);
+        JwtService differentService = new JwtService("different-secret-key-minimum-32-characters", TEST_EXPIRATION, 604800L);
         
         boolean isValid = differentService.validateToken(token);
         
@@ -289,10 +291,7 @@ class JwtServiceTest {
     
     @Test
     void shouldInvalidateRefreshTokenWhenExpired() {
-        JwtService serviceWithShortExpiration = new JwtService();
-        ReflectionTestUtils.setField(serviceWithShortExpiration, "secret", TEST_SECRET);
-        ReflectionTestUtils.setField(serviceWithShortExpiration, "accessTokenExpiration", TEST_EXPIRATION);
-        ReflectionTestUtils.setField(serviceWithShortExpiration, "refreshTokenExpiration", 0L);
+        JwtService serviceWithShortExpiration = new JwtService(TEST_SECRET, TEST_EXPIRATION, 0L);
         
         String email = "test@example.com";
         Long userId = 1L;
@@ -354,18 +353,12 @@ class JwtServiceTest {
     
     @Test
     void shouldInvalidateTokenWhenExpired() {
-        JwtService serviceWithShortExpiration = new JwtService();
-        ReflectionTestUtils.setField(serviceWithShortExpiration, "secret", TEST_SECRET);
-        ReflectionTestUtils.setField(serviceWithShortExpiration, "accessTokenExpiration", 1L);
-        ReflectionTestUtils.setField(serviceWithShortExpiration, "refreshTokenExpiration", 604800L);
+        JwtService serviceWithShortExpiration = new JwtService(TEST_SECRET, 1L, 604800L);
         
         String email = "test@example.com";
         Long userId = 1L;
         
-        JwtService serviceWithVeryShortExpiration = new JwtService();
-        ReflectionTestUtils.setField(serviceWithVeryShortExpiration, "secret", TEST_SECRET);
-        ReflectionTestUtils.setField(serviceWithVeryShortExpiration, "accessTokenExpiration", 0L);
-        ReflectionTestUtils.setField(serviceWithVeryShortExpiration, "refreshTokenExpiration", 604800L);
+        JwtService serviceWithVeryShortExpiration = new JwtService(TEST_SECRET, 0L, 604800L);
         
         String token = serviceWithVeryShortExpiration.generateAccessToken(email, userId, Role.USER);
         
@@ -373,6 +366,58 @@ class JwtServiceTest {
         assertFalse(isValid);
     }
     
+    @Test
+    void shouldReturnVerifiedClaimsForAccessToken() {
+        String token = jwtService.generateAccessToken("joao@example.com", 7L, Role.ADMIN);
+        
+        Optional<VerifiedJwt> verified = jwtService.verifyAccessToken(token);
+        
+        assertTrue(verified.isPresent());
+        assertEquals("joao@example.com", verified.get().subject());
+        assertEquals(7L, verified.get().userId());
+        assertEquals(List.of("ROLE_ADMIN"), verified.get().authorities());
+        assertEquals(TokenDigest.sha256Hex(token), verified.get().digest());
+        assertFalse(verified.get().isExpired());
+    }
+    
+    @Test
+    void shouldCarryUuidClaimInAccessToken() {
+        UUID uuid = UUID.randomUUID();
+        String token = jwtService.generateAccessToken("joao@example.com", 7L, Role.USER, uuid);
+        
+        assertEquals(uuid, jwtService.verifyAccessToken(token).orElseThrow().uuid());
+    }
+    
+    @Test
+    void shouldServeRepeatedVerificationsFromCache() {
+        String token = jwtService.generateAccessToken("joao@example.com", 1L, Role.USER);
+        
+        VerifiedJwt first = jwtService.verifyAccessToken(token).orElseThrow();
+        VerifiedJwt second = jwtService.verifyAccessToken(token).orElseThrow();
+        
+        assertSame(first, second);
+    }
+    
+    @Test
+    void shouldNotVerifyRefreshOrTamperedTokensAsAccessTokens() {
+        String refreshToken = jwtService.generateRefreshToken("joao@example.com", 1L, Role.USER);
+        String accessToken = jwtService.generateAccessToken("joao@example.com", 1L, Role.USER);
+        String tampered = accessToken.substring(0, accessToken.length() - 2) + "xx";
+        
+        assertTrue(jwtService.verifyAccessToken(refreshToken).isEmpty());
+        assertTrue(jwtService.verifyAccessToken(tampered).isEmpty());
+        assertTrue(jwtService.verifyAccessToken(null).isEmpty());
+    }
+    
+    @Test
+    void shouldExtractExpiration() {
+        String token = jwtService.generateAccessToken("joao@example.com", 1L, Role.USER);
+        
+        Date expiration = jwtService.extractExpiration(token);
+        
+        assertTrue(expiration.after(new Date()));
+    }
+    
     private Claims parseToken(String token) {
         SecretKey key = Keys.hmacShaKeyFor(TEST_SECRET.getBytes(StandardCharsets.UTF_8));
         return Jwts.parser()
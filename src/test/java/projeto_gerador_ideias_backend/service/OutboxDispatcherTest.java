@@ -0,0 +1,197 @@
+package projeto_gerador_ideias_backend.service;
+
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import projeto_gerador_ideias_backend.dto.response.IdeaSummaryResponse;
+import projeto_gerador_ideias_backend.model.Idea;
+import projeto_gerador_ideias_backend.model.OutboxEvent;
+import projeto_gerador_ideias_backend.model.Theme;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.IdeaRepository;
+import projeto_gerador_ideias_backend.repository.OutboxEventRepository;
+import projeto_gerador_ideias_backend.repository.ThemeRepository;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Outbox com o dispatcher acionado manualmente: eventos só existem após o commit de quem os grava,
+ * só são marcados como processados depois do efeito, falhas ficam pendentes para nova tentativa e
+ * eventos que esgotam as tentativas ficam guardados como descartados.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IdeaSummaryCacheStore ideaSummaryCacheStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EmailService emailService;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Theme theme;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        user = new User();
+        user.setName("Usuário Outbox");
+        user.setEmail("outbox@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        theme = themeRepository.save(new Theme("OUTBOX"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM ideas WHERE user_id = ?", user.getId());
+        themeRepository.deleteById(theme.getId());
+        userRepository.deleteById(user.getId());
+        ideaSummaryCacheStore.evict(user.getId());
+    }
+
+    @Test
+    void shouldPrependCreatedIdeaToCachedSummariesOnce() {
+        ideaSummaryCacheStore.replace(user.getId(), List.of());
+
+        Idea idea = transactionTemplate.execute(status -> {
+            Idea saved = new Idea(theme, "Contexto", "Conteúdo", "mistral", 100L);
+            saved.setUser(user);
+            saved.setSummary("Resumo outbox");
+            saved = ideaRepository.save(saved);
+            outboxService.publishIdeaCreated(user.getId(), saved.getId());
+            return saved;
+        });
+
+        assertEquals(1, outboxDispatcher.drain());
+        assertEquals(0, outboxDispatcher.drain());
+
+        List<IdeaSummaryResponse> cached = ideaSummaryCacheStore.read(user.getId()).orElseThrow();
+        assertEquals(1, cached.size());
+        assertEquals(idea.getId(), cached.get(0).getId());
+        assertNotNull(outboxEventRepository.findAll().get(0).getProcessedAt());
+        assertEquals(0, outboxEventRepository.countByProcessedAtIsNullAndDeadAtIsNull());
+    }
+
+    @Test
+    void shouldDropEventsOfRolledBackTransactions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.publishIdeaCreated(user.getId(), 1L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void shouldSendFailureAlertOnlyOnce() throws Exception {
+        outboxService.publishFailureAlert(user.getEmail(), user.getName(), 4);
+
+        outboxDispatcher.drain();
+        outboxDispatcher.drain();
+
+        verify(emailService, times(1)).sendSystemErrorNotification(
+                eq(user.getEmail()), eq(user.getName()), eq(4), startsWith("outbox-"));
+        assertEquals(0L, outboxDispatcher.lagMs());
+    }
+
+    @Test
+    void shouldKeepEventPendingWhenEffectFails() throws Exception {
+        doThrow(new MessagingException("SMTP indisponível")).when(emailService)
+                .sendSystemErrorNotification(anyString(), anyString(), anyInt(), anyString());
+        outboxService.publishFailureAlert(user.getEmail(), user.getName(), 4);
+
+        assertEquals(1, outboxDispatcher.drain());
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertNull(event.getProcessedAt());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getLastError().contains("SMTP indisponível"));
+        assertEquals(1, outboxEventRepository.countByProcessedAtIsNullAndDeadAtIsNull());
+    }
+
+    @Test
+    void shouldKeepFailedEventPendingWithBackoff() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.save(new OutboxEvent(OutboxEvent.Type.FAILURE_ALERT, "{invalido")));
+
+        assertEquals(1, outboxDispatcher.drain());
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertNull(event.getProcessedAt());
+        assertEquals(1, event.getAttempts());
+        assertNotNull(event.getLastError());
+        assertTrue(event.getAvailableAt().isAfter(event.getCreatedAt()));
+        assertEquals(0, outboxDispatcher.drain());
+        verify(emailService, never()).sendSystemErrorNotification(anyString(), anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    void shouldKeepDeadEventApartFromProcessedOnes() {
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 1);
+        ReflectionTestUtils.setField(outboxDispatcher, "retentionHours", -1);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.save(new OutboxEvent(OutboxEvent.Type.FAILURE_ALERT, "{invalido")));
+
+            assertEquals(1, outboxDispatcher.drain());
+            outboxDispatcher.cleanupScheduled();
+
+            OutboxEvent event = outboxEventRepository.findAll().get(0);
+            assertNull(event.getProcessedAt());
+            assertNotNull(event.getDeadAt());
+            assertEquals(1, event.getAttempts());
+            assertEquals(0, outboxEventRepository.countByProcessedAtIsNullAndDeadAtIsNull());
+            assertEquals(0, outboxDispatcher.drain());
+            assertEquals(0L, outboxDispatcher.lagMs());
+        } finally {
+            ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 10);
+            ReflectionTestUtils.setField(outboxDispatcher, "retentionHours", 24);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package projeto_gerador_ideias_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projeto_gerador_ideias_backend.util.TokenDigest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedTokenFilterTest {
+
+    private RevokedTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RevokedTokenFilter(1000, 0.01, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldNeverReturnFalseNegatives() {
+        List<String> digests = IntStream.range(0, 1000).mapToObj(i -> TokenDigest.sha256Hex("token-" + i)).toList();
+        digests.forEach(filter::add);
+
+        assertTrue(digests.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredValue() {
+        IntStream.range(0, 1000).forEach(i -> filter.add(TokenDigest.sha256Hex("revogado-" + i)));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(TokenDigest.sha256Hex("valido-" + i)))
+                .count();
+
+        assertTrue(falsePositives < 300, "Falsos positivos: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+    }
+
+    @Test
+    void rebuildShouldDropDigestsNoLongerRevoked() {
+        String expired = TokenDigest.sha256Hex("expirado");
+        String active = TokenDigest.sha256Hex("ativo");
+        filter.add(expired);
+
+        filter.rebuild(List.of(active));
+
+        assertTrue(filter.mightContain(active));
+        assertFalse(filter.mightContain(expired));
+    }
+
+    @Test
+    void rebuildShouldRestoreAuthoritativeState() {
+        filter.markUnavailable();
+        assertFalse(filter.isAuthoritative());
+
+        filter.rebuild(List.of());
+
+        assertTrue(filter.isAuthoritative());
+    }
+}
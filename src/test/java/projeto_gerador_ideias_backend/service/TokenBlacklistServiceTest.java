@@ -1,18 +1,23 @@
 package projeto_gerador_ideias_backend.service;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import projeto_gerador_ideias_backend.util.TokenDigest;
+
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -28,21 +33,52 @@ class TokenBlacklistServiceTest {
     @Mock
     private Cache cache;
 
-    @InjectMocks
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RevokedTokenFilter revokedTokenFilter;
     private TokenBlacklistService tokenBlacklistService;
 
     @BeforeEach
     void setUp() {
         lenient().when(cacheManager.getCache("tokenBlacklist")).thenReturn(cache);
+        meterRegistry = new SimpleMeterRegistry();
+        revokedTokenFilter = new RevokedTokenFilter(1000, 0.01, meterRegistry);
+        tokenBlacklistService = new TokenBlacklistService(
+                cacheManager, jwtService, revokedTokenFilter, eventPublisher, meterRegistry);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("token.blacklist.lookups").tag("result", result).counter().count();
     }
 
     @Test
-    void shouldBlacklistTokenSuccessfully() {
+    void shouldBlacklistTokenDigestWithExpiration() {
         String token = "test-token-123";
-        
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(jwtService.extractExpiration(token)).thenReturn(expiration);
+
         tokenBlacklistService.blacklistToken(token);
-        
-        verify(cache, times(1)).put(token, true);
+
+        String digest = TokenDigest.sha256Hex(token);
+        verify(cache, times(1)).put(digest, expiration.getTime());
+        verify(eventPublisher).publishEvent(new TokenBlacklistService.TokenRevokedEvent(digest));
+        assertTrue(revokedTokenFilter.mightContain(digest));
+    }
+
+    @Test
+    void shouldNotBlacklistExpiredToken() {
+        String token = "expired-token";
+        when(jwtService.extractExpiration(token)).thenThrow(mock(ExpiredJwtException.class));
+
+        tokenBlacklistService.blacklistToken(token);
+
+        verify(cache, never()).put(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @ParameterizedTest
@@ -57,25 +93,39 @@ class TokenBlacklistServiceTest {
     @Test
     void shouldReturnTrueWhenTokenIsBlacklisted() {
         String token = "blacklisted-token";
+        String digest = TokenDigest.sha256Hex(token);
+        revokedTokenFilter.add(digest);
         Cache.ValueWrapper wrapper = mock(Cache.ValueWrapper.class);
-        when(wrapper.get()).thenReturn(true);
-        when(cache.get(token)).thenReturn(wrapper);
+        when(wrapper.get()).thenReturn(System.currentTimeMillis() + 60_000);
+        when(cache.get(digest)).thenReturn(wrapper);
         
         boolean isBlacklisted = tokenBlacklistService.isTokenBlacklisted(token);
         
         assertTrue(isBlacklisted);
-        verify(cache, times(1)).get(token);
+        verify(cache, times(1)).get(digest);
+        assertEquals(1, lookups("revoked"));
     }
 
     @Test
-    void shouldReturnFalseWhenTokenIsNotBlacklisted() {
-        String token = "valid-token";
-        when(cache.get(token)).thenReturn(null);
+    void shouldAnswerFromBloomFilterWithoutCacheLookupWhenTokenIsNotBlacklisted() {
+        boolean isBlacklisted = tokenBlacklistService.isTokenBlacklisted("valid-token");
         
+        assertFalse(isBlacklisted);
+        verify(cache, never()).get(any());
+        assertEquals(1, lookups("bloom_negative"));
+    }
+
+    @Test
+    void shouldQueryCacheWhenBloomFilterIsNotAuthoritative() {
+        String token = "valid-token";
+        revokedTokenFilter.markUnavailable();
+        when(cache.get(TokenDigest.sha256Hex(token))).thenReturn(null);
+
         boolean isBlacklisted = tokenBlacklistService.isTokenBlacklisted(token);
-        
+
         assertFalse(isBlacklisted);
-        verify(cache, times(1)).get(token);
+        verify(cache, times(1)).get(TokenDigest.sha256Hex(token));
+        assertEquals(0, lookups("bloom_false_positive"));
     }
 
     @ParameterizedTest
@@ -89,16 +139,19 @@ class TokenBlacklistServiceTest {
     }
 
     @Test
-    void shouldReturnFalseWhenWrapperValueIsNull() {
+    void shouldCountFalsePositiveWhenCacheHasNoEntry() {
         String token = "token-with-null-value";
+        String digest = TokenDigest.sha256Hex(token);
+        revokedTokenFilter.add(digest);
         Cache.ValueWrapper wrapper = mock(Cache.ValueWrapper.class);
         when(wrapper.get()).thenReturn(null);
-        when(cache.get(token)).thenReturn(wrapper);
+        when(cache.get(digest)).thenReturn(wrapper);
         
         boolean isBlacklisted = tokenBlacklistService.isTokenBlacklisted(token);
         
         assertFalse(isBlacklisted);
-        verify(cache, times(1)).get(token);
+        verify(cache, times(1)).get(digest);
+        assertEquals(1, lookups("bloom_false_positive"));
     }
 
     @Test
@@ -107,7 +160,7 @@ class TokenBlacklistServiceTest {
         
         tokenBlacklistService.removeFromBlacklist(token);
         
-        verify(cache, times(1)).evict(token);
+        verify(cache, times(1)).evict(TokenDigest.sha256Hex(token));
     }
 
     @ParameterizedTest
@@ -122,6 +175,7 @@ class TokenBlacklistServiceTest {
     @Test
     void shouldThrowExceptionWhenCacheNotFound() {
         when(cacheManager.getCache("tokenBlacklist")).thenReturn(null);
+        when(jwtService.extractExpiration("test-token")).thenReturn(new Date(System.currentTimeMillis() + 60_000));
         
         IllegalStateException exception = assertThrows(
             IllegalStateException.class,
@@ -131,4 +185,3 @@ class TokenBlacklistServiceTest {
         assertTrue(exception.getMessage().contains("Cache 'tokenBlacklist' não encontrado"));
     }
 }
-
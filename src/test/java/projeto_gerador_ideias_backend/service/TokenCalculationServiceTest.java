@@ -11,6 +11,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import projeto_gerador_ideias_backend.model.ChatMessage;
+import projeto_gerador_ideias_backend.model.ChatSession;
 import projeto_gerador_ideias_backend.repository.ChatMessageRepository;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +47,32 @@ class TokenCalculationServiceTest {
                 .getTotalUserTokensBySessionId(sessionId, ChatMessage.MessageRole.ASSISTANT);
     }
 
+    @Test
+    void shouldReadSessionTokensFromLedger() {
+        ChatSession session = new ChatSession();
+        session.setId(1L);
+        session.setUserTokens(40);
+        session.setAssistantTokens(60);
+
+        assertEquals(100, tokenCalculationService.getSessionTokens(session));
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    void shouldBackfillLedgerOnFirstReadOfLegacySession() {
+        ChatSession session = new ChatSession();
+        session.setId(1L);
+        when(chatMessageRepository.getTotalUserTokensBySessionId(1L, ChatMessage.MessageRole.USER)).thenReturn(30);
+        when(chatMessageRepository.getTotalUserTokensBySessionId(1L, ChatMessage.MessageRole.ASSISTANT)).thenReturn(70);
+
+        assertEquals(100, tokenCalculationService.getSessionTokens(session));
+        assertEquals(100, tokenCalculationService.getSessionTokens(session));
+
+        assertEquals(30, session.getUserTokens());
+        assertEquals(70, session.getAssistantTokens());
+        verify(chatMessageRepository, times(2)).getTotalUserTokensBySessionId(eq(1L), any());
+    }
+
     @Test
     void shouldGetTotalUserTokensInChatWithZeroTokens() {
         Long sessionId = 1L;
@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import projeto_gerador_ideias_backend.dto.request.LoginRequest;
 import projeto_gerador_ideias_backend.dto.response.LoginResponse;
@@ -24,6 +25,8 @@ import projeto_gerador_ideias_backend.exceptions.WrongPasswordException;
 import projeto_gerador_ideias_backend.model.User;
 import projeto_gerador_ideias_backend.model.RefreshToken;
 import projeto_gerador_ideias_backend.repository.UserRepository;
+import projeto_gerador_ideias_backend.security.CurrentUserProvider;
+import projeto_gerador_ideias_backend.security.DisabledUserRegistry;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,7 +49,7 @@ class UserServiceTest {
     private JwtService jwtService;
     
     @Mock
-    private UserCacheService userCacheService;
+    private CurrentUserProvider currentUserProvider;
     
     @Mock
     private projeto_gerador_ideias_backend.repository.RefreshTokenRepository refreshTokenRepository;
@@ -57,6 +60,9 @@ class UserServiceTest {
     @Mock
     private IdeasSummaryCacheService ideasSummaryCacheService;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private UserService userService;
     
@@ -85,7 +91,7 @@ class UserServiceTest {
         savedUser.setPassword("encodedPassword");
         
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
-        when(jwtService.generateAccessToken(anyString(), anyLong(), any())).thenReturn("access-token");
+        when(jwtService.generateAccessToken(anyString(), anyLong(), any(), any())).thenReturn("access-token");
         when(jwtService.generateRefreshToken(anyString(), anyLong(), any())).thenReturn("refresh-token");
         when(refreshTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         
@@ -101,7 +107,7 @@ class UserServiceTest {
         verify(userRepository, times(1)).existsByEmail(validRequest.getEmail());
         verify(passwordEncoder, times(1)).encode(validRequest.getPassword());
         verify(userRepository, times(1)).save(any(User.class));
-        verify(jwtService, times(1)).generateAccessToken(anyString(), anyLong(), any());
+        verify(jwtService, times(1)).generateAccessToken(anyString(), anyLong(), any(), any());
         verify(jwtService, times(1)).generateRefreshToken(anyString(), anyLong(), any());
         verify(refreshTokenRepository, times(1)).save(any());
     }
@@ -214,6 +220,8 @@ class UserServiceTest {
         assertNotNull(response);
         assertEquals("João Silva Santos", existingUser.getName());
         verify(userRepository, times(1)).save(existingUser);
+        verify(eventPublisher).publishEvent(new DisabledUserRegistry.UserEnabledChangedEvent(
+                1L, Boolean.TRUE.equals(existingUser.getEnabled())));
     }
     
     @Test
@@ -335,7 +343,7 @@ class UserServiceTest {
         user.setEnabled(true);
         when(userRepository.findByEmail(request.getEmail())).thenReturn(java.util.Optional.of(user));
         when(passwordEncoder.matches(request.getPassword(), user.getPassword())).thenReturn(true);
-        when(jwtService.generateAccessToken(eq(user.getEmail()), eq(user.getId()), any())).thenReturn("access-token");
+        when(jwtService.generateAccessToken(eq(user.getEmail()), eq(user.getId()), any(), any())).thenReturn("access-token");
         when(jwtService.generateRefreshToken(eq(user.getEmail()), eq(user.getId()), any())).thenReturn("refresh-token");
         when(refreshTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         
@@ -350,7 +358,7 @@ class UserServiceTest {
         
         verify(userRepository, times(1)).findByEmail(request.getEmail());
         verify(passwordEncoder, times(1)).matches(request.getPassword(), user.getPassword());
-        verify(jwtService, times(1)).generateAccessToken(eq(user.getEmail()), eq(user.getId()), any());
+        verify(jwtService, times(1)).generateAccessToken(eq(user.getEmail()), eq(user.getId()), any(), any());
         verify(jwtService, times(1)).generateRefreshToken(eq(user.getEmail()), eq(user.getId()), any());
         verify(refreshTokenRepository, times(1)).save(any());
     }
@@ -372,7 +380,7 @@ class UserServiceTest {
         
         verify(userRepository, times(1)).findByEmail(request.getEmail());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtService, never()).generateAccessToken(anyString(), anyLong(), any());
+        verify(jwtService, never()).generateAccessToken(anyString(), anyLong(), any(), any());
         verify(jwtService, never()).generateRefreshToken(anyString(), anyLong(), any());
     }
     
@@ -399,7 +407,7 @@ class UserServiceTest {
         
         verify(userRepository, times(1)).findByEmail(request.getEmail());
         verify(passwordEncoder, times(1)).matches(request.getPassword(), user.getPassword());
-        verify(jwtService, never()).generateAccessToken(anyString(), anyLong(), any());
+        verify(jwtService, never()).generateAccessToken(anyString(), anyLong(), any(), any());
         verify(jwtService, never()).generateRefreshToken(anyString(), anyLong(), any());
     }
     
@@ -469,7 +477,7 @@ class UserServiceTest {
         when(jwtService.validateRefreshToken("valid-refresh-token")).thenReturn(true);
         when(refreshTokenRepository.findByTokenAndRevokedFalse("valid-refresh-token"))
             .thenReturn(java.util.Optional.of(refreshToken));
-        when(jwtService.generateAccessToken(eq(user.getEmail()), eq(user.getId()), any())).thenReturn("new-access-token");
+        when(jwtService.generateAccessToken(eq(user.getEmail()), eq(user.getId()), any(), any())).thenReturn("new-access-token");
         when(jwtService.generateRefreshToken(eq(user.getEmail()), eq(user.getId()), any())).thenReturn("new-refresh-token");
         when(refreshTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         
@@ -0,0 +1,126 @@
+package projeto_gerador_ideias_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import projeto_gerador_ideias_backend.model.User;
+import projeto_gerador_ideias_backend.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "users.idea-count.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+class UserStatisticsServiceTest {
+
+    @Autowired
+    private UserStatisticsService userStatisticsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        userStatisticsService.flush();
+        first = saveUser("write-behind-1@example.com");
+        second = saveUser("write-behind-2@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userStatisticsService.flush();
+        userRepository.deleteById(first.getId());
+        userRepository.deleteById(second.getId());
+    }
+
+    @Test
+    void shouldAccumulateInMemoryUntilFlush() {
+        userStatisticsService.incrementUserIdeaCount(first.getEmail());
+        userStatisticsService.incrementUserIdeaCount(first.getEmail());
+        userStatisticsService.incrementUserIdeaCount(second.getEmail());
+
+        assertEquals(0L, countOf(first));
+        assertTrue(userStatisticsService.flushLagMs() >= 0);
+
+        assertEquals(3L, userStatisticsService.flush());
+
+        assertEquals(2L, countOf(first));
+        assertEquals(1L, countOf(second));
+        assertEquals(0L, userStatisticsService.flushLagMs());
+        assertEquals(0L, userStatisticsService.flush());
+    }
+
+    @Test
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        userStatisticsService.incrementUserIdeaCount(first.getEmail());
+                        if (i % 50 == 0) {
+                            userStatisticsService.flush();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        userStatisticsService.flush();
+
+        assertEquals(1000L, countOf(first));
+        assertEquals(0L, userStatisticsService.flushLagMs());
+    }
+
+    @Test
+    void shouldResetLagWhenNothingIsPending() {
+        // Marca deixada por um incremento já drenado por um flush concorrente
+        AtomicLong oldestPendingAt = (AtomicLong) ReflectionTestUtils.getField(
+                AopTestUtils.getTargetObject(userStatisticsService), "oldestPendingAt");
+        oldestPendingAt.set(System.currentTimeMillis() - 60_000);
+
+        assertEquals(0L, userStatisticsService.flush());
+
+        assertEquals(0L, userStatisticsService.flushLagMs());
+    }
+
+    @Test
+    void shouldDiscardIncrementsOfUnknownUsers() {
+        userStatisticsService.incrementUserIdeaCount("inexistente@example.com");
+        userStatisticsService.incrementUserIdeaCount(second.getEmail());
+
+        assertDoesNotThrow(() -> userStatisticsService.flush());
+        assertEquals(1L, countOf(second));
+    }
+
+    private long countOf(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getGeneratedIdeasCount();
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setName("Usuário Contador");
+        user.setEmail(email);
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
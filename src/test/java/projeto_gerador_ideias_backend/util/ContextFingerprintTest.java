@@ -0,0 +1,27 @@
+package projeto_gerador_ideias_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextFingerprintTest {
+
+    @Test
+    void shouldNormalizeCaseAccentsAndWhitespace() {
+        assertEquals("app de meditacao para estudantes",
+                ContextFingerprint.normalize("  App de  Meditação\tpara\nESTUDANTES "));
+        assertEquals("", ContextFingerprint.normalize(null));
+    }
+
+    @Test
+    void shouldHashEquivalentContextsToTheSameValue() {
+        assertEquals(ContextFingerprint.of("Ideia para café"), ContextFingerprint.of("ideia   PARA cafe"));
+        assertTrue(ContextFingerprint.sameContext("Ideia para café", " IDEIA para cafe "));
+    }
+
+    @Test
+    void shouldHashDifferentContextsToDifferentValues() {
+        assertNotEquals(ContextFingerprint.of("ideia para café"), ContextFingerprint.of("ideia para chá"));
+        assertFalse(ContextFingerprint.sameContext("ideia para café", "ideia para chá"));
+    }
+}
@@ -0,0 +1,130 @@
+package projeto_gerador_ideias_backend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+    private static final int VECTORS = 2000;
+    private static final int K = 10;
+
+    private float[][] vectors;
+    private HnswIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        vectors = new float[VECTORS][DIMENSIONS];
+        index = new HnswIndex(DIMENSIONS, 16, 100, 1L);
+        for (int i = 0; i < VECTORS; i++) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vectors[i][d] = (float) random.nextGaussian();
+            }
+            index.add(i, vectors[i]);
+        }
+    }
+
+    @Test
+    void shouldFindMostOfTheExactNearestNeighbours() {
+        int found = 0;
+        for (int query = 0; query < 100; query++) {
+            Set<Long> expected = exactNeighbours(query);
+            for (HnswIndex.Hit hit : index.searchByKey(query, K, 64)) {
+                if (expected.contains(hit.key())) {
+                    found++;
+                }
+            }
+        }
+        double recall = found / (100.0 * K);
+        assertTrue(recall >= 0.9, "Recall: " + recall);
+    }
+
+    @Test
+    void shouldExcludeQueriedKeyAndSortBySimilarity() {
+        List<HnswIndex.Hit> hits = index.searchByKey(5L, K, 64);
+
+        assertEquals(K, hits.size());
+        assertTrue(hits.stream().noneMatch(hit -> hit.key() == 5L));
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).similarity() >= hits.get(i).similarity());
+        }
+        assertEquals(5L, index.search(vectors[5], 1, 64).get(0).key());
+        assertTrue(index.searchByKey(-1L, K, 64).isEmpty());
+    }
+
+    @Test
+    void shouldHideRemovedAndReplacedKeys() {
+        long nearest = index.searchByKey(5L, 1, 64).get(0).key();
+        index.remove(nearest);
+
+        assertFalse(index.contains(nearest));
+        assertTrue(index.searchByKey(5L, K, 64).stream().noneMatch(hit -> hit.key() == nearest));
+        assertEquals(VECTORS - 1, index.size());
+
+        index.add(5L, vectors[6]);
+        assertEquals(VECTORS - 1, index.size());
+        assertEquals(1.0f, index.search(vectors[6], 2, 64).stream()
+                .filter(hit -> hit.key() == 5L).findFirst().orElseThrow().similarity(), 1e-5);
+    }
+
+    @Test
+    void shouldRestoreSnapshotWithSameResults() throws IOException {
+        index.remove(3L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        HnswIndex restored = HnswIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), 1L);
+
+        assertEquals(index.size(), restored.size());
+        assertFalse(restored.contains(3L));
+        assertEquals(index.searchByKey(42L, K, 64), restored.searchByKey(42L, K, 64));
+    }
+
+    @Test
+    void shouldRejectVectorsWithWrongDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> index.add(1L, new float[DIMENSIONS + 1]));
+    }
+
+    private Set<Long> exactNeighbours(int query) {
+        float[] normalizedQuery = normalize(vectors[query]);
+        return new HashSet<>(IntStream.range(0, VECTORS)
+                .filter(i -> i != query)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> dot(normalizedQuery, normalize(vectors[i]))).reversed())
+                .limit(K)
+                .map(Integer::longValue)
+                .toList());
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}